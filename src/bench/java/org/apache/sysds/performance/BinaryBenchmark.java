@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the LibMatrixBincell kernels for matrix-matrix,
+ * matrix-row vector, matrix-column vector, and matrix-scalar operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BinaryBenchmark {
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	@Param({"+", "*"})
+	public String opcode;
+
+	private MatrixBlock _X;
+	private MatrixBlock _Y;
+	private MatrixBlock _r;
+	private MatrixBlock _c;
+	private BinaryOperator _op;
+	private ScalarOperator _sop;
+
+	@Setup
+	public void setup() {
+		_X = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		_Y = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 3);
+		_r = MatrixBlock.randOperations(1, cols, 1.0, -1, 1, "uniform", 5);
+		_c = MatrixBlock.randOperations(rows, 1, 1.0, -1, 1, "uniform", 9);
+		_op = InstructionUtils.parseBinaryOperator(opcode);
+		_op.setNumThreads(threads);
+		_sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, 7);
+		_sop.setNumThreads(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMatrix() {
+		return _X.binaryOperations(_op, _Y, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixRowVector() {
+		return _X.binaryOperations(_op, _r, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixColVector() {
+		return _X.binaryOperations(_op, _c, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixScalar() {
+		return _X.scalarOperations(_sop, new MatrixBlock());
+	}
+}
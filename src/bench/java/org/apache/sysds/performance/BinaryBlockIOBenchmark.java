@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.MatrixWriter;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the sequential and parallel binary block matrix
+ * reader and writer on the local file system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BinaryBlockIOBenchmark {
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"1000"})
+	public int blen;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private MatrixBlock _X;
+	private File _dir;
+	private String _readFile;
+	private String _writeFile;
+	private MatrixReader _reader;
+	private MatrixWriter _writer;
+
+	@Setup
+	public void setup() throws IOException {
+		_X = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		_dir = Files.createTempDirectory("sysds-bench").toFile();
+		_readFile = new File(_dir, "X").getAbsolutePath();
+		_writeFile = new File(_dir, "Y").getAbsolutePath();
+		_reader = parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+		_writer = parallel ? new WriterBinaryBlockParallel(1) : new WriterBinaryBlock(1);
+		_writer.writeMatrixToHDFS(_X, _readFile, rows, cols, blen, _X.getNonZeros());
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Benchmark
+	public MatrixBlock read() throws IOException {
+		return _reader.readMatrixFromHDFS(_readFile, rows, cols, blen, _X.getNonZeros());
+	}
+
+	@Benchmark
+	public String write() throws IOException {
+		_writer.writeMatrixToHDFS(_X, _writeFile, rows, cols, blen, _X.getNonZeros());
+		return _writeFile;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of CompressedMatrixBlock operations (compression,
+ * decompression, right and left matrix-vector multiplication, aggregation,
+ * and scalar operations) over inputs with a given number of distinct values
+ * per column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class CompressedBenchmark {
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"20"})
+	public int cols;
+
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+
+	@Param({"8", "256"})
+	public int distinct;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	private MatrixBlock _X;
+	private CompressedMatrixBlock _C;
+	private MatrixBlock _v;
+	private MatrixBlock _vt;
+	private AggregateBinaryOperator _mmop;
+	private AggregateUnaryOperator _sum;
+	private ScalarOperator _sop;
+
+	@Setup
+	public void setup() {
+		MatrixBlock rand = MatrixBlock.randOperations(rows, cols, sparsity, 1, distinct, "uniform", 7);
+		_X = rand.unaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.ROUND)), new MatrixBlock());
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(_X, threads).getLeft();
+		if( !(cmb instanceof CompressedMatrixBlock) )
+			throw new RuntimeException("Input not compressible: " + rows + "x" + cols + ", " + distinct + " distinct");
+		_C = (CompressedMatrixBlock) cmb;
+		_v = MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", 3);
+		_vt = MatrixBlock.randOperations(1, rows, 1.0, -1, 1, "uniform", 5);
+		_mmop = InstructionUtils.getMatMultOperator(threads);
+		_sum = InstructionUtils.parseBasicAggregateUnaryOperator("uak+", threads);
+		_sop = InstructionUtils.parseScalarBinaryOperator("*", false, 7);
+		_sop.setNumThreads(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock compress() {
+		return CompressedMatrixBlockFactory.compress(_X, threads).getLeft();
+	}
+
+	@Benchmark
+	public MatrixBlock decompress() {
+		return _C.decompress(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock rightMultVector() {
+		return _C.aggregateBinaryOperations(_C, _v, new MatrixBlock(), _mmop);
+	}
+
+	@Benchmark
+	public MatrixBlock leftMultVector() {
+		return _C.aggregateBinaryOperations(_vt, _C, new MatrixBlock(), _mmop);
+	}
+
+	@Benchmark
+	public MatrixBlock sum() {
+		return _C.aggregateUnaryOperations(_sum, new MatrixBlock(), rows, new MatrixIndexes(1, 1), true);
+	}
+
+	@Benchmark
+	public MatrixBlock scalarMult() {
+		return _C.scalarOperations(_sop, new MatrixBlock());
+	}
+}
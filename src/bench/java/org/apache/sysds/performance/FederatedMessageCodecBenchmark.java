@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessage;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+import io.netty.handler.codec.serialization.ObjectEncoder;
+
+/**
+ * Microbenchmarks of the binary federated message codec in comparison to
+ * the generic java object serialization, for PUT_VAR requests of dense and
+ * sparse matrix blocks over embedded (in-memory) netty channels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class FederatedMessageCodecBenchmark {
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"500"})
+	public int cols;
+
+	@Param({"1.0", "0.05"})
+	public double sparsity;
+
+	@Param({"java", "binary", "binary_lz4"})
+	public String codec;
+
+	private FederatedMessage _msg;
+	private EmbeddedChannel _sender;
+	private EmbeddedChannel _receiver;
+
+	@Setup
+	public void setup() {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		_msg = new FederatedMessage(1, new FederatedRequest[] {new FederatedRequest(RequestType.PUT_VAR, 1, mb)});
+		switch(codec) {
+			case "java":
+				_sender = new EmbeddedChannel(new ObjectEncoder());
+				_receiver = new EmbeddedChannel(
+					new ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.weakCachingResolver(null)));
+				break;
+			case "binary":
+			case "binary_lz4":
+				boolean compress = codec.equals("binary_lz4");
+				_sender = new EmbeddedChannel(new FederatedMessageCodec(compress));
+				_receiver = new EmbeddedChannel(new FederatedMessageCodec(compress));
+				break;
+			default:
+				throw new IllegalArgumentException("Unsupported codec: " + codec);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		_sender.finish();
+		_receiver.finish();
+	}
+
+	@Benchmark
+	public int encode() {
+		ByteBuf buf = encodeMessage();
+		int size = buf.readableBytes();
+		buf.release();
+		return size;
+	}
+
+	@Benchmark
+	public Object roundtrip() {
+		_receiver.writeInbound(encodeMessage());
+		return _receiver.readInbound();
+	}
+
+	private ByteBuf encodeMessage() {
+		_sender.writeOutbound(_msg);
+		return (ByteBuf) _sender.readOutbound();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.FrameReaderProto;
+import org.apache.sysds.runtime.io.FrameReaderProtoParallel;
+import org.apache.sysds.runtime.io.FrameWriter;
+import org.apache.sysds.runtime.io.FrameWriterProto;
+import org.apache.sysds.runtime.io.FrameWriterProtoParallel;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.test.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the sequential and parallel proto frame reader and
+ * writer on the local file system. The reader is measured on a directory of
+ * part files (one per available core), while the parallel writer only splits
+ * outputs larger than the HDFS block size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class FrameReaderWriterProtoBenchmark {
+	@Param({"200000"})
+	public int rows;
+
+	@Param({"20"})
+	public int cols;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private FrameBlock _F;
+	private File _dir;
+	private String _readFile;
+	private String _writeFile;
+	private FrameReader _reader;
+	private FrameWriter _writer;
+
+	@Setup
+	public void setup() throws IOException {
+		Random random = new Random(7);
+		ValueType[] schema = TestUtils.generateRandomSchema(cols, random);
+		_F = TestUtils.generateRandomFrameBlock(rows, cols, schema, random);
+		_dir = Files.createTempDirectory("sysds-bench").toFile();
+		_readFile = new File(_dir, "X").getAbsolutePath();
+		_writeFile = new File(_dir, "Y").getAbsolutePath();
+		_reader = parallel ? new FrameReaderProtoParallel() : new FrameReaderProto();
+		_writer = parallel ? new FrameWriterProtoParallel() : new FrameWriterProto();
+
+		//write read input as part files
+		int parts = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+		int blklen = (int) Math.ceil((double) rows / parts);
+		FrameWriter writer = new FrameWriterProto();
+		for(int i = 0; i * blklen < rows; i++) {
+			FrameBlock part = _F.slice(i * blklen, Math.min((i + 1) * blklen, rows) - 1, 0, cols - 1, new FrameBlock());
+			writer.writeFrameToHDFS(part, _readFile + "/" + IOUtilFunctions.getPartFileName(i), part.getNumRows(), cols);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Benchmark
+	public FrameBlock read() throws IOException {
+		return _reader.readFrameFromHDFS(_readFile, _F.getSchema(), rows, cols);
+	}
+
+	@Benchmark
+	public String write() throws IOException {
+		_writer.writeFrameToHDFS(_F, _writeFile, rows, cols);
+		return _writeFile;
+	}
+}
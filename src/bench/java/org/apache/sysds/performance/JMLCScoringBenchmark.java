@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput (requests per second) of JMLC scoring with a pinned model over
+ * a varying number of client threads, comparing a single prepared script in
+ * concurrent execution mode against cloning the prepared script per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class JMLCScoringBenchmark {
+	private static final int REQUESTS = 1024;
+
+	private static final String SCRIPT =
+		  "X = read('tmp/X'); W = read('tmp/W');"
+		+ "P = 1 / (1 + exp(-(X %*% W)));"
+		+ "write(P, 'tmp/P');";
+
+	@Param({"1", "2", "4", "8", "16"})
+	public int threads;
+
+	@Param({"100"})
+	public int features;
+
+	@Param({"1"})
+	public int rows;
+
+	private Connection _conn;
+	private PreparedScript _pscript;
+	private PreparedScript _pscriptConc;
+	private MatrixBlock[] _X;
+	private ExecutorService _pool;
+
+	@Setup
+	public void setup() {
+		_conn = new Connection();
+		MatrixBlock W = MatrixBlock.randOperations(features, 1, 1.0, -1, 1, "uniform", 3);
+		_pscript = _conn.prepareScript(SCRIPT, new String[] {"X", "W"}, new String[] {"P"});
+		_pscript.setMatrix("W", W, true);
+		_pscriptConc = _conn.prepareScript(SCRIPT, new String[] {"X", "W"}, new String[] {"P"});
+		_pscriptConc.setConcurrentExecution(true);
+		_pscriptConc.setMatrix("W", W, true);
+		_X = new MatrixBlock[REQUESTS];
+		for(int i = 0; i < REQUESTS; i++)
+			_X[i] = MatrixBlock.randOperations(rows, features, 1.0, -1, 1, "uniform", i);
+		_pool = Executors.newFixedThreadPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() {
+		_pool.shutdown();
+		_conn.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(REQUESTS)
+	public double concurrent() throws Exception {
+		return execute(i -> {
+			_pscriptConc.setMatrix("X", _X[i], false);
+			return _pscriptConc.executeScript().getMatrixBlock("P");
+		});
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(REQUESTS)
+	public double cloned() throws Exception {
+		return execute(i -> {
+			PreparedScript ps = _pscript.clone(false);
+			ps.setMatrix("X", _X[i], false);
+			return ps.executeScript().getMatrixBlock("P");
+		});
+	}
+
+	private double execute(Request req) throws Exception {
+		List<Callable<MatrixBlock>> tasks = new ArrayList<>();
+		for(int i = 0; i < REQUESTS; i++) {
+			final int ix = i;
+			tasks.add(() -> req.score(ix));
+		}
+		double sum = 0;
+		for(Future<MatrixBlock> ret : _pool.invokeAll(tasks))
+			sum += ret.get().quickGetValue(0, 0);
+		return sum;
+	}
+
+	private interface Request {
+		MatrixBlock score(int i) throws Exception;
+	}
+}
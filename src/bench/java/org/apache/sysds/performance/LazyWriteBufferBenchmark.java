@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Concurrent write/read/delete operations on the buffer pool for increasing
+ * numbers of workers, where each worker keeps a window of live blocks. With
+ * eviction, the buffer pool is filled up to its limit upfront, so that all
+ * writes of the workers cause evictions to local FS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class LazyWriteBufferBenchmark {
+	private static final int WINDOW = 64;
+
+	@Param({"1", "2", "4", "8", "16", "32"})
+	public int workers;
+
+	@Param({"0.9", "0.05"})
+	public double sparsity;
+
+	@Param({"false", "true"})
+	public boolean evict;
+
+	@Param({"200"})
+	public int ops;
+
+	private MatrixBlock _X;
+	private File _dir;
+	private ExecutorService _pool;
+
+	@Setup
+	public void setup() throws IOException {
+		_X = MatrixBlock.randOperations(300, 300, sparsity, -1, 1, "uniform", 7);
+		_dir = Files.createTempDirectory("sysds-bench").toFile();
+		_pool = Executors.newFixedThreadPool(workers);
+		LazyWriteBuffer.init();
+		//fill buffer pool up to its limit
+		long bsize = LazyWriteBuffer.getCacheBlockSize(_X);
+		for(int i = 0; evict && LazyWriteBuffer.getWriteBufferFree() >= bsize; i++)
+			LazyWriteBuffer.writeBlock(key(-1, i), _X);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		_pool.shutdown();
+		LazyWriteBuffer.cleanup();
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Benchmark
+	public long writeReadDelete() throws Exception {
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for(int t = 0; t < workers; t++) {
+			final int tid = t;
+			tasks.add(() -> runWorker(tid));
+		}
+		long evicted = 0;
+		for(Future<Integer> f : _pool.invokeAll(tasks))
+			evicted += f.get();
+		return evicted;
+	}
+
+	private int runWorker(int tid) throws IOException {
+		int evicted = 0;
+		for(int i = 0; i < ops; i++) {
+			evicted += LazyWriteBuffer.writeBlock(key(tid, i), _X);
+			CacheBlock cb = LazyWriteBuffer.readBlock(key(tid, i - i % WINDOW), true);
+			if(cb == null)
+				throw new IOException("Failed to read block.");
+			if(i >= WINDOW)
+				LazyWriteBuffer.deleteBlock(key(tid, i - WINDOW));
+		}
+		for(int i = Math.max(ops - WINDOW, 0); i < ops; i++)
+			LazyWriteBuffer.deleteBlock(key(tid, i));
+		return evicted;
+	}
+
+	private String key(int tid, int i) {
+		return new File(_dir, "cache_" + tid + "_" + i + ".dat").getAbsolutePath();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.lops.MapMultChain.ChainType;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the LibMatrixMult kernels: matrix-matrix, matrix-vector,
+ * transpose-self (tsmm), and matrix multiplication chains (mmchain).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class MatrixMultBenchmark {
+	@Param({"2000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	private MatrixBlock _X;
+	private MatrixBlock _B;
+	private MatrixBlock _v;
+	private AggregateBinaryOperator _op;
+
+	@Setup
+	public void setup() {
+		_X = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		_B = MatrixBlock.randOperations(cols, 100, 1.0, -1, 1, "uniform", 3);
+		_v = MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", 5);
+		_op = InstructionUtils.getMatMultOperator(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock matMult() {
+		return _X.aggregateBinaryOperations(_X, _B, new MatrixBlock(), _op);
+	}
+
+	@Benchmark
+	public MatrixBlock matVectMult() {
+		return _X.aggregateBinaryOperations(_X, _v, new MatrixBlock(), _op);
+	}
+
+	@Benchmark
+	public MatrixBlock tsmm() {
+		return _X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock mmchain() {
+		return _X.chainMatrixMultOperations(_v, null, new MatrixBlock(), ChainType.XtXv, threads);
+	}
+}
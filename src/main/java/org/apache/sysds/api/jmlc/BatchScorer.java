@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Micro-batching of scoring requests for a prepared script. Small row batches
+ * submitted by concurrent callers are queued, coalesced (rbind) up to a maximum
+ * number of rows or a latency deadline, executed by a single script invocation,
+ * and the results are split back per caller. This amortizes the per-call
+ * overhead of variable binding, instruction dispatch, and result extraction,
+ * which dominates when scoring individual rows.
+ * 
+ * Instances are created via {@link PreparedScript#createBatchScorer(String, int, long)}.
+ */
+public class BatchScorer implements AutoCloseable
+{
+	private static final Log LOG = LogFactory.getLog(BatchScorer.class.getName());
+	
+	private final PreparedScript _pscript;
+	private final String _varname;
+	private final int _maxRows;
+	private final long _maxLatency; //in nano sec
+	private final BlockingQueue<Request> _queue;
+	private final Thread _worker;
+	private final Object _lock = new Object(); //guards enqueue vs close
+	private volatile boolean _closed = false;
+	
+	protected BatchScorer(PreparedScript pscript, String varname, int maxBatchRows, long maxLatencyMs) {
+		if( maxBatchRows < 1 || maxLatencyMs < 0 )
+			throw new DMLException("Invalid batch scorer configuration: "
+				+ "maxBatchRows=" + maxBatchRows + ", maxLatencyMs=" + maxLatencyMs);
+		_pscript = pscript;
+		_varname = varname;
+		_maxRows = maxBatchRows;
+		_maxLatency = TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+		_queue = new LinkedBlockingQueue<>();
+		_worker = new Thread(this::run, "JMLC-BatchScorer");
+		_worker.setDaemon(true);
+		_worker.start();
+	}
+	
+	/**
+	 * Submits a row batch for asynchronous scoring.
+	 * 
+	 * @param rows input rows as a MatrixBlock
+	 * @return future of the result variables of the given rows
+	 */
+	public Future<ResultVariables> submit(MatrixBlock rows) {
+		Request req = new Request(rows);
+		//enqueue under lock, so the worker's final empty-queue
+		//check after close cannot miss a concurrently submitted request
+		synchronized( _lock ) {
+			if( _closed )
+				throw new DMLException("Batch scorer already closed.");
+			_queue.add(req);
+		}
+		return req.result;
+	}
+	
+	/**
+	 * Scores the given row batch and blocks until its results are available.
+	 * 
+	 * @param rows input rows as a MatrixBlock
+	 * @return result variables of the given rows
+	 */
+	public ResultVariables score(MatrixBlock rows) {
+		try {
+			return submit(rows).get();
+		}
+		catch(ExecutionException ex) {
+			throw (ex.getCause() instanceof DMLException) ? (DMLException) ex.getCause() :
+				new DMLException("Failed to score batch.", ex.getCause());
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DMLException("Interrupted while scoring batch.", ex);
+		}
+	}
+	
+	/**
+	 * Scores the given row batch and blocks until its results are available.
+	 * 
+	 * @param rows input rows as a two-dimensional double array
+	 * @return result variables of the given rows
+	 */
+	public ResultVariables score(double[][] rows) {
+		return score(DataConverter.convertToMatrixBlock(rows));
+	}
+	
+	/**
+	 * Stops the batching worker after all queued requests have been processed.
+	 */
+	@Override
+	public void close() {
+		synchronized( _lock ) {
+			_closed = true;
+		}
+		try {
+			_worker.join();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		//fail requests that were not processed (e.g., interrupted close)
+		Request req = null;
+		while( (req = _queue.poll()) != null )
+			req.result.completeExceptionally(new DMLException("Batch scorer closed."));
+	}
+	
+	private void run() {
+		Request next = null;
+		while( !_closed || next != null || !_queue.isEmpty() ) {
+			try {
+				//wait for the first request of the next batch
+				Request first = (next != null) ? next :
+					_queue.poll(100, TimeUnit.MILLISECONDS);
+				next = null;
+				if( first == null )
+					continue;
+				
+				//coalesce further requests until max rows or deadline
+				List<Request> batch = new ArrayList<>();
+				batch.add(first);
+				int rows = first.rows.getNumRows();
+				long deadline = first.arrival + _maxLatency;
+				while( rows < _maxRows ) {
+					long wait = deadline - System.nanoTime();
+					Request req = (wait > 0 && !_closed) ?
+						_queue.poll(wait, TimeUnit.NANOSECONDS) : _queue.poll();
+					if( req == null )
+						break;
+					if( rows + req.rows.getNumRows() > _maxRows
+						|| req.rows.getNumColumns() != first.rows.getNumColumns() ) {
+						next = req; //defer to next batch
+						break;
+					}
+					batch.add(req);
+					rows += req.rows.getNumRows();
+				}
+				execute(batch, rows);
+			}
+			catch(InterruptedException ex) {
+				LOG.warn("Batch scorer interrupted.", ex);
+				_closed = true;
+			}
+		}
+	}
+	
+	private void execute(List<Request> batch, int rows) {
+		try {
+			//rbind all request inputs
+			MatrixBlock in = batch.get(0).rows;
+			if( batch.size() > 1 ) {
+				MatrixBlock[] tmp = new MatrixBlock[batch.size()-1];
+				for( int i=1; i<batch.size(); i++ )
+					tmp[i-1] = batch.get(i).rows;
+				in = in.append(tmp, new MatrixBlock(), false);
+			}
+			
+			//execute script once for entire batch
+			_pscript.setMatrix(_varname, in, false);
+			ResultVariables rv = _pscript.executeScript();
+			_pscript.clearParameters(); //unbind outputs returned to callers
+			Statistics.incrementJMLCBatches(batch.size());
+			
+			//split results per request
+			int rl = 0;
+			for( Request req : batch ) {
+				int ru = rl + req.rows.getNumRows() - 1;
+				req.result.complete((batch.size() > 1) ? slice(rv, rows, rl, ru) : rv);
+				Statistics.addJMLCRequestLatency(System.nanoTime() - req.arrival);
+				rl = ru + 1;
+			}
+		}
+		catch(Exception ex) {
+			for( Request req : batch )
+				req.result.completeExceptionally(ex);
+		}
+	}
+	
+	private static ResultVariables slice(ResultVariables rv, int rows, int rl, int ru) {
+		ResultVariables ret = new ResultVariables();
+		for( String varname : rv.getVariableNames() ) {
+			Data dat = rv.getData(varname);
+			if( dat instanceof MatrixObject && ((MatrixObject)dat).getNumRows() == rows ) {
+				MatrixBlock mb = rv.getMatrixBlock(varname).slice(rl, ru);
+				dat = PreparedScript.createMatrixObject(mb);
+			}
+			ret.addResult(varname, dat);
+		}
+		return ret;
+	}
+	
+	private static class Request {
+		private final MatrixBlock rows;
+		private final long arrival;
+		private final CompletableFuture<ResultVariables> result;
+		
+		private Request(MatrixBlock rows) {
+			this.rows = rows;
+			this.arrival = System.nanoTime();
+			this.result = new CompletableFuture<>();
+		}
+	}
+}
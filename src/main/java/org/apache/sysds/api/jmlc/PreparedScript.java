@@ -56,10 +56,11 @@ import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Statistics;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Representation of a prepared (precompiled) DML/PyDML script.
@@ -78,7 +79,10 @@ public class PreparedScript implements ConfigurableAPI
 	private final LocalVariableMap _vars;
 	private final DMLConfig _dmlconf;
 	private final CompilerConfig _cconf;
-	private HashMap<String, String> _outVarLineage;
+	private final Map<String, String> _outVarLineage;
+	
+	//thread-local symbol tables for concurrent execution
+	private ThreadLocal<LocalVariableMap> _tvars = null;
 	
 	private PreparedScript(PreparedScript that) {
 		//shallow copy, except for a separate symbol table
@@ -90,9 +94,12 @@ public class PreparedScript implements ConfigurableAPI
 		_vars.setRegisteredOutputs(that._outVarnames);
 		_inVarnames = that._inVarnames;
 		_outVarnames = that._outVarnames;
-		_inVarReuse = new LocalVariableMap(that._inVarReuse);
+		synchronized( that._inVarReuse ) {
+			_inVarReuse = new LocalVariableMap(that._inVarReuse);
+		}
 		_dmlconf = that._dmlconf;
 		_cconf = that._cconf;
+		_outVarLineage = new ConcurrentHashMap<>();
 	}
 	
 	/**
@@ -107,7 +114,7 @@ public class PreparedScript implements ConfigurableAPI
 	protected PreparedScript( Program prog, String[] inputs, String[] outputs, DMLConfig dmlconf, CompilerConfig cconf ) {
 		_prog = prog;
 		_vars = new LocalVariableMap();
-		_outVarLineage = new HashMap<>();
+		_outVarLineage = new ConcurrentHashMap<>();
 		
 		//populate input/output vars
 		_inVarnames = new HashSet<>();
@@ -255,7 +262,7 @@ public class PreparedScript implements ConfigurableAPI
 	public void setScalar(String varname, ScalarObject scalar, boolean reuse) {
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
-		_vars.put(varname, scalar);
+		getVars().put(varname, scalar);
 	}
 
 	/**
@@ -291,24 +298,30 @@ public class PreparedScript implements ConfigurableAPI
 	public void setMatrix(String varname, MatrixBlock matrix, boolean reuse) {
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
-				
-		int blocksize = ConfigurationManager.getBlocksize();
 		
 		//create new matrix object
-		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
-		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
-		MatrixObject mo = new MatrixObject(ValueType.FP64, OptimizerUtils.getUniqueTempFileName(), meta);
-		mo.acquireModify(matrix); 
-		mo.release();
+		MatrixObject mo = createMatrixObject(matrix);
 		
 		//put create matrix wrapper into symbol table
-		_vars.put(varname, mo);
+		getVars().put(varname, mo);
 		if( reuse ) {
 			mo.enableCleanup(false); //prevent cleanup
-			_inVarReuse.put(varname, mo);
+			synchronized( _inVarReuse ) {
+				_inVarReuse.put(varname, mo);
+			}
 		}
 	}
 
+	protected static MatrixObject createMatrixObject(MatrixBlock matrix) {
+		int blocksize = ConfigurationManager.getBlocksize();
+		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
+		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, OptimizerUtils.getUniqueTempFileName(), meta);
+		mo.acquireModify(matrix); 
+		mo.release();
+		return mo;
+	}
+
 	/**
 	 * Binds a frame object to a registered input variable.
 	 * 
@@ -400,10 +413,12 @@ public class PreparedScript implements ConfigurableAPI
 		fo.release();
 		
 		//put create matrix wrapper into symbol table
-		_vars.put(varname, fo);
+		getVars().put(varname, fo);
 		if( reuse ) {
 			fo.enableCleanup(false); //prevent cleanup
-			_inVarReuse.put(varname, fo);
+			synchronized( _inVarReuse ) {
+				_inVarReuse.put(varname, fo);
+			}
 		}
 	}
 	
@@ -412,7 +427,7 @@ public class PreparedScript implements ConfigurableAPI
 	 * 
 	 */
 	public void clearParameters() {
-		_vars.removeAll();
+		getVars().removeAll();
 	}
 
 	/**
@@ -422,7 +437,69 @@ public class PreparedScript implements ConfigurableAPI
 	 * useful if you want to maintain an independent cache of weights
 	 * and allow the JVM to garbage collect under memory pressure.
 	 */
-	public void clearPinnedData() { _inVarReuse.removeAll(); }
+	public void clearPinnedData() {
+		synchronized( _inVarReuse ) {
+			_inVarReuse.removeAll();
+		}
+	}
+
+	/**
+	 * Creates a batch scorer for micro-batched execution of this prepared
+	 * script. Concurrent callers submit small row batches of the given input
+	 * variable, which are coalesced via rbind up to the given number of rows
+	 * or the given latency deadline, and executed by a single invocation of
+	 * a clone of this script. Matrix outputs with one row per input row are
+	 * split back to the individual callers, while all other outputs are
+	 * returned to all callers of a batch. All other inputs should be bound
+	 * as pinned inputs (reuse=true) before creating the batch scorer.
+	 * 
+	 * @param varname input variable name of the row batches
+	 * @param maxBatchRows maximum number of coalesced rows per execution
+	 * @param maxLatencyMs maximum time in milliseconds a request waits for further requests
+	 * @return batch scorer, which needs to be closed after use
+	 */
+	public BatchScorer createBatchScorer(String varname, int maxBatchRows, long maxLatencyMs) {
+		if( !_inVarnames.contains(varname) )
+			throw new DMLException("Unspecified input variable: "+varname);
+		return new BatchScorer(clone(false), varname, maxBatchRows, maxLatencyMs);
+	}
+
+	/**
+	 * Enables or disables concurrent execution of this prepared script.
+	 * If enabled, the compiled program is shared read-only by all threads,
+	 * while input bindings and intermediates are maintained in a separate
+	 * symbol table per thread, i.e., the set* methods, clearParameters, and
+	 * executeScript refer to the symbol table of the calling thread. This
+	 * thread-local symbol table is cleared after each executeScript, i.e.,
+	 * non-pinned inputs need to be bound before every call, and lineage traces
+	 * are only available via {@link ResultVariables#getLineageTrace(String)}.
+	 * Pinned inputs (reuse=true) are shared across all threads. This avoids cloning
+	 * the prepared script per request, but requires disabled dynamic
+	 * recompilation (the JMLC default) because recompilation modifies the
+	 * shared program in place.
+	 * 
+	 * @param flag if {@code true}, enable concurrent execution
+	 */
+	public synchronized void setConcurrentExecution(boolean flag) {
+		if( flag && _tvars == null ) {
+			_tvars = ThreadLocal.withInitial(() -> {
+				LocalVariableMap vars = new LocalVariableMap();
+				vars.setRegisteredOutputs(_outVarnames);
+				return vars;
+			});
+		}
+		else if( !flag )
+			_tvars = null;
+	}
+
+	/**
+	 * Indicates if concurrent execution is enabled for this prepared script.
+	 * 
+	 * @return true if concurrent execution is enabled
+	 */
+	public boolean isConcurrentExecution() {
+		return _tvars != null;
+	}
 
 	/**
 	 * Executes the prepared script over the bound inputs, creating the
@@ -431,34 +508,47 @@ public class PreparedScript implements ConfigurableAPI
 	 * @return ResultVariables object encapsulating output results
 	 */
 	public ResultVariables executeScript() {
+		//obtain symbol table (shared or thread-local)
+		ThreadLocal<LocalVariableMap> tvars = _tvars;
+		LocalVariableMap vars = (tvars != null) ? tvars.get() : _vars;
+		
 		//add reused variables
-		_vars.putAll(_inVarReuse);
+		synchronized( _inVarReuse ) {
+			vars.putAll(_inVarReuse);
+		}
 		
 		//set thread-local configurations
 		ConfigurationManager.setLocalConfig(_dmlconf);
 		ConfigurationManager.setLocalConfig(_cconf);
 		
 		//create and populate execution context
-		ExecutionContext ec = ExecutionContextFactory.createContext(_vars, _prog);
+		ExecutionContext ec = ExecutionContextFactory.createContext(vars, _prog);
 		
 		//core execute runtime program
 		_prog.execute(ec);
 		
 		//cleanup unnecessary outputs
-		_vars.removeAllNotIn(_outVarnames);
+		vars.removeAllNotIn(_outVarnames);
 		
 		//construct results
 		ResultVariables rvars = new ResultVariables();
 		for( String ovar : _outVarnames ) {
-			Data tmpVar = _vars.get(ovar);
+			Data tmpVar = vars.get(ovar);
 			if( tmpVar != null ) {
 				rvars.addResult(ovar, tmpVar);
-				if (ec.getLineage() != null)
-					_outVarLineage.put(ovar, Explain.explain(ec.getLineage().get(ovar)));
+				if (ec.getLineage() != null) {
+					String lineage = Explain.explain(ec.getLineage().get(ovar));
+					rvars.addLineageTrace(ovar, lineage);
+					if( tvars == null )
+						_outVarLineage.put(ovar, lineage);
+				}
 			}
 		}
 		
-		//clear thread-local configurations
+		//clear thread-local symbol table (outputs are held by the results)
+		//and thread-local configurations
+		if( tvars != null )
+			tvars.remove();
 		ConfigurationManager.clearLocalConfigs();
 
 		return rvars;
@@ -475,6 +565,8 @@ public class PreparedScript implements ConfigurableAPI
 
 	/**
 	 * Capture lineage of the DML/PyDML program and view result as a string.
+	 * In concurrent execution mode, the lineage of a call is only available
+	 * via {@link ResultVariables#getLineageTrace(String)} of its results.
 	 *
 	 * @param var the output variable name on which lineage trace is sought
 	 *
@@ -482,6 +574,9 @@ public class PreparedScript implements ConfigurableAPI
 	 *
 	 */
 	public String getLineageTrace(String var) {
+		if( isConcurrentExecution() )
+			throw new DMLException("Lineage traces of concurrent executions are only "
+				+ "available via the result variables of executeScript.");
 		return _outVarLineage.get(var);
 	}
 	
@@ -554,4 +649,9 @@ public class PreparedScript implements ConfigurableAPI
 	public Object clone() {
 		return clone(true);
 	}
+	
+	private LocalVariableMap getVars() {
+		ThreadLocal<LocalVariableMap> tvars = _tvars;
+		return (tvars != null) ? tvars.get() : _vars;
+	}
 }
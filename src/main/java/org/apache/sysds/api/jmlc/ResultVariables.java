@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.util.DataConverter;
 public class ResultVariables 
 {
 	private HashMap<String, Data> _out = null;
+	private HashMap<String, String> _lineage = null;
 	
 	public ResultVariables() {
 		_out = new HashMap<>();
@@ -200,4 +201,32 @@ public class ResultVariables
 	protected void addResult(String ovar, Data data) {
 		_out.put(ovar, data);
 	}
+	
+	/**
+	 * Obtain the generated output data of the given output variable,
+	 * without checks of its data type.
+	 * 
+	 * @param varname output variable name
+	 * @return output data, or null if not existing
+	 */
+	protected Data getData(String varname) {
+		return _out.get(varname);
+	}
+	
+	/**
+	 * Obtain the lineage trace of the given output variable, which
+	 * is only available if lineage tracing is enabled.
+	 * 
+	 * @param varname output variable name
+	 * @return lineage trace as a string, or null if not available
+	 */
+	public String getLineageTrace(String varname) {
+		return (_lineage != null) ? _lineage.get(varname) : null;
+	}
+	
+	protected void addLineageTrace(String ovar, String lineage) {
+		if( _lineage == null )
+			_lineage = new HashMap<>();
+		_lineage.put(ovar, lineage);
+	}
 }
@@ -48,6 +48,7 @@ import org.apache.sysds.lops.PickByCount;
 import org.apache.sysds.lops.SortKeys;
 import org.apache.sysds.lops.Unary;
 import org.apache.sysds.lops.UnaryCP;
+import org.apache.sysds.runtime.matrix.data.LibMatrixQuantile;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 
@@ -179,7 +180,9 @@ public class BinaryOp extends MultiThreadedHop
 	
 	@Override
 	public boolean isMultiThreadedOpType() {
-		return !getDataType().isScalar();
+		return !getDataType().isScalar()
+			|| op == OpOp2.IQM || op == OpOp2.MEDIAN
+			|| op == OpOp2.QUANTILE || op == OpOp2.INTERQUANTILE;
 	}
 	
 	@Override
@@ -237,7 +240,8 @@ public class BinaryOp extends MultiThreadedHop
 				getInput().get(0).constructLops(), 
 				getInput().get(1).constructLops(), 
 				SortKeys.OperationTypes.WithWeights, 
-				getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+				getInput().get(0).getDataType(), getInput().get(0).getValueType(), et,
+				OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 		sort.getOutputParameters().setDimensions(
 				getInput().get(0).getDim1(),
 				getInput().get(0).getDim2(), 
@@ -260,7 +264,8 @@ public class BinaryOp extends MultiThreadedHop
 				getInput().get(0).constructLops(), 
 				getInput().get(1).constructLops(), 
 				SortKeys.OperationTypes.WithWeights, 
-				getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+				getInput().get(0).getDataType(), getInput().get(0).getValueType(), et,
+				OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 		sort.getOutputParameters().setDimensions(
 				getInput().get(0).getDim1(),
 				getInput().get(0).getDim2(),
@@ -317,10 +322,23 @@ public class BinaryOp extends MultiThreadedHop
 		else
 			pick_op = PickByCount.OperationTypes.RANGEPICK;
 
+		//selection-based value pick in CP w/o sort (for few quantiles)
+		Hop quantiles = getInput().get(1);
+		if( et == ExecType.CP && op == OpOp2.QUANTILE && (quantiles.getDataType().isScalar()
+			|| (quantiles.rowsKnown() && quantiles.getDim1() <= LibMatrixQuantile.MAX_SELECT_QUANTILES)) ) {
+			PickByCount pick = new PickByCount(getInput().get(0).constructLops(), quantiles.constructLops(),
+				getDataType(), getValueType(), PickByCount.OperationTypes.VALUESELECT, et, true);
+			setOutputDimensions(pick);
+			setLineNumbers(pick);
+			setLops(pick);
+			return;
+		}
+
 		SortKeys sort = SortKeys.constructSortByValueLop(
 			getInput().get(0).constructLops(), 
 			SortKeys.OperationTypes.WithoutWeights, 
-			DataType.MATRIX, ValueType.FP64, et );
+			DataType.MATRIX, ValueType.FP64, et,
+			OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 		sort.getOutputParameters().setDimensions(
 			getInput().get(0).getDim1(),
 			getInput().get(0).getDim2(),
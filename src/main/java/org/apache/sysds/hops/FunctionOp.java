@@ -33,6 +33,8 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.controlprogram.Program;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.CostEstimatorHops;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderRecode;
+import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 
 /**
  * This FunctionOp represents the call to a DML-bodied or external function.
@@ -218,6 +220,10 @@ public class FunctionOp extends Hop
 						OptimizerUtils.estimateSizeExactSparsity(getOutputs().get(1).getDim1(), getOutputs().get(1).getDim2(), 1.0) +
 						OptimizerUtils.estimateSizeExactSparsity(getOutputs().get(2).getDim1(), getOutputs().get(2).getDim2(), 1.0);
 			}
+			else if ( getFunctionName().equalsIgnoreCase("transformencode") ) {
+				// encoded matrix (the meta data frame is accounted with the recode maps)
+				return OptimizerUtils.estimateSizeExactSparsity(getOutputs().get(0).getDim1(), getOutputs().get(0).getDim2(), 1.0);
+			}
 			else if ( getFunctionName().equalsIgnoreCase("svd") ) {
 				long outputU = OptimizerUtils.estimateSizeExactSparsity(getOutputs().get(0).getDim1(), getOutputs().get(0).getDim2(), 1.0);
 				long outputSigma = OptimizerUtils.estimateSizeExactSparsity(getOutputs().get(1).getDim1(), getOutputs().get(1).getDim2(), 1.0);
@@ -256,6 +262,18 @@ public class FunctionOp extends Hop
 				// TODO: To allow for initial version to always run on the GPU
 				return 0; 
 			}
+			else if ( getFunctionName().equalsIgnoreCase("transformencode") ) {
+				// recode maps of recoded columns (all columns if the spec is unknown)
+				Hop in = getInput().get(0);
+				Hop spec = getInput().get(1);
+				if( !in.dimsKnown() )
+					return 0;
+				long numCols = (spec instanceof LiteralOp) ? Math.min(in.getDim2(),
+					TfMetaUtils.getNumRecodeColumns(((LiteralOp)spec).getStringValue())) : in.getDim2();
+				return numCols * ColumnEncoderRecode.estimateInMemorySize(
+					ColumnEncoderRecode.estimateNumDistinct(in.getDim1()),
+					ColumnEncoderRecode.DEFAULT_AVG_TOKEN_LENGTH);
+			}
 			else if ( getFunctionName().equalsIgnoreCase("svd")) {
 				double interOutput = OptimizerUtils.estimateSizeExactSparsity(1, getInput().get(0).getDim2(), 1.0);
 				return interOutput;
@@ -597,6 +597,19 @@ public class OptimizerUtils
 		return (int) Math.round(dop);
 	}
 
+	/**
+	 * Returns the degree of parallelism used for transformencode and transformapply
+	 * in singlenode control program.
+	 * 
+	 * @return degree of parallelism
+	 */
+	public static int getTransformNumThreads()
+	{
+		if( !ConfigurationManager.isParallelTransform() )
+			return 1; // sequential execution
+		return getConstrainedNumThreads(-1);
+	}
+
 	public static int getParallelBinaryWriteParallelism()
 	{
 		if( !ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
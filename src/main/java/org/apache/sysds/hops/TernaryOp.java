@@ -151,7 +151,10 @@ public class TernaryOp extends MultiThreadedHop
 	public boolean isMultiThreadedOpType() {
 		return _op == OpOp3.IFELSE
 			|| _op == OpOp3.MINUS_MULT
-			|| _op == OpOp3.PLUS_MULT;
+			|| _op == OpOp3.PLUS_MULT
+			|| _op == OpOp3.QUANTILE
+			|| _op == OpOp3.INTERQUANTILE
+			|| _op == OpOp3.CTABLE;
 	}
 	
 	@Override
@@ -255,7 +258,8 @@ public class TernaryOp extends MultiThreadedHop
 		ExecType et = optFindExecType();
 		SortKeys sort = SortKeys.constructSortByValueLop(getInput().get(0).constructLops(),
 			getInput().get(1).constructLops(), SortKeys.OperationTypes.WithWeights, 
-			getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+			getInput().get(0).getDataType(), getInput().get(0).getValueType(), et,
+			OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 		PickByCount pick = new PickByCount(sort, getInput().get(2).constructLops(),
 			getDataType(), getValueType(), (_op == OpOp3.QUANTILE) ?
 			PickByCount.OperationTypes.VALUEPICK : PickByCount.OperationTypes.RANGEPICK, et, true);
@@ -319,8 +323,9 @@ public class TernaryOp extends MultiThreadedHop
 			inputLops[1] = ((ReorgOp)getInput(1)).getInput(0).constructLops();
 		}
 		
+		int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
 		Ctable ternary = new Ctable(inputLops, ternaryOp,
-			getDataType(), getValueType(), ignoreZeros, outputEmptyBlocks, et);
+			getDataType(), getValueType(), ignoreZeros, outputEmptyBlocks, et, k);
 		
 		ternary.getOutputParameters().setDimensions(getDim1(), getDim2(), getBlocksize(), -1);
 		setLineNumbers(ternary);
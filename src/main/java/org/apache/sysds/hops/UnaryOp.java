@@ -117,7 +117,8 @@ public class UnaryOp extends MultiThreadedHop
 	@Override
 	public boolean isMultiThreadedOpType() {
 		return isCumulativeUnaryOperation()
-			|| isExpensiveUnaryOperation();
+			|| isExpensiveUnaryOperation()
+			|| _op == OpOp1.MEDIAN || _op == OpOp1.IQM;
 	}
 	
 	@Override
@@ -191,11 +192,21 @@ public class UnaryOp extends MultiThreadedHop
 	{
 		ExecType et = optFindExecType();
 
+		//selection-based median in CP w/o sort
+		if( et == ExecType.CP ) {
+			PickByCount pick = new PickByCount(getInput().get(0).constructLops(), null,
+				getDataType(), getValueType(), PickByCount.OperationTypes.MEDIANSELECT, et, true);
+			pick.getOutputParameters().setDimensions(
+				getDim1(), getDim2(), getBlocksize(), getNnz());
+			setLineNumbers(pick);
+			return pick;
+		}
 		
+		int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 		SortKeys sort = SortKeys.constructSortByValueLop(
 							getInput().get(0).constructLops(), 
 							SortKeys.OperationTypes.WithoutWeights, 
-							DataType.MATRIX, ValueType.FP64, et );
+							DataType.MATRIX, ValueType.FP64, et, k );
 		sort.getOutputParameters().setDimensions(
 				getInput().get(0).getDim1(),
 				getInput().get(0).getDim2(),
@@ -222,10 +233,11 @@ public class UnaryOp extends MultiThreadedHop
 		ExecType et = optFindExecType();
 
 		Hop input = getInput().get(0);
-				SortKeys sort = SortKeys.constructSortByValueLop(
+		int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
+		SortKeys sort = SortKeys.constructSortByValueLop(
 				input.constructLops(), 
 				SortKeys.OperationTypes.WithoutWeights, 
-				DataType.MATRIX, ValueType.FP64, et );
+				DataType.MATRIX, ValueType.FP64, et, k );
 		sort.getOutputParameters().setDimensions(
 				input.getDim1(),
 				input.getDim2(),
@@ -34,7 +34,14 @@ public class PickByCount extends Lop
 		VALUEPICK, 
 		RANGEPICK, 
 		IQM, 
-		MEDIAN
+		MEDIAN,
+		//selection-based picks on the unsorted input (CP only)
+		VALUESELECT,
+		MEDIANSELECT;
+		
+		public boolean isSelect() {
+			return this == VALUESELECT || this == MEDIANSELECT;
+		}
 	}
 	
 	private OperationTypes operation;
@@ -39,6 +39,7 @@ public class SortKeys extends Lop
 	}
 	
 	private OperationTypes operation;
+	private int _numThreads = 1;
 	
 	public OperationTypes getOpType() {
 		return operation;
@@ -58,6 +59,16 @@ public class SortKeys extends Lop
 		super(Lop.Type.SortKeys, dt, vt);		
 		init(input1, input2, op, et);
 	}
+
+	public SortKeys(Lop input, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		this(input, op, dt, vt, et);
+		_numThreads = numThreads;
+	}
+
+	public SortKeys(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		this(input1, input2, op, dt, vt, et);
+		_numThreads = numThreads;
+	}
 	
 	private void init(Lop input1, Lop input2, OperationTypes op, ExecType et) {
 		addInput(input1);
@@ -82,21 +93,30 @@ public class SortKeys extends Lop
 
 	@Override
 	public String getInstructions(String input, String output) {
-		return InstructionUtils.concatOperands(
+		String ret = InstructionUtils.concatOperands(
 			getExecType().name(),
 			OPCODE,
 			getInputs().get(0).prepInputOperand(input),
 			prepOutputOperand(output));
+		return appendNumThreads(ret);
 	}
 	
 	@Override
 	public String getInstructions(String input1, String input2, String output) {
-		return InstructionUtils.concatOperands(
+		String ret = InstructionUtils.concatOperands(
 			getExecType().name(),
 			OPCODE,
 			getInputs().get(0).prepInputOperand(input1),
 			getInputs().get(1).prepInputOperand(input2),
 			prepOutputOperand(output));
+		return appendNumThreads(ret);
+	}
+	
+	private String appendNumThreads(String inst) {
+		//num threads for multi-threaded sort in cp (and fed workers)
+		if( getExecType() == ExecType.CP || getExecType() == ExecType.FED )
+			return InstructionUtils.concatOperands(inst, String.valueOf(_numThreads));
+		return inst;
 	}
 	
 	// This method is invoked in two cases:
@@ -104,6 +124,11 @@ public class SortKeys extends Lop
 	// 2) Unweighted SortKeys executes in CP
 	public static SortKeys constructSortByValueLop(Lop input1, OperationTypes op, 
 			DataType dt, ValueType vt, ExecType et) {
+		return constructSortByValueLop(input1, op, dt, vt, et, 1);
+	}
+	
+	public static SortKeys constructSortByValueLop(Lop input1, OperationTypes op, 
+			DataType dt, ValueType vt, ExecType et, int numThreads) {
 		
 		for (Lop lop  : input1.getOutputs()) {
 			if ( lop.type == Lop.Type.SortKeys ) {
@@ -111,7 +136,7 @@ public class SortKeys extends Lop
 			}
 		}
 		
-		SortKeys retVal = new SortKeys(input1, op, dt, vt, et);
+		SortKeys retVal = new SortKeys(input1, op, dt, vt, et, numThreads);
 		retVal.setAllPositions(input1.getFilename(), input1.getBeginLine(), input1.getBeginColumn(), input1.getEndLine(), input1.getEndColumn());
 		return retVal;
 	}
@@ -119,6 +144,11 @@ public class SortKeys extends Lop
 	// This method is invoked ONLY for the case of Weighted SortKeys executing in CP
 	public static SortKeys constructSortByValueLop(Lop input1, Lop input2, OperationTypes op, 
 			DataType dt, ValueType vt, ExecType et) {
+		return constructSortByValueLop(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	public static SortKeys constructSortByValueLop(Lop input1, Lop input2, OperationTypes op, 
+			DataType dt, ValueType vt, ExecType et, int numThreads) {
 		
 		HashSet<Lop> set1 = new HashSet<>();
 		set1.addAll(input1.getOutputs());
@@ -131,7 +161,7 @@ public class SortKeys extends Lop
 			}
 		}
 		
-		SortKeys retVal = new SortKeys(input1, input2, op, dt, vt, et);
+		SortKeys retVal = new SortKeys(input1, input2, op, dt, vt, et, numThreads);
 		retVal.setAllPositions(input1.getFilename(), input1.getBeginLine(), input1.getBeginColumn(), input1.getEndLine(), input1.getEndColumn());
 		return retVal;
 	}
@@ -84,13 +84,22 @@ public abstract class Statement implements ParseInfo
 		public boolean isASP() {
 			return this == ASP;
 		}
+		public boolean isSSP() {
+			return this == SSP;
+		}
 	}
+	public static final String PS_STALENESS = "staleness";
 	public static final String PS_FREQUENCY = "freq";
 	public enum PSFrequency {
 		BATCH, EPOCH
 	}
 	public static final String PS_FED_WEIGHTING = "weighting";
 	public static final String PS_FED_RUNTIME_BALANCING = "runtime_balancing";
+	public static final String PS_FED_COMPRESSION = "compression";
+	public enum PSGradientCompression {
+		NONE, TOPK, QUANTIZE8, QUANTIZE16
+	}
+	public static final String PS_FED_COMPRESSION_RATIO = "compression_ratio";
 	public enum PSRuntimeBalancing {
 		NONE, BASELINE, CYCLE_MIN, CYCLE_AVG, CYCLE_MAX, SCALE_BATCH
 	}
@@ -119,6 +128,9 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_FED_GRADIENTS_FNAME = "1701-NCC-gradients_fname";
 	public static final String PS_FED_AGGREGATION_FNAME = "1701-NCC-aggregation_fname";
 	public static final String PS_FED_MODEL_VARID = "1701-NCC-model_varid";
+	public static final String PS_FED_COMPRESSION_TYPE = "1701-NCC-compression";
+	public static final String PS_FED_COMPRESSION_TOPK_RATIO = "1701-NCC-compression_ratio";
+	public static final String PS_FED_RESIDUALS = "1701-NCC-residuals";
 
 
 	public abstract boolean controlStatement();
@@ -48,20 +48,21 @@ import org.apache.sysds.runtime.DMLCompressionException;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupCompressed;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.compress.lib.CLALibAppend;
+import org.apache.sysds.runtime.compress.lib.CLALibCMOps;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
 import org.apache.sysds.runtime.compress.lib.CLALibCompAgg;
 import org.apache.sysds.runtime.compress.lib.CLALibLeftMultBy;
+import org.apache.sysds.runtime.compress.lib.CLALibQuaternary;
 import org.apache.sysds.runtime.compress.lib.CLALibReExpand;
 import org.apache.sysds.runtime.compress.lib.CLALibRightMultBy;
 import org.apache.sysds.runtime.compress.lib.CLALibScalar;
 import org.apache.sysds.runtime.compress.lib.CLALibSquash;
+import org.apache.sysds.runtime.compress.lib.CLALibTable;
+import org.apache.sysds.runtime.compress.lib.CLALibUnary;
 import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
@@ -101,7 +102,6 @@ import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
-import org.apache.sysds.runtime.util.SortUtils;
 import org.apache.sysds.utils.DMLCompressionStatistics;
 
 public class CompressedMatrixBlock extends MatrixBlock {
@@ -425,6 +425,9 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public MatrixBlock append(MatrixBlock that, MatrixBlock ret, boolean cbind) {
 		if(cbind) // use supported operation
 			return append(that, ret);
+		MatrixBlock rbind = CLALibAppend.rbind(this, that, OptimizerUtils.getConstrainedNumThreads(-1));
+		if(rbind != null)
+			return rbind;
 		printDecompressWarning("append-rbind", that);
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right = getUncompressed(that);
@@ -837,6 +840,9 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		if(Builtin.isBuiltinCode(op.fn, BuiltinCode.ISNAN, BuiltinCode.ISNA) && !containsValue(op.getPattern()))
 			return new MatrixBlock(getNumRows(), getNumColumns(), 0); // avoid unnecessary allocation
 
+		if(CLALibUnary.isSupported(op, this))
+			return CLALibUnary.unaryOperations(op, this);
+
 		printDecompressWarning("unaryOperations " + op.fn.toString());
 		MatrixBlock tmp = getUncompressed();
 		return tmp.unaryOperations(op, result);
@@ -963,90 +969,52 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op) {
-		printDecompressWarning("cmOperations");
-		if(isEmptyBlock())
-			return super.cmOperations(op);
-		AColGroup grp = _colGroups.get(0);
-		MatrixBlock vals = grp.getValuesAsBlock();
-		if(grp instanceof ColGroupValue) {
-			MatrixBlock counts = getCountsAsBlock(((ColGroupValue) grp).getCounts());
-			if(counts.isEmpty())
-				return vals.cmOperations(op);
-			return vals.cmOperations(op, counts);
-		}
-		else {
-			return vals.cmOperations(op);
-		}
-	}
-
-	private static MatrixBlock getCountsAsBlock(int[] counts) {
-		if(counts != null) {
-			MatrixBlock ret = new MatrixBlock(counts.length, 1, false);
-			for(int i = 0; i < counts.length; i++)
-				ret.quickSetValue(i, 0, counts[i]);
+		CM_COV_Object ret = CLALibCMOps.cmOperations(this, op, null);
+		if(ret != null)
 			return ret;
-		}
-		else
-			return new MatrixBlock(1, 1, false);
+		printDecompressWarning("cmOperations");
+		return getUncompressed().cmOperations(op);
 	}
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) {
-		printDecompressWarning("cmOperations");
 		MatrixBlock right = getUncompressed(weights);
-		if(isEmptyBlock())
-			return super.cmOperations(op, right);
-		AColGroup grp = _colGroups.get(0);
-		if(grp instanceof ColGroupUncompressed)
-			return ((ColGroupUncompressed) grp).getData().cmOperations(op);
+		CM_COV_Object ret = CLALibCMOps.cmOperations(this, op, right);
+		if(ret != null)
+			return ret;
+		printDecompressWarning("cmOperations");
 		return getUncompressed().cmOperations(op, right);
 	}
 
 	@Override
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that) {
-		printDecompressWarning("covOperations");
-		MatrixBlock left = getUncompressed();
 		MatrixBlock right = getUncompressed(that);
-		return left.covOperations(op, right);
+		CM_COV_Object ret = CLALibCMOps.covOperations(this, op, right, null);
+		if(ret != null)
+			return ret;
+		printDecompressWarning("covOperations");
+		return getUncompressed().covOperations(op, right);
 	}
 
 	@Override
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) {
-		printDecompressWarning("covOperations");
-		MatrixBlock left = getUncompressed();
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(weights);
-		return left.covOperations(op, right1, right2);
+		CM_COV_Object ret = CLALibCMOps.covOperations(this, op, right1, right2);
+		if(ret != null)
+			return ret;
+		printDecompressWarning("covOperations");
+		return getUncompressed().covOperations(op, right1, right2);
 	}
 
 	@Override
-	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result) {
+	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result, int k) {
 		MatrixBlock right = getUncompressed(weights);
-		if(_colGroups.size() == 1) {
-			AColGroup grp = _colGroups.get(0);
-			if(grp instanceof ColGroupEmpty || grp instanceof ColGroupConst)
-				return this;
-			printDecompressWarning("sortOperations");
-			if(grp instanceof ColGroupUncompressed)
-				return grp.getValuesAsBlock().sortOperations(right, result);
-
-			if(right == null && grp instanceof ColGroupCompressed) {
-				MatrixBlock vals = grp.getValuesAsBlock();
-				int[] counts = ((ColGroupValue) grp).getCounts();
-				double[] data = (vals.getDenseBlock() != null) ? vals.getDenseBlockValues() : null;
-				SortUtils.sortByValue(0, vals.getNumRows(), data, counts);
-				MatrixBlock counts2 = getCountsAsBlock(counts);
-				if(counts2.isEmpty())
-					return vals;
-				return vals.sortOperations(counts2, result);
-			}
-			else
-				return getUncompressed().sortOperations(right, result);
-		}
-		else {
-			printDecompressWarning("sortOperations with multiple column groups is not supported");
-			return getUncompressed().sortOperations(weights, result);
-		}
+		MatrixBlock ret = CLALibCMOps.sortOperations(this, right, result, k);
+		if(ret != null)
+			return ret;
+		printDecompressWarning("sortOperations");
+		return getUncompressed().sortOperations(right, result, k);
 	}
 
 	@Override
@@ -1091,10 +1059,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups,
 		Operator op, int k) {
+		MatrixBlock target = getUncompressed(tgt);
+		MatrixBlock weights = getUncompressed(wghts);
+		MatrixBlock result = CLALibTable.groupedAggOperations(this, target, weights, (MatrixBlock) ret, ngroups, op);
+		if(result != null)
+			return result;
 		printDecompressWarning("groupedAggOperations");
 		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(wghts);
-		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
+		return left.groupedAggOperations(target, weights, ret, ngroups, op, k);
 	}
 
 	@Override
@@ -1104,6 +1076,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
 	}
 
+	@Override
+	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select,
+		int k) {
+		printDecompressWarning("removeEmptyOperations");
+		MatrixBlock tmp = getUncompressed();
+		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select, k);
+	}
+
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn) {
 		printDecompressWarning("removeEmptyOperations");
@@ -1114,15 +1094,19 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, double scalar, MatrixValue that, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		MatrixBlock right = getUncompressed(that);
+		if(CLALibTable.ctable(this, scalar, right, resultMap, resultBlock))
+			return;
 		printDecompressWarning("ctableOperations Var 1");
 		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
 		left.ctableOperations(op, scalar, right, resultMap, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibTable.ctable(this, scalar, scalar2, resultMap, resultBlock))
+			return;
 		printDecompressWarning("ctableOperations Var 2");
 		MatrixBlock tmp = getUncompressed();
 		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
@@ -1131,6 +1115,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixIndexes ix1, double scalar, boolean left, int brlen,
 		CTableMap resultMap, MatrixBlock resultBlock) {
+		if(CLALibTable.ctable(this, ix1, scalar, left, brlen, resultMap, resultBlock))
+			return;
 		printDecompressWarning("ctableOperations Var 3");
 		MatrixBlock tmp = getUncompressed();
 		tmp.ctableOperations(op, ix1, scalar, left, brlen, resultMap, resultBlock);
@@ -1139,36 +1125,35 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, double scalar, boolean ignoreZeros, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		MatrixBlock right = getUncompressed(that);
+		if(CLALibTable.ctable(this, right, scalar, ignoreZeros, resultMap, resultBlock))
+			return;
 		printDecompressWarning("ctableOperations Var 4");
 		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
 		left.ctableOperations(op, right, scalar, ignoreZeros, resultMap, resultBlock);
 	}
 
 	@Override
 	public MatrixBlock ctableSeqOperations(MatrixValue that, double scalar, MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 5");
-		MatrixBlock left = getUncompressed();
+		// the sequence input only contributes its number of rows
 		MatrixBlock right = getUncompressed(that);
-		return left.ctableSeqOperations(right, scalar, resultBlock);
+		return super.ctableSeqOperations(right, scalar, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap) {
-		printDecompressWarning("ctableOperations Var 6");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right1 = getUncompressed(that);
-		MatrixBlock right2 = getUncompressed(that2);
-		left.ctableOperations(op, right1, right2, resultMap);
+		ctableOperations(op, that, that2, resultMap, null);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 7");
-		MatrixBlock left = getUncompressed();
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(that2);
+		if(CLALibTable.ctable(this, right1, right2, resultMap, resultBlock))
+			return;
+		printDecompressWarning("ctableOperations Var 7");
+		MatrixBlock left = getUncompressed();
 		left.ctableOperations(op, right1, right2, resultMap, resultBlock);
 	}
 
@@ -1190,11 +1175,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock quaternaryOperations(QuaternaryOperator qop, MatrixBlock um, MatrixBlock vm, MatrixBlock wm,
 		MatrixBlock out, int k) {
-		printDecompressWarning("quaternaryOperations");
-		MatrixBlock left = getUncompressed();
 		MatrixBlock right1 = getUncompressed(um);
 		MatrixBlock right2 = getUncompressed(vm);
 		MatrixBlock right3 = getUncompressed(wm);
+		MatrixBlock ret = CLALibQuaternary.quaternaryOperations(this, qop, right1, right2, right3, out, k);
+		if(ret != null)
+			return ret;
+		printDecompressWarning("quaternaryOperations");
+		MatrixBlock left = getUncompressed();
 		return left.quaternaryOperations(qop, right1, right2, right3, out, k);
 	}
 
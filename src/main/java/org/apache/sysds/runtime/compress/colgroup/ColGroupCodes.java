@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
+import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
+
+/**
+ * Row-wise codes of a column group, i.e., the index of the dictionary tuple of each row. For DDC groups, the existing
+ * mapping is used as is, while the codes of SDC variants, constant and empty groups are materialized once. The
+ * tuples contain all dictionary entries plus a trailing zero tuple for rows not covered by the dictionary (e.g., the
+ * default zero of SDCZeros), such that operations can be computed per code and mapped to the dictionary values.
+ */
+public class ColGroupCodes {
+	private final int _nCol;
+	private final double[] _values;
+	private final ColGroupDDC _ddc;
+	private final int[] _codes;
+	private int[] _counts;
+
+	private ColGroupCodes(int nCol, double[] values, ColGroupDDC ddc, int[] codes) {
+		_nCol = nCol;
+		_values = Arrays.copyOf(values, values.length + nCol);
+		_ddc = ddc;
+		_codes = codes;
+	}
+
+	/**
+	 * Creates the row-wise codes of the given column group.
+	 *
+	 * @param g The column group
+	 * @return The codes, or null if the column group type is not supported (e.g., uncompressed, OLE, RLE)
+	 */
+	public static ColGroupCodes create(AColGroup g) {
+		final int nCol = g.getNumCols();
+		final int n = g.getNumRows();
+		if(g instanceof ColGroupDDC)
+			return new ColGroupCodes(nCol, g.getValues(), (ColGroupDDC) g, null);
+		else if(g instanceof ColGroupEmpty)
+			return new ColGroupCodes(nCol, new double[0], null, new int[n]);
+		else if(g instanceof ColGroupConst)
+			return new ColGroupCodes(nCol, g.getValues(), null, new int[n]);
+		else if(g instanceof ColGroupSDC) {
+			ColGroupSDC sg = (ColGroupSDC) g;
+			int nv = sg.getNumValues();
+			return createOffsets(nCol, sg.getValues(), sg._indexes, sg._data, -1, nv - 1, n);
+		}
+		else if(g instanceof ColGroupSDCZeros) {
+			ColGroupSDCZeros sg = (ColGroupSDCZeros) g;
+			int nv = sg.getNumValues();
+			return createOffsets(nCol, sg.getValues(), sg._indexes, sg._data, -1, nv, n);
+		}
+		else if(g instanceof ColGroupSDCSingle) {
+			// default is the first tuple, offsets refer to the last tuple
+			ColGroupSDCSingle sg = (ColGroupSDCSingle) g;
+			int nv = sg.getNumValues();
+			return createOffsets(nCol, sg.getValues(), sg._indexes, null, nv - 1, 0, n);
+		}
+		else if(g instanceof ColGroupSDCSingleZeros) {
+			ColGroupSDCSingleZeros sg = (ColGroupSDCSingleZeros) g;
+			int nv = sg.getNumValues();
+			return createOffsets(nCol, sg.getValues(), sg._indexes, null, 0, nv, n);
+		}
+		return null;
+	}
+
+	private static ColGroupCodes createOffsets(int nCol, double[] values, AOffset indexes, AMapToData data,
+		int offTuple, int dfltTuple, int n) {
+		int[] codes = new int[n];
+		if(dfltTuple != 0)
+			Arrays.fill(codes, dfltTuple);
+		AIterator it = indexes.getIterator();
+		while(it.hasNext()) {
+			int off = it.value();
+			int di = it.getDataIndexAndIncrement();
+			codes[off] = (data != null) ? data.getIndex(di) : offTuple;
+		}
+		return new ColGroupCodes(nCol, values, null, codes);
+	}
+
+	/**
+	 * Get the number of codes including the trailing zero tuple.
+	 *
+	 * @return The number of codes
+	 */
+	public int getNumCodes() {
+		return _values.length / _nCol;
+	}
+
+	public int getCode(int r) {
+		return (_ddc != null) ? _ddc.getIndex(r) : _codes[r];
+	}
+
+	/**
+	 * Get the value of a tuple.
+	 *
+	 * @param code The code of the tuple
+	 * @param col  The column index relative to the column group
+	 * @return The value
+	 */
+	public double getValue(int code, int col) {
+		return _values[code * _nCol + col];
+	}
+
+	/**
+	 * Get the number of rows per code. For DDC groups, the cached counts of the column group are reused.
+	 *
+	 * @return The counts per code
+	 */
+	public int[] getCounts() {
+		if(_counts == null) {
+			if(_ddc != null)
+				_counts = Arrays.copyOf(_ddc.getCounts(), getNumCodes());
+			else {
+				_counts = new int[getNumCodes()];
+				for(int code : _codes)
+					_counts[code]++;
+			}
+		}
+		return _counts;
+	}
+}
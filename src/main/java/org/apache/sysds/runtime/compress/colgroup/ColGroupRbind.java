@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
+import org.apache.sysds.runtime.compress.utils.DblArray;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Row-wise append (rbind) of uncompressed rows to a column group without
+ * decompression. The tuples of the appended rows are merged into the
+ * dictionary (existing tuples are reused, new tuples are appended), and the
+ * index structures are extended: DDC mappings are remapped to the merged
+ * dictionary, while SDC variants, constant and empty groups append offsets
+ * for all rows that differ from their default tuple. OLE and RLE groups are
+ * converted into uncompressed groups.
+ */
+public class ColGroupRbind {
+
+	private ColGroupRbind() {
+		// private constructor
+	}
+
+	/**
+	 * Appends the rows of the given uncompressed block to the column group.
+	 * 
+	 * @param g      The column group
+	 * @param bottom The uncompressed rows, with the same number of columns as the compressed matrix
+	 * @return A new column group with the rows of both inputs
+	 */
+	public static AColGroup rbind(AColGroup g, MatrixBlock bottom) {
+		if(g instanceof ColGroupDDC)
+			return rbindDDC((ColGroupDDC) g, bottom);
+		else if(g instanceof ColGroupSDC) {
+			ColGroupSDC sg = (ColGroupSDC) g;
+			double[] vals = sg.getValues();
+			int nCol = sg.getNumCols();
+			int nv = sg.getNumValues();
+			SparseTuples st = new SparseTuples(Arrays.copyOf(vals, (nv - 1) * nCol),
+				Arrays.copyOfRange(vals, (nv - 1) * nCol, nv * nCol), nCol);
+			AIterator it = sg._indexes.getIterator();
+			while(it.hasNext())
+				st.append(it.value(), sg.getIndex(it.getDataIndexAndIncrement()));
+			return rbindSparse(sg, st, bottom);
+		}
+		else if(g instanceof ColGroupSDCZeros) {
+			ColGroupSDCZeros sg = (ColGroupSDCZeros) g;
+			SparseTuples st = new SparseTuples(sg.getValues(), null, sg.getNumCols());
+			AIterator it = sg._indexes.getIterator();
+			while(it.hasNext())
+				st.append(it.value(), sg.getIndex(it.getDataIndexAndIncrement()));
+			return rbindSparse(sg, st, bottom);
+		}
+		else if(g instanceof ColGroupSDCSingle) {
+			// default is the first tuple, offsets refer to the last tuple
+			ColGroupSDCSingle sg = (ColGroupSDCSingle) g;
+			double[] vals = sg.getValues();
+			int nCol = sg.getNumCols();
+			SparseTuples st = new SparseTuples(Arrays.copyOfRange(vals, vals.length - nCol, vals.length),
+				Arrays.copyOf(vals, nCol), nCol);
+			AIterator it = sg._indexes.getIterator();
+			while(it.hasNext())
+				st.append(it.valueAndIncrement(), 0);
+			return rbindSparse(sg, st, bottom);
+		}
+		else if(g instanceof ColGroupSDCSingleZeros) {
+			ColGroupSDCSingleZeros sg = (ColGroupSDCSingleZeros) g;
+			SparseTuples st = new SparseTuples(sg.getValues(), null, sg.getNumCols());
+			AIterator it = sg._indexes.getIterator();
+			while(it.hasNext())
+				st.append(it.valueAndIncrement(), 0);
+			return rbindSparse(sg, st, bottom);
+		}
+		else if(g instanceof ColGroupConst) {
+			ColGroupConst cg = (ColGroupConst) g;
+			return rbindSparse(cg, new SparseTuples(new double[0], cg.getValues(), cg.getNumCols()), bottom);
+		}
+		else if(g instanceof ColGroupEmpty)
+			return rbindSparse(g, new SparseTuples(new double[0], null, g.getNumCols()), bottom);
+		else
+			return rbindUncompressed(g, bottom);
+	}
+
+	private static AColGroup rbindDDC(ColGroupDDC g, MatrixBlock bottom) {
+		final int m1 = g.getNumRows();
+		final int m2 = bottom.getNumRows();
+		final int nCol = g.getNumCols();
+		TupleDictionary dict = new TupleDictionary(g.getValues(), nCol);
+
+		// map appended rows to (new) tuples
+		int[] map = new int[m2];
+		double[] tuple = new double[nCol];
+		for(int i = 0; i < m2; i++)
+			map[i] = dict.getOrAdd(getTuple(bottom, i, g._colIndexes, tuple));
+
+		AMapToData data = MapToFactory.create(m1 + m2, dict.size());
+		for(int i = 0; i < m1; i++)
+			data.set(i, g.getIndex(i));
+		for(int i = 0; i < m2; i++)
+			data.set(m1 + i, map[i]);
+		return new ColGroupDDC(g._colIndexes, m1 + m2, new Dictionary(dict.getValues()), data, null);
+	}
+
+	private static AColGroup rbindSparse(AColGroup g, SparseTuples st, MatrixBlock bottom) {
+		final int m1 = g.getNumRows();
+		final int m2 = bottom.getNumRows();
+		final int[] cols = g._colIndexes;
+
+		// append offsets of all rows that differ from the default tuple
+		double[] tuple = new double[cols.length];
+		for(int i = 0; i < m2; i++) {
+			getTuple(bottom, i, cols, tuple);
+			if(!st.isDefault(tuple))
+				st.append(m1 + i, st.dict.getOrAdd(tuple));
+		}
+
+		// construct output column group
+		final int nRows = m1 + m2;
+		final int nOff = st.offsets.size();
+		if(nOff == 0)
+			return (st.dflt == null) ? new ColGroupEmpty(cols, nRows) :
+				new ColGroupConst(cols, nRows, new Dictionary(st.dflt));
+		int[] offsets = st.offsets.extractValues(true);
+		AMapToData data = MapToFactory.create(nOff, st.dict.size() + (st.dflt != null ? 1 : 0));
+		for(int i = 0; i < nOff; i++)
+			data.set(i, st.tuples.get(i));
+		double[] vals = st.dict.getValues();
+		if(st.dflt == null)
+			return new ColGroupSDCZeros(cols, nRows, new Dictionary(vals), offsets, data, null);
+		double[] valsDflt = Arrays.copyOf(vals, vals.length + st.dflt.length);
+		System.arraycopy(st.dflt, 0, valsDflt, vals.length, st.dflt.length);
+		return new ColGroupSDC(cols, nRows, new Dictionary(valsDflt), offsets, data, null);
+	}
+
+	private static AColGroup rbindUncompressed(AColGroup g, MatrixBlock bottom) {
+		final int m1 = g.getNumRows();
+		final int m2 = bottom.getNumRows();
+		final int nCol = g.getNumCols();
+		MatrixBlock top;
+		if(g instanceof ColGroupUncompressed)
+			top = ((ColGroupUncompressed) g).getData();
+		else {
+			// decompress the group w/ local column indexes (e.g., OLE, RLE)
+			int[] lcols = new int[nCol];
+			for(int j = 0; j < nCol; j++)
+				lcols[j] = j;
+			ColGroupValue vg = (ColGroupValue) g;
+			top = new MatrixBlock(m1, nCol, false);
+			top.allocateDenseBlock();
+			vg.copyAndSet(lcols, vg._dict).decompressToBlock(top, 0, m1);
+			top.recomputeNonZeros();
+		}
+		MatrixBlock tmp = new MatrixBlock(m2, nCol, false);
+		double[] tuple = new double[nCol];
+		for(int i = 0; i < m2; i++) {
+			getTuple(bottom, i, g._colIndexes, tuple);
+			for(int j = 0; j < nCol; j++)
+				tmp.appendValue(i, j, tuple[j]);
+		}
+		MatrixBlock ret = top.append(tmp, new MatrixBlock(), false);
+		return ret.isEmpty() ? new ColGroupEmpty(g._colIndexes, m1 + m2) :
+			new ColGroupUncompressed(g._colIndexes, ret);
+	}
+
+	private static double[] getTuple(MatrixBlock mb, int r, int[] cols, double[] tuple) {
+		for(int j = 0; j < cols.length; j++)
+			tuple[j] = mb.quickGetValue(r, cols[j]);
+		return tuple;
+	}
+
+	/**
+	 * Dictionary of distinct tuples with hash-based lookup of tuple indexes.
+	 */
+	private static class TupleDictionary {
+		private final Map<DblArray, Integer> _map = new HashMap<>();
+		private final int _nCol;
+		private double[] _values;
+		private int _size;
+
+		private TupleDictionary(double[] values, int nCol) {
+			_nCol = nCol;
+			_values = values;
+			_size = (nCol > 0) ? values.length / nCol : 0;
+			for(int i = 0; i < _size; i++)
+				_map.putIfAbsent(new DblArray(Arrays.copyOfRange(values, i * nCol, (i + 1) * nCol)), i);
+		}
+
+		private int getOrAdd(double[] tuple) {
+			Integer ix = _map.get(new DblArray(tuple));
+			if(ix != null)
+				return ix;
+			if((_size + 1) * _nCol > _values.length)
+				_values = Arrays.copyOf(_values, Math.max(2 * _values.length, (_size + 1) * _nCol));
+			System.arraycopy(tuple, 0, _values, _size * _nCol, _nCol);
+			_map.put(new DblArray(tuple.clone()), _size);
+			return _size++;
+		}
+
+		private int size() {
+			return _size;
+		}
+
+		private double[] getValues() {
+			return Arrays.copyOf(_values, _size * _nCol);
+		}
+	}
+
+	/**
+	 * Sparse representation of a column group as non-default tuples, offsets of
+	 * rows with non-default tuples, and a default tuple (null for zeros).
+	 */
+	private static class SparseTuples {
+		private final TupleDictionary dict;
+		private final double[] dflt;
+		private final IntArrayList offsets = new IntArrayList();
+		private final IntArrayList tuples = new IntArrayList();
+
+		private SparseTuples(double[] values, double[] dflt, int nCol) {
+			this.dict = new TupleDictionary(values, nCol);
+			this.dflt = dflt;
+		}
+
+		private void append(int offset, int tuple) {
+			offsets.appendValue(offset);
+			tuples.appendValue(tuple);
+		}
+
+		private boolean isDefault(double[] tuple) {
+			if(dflt != null)
+				return Arrays.equals(dflt, tuple);
+			for(double v : tuple)
+				if(v != 0)
+					return false;
+			return true;
+		}
+	}
+}
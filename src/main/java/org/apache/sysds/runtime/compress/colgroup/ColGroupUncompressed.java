@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.SortUtils;
 
 /**
@@ -380,6 +381,19 @@ public class ColGroupUncompressed extends AColGroup {
 		return new ColGroupUncompressed(getColIndices(), retContent);
 	}
 
+	/**
+	 * Apply the given element-wise unary operation to the uncompressed data.
+	 * 
+	 * @param op The unary operator
+	 * @return The new column group
+	 */
+	public AColGroup unaryOperation(UnaryOperator op) {
+		MatrixBlock retContent = _data.unaryOperations(op, new MatrixBlock());
+		if(retContent.isEmpty())
+			return new ColGroupEmpty(_colIndexes, _data.getNumRows());
+		return new ColGroupUncompressed(getColIndices(), retContent);
+	}
+
 	@Override
 	public AColGroup binaryRowOp(BinaryOperator op, double[] v, boolean sparseSafe, boolean left) {
 		DenseBlock b = new DenseBlockFP64(new int[] {1, v.length}, v);
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
+import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Distinct values of a single-column group with their aggregated weights, i.e., the number of occurrences or the sum
+ * of row weights per dictionary entry. Optionally, the weighted sums of a second column vector are aggregated per
+ * dictionary entry as well, which allows computing covariances over the dictionary.
+ *
+ * The values contain all dictionary entries plus a trailing zero entry, which captures all rows not covered by the
+ * dictionary (e.g., the default zero of SDCZeros or empty groups).
+ */
+public class ColGroupWeights {
+	private final double[] _values;
+	private final double[] _weights;
+	private final double[] _sums;
+	private final double[] _corr;
+
+	private ColGroupWeights(double[] values, boolean sums) {
+		_values = Arrays.copyOf(values, values.length + 1);
+		_weights = new double[_values.length];
+		_sums = sums ? new double[_values.length] : null;
+		_corr = sums ? new double[_values.length] : null;
+	}
+
+	/**
+	 * Aggregates the weights of the distinct values of the given column group.
+	 *
+	 * @param g       The single-column group
+	 * @param weights The row weights, or null for counting occurrences
+	 * @param that    The second column vector to aggregate weighted sums for, or null
+	 * @return The distinct values and their weights, or null if the column group type is not supported
+	 */
+	public static ColGroupWeights create(AColGroup g, MatrixBlock weights, MatrixBlock that) {
+		if(g.getNumCols() != 1)
+			return null;
+		final int n = g.getNumRows();
+		if(g instanceof ColGroupEmpty) {
+			ColGroupWeights ret = new ColGroupWeights(new double[0], that != null);
+			ret.addRange(0, 0, n, weights, that);
+			return ret;
+		}
+		else if(g instanceof ColGroupConst) {
+			ColGroupWeights ret = new ColGroupWeights(g.getValues(), that != null);
+			ret.addRange(0, 0, n, weights, that);
+			return ret;
+		}
+		else if(g instanceof ColGroupDDC) {
+			ColGroupDDC dg = (ColGroupDDC) g;
+			ColGroupWeights ret = new ColGroupWeights(dg.getValues(), that != null);
+			if(weights == null && that == null) {
+				// cached counts of dictionary entries
+				int[] counts = dg.getCounts();
+				for(int i = 0; i < counts.length; i++)
+					ret._weights[i] = counts[i];
+			}
+			else {
+				for(int r = 0; r < n; r++)
+					ret.add(dg.getIndex(r), r, weights, that);
+			}
+			return ret;
+		}
+		else if(g instanceof ColGroupSDC) {
+			ColGroupSDC sg = (ColGroupSDC) g;
+			int nv = sg.getNumValues();
+			return createOffsets(sg.getValues(), sg._indexes, sg._data, -1, nv - 1, n, weights, that);
+		}
+		else if(g instanceof ColGroupSDCZeros) {
+			ColGroupSDCZeros sg = (ColGroupSDCZeros) g;
+			int nv = sg.getNumValues();
+			return createOffsets(sg.getValues(), sg._indexes, sg._data, -1, nv, n, weights, that);
+		}
+		else if(g instanceof ColGroupSDCSingle) {
+			// default is the first tuple, offsets refer to the last tuple
+			ColGroupSDCSingle sg = (ColGroupSDCSingle) g;
+			int nv = sg.getNumValues();
+			return createOffsets(sg.getValues(), sg._indexes, null, nv - 1, 0, n, weights, that);
+		}
+		else if(g instanceof ColGroupSDCSingleZeros) {
+			ColGroupSDCSingleZeros sg = (ColGroupSDCSingleZeros) g;
+			int nv = sg.getNumValues();
+			return createOffsets(sg.getValues(), sg._indexes, null, 0, nv, n, weights, that);
+		}
+		return null;
+	}
+
+	private static ColGroupWeights createOffsets(double[] values, AOffset indexes, AMapToData data, int offTuple,
+		int dfltTuple, int n, MatrixBlock weights, MatrixBlock that) {
+		ColGroupWeights ret = new ColGroupWeights(values, that != null);
+		AIterator it = indexes.getIterator();
+		if(weights == null && that == null) {
+			// counts of offsets per dictionary entry, remaining rows are default
+			int nOff = 0;
+			while(it.hasNext()) {
+				int di = it.getDataIndexAndIncrement();
+				ret._weights[(data != null) ? data.getIndex(di) : offTuple]++;
+				nOff++;
+			}
+			ret._weights[dfltTuple] += n - nOff;
+		}
+		else {
+			int r = 0;
+			while(it.hasNext()) {
+				int off = it.value();
+				int di = it.getDataIndexAndIncrement();
+				ret.addRange(dfltTuple, r, off, weights, that);
+				ret.add((data != null) ? data.getIndex(di) : offTuple, off, weights, that);
+				r = off + 1;
+			}
+			ret.addRange(dfltTuple, r, n, weights, that);
+		}
+		return ret;
+	}
+
+	private void addRange(int t, int rl, int ru, MatrixBlock weights, MatrixBlock that) {
+		if(weights == null && that == null)
+			_weights[t] += ru - rl;
+		else
+			for(int r = rl; r < ru; r++)
+				add(t, r, weights, that);
+	}
+
+	private void add(int t, int r, MatrixBlock weights, MatrixBlock that) {
+		double w = (weights != null) ? weights.quickGetValue(r, 0) : 1;
+		_weights[t] += w;
+		if(that != null) {
+			// kahan summation of weighted values
+			double y = w * that.quickGetValue(r, 0) - _corr[t];
+			double s = _sums[t] + y;
+			_corr[t] = (s - _sums[t]) - y;
+			_sums[t] = s;
+		}
+	}
+
+	/**
+	 * Get the number of distinct entries including the trailing zero entry.
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return _values.length;
+	}
+
+	public double getValue(int i) {
+		return _values[i];
+	}
+
+	public double getWeight(int i) {
+		return _weights[i];
+	}
+
+	/**
+	 * Get the weighted sum of the second column vector over all rows of the given entry.
+	 *
+	 * @param i The entry index
+	 * @return The weighted sum
+	 */
+	public double getSum(int i) {
+		return _sums[i];
+	}
+}
@@ -25,17 +25,23 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.compress.CompressionStatistics;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupRbind;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public class CLALibAppend {
 
 	private static final Log LOG = LogFactory.getLog(CLALibAppend.class.getName());
 
+	// recompress rbind outputs if the compression ratio dropped below this fraction of the input ratio
+	private static final double RBIND_RECOMPRESS_THRESHOLD = 0.5;
+
 	public static MatrixBlock append(MatrixBlock left, MatrixBlock right) {
 
 		if(left.isEmpty() && right instanceof CompressedMatrixBlock)
@@ -75,6 +81,53 @@ public class CLALibAppend {
 		return ret;
 	}
 
+	/**
+	 * Row-wise append (rbind) of an uncompressed or compressed block to a compressed block. The column groups of the
+	 * top block are extended by the rows of the bottom block without decompression (see ColGroupRbind), and the result
+	 * is only recompressed if the growth of dictionaries and offsets substantially degraded the compression ratio.
+	 * 
+	 * @param top    The compressed top block
+	 * @param bottom The bottom block
+	 * @param k      The parallelization degree for potential recompression
+	 * @return The appended block, or null if the rbind is not supported in the compressed domain
+	 */
+	public static MatrixBlock rbind(CompressedMatrixBlock top, MatrixBlock bottom, int k) {
+		if(top.getNumColumns() != bottom.getNumColumns())
+			throw new DMLRuntimeException("Invalid input dimensions for rbind: " + top.getNumColumns() + " vs "
+				+ bottom.getNumColumns() + " columns.");
+		if(top.isOverlapping())
+			return null;
+
+		final int m = top.getNumRows() + bottom.getNumRows();
+		final int n = top.getNumColumns();
+		MatrixBlock right = uc(bottom);
+		List<AColGroup> newColGroups = new ArrayList<>(top.getColGroups().size());
+		for(AColGroup g : top.getColGroups())
+			newColGroups.add(ColGroupRbind.rbind(g, right));
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m, n);
+		ret.allocateColGroupList(newColGroups);
+		ret.setOverlapping(false);
+		ret.recomputeNonZeros();
+
+		// recompression if dictionary growth degraded the compression ratio
+		double ratioIn = getRatio(top);
+		double ratioOut = getRatio(ret);
+		if(ratioOut < ratioIn * RBIND_RECOMPRESS_THRESHOLD) {
+			LOG.debug("Recompressing rbind output with compression ratio " + ratioOut + " (input " + ratioIn + ")");
+			Pair<MatrixBlock, CompressionStatistics> x = CompressedMatrixBlockFactory.compress(ret.decompress(k), k);
+			if(x.getLeft() instanceof CompressedMatrixBlock && x.getRight().getRatio() > ratioOut)
+				return x.getLeft();
+		}
+		return ret;
+	}
+
+	private static double getRatio(CompressedMatrixBlock mb) {
+		double sp = OptimizerUtils.getSparsity(mb.getNumRows(), mb.getNumColumns(), mb.getNonZeros());
+		return (double) MatrixBlock.estimateSizeInMemory(mb.getNumRows(), mb.getNumColumns(), sp)
+			/ mb.estimateCompressedSizeInMemory();
+	}
+
 	private static MatrixBlock appendRightEmpty(CompressedMatrixBlock left, MatrixBlock right) {
 
 		final int m = left.getNumRows();
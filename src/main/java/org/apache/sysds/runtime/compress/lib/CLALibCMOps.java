@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupWeights;
+import org.apache.sysds.runtime.functionobjects.SortIndex;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.COVOperator;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
+
+/**
+ * Central moments, covariance and quantile sort of compressed column vectors. For inputs with a single column group
+ * (e.g., DDC, SDC, constant), these operations are computed over the distinct values of the dictionary and their
+ * counts or aggregated weights, which is O(#distinct values) for cached counts instead of O(n) for moments and O(n
+ * log n) for sorting. All methods return null if the input is not supported, in which case the caller falls back to
+ * the decompressed operation.
+ */
+public class CLALibCMOps {
+
+	private CLALibCMOps() {
+		// private constructor
+	}
+
+	/**
+	 * Indicates if the given block is a column vector represented by a single, non-overlapping column group.
+	 *
+	 * @param m1 The compressed input
+	 * @return true if supported in compressed domain
+	 */
+	public static boolean isSupported(CompressedMatrixBlock m1) {
+		return m1.getNumColumns() == 1 && !m1.isOverlapping() && m1.getColGroups().size() == 1;
+	}
+
+	/**
+	 * Central moment of a compressed column vector w/ or w/o weights, equivalent to MatrixBlock.cmOperations.
+	 *
+	 * @param m1      The compressed input
+	 * @param op      The central moment operator
+	 * @param weights The uncompressed weights, or null
+	 * @return The central moment object, or null if not supported
+	 */
+	public static CM_COV_Object cmOperations(CompressedMatrixBlock m1, CMOperator op, MatrixBlock weights) {
+		ColGroupWeights cw = getWeights(m1, weights, null);
+		if(cw == null)
+			return null;
+		CM_COV_Object ret = new CM_COV_Object();
+		for(int i = 0; i < cw.size(); i++)
+			if(cw.getWeight(i) != 0)
+				op.fn.execute(ret, cw.getValue(i), cw.getWeight(i));
+		return ret;
+	}
+
+	/**
+	 * Covariance of a compressed and an uncompressed column vector w/ or w/o weights, equivalent to
+	 * MatrixBlock.covOperations. Since the compressed values are constant per dictionary entry, the rows of an entry
+	 * form a partial aggregate with the weighted mean of the second input and zero co-moment, and the final result is
+	 * obtained by merging the partial aggregates of all entries.
+	 *
+	 * @param m1      The compressed input
+	 * @param op      The covariance operator
+	 * @param that    The second uncompressed input
+	 * @param weights The uncompressed weights, or null
+	 * @return The covariance object, or null if not supported
+	 */
+	public static CM_COV_Object covOperations(CompressedMatrixBlock m1, COVOperator op, MatrixBlock that,
+		MatrixBlock weights) {
+		if(that.getNumColumns() != 1 || that.getNumRows() != m1.getNumRows())
+			return null;
+		ColGroupWeights cw = getWeights(m1, weights, that);
+		if(cw == null)
+			return null;
+		CM_COV_Object ret = new CM_COV_Object();
+		for(int i = 0; i < cw.size(); i++) {
+			double w = cw.getWeight(i);
+			if(w == 0)
+				continue;
+			CM_COV_Object part = new CM_COV_Object();
+			part.w = w;
+			part.mean.set(cw.getValue(i), 0);
+			part.mean_v.set(cw.getSum(i) / w, 0);
+			op.fn.execute(ret, part);
+		}
+		return ret;
+	}
+
+	/**
+	 * Quantile sort of a compressed column vector w/ or w/o weights, equivalent to MatrixBlock.sortOperations. The
+	 * output is the sorted table of distinct values and their weights, where the first row of the unsorted table
+	 * captures all zeros.
+	 *
+	 * @param m1      The compressed input
+	 * @param weights The uncompressed weights, or null
+	 * @param result  The output block, or null
+	 * @param k       The parallelization degree
+	 * @return The sorted value/weight table, or null if not supported
+	 */
+	public static MatrixBlock sortOperations(CompressedMatrixBlock m1, MatrixBlock weights, MatrixBlock result,
+		int k) {
+		ColGroupWeights cw = getWeights(m1, weights, null);
+		if(cw == null)
+			return null;
+
+		// value/weight table of non-zero values and aggregated zeros
+		double zeroWeight = 0;
+		int nnz = 0;
+		for(int i = 0; i < cw.size(); i++) {
+			if(cw.getValue(i) == 0)
+				zeroWeight += cw.getWeight(i);
+			else if(cw.getWeight(i) != 0)
+				nnz++;
+		}
+		MatrixBlock tdw = new MatrixBlock(nnz + 1, 2, false);
+		tdw.allocateDenseBlock();
+		double[] c = tdw.getDenseBlockValues();
+		c[1] = zeroWeight;
+		for(int i = 0, ix = 2; i < cw.size(); i++)
+			if(cw.getValue(i) != 0 && cw.getWeight(i) != 0) {
+				c[ix++] = cw.getValue(i);
+				c[ix++] = cw.getWeight(i);
+			}
+		tdw.recomputeNonZeros();
+
+		// sort by values, incl copy into result
+		if(result == null)
+			result = new MatrixBlock(nnz + 1, 2, false);
+		else
+			result.reset(nnz + 1, 2, false);
+		ReorgOperator rop = new ReorgOperator(new SortIndex(1, false, false), k);
+		LibMatrixReorg.reorg(tdw, result, rop);
+		return result;
+	}
+
+	private static ColGroupWeights getWeights(CompressedMatrixBlock m1, MatrixBlock weights, MatrixBlock that) {
+		if(!isSupported(m1))
+			return null;
+		if(weights != null && (weights.getNumColumns() != 1 || weights.getNumRows() != m1.getNumRows()))
+			return null;
+		return ColGroupWeights.create(m1.getColGroups().get(0), weights, that);
+	}
+}
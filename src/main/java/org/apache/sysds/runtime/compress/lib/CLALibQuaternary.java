@@ -0,0 +1,572 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.util.FastMath;
+import org.apache.sysds.lops.WeightedDivMM.WDivMMType;
+import org.apache.sysds.lops.WeightedSigmoid.WSigmoidType;
+import org.apache.sysds.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysds.lops.WeightedUnaryMM.WUMMType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupCodes;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Weighted quaternary operations (wsloss, wsigmoid, wdivmm, wcemm, wumm) over a compressed first input X and dense
+ * factors U and V. All operations are sparse-safe in X, and thus computed over the non-zero cells of the column groups
+ * instead of the decompressed input: for each row, the non-zero cells of a group are given by the pre-split
+ * dictionary tuple of its code. The unweighted squared loss sum((X-U%*%t(V))^2) further pre-aggregates the dictionary
+ * tuples with V, which reduces the term sum(X*(U%*%t(V))) to one dot product per row and group, independent of the
+ * number of non-zeros per tuple. Scalar and right-hand outputs are computed in parallel over row partitions, while
+ * left-hand wdivmm outputs are partitioned over column groups to obtain disjoint output rows. All methods return null
+ * for unsupported inputs (overlapping groups, OLE/RLE, sparse factors), in which case the caller falls back to the
+ * decompressed operation.
+ */
+public class CLALibQuaternary {
+
+	private CLALibQuaternary() {
+		// private constructor
+	}
+
+	/**
+	 * Weighted quaternary operation over a compressed input, equivalent to MatrixBlock.quaternaryOperations.
+	 *
+	 * @param m1  The compressed input X (or W for wsigmoid, wdivmm, wcemm and wumm)
+	 * @param qop The quaternary operator
+	 * @param U   The uncompressed left factor
+	 * @param V   The uncompressed right factor
+	 * @param wm  The uncompressed fourth input (weights, X, or epsilon), or null
+	 * @param out The output block
+	 * @param k   The parallelization degree
+	 * @return The output block, or null if not supported
+	 */
+	public static MatrixBlock quaternaryOperations(CompressedMatrixBlock m1, QuaternaryOperator qop, MatrixBlock U,
+		MatrixBlock V, MatrixBlock wm, MatrixBlock out, int k) {
+		if(!isSupported(m1, U, V))
+			return null;
+		List<CellGroup> groups = createCellGroups(m1);
+		if(groups == null)
+			return null;
+
+		final int n = m1.getNumRows();
+		final int m = m1.getNumColumns();
+		final double[] u = U.getDenseBlockValues();
+		final double[] v = V.getDenseBlockValues();
+		final int cd = U.getNumColumns();
+		MatrixBlock ret = (out == null) ? new MatrixBlock() : out;
+
+		if(qop.wtype1 != null) { // wsloss
+			final WeightsType wt = qop.wtype1;
+			final MatrixBlock W = wt.hasFourInputs() ? wm : null;
+			if(W != null && (W.getNumRows() != n || W.getNumColumns() != m))
+				return null;
+			ret.reset(1, 1, false);
+			if(wt == WeightsType.POST && W.isEmptyBlock(false))
+				return ret;
+			if(wt == WeightsType.NONE)
+				for(CellGroup g : groups)
+					g.preAggregate(v, cd);
+			List<CellTask> tasks = new ArrayList<>();
+			for(int[] rix : getRowPartitions(n, k))
+				tasks.add(new WSLossTask(groups, u, v, cd, rix[0], rix[1], W, wt));
+			double wsloss = execute(tasks, k);
+			if(wt == WeightsType.NONE)
+				wsloss += getNoWeightCorrection(U, V, k);
+			ret.quickSetValue(0, 0, wsloss);
+		}
+		else if(qop.wtype2 != null || qop.wtype5 != null || (qop.wtype3 != null && qop.wtype3.isBasic())) {
+			// wsigmoid, wumm, and wdivmm basic w/ outputs of the same shape as the input
+			final boolean sparse = MatrixBlock.evalSparseFormatInMemory(n, m, m1.getNonZeros());
+			ret.reset(n, m, sparse);
+			ret.allocateBlock();
+			final int par = MatrixBlock.isThreadSafe(sparse) ? k : 1;
+			List<CellTask> tasks = new ArrayList<>();
+			for(int[] rix : getRowPartitions(n, par))
+				tasks.add(new CellOutputTask(groups, u, v, cd, rix[0], rix[1], qop, ret));
+			execute(tasks, par);
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+		}
+		else if(qop.wtype3 != null) { // wdivmm left/right
+			final WDivMMType wt = qop.wtype3;
+			final MatrixBlock X = (wt.hasFourInputs() && !wt.hasScalar()) ? wm : null;
+			if(X != null && (X.getNumRows() != n || X.getNumColumns() != m))
+				return null;
+			final double eps = !wt.hasScalar() ? 0 : (qop.getScalar() != 0) ? qop.getScalar() : wm.quickGetValue(0, 0);
+			ret.reset(wt.isLeft() ? m : n, cd, false);
+			ret.allocateDenseBlock();
+			List<CellTask> tasks = new ArrayList<>();
+			if(wt.isLeft()) {
+				// partitioning over column groups for disjoint output rows
+				for(List<CellGroup> part : getGroupPartitions(groups, k))
+					tasks.add(new WDivMMTask(part, u, v, cd, 0, n, wt, X, eps, ret));
+			}
+			else {
+				for(int[] rix : getRowPartitions(n, k))
+					tasks.add(new WDivMMTask(groups, u, v, cd, rix[0], rix[1], wt, X, eps, ret));
+			}
+			execute(tasks, k);
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+		}
+		else if(qop.wtype4 != null) { // wcemm
+			final MatrixBlock W = qop.wtype4.hasFourInputs() ? wm : null;
+			final double eps = (W != null && W.getNumRows() == 1 && W.getNumColumns() == 1) ? W.quickGetValue(0,
+				0) : qop.getScalar();
+			ret.reset(1, 1, false);
+			List<CellTask> tasks = new ArrayList<>();
+			for(int[] rix : getRowPartitions(n, k))
+				tasks.add(new WCeMMTask(groups, u, v, cd, rix[0], rix[1], eps));
+			ret.quickSetValue(0, 0, execute(tasks, k));
+		}
+		else
+			return null;
+
+		return ret;
+	}
+
+	private static boolean isSupported(CompressedMatrixBlock m1, MatrixBlock U, MatrixBlock V) {
+		return !m1.isOverlapping() && !m1.isEmpty() && U.getNumRows() == m1.getNumRows() &&
+			V.getNumRows() == m1.getNumColumns() && U.getNumColumns() == V.getNumColumns() && isDenseFactor(U) &&
+			isDenseFactor(V);
+	}
+
+	private static boolean isDenseFactor(MatrixBlock mb) {
+		return !mb.isInSparseFormat() && !mb.isEmptyBlock(false) && mb.getDenseBlock().isContiguous();
+	}
+
+	private static List<CellGroup> createCellGroups(CompressedMatrixBlock m1) {
+		List<CellGroup> ret = new ArrayList<>();
+		for(AColGroup g : m1.getColGroups()) {
+			if(g instanceof ColGroupUncompressed)
+				ret.add(new CellGroup(g.getColIndices(), ((ColGroupUncompressed) g).getData()));
+			else {
+				ColGroupCodes codes = ColGroupCodes.create(g);
+				if(codes == null)
+					return null;
+				ret.add(new CellGroup(g.getColIndices(), codes));
+			}
+		}
+		return ret;
+	}
+
+	private static List<int[]> getRowPartitions(int n, int k) {
+		List<int[]> ret = new ArrayList<>();
+		int blklen = (int) Math.ceil((double) n / k);
+		for(int i = 0; i < k & i * blklen < n; i++)
+			ret.add(new int[] {i * blklen, Math.min((i + 1) * blklen, n)});
+		return ret;
+	}
+
+	private static List<List<CellGroup>> getGroupPartitions(List<CellGroup> groups, int k) {
+		List<List<CellGroup>> ret = new ArrayList<>();
+		for(int i = 0; i < Math.min(k, groups.size()); i++)
+			ret.add(new ArrayList<>());
+		for(int i = 0; i < groups.size(); i++)
+			ret.get(i % ret.size()).add(groups.get(i));
+		return ret;
+	}
+
+	private static double execute(List<CellTask> tasks, int k) {
+		double ret = 0;
+		try {
+			if(k <= 1 || tasks.size() == 1) {
+				for(CellTask t : tasks)
+					ret += t.call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				List<Future<Double>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for(Future<Double> rt : rtasks)
+					ret += rt.get();
+			}
+		}
+		catch(InterruptedException | ExecutionException e) {
+			throw new DMLRuntimeException(e);
+		}
+		return ret;
+	}
+
+	private static double getNoWeightCorrection(MatrixBlock U, MatrixBlock V, int k) {
+		// sum((t(U)%*%U)*(t(V)%*%V)) via two tsmm operations
+		final int cd = U.getNumColumns();
+		MatrixBlock tmp1 = new MatrixBlock(cd, cd, false);
+		MatrixBlock tmp2 = new MatrixBlock(cd, cd, false);
+		LibMatrixMult.matrixMultTransposeSelf(U, tmp1, true, k);
+		LibMatrixMult.matrixMultTransposeSelf(V, tmp2, true, k);
+		double ret = 0;
+		for(int i = 0; i < cd; i++)
+			for(int j = 0; j < cd; j++)
+				ret += tmp1.quickGetValue(i, j) * tmp2.quickGetValue(i, j);
+		return ret;
+	}
+
+	/**
+	 * Non-zero cells of a column group, either given by the codes and the pre-split non-zero tuples of the dictionary,
+	 * or by the data of an uncompressed group.
+	 */
+	private static class CellGroup {
+		private final int[] _cols;
+		private final ColGroupCodes _codes;
+		private final int[][] _ix;
+		private final double[][] _vals;
+		private final double[] _sq;
+		private final MatrixBlock _data;
+		private double[] _pre;
+
+		protected CellGroup(int[] cols, ColGroupCodes codes) {
+			_cols = cols;
+			_codes = codes;
+			_data = null;
+			final int nc = codes.getNumCodes();
+			_ix = new int[nc][];
+			_vals = new double[nc][];
+			_sq = new double[nc];
+			for(int c = 0; c < nc; c++) {
+				int nnz = 0;
+				for(int j = 0; j < cols.length; j++)
+					nnz += (codes.getValue(c, j) != 0) ? 1 : 0;
+				_ix[c] = new int[nnz];
+				_vals[c] = new double[nnz];
+				for(int j = 0, pos = 0; j < cols.length; j++) {
+					double val = codes.getValue(c, j);
+					if(val != 0) {
+						_ix[c][pos] = cols[j];
+						_vals[c][pos++] = val;
+						_sq[c] += val * val;
+					}
+				}
+			}
+		}
+
+		protected CellGroup(int[] cols, MatrixBlock data) {
+			_cols = cols;
+			_codes = null;
+			_ix = null;
+			_vals = null;
+			_sq = null;
+			_data = data;
+		}
+
+		protected boolean isCompressed() {
+			return _codes != null;
+		}
+
+		/**
+		 * Pre-aggregates the non-zero tuples with the rows of V, i.e., X[r,cols] %*% V[cols,] for all codes.
+		 *
+		 * @param v  The dense values of V
+		 * @param cd The common dimension of U and V
+		 */
+		protected void preAggregate(double[] v, int cd) {
+			if(!isCompressed())
+				return;
+			_pre = new double[_ix.length * cd];
+			for(int c = 0; c < _ix.length; c++)
+				for(int i = 0; i < _ix[c].length; i++)
+					LibMatrixMult.vectMultiplyAdd(_vals[c][i], v, _pre, _ix[c][i] * cd, c * cd, cd);
+		}
+
+		protected void execute(CellTask task, int rl, int ru) {
+			if(isCompressed()) {
+				for(int r = rl; r < ru; r++) {
+					final int c = _codes.getCode(r);
+					final int[] ix = _ix[c];
+					final double[] vals = _vals[c];
+					for(int i = 0; i < ix.length; i++)
+						task.cell(r, ix[i], vals[i]);
+				}
+			}
+			else if(_data.isEmptyBlock(false))
+				return;
+			else if(_data.isInSparseFormat()) {
+				SparseBlock sb = _data.getSparseBlock();
+				for(int r = rl; r < ru; r++) {
+					if(sb.isEmpty(r))
+						continue;
+					int apos = sb.pos(r);
+					int alen = sb.size(r);
+					int[] aix = sb.indexes(r);
+					double[] avals = sb.values(r);
+					for(int i = apos; i < apos + alen; i++)
+						task.cell(r, _cols[aix[i]], avals[i]);
+				}
+			}
+			else {
+				DenseBlock db = _data.getDenseBlock();
+				for(int r = rl; r < ru; r++) {
+					double[] avals = db.values(r);
+					int aix = db.pos(r);
+					for(int j = 0; j < _cols.length; j++)
+						if(avals[aix + j] != 0)
+							task.cell(r, _cols[j], avals[aix + j]);
+				}
+			}
+		}
+	}
+
+	private static abstract class CellTask implements Callable<Double> {
+		protected final List<CellGroup> _groups;
+		protected final double[] _u;
+		protected final double[] _v;
+		protected final int _cd;
+		protected final int _rl;
+		protected final int _ru;
+		protected double _sum = 0;
+
+		protected CellTask(List<CellGroup> groups, double[] u, double[] v, int cd, int rl, int ru) {
+			_groups = groups;
+			_u = u;
+			_v = v;
+			_cd = cd;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		protected abstract void cell(int r, int c, double x);
+
+		protected double dotProduct(int r, int c) {
+			return LibMatrixMult.dotProduct(_u, _v, r * _cd, c * _cd, _cd);
+		}
+
+		@Override
+		public Double call() {
+			for(CellGroup g : _groups)
+				g.execute(this, _rl, _ru);
+			return _sum;
+		}
+	}
+
+	private static class WSLossTask extends CellTask {
+		private final MatrixBlock _w;
+		private final WeightsType _wt;
+
+		protected WSLossTask(List<CellGroup> groups, double[] u, double[] v, int cd, int rl, int ru, MatrixBlock w,
+			WeightsType wt) {
+			super(groups, u, v, cd, rl, ru);
+			_w = w;
+			_wt = wt;
+		}
+
+		@Override
+		public Double call() {
+			if(_wt == WeightsType.NONE) {
+				// sum(X^2) - 2*sum(X*(U%*%t(V))) over pre-aggregated tuples, except uncompressed groups
+				for(CellGroup g : _groups) {
+					if(!g.isCompressed()) {
+						g.execute(this, _rl, _ru);
+						continue;
+					}
+					for(int r = _rl; r < _ru; r++) {
+						final int c = g._codes.getCode(r);
+						if(g._sq[c] != 0)
+							_sum += g._sq[c] - 2 * LibMatrixMult.dotProduct(_u, g._pre, r * _cd, c * _cd, _cd);
+					}
+				}
+				return _sum;
+			}
+			super.call();
+			// weighted products over all non-zeros of W, independent of X
+			if(_wt == WeightsType.POST || _wt == WeightsType.PRE)
+				addWeightedProducts();
+			return _sum;
+		}
+
+		@Override
+		protected void cell(int r, int c, double x) {
+			switch(_wt) {
+				case POST: {
+					// sum(W*(X-UV)^2) = sum(W*X*(X-2*UV)) + sum(W*UV^2)
+					double w = _w.quickGetValue(r, c);
+					if(w != 0)
+						_sum += w * x * (x - 2 * dotProduct(r, c));
+					break;
+				}
+				case POST_NZ: {
+					double uv = dotProduct(r, c);
+					_sum += (x - uv) * (x - uv);
+					break;
+				}
+				case PRE: {
+					// sum((X-W*UV)^2) = sum(X^2-2*X*W*UV) + sum((W*UV)^2)
+					double w = _w.quickGetValue(r, c);
+					_sum += x * x - ((w != 0) ? 2 * x * w * dotProduct(r, c) : 0);
+					break;
+				}
+				default:
+					_sum += x * x - 2 * x * dotProduct(r, c);
+			}
+		}
+
+		private void addWeightedProducts() {
+			final boolean post = _wt == WeightsType.POST;
+			if(_w.isEmptyBlock(false))
+				return;
+			if(_w.isInSparseFormat()) {
+				SparseBlock w = _w.getSparseBlock();
+				for(int r = _rl; r < _ru; r++) {
+					if(w.isEmpty(r))
+						continue;
+					int wpos = w.pos(r);
+					int wlen = w.size(r);
+					int[] wix = w.indexes(r);
+					double[] wvals = w.values(r);
+					for(int i = wpos; i < wpos + wlen; i++) {
+						double uv = dotProduct(r, wix[i]);
+						_sum += post ? wvals[i] * uv * uv : (wvals[i] * uv) * (wvals[i] * uv);
+					}
+				}
+			}
+			else {
+				DenseBlock w = _w.getDenseBlock();
+				final int m = _w.getNumColumns();
+				for(int r = _rl; r < _ru; r++) {
+					double[] wvals = w.values(r);
+					int wix = w.pos(r);
+					for(int j = 0; j < m; j++) {
+						double wij = wvals[wix + j];
+						if(wij != 0) {
+							double uv = dotProduct(r, j);
+							_sum += post ? wij * uv * uv : (wij * uv) * (wij * uv);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static class CellOutputTask extends CellTask {
+		private final QuaternaryOperator _qop;
+		private final SparseBlock _sb;
+		private final DenseBlock _db;
+		private final boolean _minus;
+		private final boolean _log;
+
+		protected CellOutputTask(List<CellGroup> groups, double[] u, double[] v, int cd, int rl, int ru,
+			QuaternaryOperator qop, MatrixBlock ret) {
+			super(groups, u, v, cd, rl, ru);
+			_qop = qop;
+			_sb = ret.isInSparseFormat() ? ret.getSparseBlock() : null;
+			_db = ret.isInSparseFormat() ? null : ret.getDenseBlock();
+			_minus = qop.wtype2 == WSigmoidType.MINUS || qop.wtype2 == WSigmoidType.LOG_MINUS;
+			_log = qop.wtype2 == WSigmoidType.LOG || qop.wtype2 == WSigmoidType.LOG_MINUS;
+		}
+
+		@Override
+		public Double call() {
+			super.call();
+			// cells of different groups are appended out of column order
+			if(_sb != null && _groups.size() > 1)
+				for(int r = _rl; r < _ru; r++)
+					if(!_sb.isEmpty(r))
+						_sb.sort(r);
+			return 0d;
+		}
+
+		@Override
+		protected void cell(int r, int c, double x) {
+			double uv = dotProduct(r, c);
+			double val;
+			if(_qop.wtype2 != null) { // wsigmoid
+				double cval = _minus ? 1 / (1 + FastMath.exp(uv)) : 1 / (1 + FastMath.exp(-uv));
+				val = x * (_log ? Math.log(cval) : cval);
+			}
+			else if(_qop.wtype5 != null) { // wumm
+				double cval = _qop.fn.execute(uv);
+				val = (_qop.wtype5 == WUMMType.MULT) ? x * cval : x / cval;
+			}
+			else // wdivmm basic
+				val = x * uv;
+
+			if(_sb != null)
+				_sb.append(r, c, val);
+			else
+				_db.values(r)[_db.pos(r, c)] = val;
+		}
+	}
+
+	private static class WDivMMTask extends CellTask {
+		private final boolean _left;
+		private final boolean _mult;
+		private final boolean _minus;
+		private final boolean _four;
+		private final boolean _scalar;
+		private final MatrixBlock _x;
+		private final double _eps;
+		private final DenseBlock _c;
+
+		protected WDivMMTask(List<CellGroup> groups, double[] u, double[] v, int cd, int rl, int ru, WDivMMType wt,
+			MatrixBlock x, double eps, MatrixBlock ret) {
+			super(groups, u, v, cd, rl, ru);
+			_left = wt.isLeft();
+			_mult = wt.isMult();
+			_minus = wt.isMinus();
+			_four = wt.hasFourInputs();
+			_scalar = wt.hasScalar();
+			_x = x;
+			_eps = eps;
+			_c = ret.getDenseBlock();
+		}
+
+		@Override
+		protected void cell(int r, int c, double w) {
+			double uv = dotProduct(r, c);
+			double tmp;
+			if(_four)
+				tmp = _scalar ? w / (uv + _eps) : w * (uv - _x.quickGetValue(r, c));
+			else
+				tmp = _minus ? uv - w : _mult ? w * uv : w / uv;
+			if(_left)
+				LibMatrixMult.vectMultiplyAdd(tmp, _u, _c.values(c), r * _cd, _c.pos(c), _cd);
+			else
+				LibMatrixMult.vectMultiplyAdd(tmp, _v, _c.values(r), c * _cd, _c.pos(r), _cd);
+		}
+	}
+
+	private static class WCeMMTask extends CellTask {
+		private final double _eps;
+
+		protected WCeMMTask(List<CellGroup> groups, double[] u, double[] v, int cd, int rl, int ru, double eps) {
+			super(groups, u, v, cd, rl, ru);
+			_eps = eps;
+		}
+
+		@Override
+		protected void cell(int r, int c, double x) {
+			_sum += x * Math.log(dotProduct(r, c) + _eps);
+		}
+	}
+}
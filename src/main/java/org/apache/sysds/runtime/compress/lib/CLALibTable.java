@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupCodes;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+
+/**
+ * Contingency tables (ctable) and grouped aggregates over the row-wise codes of compressed column groups. Instead of
+ * decompressing the input, the cell values are obtained from the codes and dictionaries (see ColGroupCodes), which
+ * allows computing ctables with scalar weights from the code counts in O(#distinct values), and grouped aggregates by
+ * aggregating per code and finally merging the per-code aggregates into the groups of their dictionary values. All
+ * methods indicate unsupported inputs (overlapping groups, OLE/RLE) via false or null return values, in which case the
+ * caller falls back to the decompressed operation.
+ */
+public class CLALibTable {
+
+	private CLALibTable() {
+		// private constructor
+	}
+
+	/**
+	 * ctable(A,v2,W), equivalent to MatrixBlock.ctableOperations.
+	 *
+	 * @param m1          The compressed input A
+	 * @param v2          The scalar second input
+	 * @param W           The uncompressed weights
+	 * @param resultMap   The ctable result map, or null
+	 * @param resultBlock The ctable result block, or null
+	 * @return true if computed in the compressed domain
+	 */
+	public static boolean ctable(CompressedMatrixBlock m1, double v2, MatrixBlock W, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		return forEachCell(m1, resultBlock,
+			(r, c, v1) -> ctable.execute(v1, v2, W.quickGetValue(r, c), false, resultMap, resultBlock));
+	}
+
+	/**
+	 * ctable(A,v2,w), equivalent to MatrixBlock.ctableOperations. Since both the second input and weight are scalars,
+	 * the ctable is computed from the counts of the distinct values.
+	 *
+	 * @param m1          The compressed input A
+	 * @param v2          The scalar second input
+	 * @param w           The scalar weight
+	 * @param resultMap   The ctable result map, or null
+	 * @param resultBlock The ctable result block, or null
+	 * @return true if computed in the compressed domain
+	 */
+	public static boolean ctable(CompressedMatrixBlock m1, double v2, double w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		List<ColGroupCodes> codes = getCodes(m1);
+		if(codes == null)
+			return false;
+		final CTable ctable = CTable.getCTableFnObject();
+		final List<AColGroup> groups = m1.getColGroups();
+		for(int i = 0; i < groups.size(); i++) {
+			AColGroup g = groups.get(i);
+			ColGroupCodes gc = codes.get(i);
+			if(gc == null) {
+				MatrixBlock data = ((ColGroupUncompressed) g).getData();
+				for(int r = 0; r < g.getNumRows(); r++)
+					for(int j = 0; j < g.getNumCols(); j++)
+						ctable.execute(data.quickGetValue(r, j), v2, w, false, resultMap, resultBlock);
+			}
+			else {
+				int[] counts = gc.getCounts();
+				for(int code = 0; code < counts.length; code++)
+					if(counts[code] > 0)
+						for(int j = 0; j < g.getNumCols(); j++)
+							ctable.execute(gc.getValue(code, j), v2, w * counts[code], false, resultMap, resultBlock);
+			}
+		}
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+		return true;
+	}
+
+	/**
+	 * ctable(seq,A,w) or ctable(A,seq,w), equivalent to MatrixBlock.ctableOperations.
+	 *
+	 * @param m1          The compressed input A
+	 * @param ix1         The block indexes of A
+	 * @param w           The scalar weight
+	 * @param left        Indicates if the sequence is the first input
+	 * @param blen        The block size
+	 * @param resultMap   The ctable result map, or null
+	 * @param resultBlock The ctable result block, or null
+	 * @return true if computed in the compressed domain
+	 */
+	public static boolean ctable(CompressedMatrixBlock m1, MatrixIndexes ix1, double w, boolean left, int blen,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final int offset = (int) ((ix1.getRowIndex() - 1) * blen);
+		return forEachCell(m1, resultBlock, (r, c, v1) -> {
+			if(left)
+				ctable.execute(offset + r + 1, v1, w, false, resultMap, resultBlock);
+			else
+				ctable.execute(v1, offset + r + 1, w, false, resultMap, resultBlock);
+		});
+	}
+
+	/**
+	 * ctable(A,B,w), equivalent to MatrixBlock.ctableOperations.
+	 *
+	 * @param m1          The compressed input A
+	 * @param B           The uncompressed second input
+	 * @param w           The scalar weight
+	 * @param ignoreZeros Indicates if pairs of zeros are ignored
+	 * @param resultMap   The ctable result map, or null
+	 * @param resultBlock The ctable result block, or null
+	 * @return true if computed in the compressed domain
+	 */
+	public static boolean ctable(CompressedMatrixBlock m1, MatrixBlock B, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		return forEachCell(m1, resultBlock,
+			(r, c, v1) -> ctable.execute(v1, B.quickGetValue(r, c), w, ignoreZeros, resultMap, resultBlock));
+	}
+
+	/**
+	 * ctable(A,B,W), equivalent to MatrixBlock.ctableOperations.
+	 *
+	 * @param m1          The compressed input A
+	 * @param B           The uncompressed second input
+	 * @param W           The uncompressed weights
+	 * @param resultMap   The ctable result map, or null
+	 * @param resultBlock The ctable result block, or null
+	 * @return true if computed in the compressed domain
+	 */
+	public static boolean ctable(CompressedMatrixBlock m1, MatrixBlock B, MatrixBlock W, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		return forEachCell(m1, resultBlock, (r, c, v1) -> ctable
+			.execute(v1, B.quickGetValue(r, c), W.quickGetValue(r, c), false, resultMap, resultBlock));
+	}
+
+	/**
+	 * Grouped aggregate with a compressed column vector of groups, equivalent to MatrixBlock.groupedAggOperations. The
+	 * target is aggregated per code of the groups and the per-code aggregates are merged into the output groups, which
+	 * requires only O(#distinct values) group lookups. Vector counts are directly obtained from the code counts.
+	 *
+	 * @param groups  The compressed groups
+	 * @param target  The uncompressed target column vector or matrix
+	 * @param weights The uncompressed weights, or null
+	 * @param ret     The output block, or null
+	 * @param ngroups The number of groups, or -1 if unknown
+	 * @param op      The aggregate operator (sum) or central moment operator (count, mean, variance)
+	 * @return The grouped aggregate, or null if not supported
+	 */
+	public static MatrixBlock groupedAggOperations(CompressedMatrixBlock groups, MatrixBlock target,
+		MatrixBlock weights, MatrixBlock ret, int ngroups, Operator op) {
+		final int n = groups.getNumRows();
+		final int m = target.getNumColumns();
+		if(groups.getNumColumns() != 1 || groups.isOverlapping() || groups.getColGroups().size() != 1)
+			return null;
+		if(target.getNumRows() != n || (weights != null && (weights.getNumRows() != n || weights.getNumColumns() != 1)))
+			return null;
+		// matrix targets only w/o weights and w/ known number of groups (otherwise
+		// the fallback raises the errors), and row vector targets via the fallback
+		if(m != 1 && (weights != null || ngroups < 1 || n == 1))
+			return null;
+		if(!(op instanceof CMOperator || (op instanceof AggregateOperator
+			&& ((AggregateOperator) op).increOp.fn instanceof KahanPlus)))
+			return null;
+		ColGroupCodes codes = ColGroupCodes.create(groups.getColGroups().get(0));
+		if(codes == null)
+			return null;
+
+		// group ids of all codes, incl validation of the values of occurring codes
+		final int nc = codes.getNumCodes();
+		final int[] counts = codes.getCounts();
+		final int[] gids = new int[nc];
+		int max = 0;
+		for(int c = 0; c < nc; c++) {
+			if(counts[c] == 0)
+				continue;
+			double v = codes.getValue(c, 0);
+			if(v < 1)
+				throw new DMLRuntimeException(
+					"Invalid value (" + v + ") encountered in 'groups' while computing groupedAggregate");
+			gids[c] = (int) v;
+			max = Math.max(max, gids[c]);
+		}
+		ngroups = (ngroups <= 0) ? max : ngroups;
+
+		// allocate result matrix
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(ngroups, 1, Math.min(ngroups, n));
+		MatrixBlock result = (ret == null) ? new MatrixBlock(ngroups, m, sparse) : ret;
+		result.reset(ngroups, m, sparse);
+
+		// execute grouped aggregate operation
+		if(op instanceof CMOperator) {
+			CMOperator cmOp = (CMOperator) op;
+			if(cmOp.getAggOpType() == AggregateOperationTypes.COUNT && weights == null && m == 1)
+				groupedCount(counts, gids, result, ngroups);
+			else
+				groupedCM(codes, gids, target, weights, result, ngroups, cmOp);
+		}
+		else
+			groupedSum(codes, gids, target, weights, result, ngroups, (AggregateOperator) op);
+
+		result.examSparsity();
+		return result;
+	}
+
+	private static void groupedCount(int[] counts, int[] gids, MatrixBlock result, int ngroups) {
+		int[] tmp = new int[ngroups];
+		for(int c = 0; c < counts.length; c++)
+			if(counts[c] > 0 && gids[c] <= ngroups)
+				tmp[gids[c] - 1] += counts[c];
+		for(int i = 0; i < ngroups; i++)
+			result.appendValue(i, 0, tmp[i]);
+	}
+
+	private static void groupedSum(ColGroupCodes codes, int[] gids, MatrixBlock target, MatrixBlock weights,
+		MatrixBlock result, int ngroups, AggregateOperator aggop) {
+		final int n = target.getNumRows();
+		final int m = target.getNumColumns();
+		final int nc = codes.getNumCodes();
+
+		// aggregate per code (sparse-safe)
+		KahanObject[][] buffer = new KahanObject[nc][m];
+		for(int c = 0; c < nc; c++)
+			for(int j = 0; j < m; j++)
+				buffer[c][j] = new KahanObject(aggop.initialValue, 0);
+		if(!target.isEmptyBlock(false)) {
+			final SparseBlock a = target.isInSparseFormat() ? target.getSparseBlock() : null;
+			final DenseBlock b = target.isInSparseFormat() ? null : target.getDenseBlock();
+			for(int r = 0; r < n; r++) {
+				int c = codes.getCode(r);
+				if(gids[c] > ngroups)
+					continue;
+				double w = (weights != null) ? weights.quickGetValue(r, 0) : 1;
+				if(a != null) {
+					if(a.isEmpty(r))
+						continue;
+					int apos = a.pos(r);
+					int alen = a.size(r);
+					int[] aix = a.indexes(r);
+					double[] avals = a.values(r);
+					for(int k = apos; k < apos + alen; k++)
+						aggop.increOp.fn.execute(buffer[c][aix[k]], avals[k] * w);
+				}
+				else {
+					double[] avals = b.values(r);
+					int aix = b.pos(r);
+					for(int j = 0; j < m; j++)
+						if(avals[aix + j] != 0)
+							aggop.increOp.fn.execute(buffer[c][j], avals[aix + j] * w);
+				}
+			}
+		}
+
+		// merge per-code aggregates into groups
+		KahanObject[][] gbuffer = new KahanObject[ngroups][m];
+		for(int i = 0; i < ngroups; i++)
+			for(int j = 0; j < m; j++)
+				gbuffer[i][j] = new KahanObject(aggop.initialValue, 0);
+		for(int c = 0; c < nc; c++)
+			if(gids[c] > 0 && gids[c] <= ngroups)
+				for(int j = 0; j < m; j++)
+					aggop.increOp.fn.execute(gbuffer[gids[c] - 1][j], buffer[c][j]._sum, buffer[c][j]._correction);
+
+		for(int i = 0; i < ngroups; i++)
+			for(int j = 0; j < m; j++)
+				result.appendValue(i, j, gbuffer[i][j]._sum);
+	}
+
+	private static void groupedCM(ColGroupCodes codes, int[] gids, MatrixBlock target, MatrixBlock weights,
+		MatrixBlock result, int ngroups, CMOperator cmOp) {
+		final int n = target.getNumRows();
+		final int m = target.getNumColumns();
+		final int nc = codes.getNumCodes();
+		final CM cmFn = CM.getCMFnObject(cmOp.getAggOpType());
+
+		// aggregate per code (sparse-unsafe)
+		CM_COV_Object[][] cmValues = new CM_COV_Object[nc][m];
+		for(int c = 0; c < nc; c++)
+			for(int j = 0; j < m; j++)
+				cmValues[c][j] = new CM_COV_Object();
+		double[] row = new double[m];
+		for(int r = 0; r < n; r++) {
+			int c = codes.getCode(r);
+			if(gids[c] > ngroups)
+				continue;
+			double w = (weights != null) ? weights.quickGetValue(r, 0) : 1;
+			getRow(target, r, row);
+			for(int j = 0; j < m; j++)
+				cmFn.execute(cmValues[c][j], row[j], w);
+		}
+
+		// merge per-code aggregates into groups
+		CM_COV_Object[][] gcmValues = new CM_COV_Object[ngroups][m];
+		for(int i = 0; i < ngroups; i++)
+			for(int j = 0; j < m; j++)
+				gcmValues[i][j] = new CM_COV_Object();
+		for(int c = 0; c < nc; c++)
+			if(gids[c] > 0 && gids[c] <= ngroups)
+				for(int j = 0; j < m; j++)
+					cmFn.execute(gcmValues[gids[c] - 1][j], cmValues[c][j]);
+
+		for(int i = 0; i < ngroups; i++)
+			for(int j = 0; j < m; j++)
+				result.appendValue(i, j, gcmValues[i][j].getRequiredResult(cmOp));
+	}
+
+	private static void getRow(MatrixBlock mb, int r, double[] row) {
+		if(mb.isInSparseFormat()) {
+			Arrays.fill(row, 0);
+			SparseBlock a = mb.getSparseBlock();
+			if(a == null || a.isEmpty(r))
+				return;
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			for(int k = apos; k < apos + alen; k++)
+				row[aix[k]] = avals[k];
+		}
+		else if(mb.getDenseBlock() == null)
+			Arrays.fill(row, 0);
+		else
+			System.arraycopy(mb.getDenseBlock().values(r), mb.getDenseBlock().pos(r), row, 0, row.length);
+	}
+
+	private interface CellFunction {
+		void apply(int r, int c, double v);
+	}
+
+	/**
+	 * Applies the given function to all cells of the compressed block, where the cell values are obtained from the
+	 * codes and dictionaries of the column groups.
+	 */
+	private static boolean forEachCell(CompressedMatrixBlock m1, MatrixBlock resultBlock, CellFunction fn) {
+		List<ColGroupCodes> codes = getCodes(m1);
+		if(codes == null)
+			return false;
+		final List<AColGroup> groups = m1.getColGroups();
+		for(int i = 0; i < groups.size(); i++) {
+			AColGroup g = groups.get(i);
+			ColGroupCodes gc = codes.get(i);
+			int[] cols = g.getColIndices();
+			if(gc == null) {
+				MatrixBlock data = ((ColGroupUncompressed) g).getData();
+				for(int r = 0; r < g.getNumRows(); r++)
+					for(int j = 0; j < cols.length; j++)
+						fn.apply(r, cols[j], data.quickGetValue(r, j));
+			}
+			else {
+				for(int r = 0; r < g.getNumRows(); r++) {
+					int code = gc.getCode(r);
+					for(int j = 0; j < cols.length; j++)
+						fn.apply(r, cols[j], gc.getValue(code, j));
+				}
+			}
+		}
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+		return true;
+	}
+
+	private static List<ColGroupCodes> getCodes(CompressedMatrixBlock m1) {
+		if(m1.isOverlapping())
+			return null;
+		List<ColGroupCodes> ret = new ArrayList<>();
+		for(AColGroup g : m1.getColGroups()) {
+			ColGroupCodes gc = (g instanceof ColGroupUncompressed) ? null : ColGroupCodes.create(g);
+			if(gc == null && !(g instanceof ColGroupUncompressed))
+				return null;
+			ret.add(gc);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.Not;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Element-wise unary operations (e.g., exp, log, sqrt, round, sigmoid) in the
+ * compressed domain. Since the compressed column groups store their distinct
+ * values in dictionaries, the function is applied to the dictionaries only,
+ * which yields a new compressed block in O(#distinct values). Column groups
+ * with implicit zeros take the sparse-unsafe path of the existing scalar
+ * operations if f(0) != 0.
+ */
+public class CLALibUnary {
+
+	/**
+	 * Indicates if the given unary operation can be applied in the compressed
+	 * domain, which requires an element-wise function and non-overlapping
+	 * column groups because f(a+b) != f(a)+f(b) in general.
+	 * 
+	 * @param op unary operator
+	 * @param m1 compressed input
+	 * @return true if supported in compressed domain
+	 */
+	public static boolean isSupported(UnaryOperator op, CompressedMatrixBlock m1) {
+		return !m1.isOverlapping() && (op.fn instanceof Not
+			|| (op.fn instanceof Builtin && isElementwise(((Builtin) op.fn).getBuiltinCode())));
+	}
+
+	private static boolean isElementwise(BuiltinCode code) {
+		switch(code) {
+			case SIN: case COS: case TAN: case ASIN: case ACOS: case ATAN:
+			case SINH: case COSH: case TANH: case CEIL: case FLOOR:
+			case LOG: case LOG_NZ: case ABS: case SIGN: case SQRT: case EXP:
+			case ROUND: case PLOGP: case SPROP: case SIGMOID:
+			case ISNA: case ISNAN: case ISINF:
+				return true;
+			default: //e.g., cumulative aggregates
+				return false;
+		}
+	}
+
+	public static MatrixBlock unaryOperations(UnaryOperator op, CompressedMatrixBlock m1) {
+		ScalarOperator sop = new UnaryScalarOperator(op.fn);
+		List<AColGroup> colGroups = m1.getColGroups();
+		List<AColGroup> newColGroups = new ArrayList<>();
+		int k = op.getNumThreads();
+		if(k > 1 && colGroups.size() > 1)
+			parallelUnaryOperations(op, sop, colGroups, newColGroups, k);
+		else
+			for(AColGroup grp : colGroups)
+				newColGroups.add(unaryOperation(grp, op, sop));
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m1.getNumRows(), m1.getNumColumns());
+		ret.allocateColGroupList(newColGroups);
+		ret.setOverlapping(false);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static AColGroup unaryOperation(AColGroup grp, UnaryOperator op, ScalarOperator sop) {
+		if(grp instanceof ColGroupUncompressed)
+			return ((ColGroupUncompressed) grp).unaryOperation(op);
+		// dictionary-only (and default value) updates for all compressed groups
+		return grp.scalarOperation(sop);
+	}
+
+	private static void parallelUnaryOperations(UnaryOperator op, ScalarOperator sop, List<AColGroup> colGroups,
+		List<AColGroup> newColGroups, int k) {
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			List<UnaryTask> tasks = new ArrayList<>();
+			for(AColGroup grp : colGroups)
+				tasks.add(new UnaryTask(grp, op, sop));
+			for(Future<AColGroup> f : pool.invokeAll(tasks))
+				newColGroups.add(f.get());
+			pool.shutdown();
+		}
+		catch(InterruptedException | ExecutionException e) {
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	private static class UnaryTask implements Callable<AColGroup> {
+		private final AColGroup _grp;
+		private final UnaryOperator _op;
+		private final ScalarOperator _sop;
+
+		protected UnaryTask(AColGroup grp, UnaryOperator op, ScalarOperator sop) {
+			_grp = grp;
+			_op = op;
+			_sop = sop;
+		}
+
+		@Override
+		public AColGroup call() {
+			return unaryOperation(_grp, _op, _sop);
+		}
+	}
+
+	/**
+	 * Adapter of an element-wise unary function to the scalar operator interface
+	 * of column groups, which is sparse-safe iff f(0) == 0.
+	 */
+	private static class UnaryScalarOperator extends ScalarOperator {
+		private static final long serialVersionUID = -5270547311478937143L;
+
+		protected UnaryScalarOperator(ValueFunction fn) {
+			super(fn, 0, fn.execute(0) == 0);
+		}
+
+		@Override
+		public double executeScalar(double in) {
+			return fn.execute(in);
+		}
+
+		@Override
+		public ScalarOperator setConstant(double cst) {
+			throw new DMLRuntimeException("Unsupported constant for unary operator: " + fn);
+		}
+
+		@Override
+		public ScalarOperator setConstant(double cst, int numThreads) {
+			throw new DMLRuntimeException("Unsupported constant for unary operator: " + fn);
+		}
+	}
+}
@@ -45,6 +45,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalWorkStealingTaskQueue;
 import org.apache.sysds.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteDPParForSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteParForJobReturn;
@@ -62,6 +63,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptTreeConverter;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizationWrapper;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
@@ -132,6 +134,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,  //work-stealing task partitioner (local), uses tasksize as chunk size
 		UNSPECIFIED
 	}
 	
@@ -491,6 +494,10 @@ public class ParForProgramBlock extends ForProgramBlock
 		_params.put(ParForStatementBlock.TASK_SIZE, String.valueOf(_taskSize)); //kept up-to-date for copies
 	}
 	
+	public long getTaskSize() {
+		return _taskSize;
+	}
+	
 	public void setDataPartitioner(PDataPartitioner partitioner)  {
 		_dataPartitioner = partitioner;
 		_params.put(ParForStatementBlock.DATA_PARTITIONER, String.valueOf(_dataPartitioner)); //kept up-to-date for copies
@@ -729,7 +736,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			LocalTaskQueue<Task> queue = (_taskPartitioner == PTaskPartitioner.WORK_STEALING) ?
+				new LocalWorkStealingTaskQueue(_numThreads) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
@@ -753,7 +761,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( USE_STREAMING_TASK_CREATION || queue instanceof LocalWorkStealingTaskQueue )
 			{
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);
@@ -780,6 +788,18 @@ public class ParForProgramBlock extends ForProgramBlock
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
 			
+			//obtain dynamically created tasks and statistics of work stealing
+			if( queue instanceof LocalWorkStealingTaskQueue ) {
+				LocalWorkStealingTaskQueue wsQueue = (LocalWorkStealingTaskQueue) queue;
+				numCreatedTasks = wsQueue.getNumCreatedTasks();
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForWorkStealing(wsQueue.getNumSteals(), wsQueue.getIdleTime());
+				if( _monitor ) {
+					StatisticMonitor.putPFStat(_ID, Stat.PARFOR_NUMSTEALS, wsQueue.getNumSteals());
+					StatisticMonitor.putPFStat(_ID, Stat.PARFOR_IDLE_T, wsQueue.getIdleTime()/1e6);
+				}
+			}
+			
 			// Step 4) collecting results from each parallel worker
 			//obtain results and cleanup other intermediates before result merge
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
@@ -1217,7 +1237,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			
 			//create the actual parallel worker
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
-			pw = new LocalParWorker( pwID, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
+			pw = new LocalParWorker( pwID, index, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
 		}
 		catch(Exception ex) {
@@ -1266,7 +1286,12 @@ public class ParForProgramBlock extends ForProgramBlock
 				//for constrained factoring the tasksize is used as the minimum constraint
 				tp = new TaskPartitionerFactoringCmax(_taskSize,_numThreads, 
 					_taskSize, _iterPredVar, from, to, incr);
-				break;	
+				break;
+			case WORK_STEALING:
+				//static partitioning for remote execution, work stealing in local queues
+				tp = new TaskPartitionerWorkStealing(
+					_taskSize, _numThreads, _iterPredVar, from, to, incr);
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -59,11 +59,9 @@ public class ByteBuffer
 		{
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
-				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
-				if( _bdata==null )
-					_bdata = new byte[(int)_size];
+				//deep serialize (for compression), pooled pages might be larger
+				_bdata = CacheableData.CACHING_BUFFER_PAGECACHE ?
+					PageCache.allocPage((int)_size) : new byte[(int)_size];
 				DataOutput dout = new CacheDataOutput(_bdata);
 				cb.write(dout);
 			}
@@ -84,12 +82,21 @@ public class ByteBuffer
 		_serialized = true;
 	}
 
-	public CacheBlock deserializeBlock() 
+	/**
+	 * Deserializes the buffered cache block. Since pages are recycled on
+	 * freeMemory, concurrent deserialization and free are mutually exclusive.
+	 * 
+	 * @return cache block, or null if the buffer has already been freed
+	 * @throws IOException if IOException occurs
+	 */
+	public synchronized CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
+		if( _bdata == null && _cdata == null ) //freed
+			return null;
+		else if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
@@ -102,12 +109,16 @@ public class ByteBuffer
 		return ret;
 	}
 
-	public void evictBuffer( String fname ) 
+	public synchronized void evictBuffer( String fname ) 
 		throws IOException
 	{
-		if( !_shallow ) {
+		if( _bdata == null && _cdata == null ) {
+			//freed by concurrent delete, nothing to write
+			return;
+		}
+		else if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LocalFileUtils.writeByteArrayToLocal(fname, _bdata, (int)_size);
 		}
 		else {
 			//serialize cache block to output stream
@@ -128,7 +139,7 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public synchronized void freeMemory()
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
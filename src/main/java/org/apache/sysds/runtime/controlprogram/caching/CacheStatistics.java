@@ -69,6 +69,15 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//unified memory manager statistics
+	private static final LongAdder _numUMMEvictions = new LongAdder();
+	private static final LongAdder _numUMMRestores  = new LongAdder();
+	private static final LongAdder _ctimeUMMPinWait = new LongAdder(); //in nano sec
+	
+	//page cache statistics
+	private static final LongAdder _numPageHits     = new LongAdder();
+	private static final LongAdder _numPageMisses   = new LongAdder();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -86,6 +95,13 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numUMMEvictions.reset();
+		_numUMMRestores.reset();
+		_ctimeUMMPinWait.reset();
+		
+		_numPageHits.reset();
+		_numPageMisses.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -228,6 +244,46 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementUMMEvictions() {
+		_numUMMEvictions.increment();
+	}
+	
+	public static long getUMMEvictions() {
+		return _numUMMEvictions.longValue();
+	}
+	
+	public static void incrementUMMRestores() {
+		_numUMMRestores.increment();
+	}
+	
+	public static long getUMMRestores() {
+		return _numUMMRestores.longValue();
+	}
+	
+	public static void incrementUMMPinWaitTime(long delta) {
+		_ctimeUMMPinWait.add(delta);
+	}
+	
+	public static long getUMMPinWaitTime() {
+		return _ctimeUMMPinWait.longValue();
+	}
+	
+	public static void incrementPageCacheHits() {
+		_numPageHits.increment();
+	}
+	
+	public static long getPageCacheHits() {
+		return _numPageHits.longValue();
+	}
+	
+	public static void incrementPageCacheMisses() {
+		_numPageMisses.increment();
+	}
+	
+	public static long getPageCacheMisses() {
+		return _numPageMisses.longValue();
+	}
+	
 	public static String displayHits() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -268,4 +324,26 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	public static String displayUMM() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numUMMEvictions.longValue());
+		sb.append("/");
+		sb.append(_numUMMRestores.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeUMMPinWait.longValue())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+	
+	public static String displayPageCache() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPageHits.longValue());
+		sb.append("/");
+		sb.append(_numPageMisses.longValue());
+		sb.append("/");
+		sb.append(PageCache.getNumPages());
+		
+		return sb.toString();
+	}
 }
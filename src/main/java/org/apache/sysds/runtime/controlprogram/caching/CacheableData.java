@@ -36,6 +36,7 @@ import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
@@ -84,7 +85,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		1e-5 * InfrastructureAnalyzer.getLocalMaxMemory());       //if below threshold [in bytes]
 	public static final double CACHING_BUFFER_SIZE = 0.15;
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO;
-	public static final boolean CACHING_BUFFER_PAGECACHE = false;
+	public static final boolean CACHING_BUFFER_PAGECACHE = true;
+	public static final double CACHING_BUFFER_PAGECACHE_SIZE = 0.25; //relative to buffer pool size
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;
 	public static final String  CACHING_COUNTER_GROUP_NAME = "SystemDS Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
@@ -94,7 +96,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	//NOTE CACHING_ASYNC_SERIALIZE:
 	// The serialization of matrices and frames (ultra-sparse matrices or 
 	// frames with strings) into buffer pool byte arrays happens outside the 
-	// critical region of the global lock in LazyWriteBuffer. However, it still
+	// eviction critical path in LazyWriteBuffer. However, it still
 	// requires thread-local serialization (before returning from release) in 
 	// order to guarantee that not too many objects are pinned at the same time 
 	// which would violate the memory budget. Therefore, the new asynchronous 
@@ -474,8 +476,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (after pin but outside the
 		//critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(true);
+			pinUnifiedMemory(ret, false);
+		}
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -583,8 +587,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (after pin but outside the
 		//critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(true);
+			pinUnifiedMemory(ret, true);
+		}
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -660,7 +666,21 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		//cache status maintenance (pass cacheNoWrite flag)
 		release(_isAcquireFromEmpty && !_requiresLocalWrite);
 		
-		if( isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
+		if( isCachingActive() && UnifiedMemoryManager.isEnabled() ) {
+			//unpin from operation memory, dirty blocks are moved to the buffer pool
+			boolean cache = isCached(true) && !isBelowCachingThreshold();
+			boolean dirty = cache && (( write && !hasValidLineage() ) || _requiresLocalWrite);
+			UnifiedMemoryManager.get().unpin(getCacheFilePathAndName(), cache ? _data : null, dirty);
+			if( dirty )
+				_requiresLocalWrite = false;
+			if( DMLScript.STATISTICS && cache && write && hasValidLineage() )
+				CacheStatistics.incrementLinWrites();
+			if( cache ) {
+				createCache();
+				_data = null;
+			}
+		}
+		else if( isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
 			&& isCached(true) //not empty and not read/modify
 			&& !isBelowCachingThreshold() ) //min size for caching
 		{
@@ -979,8 +999,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("CACHE: Freeing evicted matrix...  " + hashCode() + "  HDFS path: " + 
 				(_hdfsFileName == null ? "null" : _hdfsFileName) + " Eviction path: " + cacheFilePathAndName);
 		
-		if(isCachingActive())
-			LazyWriteBuffer.deleteBlock(cacheFilePathAndName);
+		if(isCachingActive()) {
+			if( UnifiedMemoryManager.isEnabled() )
+				UnifiedMemoryManager.get().delete(cacheFilePathAndName);
+			else
+				LazyWriteBuffer.deleteBlock(cacheFilePathAndName);
+		}
 		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Freeing evicted matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");
@@ -1280,6 +1304,36 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 
+	/**
+	 * Pins the given cache block into the operation memory of the unified
+	 * memory manager (if enabled), which can trigger evictions of other
+	 * unpinned cache blocks.
+	 * 
+	 * @param data  cache block
+	 * @param dirty true if acquired for modification
+	 */
+	protected void pinUnifiedMemory(T data, boolean dirty) {
+		if( data != null && isCachingActive() && UnifiedMemoryManager.isEnabled() )
+			UnifiedMemoryManager.get().pin(getCacheFilePathAndName(), data, dirty);
+	}
+	
+	/**
+	 * Reads an evicted cache block from the write buffer, the buffer pool
+	 * of the unified memory manager, or local FS.
+	 * 
+	 * @param fname  local FS file name
+	 * @param matrix true if matrix block
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static CacheBlock readBlockFromCache(String fname, boolean matrix)
+		throws IOException
+	{
+		return UnifiedMemoryManager.isEnabled() ?
+			UnifiedMemoryManager.get().readBlock(fname, matrix) :
+			LazyWriteBuffer.readBlock(fname, matrix);
+	}
+	
 	protected void updateStatusPinned(boolean add) {
 		if( _data == null || !OptimizerUtils.isHybridExecutionMode() )
 			return; //avoid size computation for string frames
@@ -1308,6 +1362,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public synchronized static void cleanupCacheDir() {
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
+		UnifiedMemoryManager.cleanup();
 		
 		//delete cache dir and files
 		cleanupCacheDir(true);
@@ -1375,6 +1430,13 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	
 		//init write-ahead buffer
 		LazyWriteBuffer.init();
+		
+		//init unified memory manager (if configured)
+		if( ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.CACHING_MEMORY_MANAGER).equalsIgnoreCase("unified") )
+			UnifiedMemoryManager.init();
+		else
+			UnifiedMemoryManager.cleanup();
 		_refBCs.set(0);
 		
 		_activeFlag = true; //turn on caching
@@ -20,17 +20,32 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
+/**
+ * Buffer pool of serialized cache blocks, which are evicted to local FS
+ * if the buffer pool limit is exceeded.
+ * 
+ * In order to avoid contention of concurrent parfor workers, the buffer
+ * pool does not rely on a global lock: entries are indexed by a concurrent
+ * hash map (striped by file name), the buffer size is maintained atomically,
+ * and the eviction order is given by a lock-free queue of entries. For LRU,
+ * eviction is approximated via CLOCK (second chance for accessed entries).
+ * The entry owner (eviction or delete) is determined by removing the entry
+ * from the hash map, which keeps the buffer size consistent.
+ */
 public class LazyWriteBuffer 
 {
 	public enum RPolicy {
@@ -42,11 +57,14 @@ public class LazyWriteBuffer
 	private static final long _limit;
 	
 	//current size in bytes
-	private static long _size;
+	private static final AtomicLong _size = new AtomicLong(0);
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map
-	//for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static EvictionQueue _mQueue;
+	//buffer pool entries by filename, and eviction queue in order of insertion
+	//(stale queue entries of deleted or replaced buffers are skipped on eviction,
+	//and the queue is compacted once stale entries outnumber the live entries)
+	private static Map<String, BufferEntry> _mBuffers;
+	private static Queue<BufferEntry> _mQueue;
+	private static final AtomicInteger _stale = new AtomicInteger(0);
 	
 	//maintenance service for synchronous or asynchronous delete of evicted files
 	private static MaintenanceService _fClean;
@@ -71,36 +89,28 @@ public class LazyWriteBuffer
 		{
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
+			BufferEntry entry = new BufferEntry(fname, bbuff);
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
-						numEvicted++;
-					}
-				}
-				
-				//put placeholder into buffer pool (reserve mem)
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;
+			//reserve memory and evict matrices to make room (by default FIFO)
+			_size.addAndGet(lSize);
+			while( _size.get() > _limit ) {
+				BufferEntry tmp = _mQueue.poll();
+				if( tmp == null )
+					break;
+				if( evict(tmp) )
+					numEvicted++;
 			}
 			
-			//serialize matrix (outside synchronized critical path)
+			//put placeholder into buffer pool (replaces outdated buffers)
+			BufferEntry old = _mBuffers.put(fname, entry);
+			if( old != null ) {
+				_size.addAndGet(-old.bbuff.getSize());
+				old.bbuff.freeMemory();
+				markStale();
+			}
+			_mQueue.offer(entry);
+			
+			//serialize matrix (outside eviction critical path)
 			_fClean.serializeData(bbuff, cb);
 			
 			if( DMLScript.STATISTICS ) {
@@ -123,21 +133,15 @@ public class LazyWriteBuffer
 	
 	public static void deleteBlock(String fname)
 	{
-		boolean requiresDelete = true;
-		
-		synchronized( _mQueue )
-		{
-			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
-			if( ldata != null ) {
-				_size -= ldata.getSize();
-				requiresDelete = false;
-				ldata.freeMemory(); //cleanup
-			}
+		//remove buffer entry, pending evictions delete the file on completion
+		BufferEntry ldata = _mBuffers.remove(fname);
+		if( ldata != null ) {
+			_size.addAndGet(-ldata.bbuff.getSize());
+			ldata.bbuff.freeMemory(); //cleanup
+			markStale();
 		}
-		
 		//delete from FS if required
-		if( requiresDelete )
+		else
 			_fClean.deleteFile(fname);
 	}
 	
@@ -145,27 +149,18 @@ public class LazyWriteBuffer
 		throws IOException
 	{
 		CacheBlock cb = null;
-		ByteBuffer ldata = null;
 		
-		//probe write buffer
-		synchronized( _mQueue )
-		{
-			ldata = _mQueue.get(fname);
-			
-			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
-			}
-		}
+		//probe write buffer and mark accessed (for approximate LRU eviction)
+		BufferEntry ldata = _mBuffers.get(fname);
+		if( ldata != null && CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU )
+			ldata.accessed = true;
 		
 		//deserialize or read from FS if required
+		//(buffers freed by concurrent eviction are read from FS)
 		if( ldata != null )
+			cb = ldata.bbuff.deserializeBlock();
+		if( cb != null )
 		{
-			cb = ldata.deserializeBlock();
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
@@ -180,16 +175,21 @@ public class LazyWriteBuffer
 	}
 
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		_mBuffers = new ConcurrentHashMap<>();
+		_mQueue = new ConcurrentLinkedQueue<>();
 		_fClean = new MaintenanceService();
-		_size = 0;
+		_size.set(0);
+		_stale.set(0);
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
 
 	public static void cleanup() {
+		if( _mBuffers != null )
+			_mBuffers.clear();
 		if( _mQueue != null )
 			_mQueue.clear();
+		_stale.set(0);
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -203,16 +203,24 @@ public class LazyWriteBuffer
 	}
 	
 	public static long getWriteBufferSize() {
-		synchronized( _mQueue ) {
-			return _size; }
+		return _size.get();
 	}
 	
 	public static long getWriteBufferFree() {
-		synchronized( _mQueue ) {
-			return _limit - _size; }
+		return _limit - _size.get();
 	}
 	
 	public static int getQueueSize() {
+		return _mBuffers.size();
+	}
+	
+	/**
+	 * Number of entries in the eviction queue, including stale entries.
+	 * NOTE: use only for debugging or testing.
+	 * 
+	 * @return the size of the eviction queue
+	 */
+	public static int getEvictionQueueSize() {
 		return _mQueue.size();
 	}
 	
@@ -231,23 +239,22 @@ public class LazyWriteBuffer
 	{
 		System.out.println("WRITE BUFFER STATUS ("+position+") --");
 		
-		synchronized( _mQueue ) {
-			//print buffer meta data
-			System.out.println("\tWB: Buffer Meta Data: " +
-				"limit="+_limit+", " +
-				"size[bytes]="+_size+", " +
-				"size[elements]="+_mQueue.size()+"/"+_mQueue.size());
-			
-			//print current buffer entries
-			int count = _mQueue.size();
-			for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() ) {
-				String fname = entry.getKey();
-				ByteBuffer bbuff = entry.getValue();
-				System.out.println("\tWB: buffer element ("+count+"): "
-					+fname+", "+(bbuff.isShallow()?bbuff._cdata.getClass().getSimpleName():"?")
-					+", "+bbuff.getSize()+", "+bbuff.isShallow());
-				count--;
-			}
+		//print buffer meta data
+		System.out.println("\tWB: Buffer Meta Data: " +
+			"limit="+_limit+", " +
+			"size[bytes]="+_size.get()+", " +
+			"size[elements]="+_mBuffers.size()+"/"+_mQueue.size());
+		
+		//print current buffer entries (in eviction order)
+		int count = _mBuffers.size();
+		for( BufferEntry entry : _mQueue ) {
+			if( _mBuffers.get(entry.fname) != entry )
+				continue; //stale entry
+			ByteBuffer bbuff = entry.bbuff;
+			System.out.println("\tWB: buffer element ("+count+"): "
+				+entry.fname+", "+(bbuff.isShallow()?bbuff._cdata.getClass().getSimpleName():"?")
+				+", "+bbuff.getSize()+", "+bbuff.isShallow());
+			count--;
 		}
 	}
 	
@@ -261,51 +268,90 @@ public class LazyWriteBuffer
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
-			}
-		}
+		BufferEntry tmp = null;
+		while( (tmp = _mQueue.poll()) != null )
+			evict(tmp, true);
 	}
 	
 	public static ExecutorService getUtilThreadPool() {
 		return _fClean != null ? _fClean._pool : null;
 	}
 	
+	private static boolean evict(BufferEntry entry)
+		throws IOException
+	{
+		return evict(entry, false);
+	}
+	
 	/**
-	 * Extended LinkedHashMap with convenience methods for adding and removing
-	 * last/first entries.
+	 * Evicts the given buffer entry to local FS, if it is still valid.
+	 * The file is written before the entry is removed from the buffer
+	 * pool, so concurrent readers find either the buffer or the file.
 	 * 
+	 * @param entry buffer entry taken from the eviction queue
+	 * @param force if true, ignore the accessed flag
+	 * @return true if the entry was evicted
+	 * @throws IOException if IOException occurs
 	 */
-	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
+	private static boolean evict(BufferEntry entry, boolean force)
+		throws IOException
 	{
-		private static final long serialVersionUID = -5208333402581364859L;
+		//skip stale entries (deleted or replaced)
+		if( _mBuffers.get(entry.fname) != entry ) {
+			_stale.updateAndGet(v -> Math.max(v - 1, 0));
+			return false;
+		}
 		
-		public void addLast( String fname, ByteBuffer bbuff ) {
-			//put entry into eviction queue w/ 'addLast' semantics
-			put(fname, bbuff);
+		//second chance for recently accessed entries (CLOCK)
+		if( entry.accessed && !force ) {
+			entry.accessed = false;
+			_mQueue.offer(entry);
+			return false;
 		}
 		
-		public Entry<String, ByteBuffer> removeFirst()
-		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
-			
-			//remove current iterator entry
-			iter.remove();
-			
-			return entry;
+		//wait for pending serialization
+		ByteBuffer tmp = entry.bbuff;
+		tmp.checkSerialized();
+		
+		//evict matrix
+		tmp.evictBuffer(entry.fname);
+		if( _mBuffers.remove(entry.fname, entry) ) {
+			_size.addAndGet(-tmp.getSize());
+			tmp.freeMemory();
+			return true;
+		}
+		
+		//deleted during eviction (cleanup evicted file)
+		if( !_mBuffers.containsKey(entry.fname) )
+			_fClean.deleteFile(entry.fname);
+		return false;
+	}
+	
+	/**
+	 * Accounts for a stale queue entry of a deleted or replaced buffer, and
+	 * compacts the eviction queue once stale entries outnumber the live entries,
+	 * which bounds the queue size for workloads that never trigger evictions.
+	 */
+	private static void markStale() {
+		if( _stale.incrementAndGet() > _mBuffers.size() ) {
+			_stale.set(0);
+			_mQueue.removeIf(e -> _mBuffers.get(e.fname) != e);
+		}
+	}
+	
+	/**
+	 * Buffer pool entry of serialized cache block, with accessed
+	 * flag for approximate LRU eviction.
+	 */
+	private static class BufferEntry
+	{
+		private final String fname;
+		private final ByteBuffer bbuff;
+		private volatile boolean accessed = false;
+		
+		public BufferEntry(String fname, ByteBuffer bbuff) {
+			this.fname = fname;
+			this.bbuff = bbuff;
 		}
 	}
 	
@@ -433,7 +433,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
-		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+		return (MatrixBlock)readBlockFromCache(fname, true);
 	}
 	
 
@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -20,48 +20,224 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
 
-public class PageCache 
+import org.apache.sysds.api.DMLScript;
+
+/**
+ * Thread-safe pool of byte arrays for serialized cache blocks and I/O buffers.
+ *
+ * Pages are organized in size classes (four classes per power of two, starting
+ * at 4KB), which bounds the internal fragmentation to 25% and allows reusing
+ * pages for requests of similar but not identical size. Pooled pages are held
+ * via soft references and the pool is bounded by a byte budget, where the least
+ * recently returned pages are dropped first.
+ */
+public class PageCache
 {
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
+	//size classes: 4KB, 5KB, 6KB, 7KB, 8KB, 10KB, ..., 1GB
+	private static final int LOG_MIN_PAGE = 12;
+	private static final int MIN_PAGE = 1 << LOG_MIN_PAGE;
+	private static final int MAX_PAGE = 1 << 30;
+	private static final int NUM_CLASSES = getSizeClass(MAX_PAGE) + 1;
+
+	private static PagePool _pool;
 
 	public static void init() {
-		_pool = new HashMap<>();
+		init(Math.max((long)(CacheableData.CACHING_BUFFER_PAGECACHE_SIZE
+			* LazyWriteBuffer.getWriteBufferLimit()), MIN_PAGE));
+	}
+
+	public static void init(long budget) {
+		_pool = new PagePool(budget);
 	}
 
-	public static void clear()
-	{
+	public static void clear() {
 		_pool = null;
 	}
 
-	public static void putPage( byte[] data )
-	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
-		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<>();
-			_pool.put(data.length, list);
+	/**
+	 * Returns the given page to the pool. The page is assigned to the
+	 * largest size class it is able to serve.
+	 *
+	 * @param data byte array that is no longer used by the caller
+	 */
+	public static void putPage( byte[] data ) {
+		PagePool pool = _pool;
+		if( pool != null && data != null )
+			pool.put(data);
+	}
+
+	/**
+	 * Obtains a pooled page of at least the given size.
+	 *
+	 * @param size minimum size in bytes
+	 * @return byte array of length &gt;= size, or null if there is no pooled page
+	 */
+	public static byte[] getPage( int size ) {
+		PagePool pool = _pool;
+		return (pool != null && size >= MIN_PAGE && size <= MAX_PAGE) ?
+			pool.get(size) : null;
+	}
+
+	/**
+	 * Obtains a pooled page of at least the given size, or allocates a new
+	 * page of the corresponding size class (for later reuse via putPage).
+	 *
+	 * @param size minimum size in bytes
+	 * @return byte array of length &gt;= size
+	 */
+	public static byte[] allocPage( int size ) {
+		byte[] ret = getPage(size);
+		if( ret == null ) {
+			ret = (_pool != null && size >= MIN_PAGE && size <= MAX_PAGE) ?
+				new byte[getClassSize(getSizeClass(size))] : new byte[size];
 		}
-		list.addLast(new SoftReference<>(data));	
+		return ret;
 	}
 
-	public static byte[] getPage( int size )
-	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
-					return tmp;
+	public static long getSize() {
+		PagePool pool = _pool;
+		return (pool != null) ? pool.getSize() : 0;
+	}
+
+	public static int getNumPages() {
+		PagePool pool = _pool;
+		return (pool != null) ? pool.getNumPages() : 0;
+	}
+
+	/**
+	 * Determines the smallest size class that holds the given size.
+	 *
+	 * @param size size in bytes (in [MIN_PAGE, MAX_PAGE])
+	 * @return size class index
+	 */
+	private static int getSizeClass(int size) {
+		//classes 2^k * (1.25, 1.5, 1.75, 2) for 2^k < size <= 2^(k+1)
+		int k = 31 - Integer.numberOfLeadingZeros(size - 1);
+		int quarter = 1 << (k - 2);
+		int j = ((size - (1 << k)) + quarter - 1) / quarter;
+		return (k - LOG_MIN_PAGE) * 4 + j;
+	}
+
+	private static int getClassSize(int cls) {
+		int k = LOG_MIN_PAGE + Math.floorDiv(cls - 1, 4);
+		int j = cls - (k - LOG_MIN_PAGE) * 4;
+		return (1 << k) + j * (1 << (k - 2));
+	}
+
+	/**
+	 * Size class buckets with a global LRU list, both maintained as
+	 * intrusive doubly-linked lists for constant-time updates. All
+	 * operations are short and synchronized on the pool.
+	 */
+	private static class PagePool {
+		private final long _budget;
+		private final Page[] _heads; //per size class, most recent last
+		private final Page[] _tails;
+		private Page _lruHead = null; //least recently returned
+		private Page _lruTail = null;
+		private long _size = 0;
+		private int _numPages = 0;
+
+		public PagePool(long budget) {
+			_budget = budget;
+			_heads = new Page[NUM_CLASSES];
+			_tails = new Page[NUM_CLASSES];
+		}
+
+		public void put(byte[] data) {
+			if( data.length < MIN_PAGE || data.length > _budget )
+				return;
+			int cls = getSizeClass(Math.min(data.length, MAX_PAGE));
+			if( getClassSize(cls) > data.length )
+				cls--; //largest class fully covered by the page
+			Page p = new Page(data, cls);
+			synchronized( this ) {
+				//append to class bucket and lru list
+				p.cprev = _tails[cls];
+				if( _tails[cls] != null )
+					_tails[cls].cnext = p;
+				else
+					_heads[cls] = p;
+				_tails[cls] = p;
+				p.gprev = _lruTail;
+				if( _lruTail != null )
+					_lruTail.gnext = p;
+				else
+					_lruHead = p;
+				_lruTail = p;
+				_size += p.size;
+				_numPages++;
+
+				//trim least recently returned pages
+				while( _size > _budget )
+					remove(_lruHead);
 			}
 		}
-		return null;
+
+		public byte[] get(int size) {
+			int cls = getSizeClass(size);
+			byte[] ret = null;
+			synchronized( this ) {
+				//most recently returned pages first, skip cleared references
+				while( ret == null && _tails[cls] != null ) {
+					Page p = _tails[cls];
+					remove(p);
+					ret = p.data.get();
+				}
+			}
+			if( DMLScript.STATISTICS ) {
+				if( ret != null )
+					CacheStatistics.incrementPageCacheHits();
+				else
+					CacheStatistics.incrementPageCacheMisses();
+			}
+			return ret;
+		}
+
+		public synchronized long getSize() {
+			return _size;
+		}
+
+		public synchronized int getNumPages() {
+			return _numPages;
+		}
+
+		private void remove(Page p) {
+			//unlink from class bucket
+			if( p.cprev != null )
+				p.cprev.cnext = p.cnext;
+			else
+				_heads[p.cls] = p.cnext;
+			if( p.cnext != null )
+				p.cnext.cprev = p.cprev;
+			else
+				_tails[p.cls] = p.cprev;
+			//unlink from lru list
+			if( p.gprev != null )
+				p.gprev.gnext = p.gnext;
+			else
+				_lruHead = p.gnext;
+			if( p.gnext != null )
+				p.gnext.gprev = p.gprev;
+			else
+				_lruTail = p.gprev;
+			_size -= p.size;
+			_numPages--;
+		}
+	}
+
+	private static class Page {
+		private final SoftReference<byte[]> data;
+		private final int cls;
+		private final long size;
+		private Page cprev, cnext;
+		private Page gprev, gnext;
+
+		public Page(byte[] data, int cls) {
+			this.data = new SoftReference<>(data);
+			this.cls = cls;
+			this.size = data.length;
+		}
 	}
 }
@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -19,138 +19,590 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
-import org.apache.commons.lang.NotImplementedException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
- * Unified Memory Manager - Initial Design
- * 
+ * Unified Memory Manager
+ *
  * Motivation:
- * The Unified Memory Manager, henceforth UMM, will act as a central manager of in-memory
+ * The Unified Memory Manager, henceforth UMM, acts as a central manager of in-memory
  * matrix (uncompressed and compressed), frame, and tensor blocks within SystemDS control
- * program. So far, operation memory (70%) and buffer pool memory (15%, LazyWriteBuffer)
- * are managed independently, which causes unnecessary evictions. New components like the
- * LineageCache also use and manage statically provisioned memory areas. Ultimately, the
- * UMM aims to eliminate these shortcomings by providing a central, potentially thread-local,
- * memory management.
+ * program. With the default static memory manager, operation memory (70%) and buffer pool
+ * memory (15%, LazyWriteBuffer) are managed independently, which causes unnecessary
+ * evictions while large parts of the heap are idle. The UMM replaces this static split
+ * with a single capacity shared by both memory areas. It is enabled via the config
+ * sysds.caching.memorymanager=unified.
  *
  * Memory Areas:
- * Initially, the UMM only handles CacheBlock objects (e.g., MatrixBlock, FrameBlock, and
+ * The UMM only handles CacheBlock objects (e.g., MatrixBlock, FrameBlock, and
  * TensorBlock), and manages two memory areas:
  *   (1) operation memory (pinned cache blocks and reserved memory) and
- *   (2) dirty objects (dirty cache blocks that need to be written to local FS before eviction)
- * 
- * The UMM is configured with a capacity (absolute size in byte). Relative to this capacity,
- * the operations and buffer pool memory areas each will have a min and max amount of memory
- * they can occupy, meaning that the boundary for the areas can shift dynamically depending
- * on the current load. Most importantly, though, dirty objects must not be counted twice
- * when pinning such an object for an operation. The min/max constraints are not exposed but
- * configured internally. An good starting point are the following constraints (relative to
- * JVM max heap size):
- * ___________________________
- * | operations  | 0%  | 70% | (pin requests always accepted)
- * | buffer pool | 15% | 85% | (eviction on demand)
+ *   (2) buffer pool (unpinned dirty cache blocks that need to be written to local FS
+ *       before eviction)
+ *
+ * The UMM is configured with a capacity (absolute size in byte, by default 85% of the max
+ * heap size), and the boundary between both areas shifts dynamically depending on the
+ * current load. Pin requests are always accepted, and operations can borrow the entire
+ * unused capacity of the buffer pool; on demand, the least recently used (or first-in,
+ * see {@link CacheableData#CACHING_BUFFER_POLICY}) unpinned blocks are evicted to local
+ * FS. Dirty objects are not counted twice when pinning such an object for an operation.
  *
  * Object Lifecycle:
- * The UMM will also need to keep track of the current state of individual cache blocks, for
- * which it will have a few member variables. A queue similar to the current EvictionQueue is
- * used to add/remove entries with LRU as its eviction policy. In general, there are three
- * properties of object status to consider:
  *  (1) Non-dirty/dirty: non-dirty objects have a representation on HDFS or can be recomputed
  *      from lineage trace (e.g., rand/seq outputs), while dirty objects need to be preserved.
- *  (2) FS Persisted: on eviction, dirty objects need to be written to local file system.
- *      As long the local file representation exist, dirty objects can simply be dropped.
+ *  (2) FS Persisted: on eviction, dirty objects are written to local file system.
+ *      As long the local file representation exist, these objects can simply be dropped.
  *  (3) Pinned/unpinned: For operations, objects are pinned into memory to guard against
  *      eviction. All pin requests have to be accepted, and once a non-dirty object is released
  *      (unpinned) it can be dropped without persisting it to local FS.
  *
  * Thread-safeness:
- * Initially, the UMM will be used in an instance-based manner. For global visibility and
- * use in parallel for loops, the UMM would need to provide a static, synchronized API, but
- * this constitutes a source of severe contention. In the future, we will consider a design
- * with thread-local UMMs for the individual parfor workers.
- *
- * Testing:
- * The UMM will be developed bottom up, and thus initially tested via component tests for
- * evaluating the eviction behavior for sequences of API requests. 
+ * All operations are synchronized on the UMM instance, but evictions (writes to local FS),
+ * restores, serialization, and file deletes happen outside the critical region. Evictions
+ * are performed asynchronously by a maintenance thread; pin requests only wait for pending
+ * evictions if the capacity is exceeded.
  */
 public class UnifiedMemoryManager
 {
+	private static final Log LOG = LogFactory.getLog(UnifiedMemoryManager.class.getName());
+
+	/** Fraction of the max heap managed by the UMM (operations and buffer pool) */
+	public static final double UMM_CAPACITY = 0.85;
+
+	//global UMM instance, if configured
+	private static volatile UnifiedMemoryManager _umm = null;
+
+	//capacity and current sizes in bytes
+	private final long _capacity;
+	private long _pinnedSize;
+	private long _cachedSize;
+	private long _evictingSize;
+
+	//all cache blocks under UMM control, unpinned blocks in memory
+	//(eviction queue), and blocks with pending evictions
+	private final Map<String, Entry> _entries;
+	private final LinkedHashMap<String, Entry> _cached;
+	private final Map<String, Entry> _evicting;
+
+	//maintenance service for asynchronous eviction and file deletion
+	private final ExecutorService _pool;
+
 	public UnifiedMemoryManager(long capacity) {
-		//TODO implement
-		throw new NotImplementedException();
+		_capacity = capacity;
+		_entries = new HashMap<>();
+		_cached = new LinkedHashMap<>();
+		_evicting = new HashMap<>();
+		_pool = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+			.namingPattern("umm-evict-%d").daemon(true).build());
+	}
+
+	// --------- STATIC GLOBAL INSTANCE ----------
+
+	/**
+	 * Creates the global UMM instance, sized relative to the max heap.
+	 */
+	public static synchronized void init() {
+		if( _umm != null )
+			_umm.deleteAll();
+		_umm = new UnifiedMemoryManager(
+			(long)(UMM_CAPACITY * InfrastructureAnalyzer.getLocalMaxMemory()));
+	}
+
+	/**
+	 * Removes all cache blocks and shuts down the global UMM instance, if existing.
+	 */
+	public static synchronized void cleanup() {
+		if( _umm != null )
+			_umm.deleteAll();
+		_umm = null;
+	}
+
+	/**
+	 * Indicates if the global UMM instance is used instead of the
+	 * static separation of operation and buffer pool memory.
+	 *
+	 * @return true if the unified memory manager is enabled
+	 */
+	public static boolean isEnabled() {
+		return _umm != null;
 	}
-	
+
+	public static UnifiedMemoryManager get() {
+		return _umm;
+	}
+
+	// --------- PIN/UNPIN API ----------
+
 	/**
 	 * Pins a cache block into operation memory.
-	 * 
+	 *
 	 * @param key    unique identifier and local FS filename for eviction
 	 * @param block  cache block if not under UMM control, null otherwise
 	 * @param dirty  indicator if block is dirty (subject to buffer pool management)
 	 * @return       pinned cache block, potentially restored from local FS
 	 */
 	public CacheBlock pin(String key, CacheBlock block, boolean dirty) {
-		//TODO implement
-		throw new NotImplementedException();
+		CacheBlock ret = block;
+		if( ret == null ) {
+			//restore block from buffer pool or local FS
+			//(outside critical region, no pin if restore fails)
+			Entry e = getEntry(key);
+			ret = readBlock(key, e == null || e.matrix);
+		}
+
+		long size = LazyWriteBuffer.getCacheBlockSize(ret);
+		synchronized( this ) {
+			Entry e = pinEntry(key, size, dirty);
+			e.block = ret;
+			e.matrix = ret instanceof MatrixBlock;
+		}
+		makeSpace();
+		return ret;
 	}
-	
+
 	/**
 	 * Pins a virtual cache block into operation memory, by making a size reservation.
 	 * The provided size is an upper bound of the actual object size, and can be
 	 * updated on unpin (once the actual cache block is provided).
-	 * 
+	 *
 	 * @param key    unique identifier and local FS filename for eviction
 	 * @param size   memory reservation in operation area
 	 * @param dirty  indicator if block is dirty (subject to buffer pool management)
 	 */
 	public void pin(String key, long size, boolean dirty) {
-		//TODO implement
-		throw new NotImplementedException();
+		synchronized( this ) {
+			pinEntry(key, size, dirty);
+		}
+		makeSpace();
 	}
-	
+
 	/**
 	 * Unpins (releases) a cache block from operation memory. Dirty objects
 	 * are logically moved back to the buffer pool area.
-	 * 
+	 *
 	 * @param key    unique identifier and local FS filename for eviction
 	 */
 	public void unpin(String key) {
-		//TODO implement
-		throw new NotImplementedException();
+		unpin(key, null, false);
 	}
-	
+
 	/**
 	 * Unpins (releases) a cache block from operation memory. If the size of
 	 * the provided cache block differs from the UMM meta data, the UMM meta
 	 * data is updated. Use cases include update-in-place operations and
 	 * size reservations via worst-case upper bound estimates.
-	 * 
+	 *
 	 * @param key    unique identifier and local FS filename for eviction
 	 * @param block  cache block which may be under UMM control, if null ignored
 	 */
 	public void unpin(String key, CacheBlock block) {
-		//TODO implement
-		throw new NotImplementedException();
+		unpin(key, block, false);
+	}
+
+	/**
+	 * Unpins (releases) a cache block from operation memory, and marks the
+	 * block as dirty if it was modified since being pinned. Once all pins are
+	 * released, dirty blocks are serialized into the buffer pool, while
+	 * non-dirty blocks without buffer pool or local FS representation
+	 * are dropped from UMM control.
+	 *
+	 * @param key    unique identifier and local FS filename for eviction
+	 * @param block  cache block which may be under UMM control, if null ignored
+	 * @param dirty  indicator if block was modified and needs to be preserved
+	 */
+	public void unpin(String key, CacheBlock block, boolean dirty) {
+		//obtain size and serialized representation outside critical region
+		long size = (block != null) ? LazyWriteBuffer.getCacheBlockSize(block) : -1;
+		ByteBuffer bbuff = null;
+		boolean bypass = false;
+		if( block != null && dirty ) {
+			bypass = size > _capacity || !ByteBuffer.isValidCapacity(size, block);
+			if( !bypass )
+				bbuff = serialize(block, size);
+		}
+
+		String delete = null;
+		boolean write = false;
+		synchronized( this ) {
+			Entry e = _entries.get(key);
+			if( e == null ) {
+				if( !dirty || block == null )
+					return; //unknown non-dirty block
+				//dirty block that was never pinned (e.g., pinned below
+				//the caching threshold but grown by update-in-place)
+				e = new Entry(key, size, block instanceof MatrixBlock);
+				_entries.put(key, e);
+			}
+			else if( e.pins > 0 ) {
+				e.pins--;
+				if( size >= 0 && size != e.size ) {
+					_pinnedSize += size - e.size;
+					e.size = size;
+				}
+				if( e.pins > 0 )
+					return; //still pinned by other operations
+				_pinnedSize -= e.size;
+			}
+			else {
+				//redundant unpin, re-insert with updated size
+				if( _cached.remove(key) != null )
+					_cachedSize -= e.size;
+				if( size >= 0 )
+					e.size = size;
+			}
+			e.block = null;
+			e.dirty |= dirty;
+
+			if( e.dirty && bbuff != null ) {
+				//move dirty block into buffer pool, invalidate stale file
+				if( e.onDisk )
+					delete = key;
+				e.buffer = bbuff;
+				e.onDisk = false;
+				e.dirty = false;
+				_cached.put(key, e);
+				_cachedSize += e.size;
+			}
+			else if( e.dirty && bypass ) {
+				//write directly to local FS (too large for buffer pool)
+				write = true;
+				e.buffer = null;
+				e.onDisk = true;
+				e.dirty = false;
+			}
+			else if( e.buffer != null ) {
+				//unmodified block with buffer pool representation
+				_cached.put(key, e);
+				_cachedSize += e.size;
+			}
+			else if( !e.onDisk ) {
+				//non-dirty block (recoverable from HDFS or lineage)
+				_entries.remove(key);
+			}
+		}
+
+		if( delete != null )
+			deleteFile(delete);
+		if( write ) {
+			try {
+				LocalFileUtils.writeCacheBlockToLocal(key, block);
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Eviction to local path " + key + " failed.", ex);
+			}
+			if( DMLScript.STATISTICS ) {
+				CacheStatistics.incrementFSWrites();
+				CacheStatistics.incrementUMMEvictions();
+			}
+		}
+		else if( bbuff != null && DMLScript.STATISTICS ) {
+			CacheStatistics.incrementFSBuffWrites();
+		}
+		makeSpace();
+	}
+
+	/**
+	 * Reads a cache block under UMM control without pinning it, either from
+	 * the buffer pool or by restoring it from local FS.
+	 *
+	 * @param key    unique identifier and local FS filename for eviction
+	 * @param matrix true if the block is a matrix block
+	 * @return cache block
+	 * @throws DMLRuntimeException if the restore failed
+	 */
+	public CacheBlock readBlock(String key, boolean matrix) {
+		ByteBuffer bbuff = null;
+		synchronized( this ) {
+			Entry e = _entries.get(key);
+			if( e != null ) {
+				if( e.block != null )
+					return e.block;
+				bbuff = e.buffer;
+				//modify eviction order (accordingly to access)
+				if( CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU && _cached.remove(key) != null )
+					_cached.put(key, e);
+			}
+		}
+
+		//deserialize or restore from local FS if required
+		try {
+			if( bbuff != null ) {
+				bbuff.checkSerialized();
+				CacheBlock ret = bbuff.deserializeBlock();
+				if( ret != null ) { //not freed by concurrent eviction
+					if( DMLScript.STATISTICS )
+						CacheStatistics.incrementFSBuffHits();
+					return ret;
+				}
+			}
+			CacheBlock ret = LocalFileUtils.readCacheBlockFromLocal(key, matrix);
+			if( DMLScript.STATISTICS ) {
+				CacheStatistics.incrementFSHits();
+				CacheStatistics.incrementUMMRestores();
+			}
+			return ret;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Restore from local path " + key + " failed.", ex);
+		}
 	}
-	
+
 	/**
 	 * Removes a cache block associated with the given key from all memory
 	 * areas, and deletes evicted representations (files in local FS). The
 	 * local file system deletes can happen asynchronously.
-	 * 
+	 *
 	 * @param key    unique identifier and local FS filename for eviction
 	 */
 	public void delete(String key) {
-		//TODO implement
-		throw new NotImplementedException();
+		boolean requiresDelete = false;
+		synchronized( this ) {
+			Entry e = _entries.remove(key);
+			if( e == null )
+				return;
+			if( e.pins > 0 )
+				_pinnedSize -= e.size;
+			else if( _cached.remove(key) != null ) {
+				_cachedSize -= e.size;
+				if( e.buffer != null )
+					e.buffer.freeMemory();
+			}
+			//pending evictions delete the file on completion
+			requiresDelete = e.onDisk;
+			e.buffer = null;
+			e.block = null;
+		}
+		if( requiresDelete )
+			deleteFile(key);
 	}
-	
+
 	/**
 	 * Removes all cache blocks from all memory areas and deletes all evicted
 	 * representations (files in local FS). All internally thread pools must be
 	 * shut down in a gracefully manner (e.g., wait for pending deletes).
 	 */
 	public void deleteAll() {
-		//TODO implement
-		throw new NotImplementedException();
+		List<String> keys;
+		synchronized( this ) {
+			keys = new ArrayList<>(_entries.keySet());
+		}
+		for( String key : keys )
+			delete(key);
+		_pool.shutdown();
+		try {
+			_pool.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public long getCapacity() {
+		return _capacity;
+	}
+
+	public synchronized long getPinnedSize() {
+		return _pinnedSize;
+	}
+
+	public synchronized long getCachedSize() {
+		return _cachedSize;
+	}
+
+	/**
+	 * Returns the currently unused capacity, which is available for
+	 * operations without evicting unpinned blocks.
+	 *
+	 * @return free capacity in bytes
+	 */
+	public synchronized long getFreeSize() {
+		return Math.max(_capacity - _pinnedSize - _cachedSize - _evictingSize, 0);
+	}
+
+	public synchronized int getNumEntries() {
+		return _entries.size();
+	}
+
+	public synchronized boolean isCached(String key) {
+		return _cached.containsKey(key) || _evicting.containsKey(key);
+	}
+
+	public synchronized boolean isPinned(String key) {
+		Entry e = _entries.get(key);
+		return e != null && e.pins > 0;
+	}
+
+	// --------- INTERNAL EVICTION LOGIC ----------
+
+	private synchronized Entry getEntry(String key) {
+		return _entries.get(key);
+	}
+
+	private Entry pinEntry(String key, long size, boolean dirty) {
+		Entry e = _entries.get(key);
+		if( e == null ) {
+			e = new Entry(key, size, true);
+			_entries.put(key, e);
+		}
+		if( e.pins == 0 ) {
+			//move from buffer pool or pending evictions to operation memory
+			if( _cached.remove(key) != null )
+				_cachedSize -= e.size;
+			else if( _evicting.remove(key) != null )
+				_evictingSize -= e.size;
+			e.size = size;
+			_pinnedSize += size;
+		}
+		else if( size != e.size ) {
+			_pinnedSize += size - e.size;
+			e.size = size;
+		}
+		e.pins++;
+		e.dirty |= dirty;
+		return e;
+	}
+
+	/**
+	 * Triggers asynchronous evictions of unpinned blocks until the pinned and
+	 * cached blocks fit into the capacity, and waits for pending evictions if
+	 * the capacity is still exceeded.
+	 */
+	private void makeSpace() {
+		long t0 = -1;
+		synchronized( this ) {
+			Iterator<Map.Entry<String, Entry>> iter = _cached.entrySet().iterator();
+			while( _pinnedSize + _cachedSize > _capacity && iter.hasNext() ) {
+				Entry e = iter.next().getValue();
+				iter.remove();
+				_cachedSize -= e.size;
+				_evictingSize += e.size;
+				_evicting.put(e.key, e);
+				_pool.submit(() -> evict(e));
+			}
+
+			//wait for pending evictions (pins are always accepted)
+			while( _pinnedSize + _cachedSize + _evictingSize > _capacity && _evictingSize > 0 ) {
+				if( t0 < 0 )
+					t0 = System.nanoTime();
+				try {
+					wait(100);
+				}
+				catch(InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		if( t0 >= 0 && DMLScript.STATISTICS )
+			CacheStatistics.incrementUMMPinWaitTime(System.nanoTime() - t0);
+	}
+
+	private void evict(Entry e) {
+		ByteBuffer bbuff = e.buffer;
+		boolean success = false;
+		try {
+			if( bbuff != null ) {
+				bbuff.checkSerialized();
+				bbuff.evictBuffer(e.key);
+				success = true;
+			}
+		}
+		catch(Exception ex) {
+			LOG.error("Eviction to local path " + e.key + " failed.", ex);
+		}
+
+		boolean requiresDelete = false;
+		synchronized( this ) {
+			if( _evicting.remove(e.key) == e ) {
+				//successful eviction or, on failure, keep in buffer pool
+				_evictingSize -= e.size;
+				if( success ) {
+					e.buffer = null;
+					e.onDisk = true;
+					bbuff.freeMemory();
+				}
+				else {
+					_cached.put(e.key, e);
+					_cachedSize += e.size;
+				}
+			}
+			else if( _entries.get(e.key) == e ) {
+				//pinned during eviction, file is valid until modified
+				if( e.buffer == bbuff )
+					e.onDisk = success;
+				else if( bbuff != null )
+					bbuff.freeMemory(); //replaced by modified block
+			}
+			else {
+				//deleted during eviction
+				requiresDelete = success;
+				if( bbuff != null )
+					bbuff.freeMemory();
+			}
+			notifyAll();
+		}
+		if( requiresDelete )
+			LocalFileUtils.deleteFileIfExists(e.key, true);
+		if( success && DMLScript.STATISTICS ) {
+			CacheStatistics.incrementFSWrites();
+			CacheStatistics.incrementUMMEvictions();
+		}
+	}
+
+	private void deleteFile(String key) {
+		if( CacheableData.CACHING_ASYNC_FILECLEANUP && !_pool.isShutdown() )
+			_pool.submit(() -> LocalFileUtils.deleteFileIfExists(key, true));
+		else
+			LocalFileUtils.deleteFileIfExists(key, true);
+	}
+
+	private static ByteBuffer serialize(CacheBlock block, long size) {
+		ByteBuffer bbuff = new ByteBuffer(size);
+		try {
+			bbuff.serializeBlock(block);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		return bbuff;
+	}
+
+	/**
+	 * Meta data of a single cache block under UMM control.
+	 */
+	private static class Entry {
+		private final String key;
+		private long size;
+		private int pins = 0;
+		private boolean dirty = false;
+		private boolean onDisk = false;
+		private boolean matrix;
+		private CacheBlock block = null; //pinned block
+		private ByteBuffer buffer = null; //buffer pool representation
+
+		public Entry(String key, long size, boolean matrix) {
+			this.key = key;
+			this.size = size;
+			this.matrix = matrix;
+		}
 	}
 }
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
 
@@ -58,7 +59,10 @@ public class ExecutionContextMap {
 	}
 	
 	private static ExecutionContext createExecutionContext() {
-		ExecutionContext ec = ExecutionContextFactory.createContext();
+		//thread-safe variable map because it is shared by the execution
+		//contexts of all TIDs, whose requests are executed concurrently
+		ExecutionContext ec = ExecutionContextFactory
+			.createContext(new LocalVariableMap(true), null);
 		ec.setAutoCreateVars(true); //w/o createvar inst
 		return ec;
 	}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.utils.Statistics;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Pool of persistent, multiplexed connections from the coordinator to federated workers.
+ *
+ * Every federated worker (socket address) is served by a fixed number of lazily created
+ * channels (see {@link DMLConfig#FEDERATED_POOL_SIZE}), which share a single client event
+ * loop group. Batches of requests are assigned to channels in a round-robin manner and
+ * tagged with a unique message ID, which allows multiple in-flight batches per channel
+ * and matching of responses independent of their order. Channels that became inactive
+ * (e.g., due to worker restarts) are transparently replaced on next use.
+ */
+public class FederatedChannelPool {
+	private static final Log LOG = LogFactory.getLog(FederatedChannelPool.class.getName());
+
+	private static FederatedChannelPool _pool = null;
+
+	private final EventLoopGroup _group;
+	private final Map<InetSocketAddress, SiteChannels> _sites;
+	private final IDSequence _msgSeq;
+	private SslContext _sslContext = null;
+
+	private FederatedChannelPool() {
+		// daemon threads to not block JVM shutdown, if the pool is not closed explicitly
+		_group = new NioEventLoopGroup(0, new DefaultThreadFactory("fed-client", true));
+		_sites = new ConcurrentHashMap<>();
+		_msgSeq = new IDSequence();
+	}
+
+	public static synchronized FederatedChannelPool get() {
+		if(_pool == null)
+			_pool = new FederatedChannelPool();
+		return _pool;
+	}
+
+	/**
+	 * Closes all pooled connections and shuts down the shared event loop group,
+	 * if the pool was created before.
+	 */
+	public static synchronized void closeAll() {
+		if(_pool == null)
+			return;
+		for(SiteChannels site : _pool._sites.values())
+			site.close();
+		_pool._sites.clear();
+		_pool._group.shutdownGracefully();
+		_pool = null;
+	}
+
+	/**
+	 * Sends a batch of federated requests to the federated worker at the given
+	 * address, using a pooled connection.
+	 *
+	 * @param address socket address (incl host and port)
+	 * @param request the batch of requests
+	 * @return future of the federated response of the entire batch
+	 */
+	public Future<FederatedResponse> execute(InetSocketAddress address, FederatedRequest... request) {
+		final long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		PooledChannel pc = _sites.computeIfAbsent(address, a -> new SiteChannels(a,
+			ConfigurationManager.getDMLConfig().getIntValue(DMLConfig.FEDERATED_POOL_SIZE))).getChannel();
+
+		// register promise before sending to avoid lost responses
+		final long id = _msgSeq.getNextID();
+		final Promise<FederatedResponse> promise = _group.next().newPromise();
+		pc.register(id, promise);
+
+		final FederatedMessage msg = new FederatedMessage(id, request);
+		pc.getConnectFuture().addListener((ChannelFutureListener) cf -> {
+			if(!cf.isSuccess()) {
+				pc.fail(id, cf.cause());
+				return;
+			}
+			cf.channel().writeAndFlush(msg).addListener((ChannelFutureListener) wf -> {
+				if(DMLScript.STATISTICS)
+					Statistics.incFederatedQueueTime(System.nanoTime() - t0);
+				if(!wf.isSuccess())
+					pc.fail(id, wf.cause());
+			});
+		});
+		return promise;
+	}
+
+	private synchronized SslContext getSslContext() {
+		if(_sslContext == null) {
+			try {
+				_sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+			}
+			catch(SSLException e) {
+				throw new DMLRuntimeException("Static SSL setup failed for client side", e);
+			}
+		}
+		return _sslContext;
+	}
+
+	private PooledChannel connect(InetSocketAddress address) {
+		final PooledChannel pc = new PooledChannel();
+		Bootstrap b = new Bootstrap();
+		b.group(_group).channel(NioSocketChannel.class)
+			.option(ChannelOption.SO_KEEPALIVE, true)
+			.option(ChannelOption.TCP_NODELAY, true)
+			.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+			.handler(new ChannelInitializer<SocketChannel>() {
+				@Override
+				protected void initChannel(SocketChannel ch) throws Exception {
+					ChannelPipeline cp = ch.pipeline();
+					if(ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION)) {
+						cp.addLast(getSslContext()
+							.newHandler(ch.alloc(), address.getAddress().getHostAddress(), address.getPort()));
+					}
+					cp.addLast("FederatedMessageCodec", new FederatedMessageCodec());
+					cp.addLast("FederatedResponseHandler", new ResponseHandler(pc));
+				}
+			});
+		pc.setConnectFuture(b.connect(address));
+		if(DMLScript.STATISTICS)
+			Statistics.incFederatedConnections(false);
+		return pc;
+	}
+
+	/**
+	 * Fixed-size set of channels to a single federated worker.
+	 */
+	private class SiteChannels {
+		private final InetSocketAddress _address;
+		private final PooledChannel[] _channels;
+		private final AtomicInteger _pos;
+
+		public SiteChannels(InetSocketAddress address, int size) {
+			_address = address;
+			_channels = new PooledChannel[Math.max(size, 1)];
+			_pos = new AtomicInteger(0);
+		}
+
+		public PooledChannel getChannel() {
+			int ix = Math.floorMod(_pos.getAndIncrement(), _channels.length);
+			synchronized(_channels) {
+				PooledChannel pc = _channels[ix];
+				if(pc == null || !pc.isUsable()) {
+					if(pc != null)
+						pc.close();
+					_channels[ix] = pc = connect(_address);
+				}
+				else if(DMLScript.STATISTICS)
+					Statistics.incFederatedConnections(true);
+				return pc;
+			}
+		}
+
+		public void close() {
+			synchronized(_channels) {
+				for(int i = 0; i < _channels.length; i++) {
+					if(_channels[i] != null)
+						_channels[i].close();
+					_channels[i] = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Single pooled channel with its in-flight requests by message ID.
+	 */
+	private static class PooledChannel {
+		private final Map<Long, Promise<FederatedResponse>> _pending = new ConcurrentHashMap<>();
+		private ChannelFuture _connect;
+
+		public void setConnectFuture(ChannelFuture connect) {
+			_connect = connect;
+		}
+
+		public ChannelFuture getConnectFuture() {
+			return _connect;
+		}
+
+		public boolean isUsable() {
+			// either still connecting or successfully connected and open
+			return !_connect.isDone() || (_connect.isSuccess() && _connect.channel().isActive());
+		}
+
+		public void register(long id, Promise<FederatedResponse> promise) {
+			_pending.put(id, promise);
+		}
+
+		public void complete(FederatedMessage msg) {
+			Promise<FederatedResponse> promise = _pending.remove(msg.getID());
+			if(promise == null)
+				throw new DMLRuntimeException("Received response for unknown federated message " + msg.getID());
+			promise.trySuccess(msg.getResponse());
+		}
+
+		public void fail(long id, Throwable cause) {
+			Promise<FederatedResponse> promise = _pending.remove(id);
+			if(promise != null)
+				promise.tryFailure(cause);
+		}
+
+		public void failAll(Throwable cause) {
+			for(Long id : new ArrayList<>(_pending.keySet()))
+				fail(id, cause);
+		}
+
+		public void close() {
+			if(_connect.isDone() && _connect.isSuccess())
+				_connect.channel().close();
+			else
+				_connect.cancel(true);
+		}
+	}
+
+	private static class ResponseHandler extends ChannelInboundHandlerAdapter {
+		private final PooledChannel _pc;
+
+		public ResponseHandler(PooledChannel pc) {
+			_pc = pc;
+		}
+
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			if(!(msg instanceof FederatedMessage))
+				throw new DMLRuntimeException("Received object no instance of 'FederatedMessage'.");
+			_pc.complete((FederatedMessage) msg);
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+			_pc.failAll(new DMLRuntimeException("Connection to federated worker closed: "
+				+ ctx.channel().remoteAddress()));
+			super.channelInactive(ctx);
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			LOG.error("Federated connection failed.", cause);
+			_pc.failAll(cause);
+			ctx.close();
+		}
+	}
+}
@@ -26,41 +26,16 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Future;
 
-import javax.net.ssl.SSLException;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types;
-import org.apache.sysds.conf.ConfigurationManager;
-import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 
-import io.netty.bootstrap.Bootstrap;
-import io.netty.channel.ChannelFuture;
-import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelInboundHandlerAdapter;
-import io.netty.channel.ChannelInitializer;
-import io.netty.channel.ChannelPipeline;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
-import io.netty.handler.ssl.SslContext;
-import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
-import io.netty.util.concurrent.Promise;
-
 public class FederatedData {
 	private static final Log LOG = LogFactory.getLog(FederatedData.class.getName());
 	private static final Set<InetSocketAddress> _allFedSites = new HashSet<>();
 
-	/** A Singleton constructed SSL context, that only is assigned if ssl is enabled. */
-	private static SslContextMan instance = null;
-
 	private final Types.DataType _dataType;
 	private final InetSocketAddress _address;
 	private final String _filepath;
@@ -138,63 +113,24 @@ public class FederatedData {
 	}
 
 	public synchronized Future<FederatedResponse> executeFederatedOperation(FederatedRequest... request) {
-
-		try {
-			return executeFederatedOperation(_address, request);
-		}
-		catch(SSLException e) {
-			throw new DMLRuntimeException("Error in SSL Connection", e);
-		}
+		return executeFederatedOperation(_address, request);
 	}
 
 	/**
-	 * Executes an federated operation on a federated worker.
+	 * Executes an federated operation on a federated worker. The requests are sent
+	 * over a pooled, persistent connection (see {@link FederatedChannelPool}).
 	 *
 	 * @param address socket address (incl host and port)
 	 * @param request the requested operation
 	 * @return the response
-	 * @throws SSLException Throws an SSL exception if the ssl construction fails.
 	 */
 	public static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address,
-		FederatedRequest... request) throws SSLException {
-		// Careful with the number of threads. Each thread opens connections to multiple files making resulting in
-		// java.io.IOException: Too many open files
-		EventLoopGroup workerGroup = new NioEventLoopGroup(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS);
-
+		FederatedRequest... request) {
 		try {
-			Bootstrap b = new Bootstrap();
-			final DataRequestHandler handler = new DataRequestHandler(workerGroup);
-			// Client Netty
-			b.group(workerGroup).channel(NioSocketChannel.class).handler(new ChannelInitializer<SocketChannel>() {
-				@Override
-				protected void initChannel(SocketChannel ch) throws Exception {
-					ChannelPipeline cp = ch.pipeline();
-					if(ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION)) {
-						cp.addLast(SslConstructor().context
-							.newHandler(ch.alloc(), address.getAddress().getHostAddress(), address.getPort()));
-					}
-
-					cp.addLast("ObjectDecoder",
-						new ObjectDecoder(Integer.MAX_VALUE,
-							ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
-					cp.addLast("FederatedOperationHandler", handler);
-					cp.addLast("ObjectEncoder", new ObjectEncoder());
-
-				}
-			});
-
-			ChannelFuture f = b.connect(address).sync();
-			Promise<FederatedResponse> promise = f.channel().eventLoop().newPromise();
-
-			handler.setPromise(promise);
-			f.channel().writeAndFlush(request);
-			return promise;
-		}
-		catch(InterruptedException e) {
-			throw new DMLRuntimeException("Could not send federated operation.");
+			return FederatedChannelPool.get().execute(address, request);
 		}
 		catch(Exception e) {
-			throw new DMLRuntimeException(e);
+			throw new DMLRuntimeException("Could not send federated operation.", e);
 		}
 	}
 
@@ -222,50 +158,7 @@ public class FederatedData {
 
 	public static void resetFederatedSites() {
 		_allFedSites.clear();
-	}
-
-	private static class DataRequestHandler extends ChannelInboundHandlerAdapter {
-		private Promise<FederatedResponse> _prom;
-		private EventLoopGroup _workerGroup;
-
-		public DataRequestHandler(EventLoopGroup workerGroup) {
-			_workerGroup = workerGroup;
-		}
-
-		public void setPromise(Promise<FederatedResponse> prom) {
-			_prom = prom;
-		}
-
-		@Override
-		public void channelRead(ChannelHandlerContext ctx, Object msg) {
-			if(_prom == null)
-				throw new DMLRuntimeException("Read while no message was sent");
-			_prom.setSuccess((FederatedResponse) msg);
-			ctx.close();
-			_workerGroup.shutdownGracefully();
-		}
-	}
-
-	private static class SslContextMan {
-		protected final SslContext context;
-
-		private SslContextMan() {
-			try {
-				context = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
-			}
-			catch(SSLException e) {
-				throw new DMLRuntimeException("Static SSL setup failed for client side", e);
-			}
-		}
-	}
-
-	private static SslContextMan SslConstructor() {
-		if(instance == null) {
-			return new SslContextMan();
-		}
-		else {
-			return instance;
-		}
+		FederatedChannelPool.closeAll();
 	}
 
 	@Override
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.Serializable;
+
+/**
+ * Wire envelope of a batch of federated requests or the corresponding response.
+ *
+ * Since connections to federated workers are pooled and shared by concurrent
+ * callers, the coordinator assigns a unique message ID to every batch of requests,
+ * which the worker echoes with the response. This allows matching responses to
+ * requests independent of their order on a channel. The message ID is kept
+ * separate from the request IDs because requests (and cached responses) are
+ * shared across workers and threads.
+ */
+public class FederatedMessage implements Serializable {
+	private static final long serialVersionUID = -2873468729735431542L;
+
+	private final long _id;
+	private final FederatedRequest[] _requests;
+	private final FederatedResponse _response;
+
+	public FederatedMessage(long id, FederatedRequest[] requests) {
+		_id = id;
+		_requests = requests;
+		_response = null;
+	}
+
+	public FederatedMessage(long id, FederatedResponse response) {
+		_id = id;
+		_requests = null;
+		_response = response;
+	}
+
+	public long getID() {
+		return _id;
+	}
+
+	public boolean isRequest() {
+		return _requests != null;
+	}
+
+	public FederatedRequest[] getRequests() {
+		return _requests;
+	}
+
+	public FederatedResponse getResponse() {
+		return _response;
+	}
+
+	@Override
+	public String toString() {
+		return "FederatedMessage[" + _id + ";" + (isRequest() ?
+			_requests.length + " requests" : String.valueOf(_response)) + "]";
+	}
+}
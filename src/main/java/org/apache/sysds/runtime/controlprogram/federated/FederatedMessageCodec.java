@@ -0,0 +1,530 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataOutput;
+import org.apache.sysds.runtime.privacy.PrivacyConstraint.PrivacyLevel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.CombinedChannelDuplexHandler;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToByteEncoder;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Binary wire protocol for federated messages, which replaces generic java object
+ * serialization of requests and responses.
+ *
+ * Every message is written as a length-prefixed frame of the form
+ * [int length][byte flags][payload], where the payload is optionally LZ4-compressed
+ * (then prefixed by the uncompressed length). Matrix and frame blocks are serialized
+ * via their own binary block format (with the fast paths for dense and sparse blocks)
+ * directly into the pooled network buffers; scalars and primitives are written as
+ * typed values. All other objects (e.g., user-defined functions) fall back to java
+ * serialization.
+ */
+public class FederatedMessageCodec extends CombinedChannelDuplexHandler<FederatedMessageCodec.Decoder, FederatedMessageCodec.Encoder> {
+	// compress only payloads larger than 1MB to avoid overheads for small requests
+	public static final int COMPRESSION_THRESHOLD = 1024 * 1024;
+
+	private static final byte FLAG_COMPRESSED = 0x01;
+
+	// type tags of serialized objects
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte LONG = 2;
+	private static final byte INT = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte SCALAR = 6;
+	private static final byte MATRIX_BLOCK = 7;
+	private static final byte FRAME_BLOCK = 8;
+	private static final byte JAVA_OBJECT = 9;
+
+	private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+	public FederatedMessageCodec() {
+		this(ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_COMPRESSION));
+	}
+
+	public FederatedMessageCodec(boolean compress) {
+		super(new Decoder(), new Encoder(compress));
+	}
+
+	public static class Encoder extends MessageToByteEncoder<FederatedMessage> {
+		private final boolean _compress;
+
+		public Encoder(boolean compress) {
+			_compress = compress;
+		}
+
+		@Override
+		protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, FederatedMessage msg, boolean preferDirect) {
+			// pre-size the output buffer to avoid repeated resizing for large blocks
+			int size = (int) Math.min(Integer.MAX_VALUE - 8, estimateSize(msg) + 5);
+			return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+		}
+
+		@Override
+		protected void encode(ChannelHandlerContext ctx, FederatedMessage msg, ByteBuf out) throws Exception {
+			int start = out.writerIndex();
+			out.writeInt(0); // placeholder for frame length
+			out.writeByte(0); // placeholder for flags
+
+			if(_compress) {
+				ByteBuf raw = ctx.alloc().ioBuffer(out.capacity());
+				try {
+					writeMessage(new ByteBufDataOutput(raw), msg);
+					if(raw.readableBytes() > COMPRESSION_THRESHOLD && compress(raw, out))
+						out.setByte(start + 4, FLAG_COMPRESSED);
+					else
+						out.writeBytes(raw);
+				}
+				finally {
+					raw.release();
+				}
+			}
+			else {
+				writeMessage(new ByteBufDataOutput(out), msg);
+			}
+
+			out.setInt(start, out.writerIndex() - start - 4);
+		}
+	}
+
+	public static class Decoder extends ByteToMessageDecoder {
+		@Override
+		protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+			// wait until the entire frame is available
+			if(in.readableBytes() < 4)
+				return;
+			int len = in.getInt(in.readerIndex());
+			if(in.readableBytes() < len + 4)
+				return;
+			in.skipBytes(4);
+			ByteBuf frame = in.readSlice(len);
+
+			byte flags = frame.readByte();
+			if((flags & FLAG_COMPRESSED) != 0) {
+				ByteBuf raw = decompress(ctx, frame);
+				try {
+					out.add(readMessage(new ByteBufDataInput(raw)));
+				}
+				finally {
+					raw.release();
+				}
+			}
+			else {
+				out.add(readMessage(new ByteBufDataInput(frame)));
+			}
+		}
+	}
+
+	private static boolean compress(ByteBuf raw, ByteBuf out) {
+		LZ4Compressor compressor = LZ4.fastCompressor();
+		int rawLen = raw.readableBytes();
+		int maxLen = compressor.maxCompressedLength(rawLen);
+		out.ensureWritable(maxLen + 4);
+		int pos = out.writerIndex() + 4;
+		int clen = compressor.compress(raw.nioBuffer(raw.readerIndex(), rawLen), 0, rawLen,
+			out.nioBuffer(pos, maxLen), 0, maxLen);
+		if(clen >= rawLen)
+			return false; // not compressible, send raw
+		out.writeInt(rawLen);
+		out.writerIndex(pos + clen);
+		return true;
+	}
+
+	private static ByteBuf decompress(ChannelHandlerContext ctx, ByteBuf frame) {
+		LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+		int rawLen = frame.readInt();
+		ByteBuf raw = ctx.alloc().ioBuffer(rawLen);
+		decompressor.decompress(frame.nioBuffer(frame.readerIndex(), frame.readableBytes()), 0,
+			raw.nioBuffer(0, rawLen), 0, rawLen);
+		raw.writerIndex(rawLen);
+		return raw;
+	}
+
+	/**
+	 * Estimates the serialized size of the given message, dominated by the
+	 * contained matrix and frame blocks.
+	 *
+	 * @param msg federated message
+	 * @return estimated size in bytes
+	 */
+	public static long estimateSize(FederatedMessage msg) {
+		long size = 64;
+		if(msg.isRequest()) {
+			for(FederatedRequest fr : msg.getRequests())
+				for(int i = 0; i < fr.getNumParams(); i++)
+					size += estimateSize(fr.getParam(i));
+		}
+		else if(msg.getResponse().getRawData() != null) {
+			for(Object obj : msg.getResponse().getRawData())
+				size += estimateSize(obj);
+		}
+		return size;
+	}
+
+	private static long estimateSize(Object obj) {
+		if(obj instanceof MatrixBlock || obj instanceof FrameBlock)
+			return ((CacheBlock) obj).getExactSerializedSize();
+		else if(obj instanceof String)
+			return ((String) obj).length() + 8;
+		return 32;
+	}
+
+	public static void writeMessage(DataOutput out, FederatedMessage msg) throws IOException {
+		out.writeLong(msg.getID());
+		out.writeBoolean(msg.isRequest());
+		if(msg.isRequest()) {
+			FederatedRequest[] requests = msg.getRequests();
+			out.writeInt(requests.length);
+			for(FederatedRequest fr : requests)
+				writeRequest(out, fr);
+		}
+		else {
+			writeResponse(out, msg.getResponse());
+		}
+	}
+
+	public static FederatedMessage readMessage(DataInput in) throws IOException {
+		long id = in.readLong();
+		if(in.readBoolean()) {
+			FederatedRequest[] requests = new FederatedRequest[in.readInt()];
+			for(int i = 0; i < requests.length; i++)
+				requests[i] = readRequest(in);
+			return new FederatedMessage(id, requests);
+		}
+		return new FederatedMessage(id, readResponse(in));
+	}
+
+	private static void writeRequest(DataOutput out, FederatedRequest fr) throws IOException {
+		out.writeByte(fr.getType().ordinal());
+		out.writeLong(fr.getID());
+		out.writeLong(fr.getTID());
+		out.writeBoolean(fr.checkPrivacy());
+		List<Long> checksums = fr.getChecksums();
+		out.writeInt(checksums != null ? checksums.size() : -1);
+		if(checksums != null)
+			for(Long cs : checksums)
+				out.writeLong(cs);
+		out.writeInt(fr.getNumParams());
+		for(int i = 0; i < fr.getNumParams(); i++)
+			writeObject(out, fr.getParam(i));
+	}
+
+	private static FederatedRequest readRequest(DataInput in) throws IOException {
+		RequestType type = RequestType.values()[in.readByte()];
+		long id = in.readLong();
+		long tid = in.readLong();
+		boolean checkPrivacy = in.readBoolean();
+		int ncs = in.readInt();
+		List<Long> checksums = null;
+		if(ncs >= 0) {
+			checksums = new ArrayList<>(ncs);
+			for(int i = 0; i < ncs; i++)
+				checksums.add(in.readLong());
+		}
+		int nparams = in.readInt();
+		List<Object> data = new ArrayList<>(nparams);
+		for(int i = 0; i < nparams; i++)
+			data.add(readObject(in));
+		return new FederatedRequest(type, id, tid, data, checkPrivacy, checksums);
+	}
+
+	private static void writeResponse(DataOutput out, FederatedResponse response) throws IOException {
+		out.writeByte(response.getType().ordinal());
+		Object[] data = response.getRawData();
+		out.writeInt(data != null ? data.length : -1);
+		if(data != null)
+			for(Object obj : data)
+				writeObject(out, obj);
+		Map<PrivacyLevel, LongAdder> constraints = response.getCheckedConstraints();
+		out.writeInt(constraints != null ? constraints.size() : -1);
+		if(constraints != null) {
+			for(Entry<PrivacyLevel, LongAdder> e : constraints.entrySet()) {
+				out.writeByte(e.getKey().ordinal());
+				out.writeLong(e.getValue().longValue());
+			}
+		}
+	}
+
+	private static FederatedResponse readResponse(DataInput in) throws IOException {
+		ResponseType type = ResponseType.values()[in.readByte()];
+		int len = in.readInt();
+		Object[] data = null;
+		if(len >= 0) {
+			data = new Object[len];
+			for(int i = 0; i < len; i++)
+				data[i] = readObject(in);
+		}
+		FederatedResponse response = new FederatedResponse(type, data);
+		int nconstraints = in.readInt();
+		if(nconstraints >= 0) {
+			Map<PrivacyLevel, LongAdder> constraints = new EnumMap<>(PrivacyLevel.class);
+			for(int i = 0; i < nconstraints; i++) {
+				LongAdder count = new LongAdder();
+				PrivacyLevel level = PrivacyLevel.values()[in.readByte()];
+				count.add(in.readLong());
+				constraints.put(level, count);
+			}
+			response.setCheckedConstraints(constraints);
+		}
+		return response;
+	}
+
+	private static void writeObject(DataOutput out, Object obj) throws IOException {
+		if(obj == null) {
+			out.writeByte(NULL);
+		}
+		else if(obj instanceof String) {
+			out.writeByte(STRING);
+			writeString(out, (String) obj);
+		}
+		else if(obj instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) obj);
+		}
+		else if(obj instanceof Integer) {
+			out.writeByte(INT);
+			out.writeInt((Integer) obj);
+		}
+		else if(obj instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) obj);
+		}
+		else if(obj instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) obj);
+		}
+		else if(obj instanceof ScalarObject && ((ScalarObject) obj).getPrivacyConstraint() == null) {
+			ScalarObject so = (ScalarObject) obj;
+			out.writeByte(SCALAR);
+			out.writeByte(so.getValueType().ordinal());
+			switch(so.getValueType()) {
+				case INT64: out.writeLong(so.getLongValue()); break;
+				case FP64: out.writeDouble(so.getDoubleValue()); break;
+				case BOOLEAN: out.writeBoolean(so.getBooleanValue()); break;
+				default: writeString(out, so.getStringValue());
+			}
+		}
+		else if(obj.getClass() == MatrixBlock.class) {
+			// exact class match to exclude compressed blocks and other subclasses
+			out.writeByte(MATRIX_BLOCK);
+			((MatrixBlock) obj).write(out);
+		}
+		else if(obj.getClass() == FrameBlock.class) {
+			out.writeByte(FRAME_BLOCK);
+			((FrameBlock) obj).write(out);
+		}
+		else {
+			// length-prefixed to prevent read-ahead into subsequent objects
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+				oos.writeObject(obj);
+			}
+			out.writeByte(JAVA_OBJECT);
+			out.writeInt(bos.size());
+			out.write(bos.toByteArray());
+		}
+	}
+
+	private static Object readObject(DataInput in) throws IOException {
+		byte type = in.readByte();
+		switch(type) {
+			case NULL:
+				return null;
+			case STRING:
+				return readString(in);
+			case LONG:
+				return in.readLong();
+			case INT:
+				return in.readInt();
+			case DOUBLE:
+				return in.readDouble();
+			case BOOLEAN:
+				return in.readBoolean();
+			case SCALAR: {
+				ValueType vt = ValueType.values()[in.readByte()];
+				switch(vt) {
+					case INT64: return new IntObject(in.readLong());
+					case FP64: return new DoubleObject(in.readDouble());
+					case BOOLEAN: return new BooleanObject(in.readBoolean());
+					default: return new StringObject(readString(in));
+				}
+			}
+			case MATRIX_BLOCK: {
+				MatrixBlock mb = new MatrixBlock();
+				mb.readFields(in);
+				return mb;
+			}
+			case FRAME_BLOCK: {
+				FrameBlock fb = new FrameBlock();
+				fb.readFields(in);
+				return fb;
+			}
+			case JAVA_OBJECT: {
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+					return ois.readObject();
+				}
+				catch(ClassNotFoundException ex) {
+					throw new IOException(ex);
+				}
+			}
+			default:
+				throw new IOException("Invalid type tag of federated message object: " + type);
+		}
+	}
+
+	private static void writeString(DataOutput out, String str) throws IOException {
+		// no writeUTF due to its 64KB limit (e.g., for long instruction strings)
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Data output over netty byte buffers with fast serialization of dense and sparse blocks.
+	 */
+	private static class ByteBufDataOutput extends ByteBufOutputStream implements MatrixBlockDataOutput {
+		private final ByteBuf _buf;
+
+		public ByteBufDataOutput(ByteBuf buf) {
+			super(buf);
+			_buf = buf;
+		}
+
+		@Override
+		public void writeDoubleArray(int len, double[] varr) {
+			_buf.ensureWritable(len * 8);
+			for(int i = 0; i < len; i++)
+				_buf.writeLong(Double.doubleToRawLongBits(varr[i]));
+		}
+
+		@Override
+		public void writeSparseRows(int rlen, SparseBlock rows) {
+			int lrlen = Math.min(rows.numRows(), rlen);
+			for(int i = 0; i < lrlen; i++) {
+				if(!rows.isEmpty(i)) {
+					int apos = rows.pos(i);
+					int alen = rows.size(i);
+					int[] aix = rows.indexes(i);
+					double[] avals = rows.values(i);
+					_buf.ensureWritable(4 + alen * 12);
+					_buf.writeInt(alen);
+					for(int j = apos; j < apos + alen; j++) {
+						_buf.writeInt(aix[j]);
+						_buf.writeLong(Double.doubleToRawLongBits(avals[j]));
+					}
+				}
+				else
+					_buf.writeInt(0);
+			}
+			// process remaining empty rows
+			for(int i = lrlen; i < rlen; i++)
+				_buf.writeInt(0);
+		}
+	}
+
+	/**
+	 * Data input over netty byte buffers with fast deserialization of dense and sparse blocks.
+	 */
+	private static class ByteBufDataInput extends ByteBufInputStream implements MatrixBlockDataInput {
+		private final ByteBuf _buf;
+
+		public ByteBufDataInput(ByteBuf buf) {
+			super(buf);
+			_buf = buf;
+		}
+
+		@Override
+		public long readDoubleArray(int len, double[] varr) {
+			long nnz = 0;
+			for(int i = 0; i < len; i++) {
+				varr[i] = Double.longBitsToDouble(_buf.readLong());
+				nnz += (varr[i] != 0) ? 1 : 0;
+			}
+			return nnz;
+		}
+
+		@Override
+		public long readSparseRows(int rlen, long nnz, SparseBlock rows) throws IOException {
+			long gnnz = 0;
+			for(int i = 0; i < rlen; i++) {
+				int lnnz = _buf.readInt();
+				if(lnnz > 0) {
+					rows.allocate(i, lnnz);
+					for(int j = 0; j < lnnz; j++) {
+						int aix = _buf.readInt();
+						rows.append(i, aix, Double.longBitsToDouble(_buf.readLong()));
+					}
+					gnnz += lnnz;
+				}
+			}
+			if(gnnz != nnz)
+				throw new IOException("Invalid number of read nnz: " + gnnz + " vs " + nnz);
+			return nnz;
+		}
+	}
+}
@@ -78,6 +78,20 @@ public class FederatedRequest implements Serializable {
 			setChecksum();
 	}
 
+	/**
+	 * Creates a federated request from its deserialized state, without
+	 * recomputing checksums or incrementing the request statistics.
+	 */
+	FederatedRequest(RequestType method, long id, long tid, List<Object> data,
+		boolean checkPrivacy, List<Long> checksums) {
+		_method = method;
+		_id = id;
+		_tid = tid;
+		_data = data;
+		_checkPrivacy = checkPrivacy;
+		_checksums = checksums;
+	}
+
 	public RequestType getType() {
 		return _method;
 	}
@@ -145,6 +159,10 @@ public class FederatedRequest implements Serializable {
 		return _checksums.get(i);
 	}
 
+	List<Long> getChecksums() {
+		return _checksums;
+	}
+
 	private void calcChecksum() throws IOException {
 		for (Object ob : _data) {
 			if (!(ob instanceof CacheBlock) && !(ob instanceof ScalarObject))
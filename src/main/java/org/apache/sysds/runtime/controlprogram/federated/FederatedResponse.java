@@ -60,6 +60,10 @@ public class FederatedResponse implements Serializable {
 			_status = ResponseType.SUCCESS_EMPTY;
 	}
 	
+	public ResponseType getType() {
+		return _status;
+	}
+
 	public boolean isSuccessful() {
 		return _status != ResponseType.ERROR;
 	}
@@ -110,6 +114,14 @@ public class FederatedResponse implements Serializable {
 		}
 	}
 
+	Object[] getRawData() {
+		return _data;
+	}
+
+	Map<PrivacyLevel,LongAdder> getCheckedConstraints() {
+		return checkedConstraints;
+	}
+
 	public void updateCheckedConstraintsLog(){
 		if ( checkedConstraints != null && !checkedConstraints.isEmpty() )
 			CheckedConstraintsLog.addCheckedConstraints(checkedConstraints);
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.log4j.Logger;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Bounded executor for batches of federated requests at a federated worker.
+ *
+ * Batches are executed by a fixed number of threads, which keeps the netty I/O
+ * loop responsive and allows independent coordinators and parfor workers to
+ * use the same federated worker concurrently. Batches of the same execution
+ * context (TID, see {@link ExecutionContextMap}) are executed serially in the
+ * order of their arrival, while batches that clear all execution contexts are
+ * executed exclusively. The number of pending batches is bounded, and the
+ * submission of further batches blocks (and thus stops reading from the
+ * channel) until pending batches completed.
+ */
+public class FederatedWorkerExecutor {
+	protected static Logger log = Logger.getLogger(FederatedWorkerExecutor.class);
+	private static final int MAX_PENDING_PER_THREAD = 64;
+
+	private final ExecutorService _pool;
+	private final Semaphore _pending;
+	private final Map<Long, CompletableFuture<Void>> _tails;
+	private final ReadWriteLock _clearLock;
+
+	public FederatedWorkerExecutor(int numThreads) {
+		this(numThreads, -1);
+	}
+
+	/**
+	 * Creates a new executor.
+	 *
+	 * @param numThreads number of threads (<=0: number of vcores)
+	 * @param maxPending maximum number of pending (queued or running) batches (<=0: default per thread)
+	 */
+	public FederatedWorkerExecutor(int numThreads, int maxPending) {
+		int k = (numThreads <= 0) ? InfrastructureAnalyzer.getLocalParallelism() : numThreads;
+		int p = (maxPending <= 0) ? k * MAX_PENDING_PER_THREAD : maxPending;
+		// the queue never overflows because at most p batches are pending
+		_pool = new ThreadPoolExecutor(k, k, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(p),
+			new BasicThreadFactory.Builder().namingPattern("fed-worker-%d").daemon(true).build());
+		_pending = new Semaphore(p);
+		_tails = new ConcurrentHashMap<>();
+		_clearLock = new ReentrantReadWriteLock();
+		log.info("Executing federated requests with " + k + " threads");
+	}
+
+	/**
+	 * Schedules the given task after all previously scheduled tasks
+	 * of the same execution context. Blocks while the maximum number
+	 * of batches is pending.
+	 *
+	 * @param tid       execution context ID
+	 * @param exclusive if true, the task is not executed concurrently to any other task
+	 * @param task      the task (responsible for handling its own errors)
+	 */
+	public void execute(long tid, boolean exclusive, Runnable task) {
+		// all tids <= 0 refer to the main execution context
+		final long key = Math.max(tid, 0);
+		final Runnable locked = () -> runLocked(exclusive, task);
+		_pending.acquireUninterruptibly();
+		CompletableFuture<Void> tail = _tails.compute(key, (k, prev) -> (prev == null) ?
+			CompletableFuture.runAsync(locked, _pool) :
+			prev.exceptionally(ex -> null).thenRunAsync(locked, _pool));
+		// drop the queue of the execution context if it became idle
+		tail.whenComplete((r, ex) -> {
+			_tails.remove(key, tail);
+			_pending.release();
+		});
+	}
+
+	public void shutdown() {
+		_pool.shutdownNow();
+	}
+
+	private void runLocked(boolean exclusive, Runnable task) {
+		Lock lock = exclusive ? _clearLock.writeLock() : _clearLock.readLock();
+		lock.lock();
+		try {
+			task.run();
+		}
+		catch(Throwable ex) {
+			log.error("Federated worker task failed", ex);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
@@ -68,17 +68,50 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 	protected static Logger log = Logger.getLogger(FederatedWorkerHandler.class);
 
 	private final ExecutionContextMap _ecm;
+	private final FederatedWorkerExecutor _executor;
 
 	public FederatedWorkerHandler(ExecutionContextMap ecm) {
-		// Note: federated worker handler created for every command;
+		this(ecm, null);
+	}
+
+	public FederatedWorkerHandler(ExecutionContextMap ecm, FederatedWorkerExecutor executor) {
+		// Note: federated worker handler created for every connection;
 		// and concurrent parfor threads at coordinator need separate
 		// execution contexts at the federated sites too
 		_ecm = ecm;
+		_executor = executor;
 	}
 
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msg) {
-		ctx.writeAndFlush(createResponse(msg)).addListener(new CloseListener());
+		if(!(msg instanceof FederatedMessage))
+			throw new DMLRuntimeException(
+				"FederatedWorkerHandler: Received object no instance of 'FederatedMessage'.");
+		// connections are kept open for subsequent requests of the coordinator,
+		// responses are tagged with the message ID of the request batch
+		FederatedMessage request = (FederatedMessage) msg;
+		if(_executor == null) {
+			respond(ctx, request);
+			return;
+		}
+		// execute the batch outside the I/O thread, serialized per execution context
+		FederatedRequest[] requests = request.getRequests();
+		long tid = (requests != null && requests.length > 0) ? requests[0].getTID() : 0;
+		boolean clear = requests != null && Arrays.stream(requests)
+			.anyMatch(r -> r.getType() == RequestType.CLEAR);
+		_executor.execute(tid, clear, () -> {
+			try {
+				respond(ctx, request);
+			}
+			catch(Exception ex) {
+				ctx.fireExceptionCaught(ex);
+			}
+		});
+	}
+
+	private void respond(ChannelHandlerContext ctx, FederatedMessage request) {
+		FederatedMessage response = new FederatedMessage(request.getID(), createResponse(request.getRequests()));
+		ctx.writeAndFlush(response).addListener(new ResponseListener(request.getID()));
 	}
 
 	public FederatedResponse createResponse(Object msg) {
@@ -396,17 +429,19 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		ctx.close();
 	}
 
-	private static class CloseListener implements ChannelFutureListener {
+	private static class ResponseListener implements ChannelFutureListener {
+		private final long _id;
+
+		public ResponseListener(long id) {
+			_id = id;
+		}
+
 		@Override
-		public void operationComplete(ChannelFuture channelFuture) throws InterruptedException {
+		public void operationComplete(ChannelFuture channelFuture) {
 			if(!channelFuture.isSuccess()) {
 				log.error("Federated Worker Write failed");
-				channelFuture.channel().writeAndFlush(new FederatedResponse(ResponseType.ERROR,
-					new FederatedWorkerHandlerException("Error while sending response."))).channel().close().sync();
-			}
-			else {
-				PrivacyMonitor.clearCheckedConstraints();
-				channelFuture.channel().close().sync();
+				channelFuture.channel().writeAndFlush(new FederatedMessage(_id, new FederatedResponse(ResponseType.ERROR,
+					new FederatedWorkerHandlerException("Error while sending response."))));
 			}
 		}
 	}
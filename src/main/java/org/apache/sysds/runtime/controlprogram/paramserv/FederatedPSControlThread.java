@@ -27,6 +27,7 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.parser.DataIdentifier;
 import org.apache.sysds.parser.Statement;
 import org.apache.sysds.parser.Statement.PSFrequency;
+import org.apache.sysds.parser.Statement.PSGradientCompression;
 import org.apache.sysds.parser.Statement.PSRuntimeBalancing;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.BasicProgramBlock;
@@ -40,6 +41,7 @@ import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.Reques
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedUDF;
 import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompression.CompressedGradients;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.instructions.Instruction;
@@ -82,15 +84,22 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 	private double _weightingFactor = 1;
 	private boolean _cycleStartAt0 = false;
 
+	// gradient compression
+	private final PSGradientCompression _compression;
+	private final double _compressionRatio;
+
 	public FederatedPSControlThread(int workerID, String updFunc, Statement.PSFrequency freq,
-		PSRuntimeBalancing runtimeBalancing, boolean weighting, int epochs, long batchSize,
-		int numBatchesPerGlobalEpoch, ExecutionContext ec, ParamServer ps)
+		PSRuntimeBalancing runtimeBalancing, boolean weighting, PSGradientCompression compression,
+		double compressionRatio, int epochs, long batchSize, int numBatchesPerGlobalEpoch,
+		ExecutionContext ec, ParamServer ps)
 	{
 		super(workerID, updFunc, freq, epochs, batchSize, ec, ps);
 
 		_numBatchesPerEpoch = numBatchesPerGlobalEpoch;
 		_runtimeBalancing = runtimeBalancing;
 		_weighting = weighting;
+		_compression = compression;
+		_compressionRatio = compressionRatio;
 		// generate the ID for the model
 		_modelVarID = FederationUtils.getNextFedDataID();
 	}
@@ -168,7 +177,9 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 					_inst.getFunctionName(),
 					_ps.getAggInst().getFunctionName(),
 					_ec.getListObject("hyperparams"),
-					_modelVarID
+					_modelVarID,
+					_compression,
+					_compressionRatio
 				)
 		));
 
@@ -196,10 +207,12 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		private final String _aggregationFunctionName;
 		private final ListObject _hyperParams;
 		private final long _modelVarID;
+		private final PSGradientCompression _compression;
+		private final double _compressionRatio;
 
 		protected SetupFederatedWorker(long batchSize, long dataSize, int possibleBatchesPerLocalEpoch,
 			String programString, String namespace, String gradientsFunctionName, String aggregationFunctionName,
-			ListObject hyperParams, long modelVarID)
+			ListObject hyperParams, long modelVarID, PSGradientCompression compression, double compressionRatio)
 		{
 			super(new long[]{});
 			_batchSize = batchSize;
@@ -211,6 +224,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			_aggregationFunctionName = aggregationFunctionName;
 			_hyperParams = hyperParams;
 			_modelVarID = modelVarID;
+			_compression = compression;
+			_compressionRatio = compressionRatio;
 		}
 
 		@Override
@@ -227,6 +242,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.setVariable(Statement.PS_FED_AGGREGATION_FNAME, new StringObject(_aggregationFunctionName));
 			ec.setVariable(Statement.PS_HYPER_PARAMS, _hyperParams);
 			ec.setVariable(Statement.PS_FED_MODEL_VARID, new IntObject(_modelVarID));
+			ec.setVariable(Statement.PS_FED_COMPRESSION_TYPE, new StringObject(_compression.name()));
+			ec.setVariable(Statement.PS_FED_COMPRESSION_TOPK_RATIO, new DoubleObject(_compressionRatio));
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
 		}
@@ -277,6 +294,10 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.removeVariable(Statement.PS_FED_GRADIENTS_FNAME);
 			ec.removeVariable(Statement.PS_FED_AGGREGATION_FNAME);
 			ec.removeVariable(Statement.PS_FED_MODEL_VARID);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION_TYPE);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION_TOPK_RATIO);
+			if (ec.containsVariable(Statement.PS_FED_RESIDUALS))
+				ParamservUtils.cleanupListObject(ec, Statement.PS_FED_RESIDUALS);
 			ParamservUtils.cleanupListObject(ec, Statement.PS_HYPER_PARAMS);
 			
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
@@ -312,6 +333,9 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			// release workers waiting on this worker's clock (SSP)
+			_ps.finishWorker(_workerID);
 		}
 		teardown();
 		return null;
@@ -322,6 +346,27 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		return _ps.pull(_workerID);
 	}
 
+	protected void weighAndPushGradients(Object gradients) {
+		if (gradients instanceof CompressedGradients)
+			weighAndPushGradients((CompressedGradients) gradients);
+		else {
+			weighAndPushGradients((ListObject) gradients);
+			ParamservUtils.cleanupListObject((ListObject) gradients);
+		}
+	}
+
+	protected void weighAndPushGradients(CompressedGradients gradients) {
+		// scale the compressed gradients, which is equivalent to scaling the decompressed gradients
+		if(_weighting && _weightingFactor != 1) {
+			Timing tWeighting = DMLScript.STATISTICS ? new Timing(true) : null;
+			gradients.scale(_weightingFactor);
+			accFedPSGradientWeightingTime(tWeighting);
+		}
+
+		// Push the gradients to ps, decompressed by the ps
+		_ps.push(_workerID, gradients);
+	}
+
 	protected void weighAndPushGradients(ListObject gradients) {
 		// scale gradients - must only include MatrixObjects
 		if(_weighting && _weightingFactor != 1) {
@@ -354,10 +399,9 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			for (int batchCounter = 0; batchCounter < _numBatchesPerEpoch; batchCounter++) {
 				int localStartBatchNum = getNextLocalBatchNum(currentLocalBatchNumber++, _possibleBatchesPerLocalEpoch);
 				ListObject model = pullModel();
-				ListObject gradients = computeGradientsForNBatches(model, 1, localStartBatchNum);
+				Object gradients = computeGradientsForNBatches(model, 1, localStartBatchNum);
 				weighAndPushGradients(gradients);
 				ParamservUtils.cleanupListObject(model);
-				ParamservUtils.cleanupListObject(gradients);
 			}
 		}
 	}
@@ -378,28 +422,27 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 
 			// Pull the global parameters from ps
 			ListObject model = pullModel();
-			ListObject gradients = computeGradientsForNBatches(model, _numBatchesPerEpoch, localStartBatchNum, true);
+			Object gradients = computeGradientsForNBatches(model, _numBatchesPerEpoch, localStartBatchNum, true);
 			weighAndPushGradients(gradients);
 			ParamservUtils.cleanupListObject(model);
-			ParamservUtils.cleanupListObject(gradients);
 		}
 	}
 
-	protected ListObject computeGradientsForNBatches(ListObject model, int numBatchesToCompute, int localStartBatchNum) {
+	protected Object computeGradientsForNBatches(ListObject model, int numBatchesToCompute, int localStartBatchNum) {
 		return computeGradientsForNBatches(model, numBatchesToCompute, localStartBatchNum, false);
 	}
 
 	/**
 	 * Computes the gradients of n batches on the federated worker and is able to update the model local.
-	 * Returns the gradients.
+	 * Returns the gradients, compressed if gradient compression is enabled.
 	 *
 	 * @param model the current model from the parameter server
 	 * @param localStartBatchNum the batch to start from
 	 * @param localUpdate whether to update the model locally
 	 *
-	 * @return the gradient vector
+	 * @return the gradient vector (list object or compressed gradients)
 	 */
-	protected ListObject computeGradientsForNBatches(ListObject model,
+	protected Object computeGradientsForNBatches(ListObject model,
 		int numBatchesToCompute, int localStartBatchNum, boolean localUpdate)
 	{
 		Timing tFedCommunication = DMLScript.STATISTICS ? new Timing(true) : null;
@@ -429,8 +472,13 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 				long workerComputing = ((DoubleObject) responseData[1]).getLongValue();
 				Statistics.accFedPSWorkerComputing(workerComputing);
 				Statistics.accFedPSCommunicationTime(total - workerComputing);
+				if (responseData[0] instanceof CompressedGradients) {
+					CompressedGradients cg = (CompressedGradients) responseData[0];
+					Statistics.accFedPSCompression(((DoubleObject) responseData[2]).getLongValue(),
+						cg.getUncompressedSize(), cg.getCompressedSize());
+				}
 			}
-			return (ListObject) responseData[0];
+			return responseData[0];
 		}
 		catch(Exception e) {
 			if(DMLScript.STATISTICS)
@@ -549,6 +597,27 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			// model clean up
 			ParamservUtils.cleanupListObject(ec, ec.getVariable(Statement.PS_FED_MODEL_VARID).toString());
 			ParamservUtils.cleanupListObject(ec, Statement.PS_MODEL);
+
+			// compress the gradients before sending them back
+			PSGradientCompression compression = PSGradientCompression.valueOf(
+				((StringObject) ec.getVariable(Statement.PS_FED_COMPRESSION_TYPE)).getStringValue());
+			if (compression != PSGradientCompression.NONE) {
+				Timing tCompress = new Timing(true);
+				ListObject residuals = null;
+				if (compression == PSGradientCompression.TOPK) {
+					if (!ec.containsVariable(Statement.PS_FED_RESIDUALS))
+						ec.setVariable(Statement.PS_FED_RESIDUALS, GradientCompression.createResiduals(accGradients));
+					residuals = ec.getListObject(Statement.PS_FED_RESIDUALS);
+				}
+				double ratio = ((DoubleObject) ec.getVariable(Statement.PS_FED_COMPRESSION_TOPK_RATIO)).getDoubleValue();
+				CompressedGradients cg = GradientCompression.compress(accGradients, compression, ratio, residuals);
+				ParamservUtils.cleanupListObject(ec, accGradients);
+				DoubleObject compressionTime = new DoubleObject(tCompress.stop());
+				DoubleObject gradientsTime = new DoubleObject(tGradients.stop());
+				return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
+					new Object[]{cg, gradientsTime, compressionTime});
+			}
+
 			// stop timing
 			DoubleObject gradientsTime = new DoubleObject(tGradients.stop());
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS, new Object[]{accGradients, gradientsTime});
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.parser.Statement.PSGradientCompression;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Lossy compression of gradient lists for the federated parameter server,
+ * which reduces the size of the gradients sent from the federated workers
+ * to the parameter server. Supported are top-k sparsification (only the
+ * k largest absolute values are sent, while the remaining values are kept
+ * as residuals and added to the gradients of the next push, i.e., error
+ * feedback), and linear 8-bit / 16-bit quantization between the min and
+ * max value of each gradient matrix.
+ */
+public class GradientCompression
+{
+	public static final double DEFAULT_TOPK_RATIO = 0.01;
+
+	/**
+	 * Compresses the given list of gradient matrices.
+	 *
+	 * @param gradients list of gradients (matrices only)
+	 * @param type      compression type (not NONE)
+	 * @param ratio     fraction of values kept by top-k sparsification
+	 * @param residuals list of residual matrices for error feedback (top-k), updated in-place,
+	 *                  or null if no residuals are maintained
+	 * @return compressed gradients
+	 */
+	public static CompressedGradients compress(ListObject gradients, PSGradientCompression type,
+		double ratio, ListObject residuals)
+	{
+		int len = gradients.getLength();
+		CompressedMatrix[] data = new CompressedMatrix[len];
+		for(int i = 0; i < len; i++) {
+			MatrixBlock mb = ((MatrixObject) gradients.getData().get(i)).acquireReadAndRelease();
+			int rows = mb.getNumRows();
+			int cols = mb.getNumColumns();
+			switch(type) {
+				case TOPK: {
+					MatrixBlock rb = (residuals != null) ? ((MatrixObject) residuals.getData().get(i))
+						.acquireReadAndRelease() : null;
+					if(rb != null) {
+						rb.sparseToDense();
+						rb.allocateDenseBlock(false);
+					}
+					data[i] = TopKMatrix.compress(DataConverter.convertToDoubleVector(mb, false),
+						(rb != null) ? rb.getDenseBlockValues() : null, rows, cols, ratio);
+					if(rb != null)
+						rb.recomputeNonZeros();
+					break;
+				}
+				case QUANTIZE8:
+				case QUANTIZE16:
+					data[i] = QuantizedMatrix.compress(DataConverter.convertToDoubleVector(mb, false), rows, cols,
+						type == PSGradientCompression.QUANTIZE8 ? 8 : 16);
+					break;
+				default:
+					throw new DMLRuntimeException("Unsupported gradient compression: " + type);
+			}
+		}
+		List<String> names = gradients.getNames();
+		return new CompressedGradients(data, (names != null) ? new ArrayList<>(names) : null);
+	}
+
+	/**
+	 * Creates the zero-initialized residuals for top-k error feedback.
+	 *
+	 * @param gradients list of gradients of the expected shapes
+	 * @return list of residual matrices
+	 */
+	public static ListObject createResiduals(ListObject gradients) {
+		List<Data> data = new ArrayList<>();
+		for(Data d : gradients.getData()) {
+			MatrixObject mo = (MatrixObject) d;
+			MatrixBlock mb = new MatrixBlock((int) mo.getNumRows(), (int) mo.getNumColumns(), false);
+			mb.allocateDenseBlock();
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+		}
+		return new ListObject(data);
+	}
+
+	/**
+	 * Decompresses the given gradients into a list of matrices.
+	 *
+	 * @param gradients compressed gradients
+	 * @return list of gradients
+	 */
+	public static ListObject decompress(CompressedGradients gradients) {
+		List<Data> data = new ArrayList<>();
+		for(CompressedMatrix cm : gradients._data)
+			data.add(ParamservUtils.newMatrixObject(cm.decompress()));
+		return new ListObject(data, gradients._names);
+	}
+
+	/**
+	 * Serializable list of compressed gradient matrices.
+	 */
+	public static class CompressedGradients implements Serializable {
+		private static final long serialVersionUID = -2573860367146361234L;
+
+		private final CompressedMatrix[] _data;
+		private final List<String> _names;
+
+		private CompressedGradients(CompressedMatrix[] data, List<String> names) {
+			_data = data;
+			_names = names;
+		}
+
+		/**
+		 * Multiplies all gradients by the given factor (e.g., for weighting).
+		 *
+		 * @param factor scale factor
+		 */
+		public void scale(double factor) {
+			for(CompressedMatrix cm : _data)
+				cm.scale(factor);
+		}
+
+		public long getCompressedSize() {
+			long size = 0;
+			for(CompressedMatrix cm : _data)
+				size += cm.getCompressedSize();
+			return size;
+		}
+
+		public long getUncompressedSize() {
+			long size = 0;
+			for(CompressedMatrix cm : _data)
+				size += 8L * cm._rows * cm._cols;
+			return size;
+		}
+	}
+
+	private static abstract class CompressedMatrix implements Serializable {
+		private static final long serialVersionUID = 7207392718405617519L;
+
+		protected final int _rows;
+		protected final int _cols;
+
+		protected CompressedMatrix(int rows, int cols) {
+			_rows = rows;
+			_cols = cols;
+		}
+
+		protected abstract MatrixBlock decompress();
+
+		protected abstract void scale(double factor);
+
+		protected abstract long getCompressedSize();
+
+		protected MatrixBlock allocateDense() {
+			MatrixBlock ret = new MatrixBlock(_rows, _cols, false);
+			ret.allocateDenseBlock();
+			return ret;
+		}
+	}
+
+	private static class TopKMatrix extends CompressedMatrix {
+		private static final long serialVersionUID = -6281593845209157932L;
+
+		private final int[] _ix;
+		private final float[] _vals;
+
+		private TopKMatrix(int rows, int cols, int[] ix, float[] vals) {
+			super(rows, cols);
+			_ix = ix;
+			_vals = vals;
+		}
+
+		private static TopKMatrix compress(double[] g, double[] r, int rows, int cols, double ratio) {
+			int n = rows * cols;
+			// error feedback: accumulate gradients into residuals
+			double[] v = g;
+			if(r != null) {
+				for(int i = 0; i < n; i++)
+					r[i] += g[i];
+				v = r;
+			}
+			int k = (int) Math.min(n, Math.max(1, Math.ceil(ratio * n)));
+
+			// find the k-th largest absolute value
+			double[] abs = new double[n];
+			for(int i = 0; i < n; i++)
+				abs[i] = Math.abs(v[i]);
+			double thresh = select(abs, n - k);
+
+			// collect values above the threshold, and ties up to k values
+			int[] ix = new int[k];
+			float[] vals = new float[k];
+			int pos = 0;
+			for(int i = 0; i < n && pos < k; i++)
+				if(Math.abs(v[i]) > thresh) {
+					ix[pos] = i;
+					vals[pos++] = (float) v[i];
+				}
+			for(int i = 0; i < n && pos < k; i++)
+				if(Math.abs(v[i]) == thresh) {
+					ix[pos] = i;
+					vals[pos++] = (float) v[i];
+				}
+
+			// keep the unsent remainder as residuals
+			if(r != null)
+				for(int i = 0; i < k; i++)
+					r[ix[i]] -= vals[i];
+			return new TopKMatrix(rows, cols, ix, vals);
+		}
+
+		@Override
+		protected MatrixBlock decompress() {
+			MatrixBlock ret = allocateDense();
+			double[] a = ret.getDenseBlockValues();
+			for(int i = 0; i < _ix.length; i++)
+				a[_ix[i]] = _vals[i];
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+
+		@Override
+		protected void scale(double factor) {
+			for(int i = 0; i < _vals.length; i++)
+				_vals[i] *= factor;
+		}
+
+		@Override
+		protected long getCompressedSize() {
+			return 8 + 8L * _ix.length;
+		}
+	}
+
+	private static class QuantizedMatrix extends CompressedMatrix {
+		private static final long serialVersionUID = 3392604616307389285L;
+
+		private final byte[] _q8;
+		private final short[] _q16;
+		private double _min;
+		private double _step;
+
+		private QuantizedMatrix(int rows, int cols, byte[] q8, short[] q16, double min, double step) {
+			super(rows, cols);
+			_q8 = q8;
+			_q16 = q16;
+			_min = min;
+			_step = step;
+		}
+
+		private static QuantizedMatrix compress(double[] v, int rows, int cols, int bits) {
+			int n = rows * cols;
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for(int i = 0; i < n; i++) {
+				min = Math.min(min, v[i]);
+				max = Math.max(max, v[i]);
+			}
+			if(n == 0)
+				min = max = 0;
+			int levels = (1 << bits) - 1;
+			double step = (max - min) / levels;
+			double istep = (step > 0) ? 1 / step : 0;
+			byte[] q8 = (bits == 8) ? new byte[n] : null;
+			short[] q16 = (bits == 16) ? new short[n] : null;
+			for(int i = 0; i < n; i++) {
+				int q = (int) Math.round((v[i] - min) * istep);
+				if(q8 != null)
+					q8[i] = (byte) q;
+				else
+					q16[i] = (short) q;
+			}
+			return new QuantizedMatrix(rows, cols, q8, q16, min, step);
+		}
+
+		@Override
+		protected MatrixBlock decompress() {
+			MatrixBlock ret = allocateDense();
+			double[] a = ret.getDenseBlockValues();
+			for(int i = 0; i < a.length; i++)
+				a[i] = _min + _step * ((_q8 != null) ? (_q8[i] & 0xFF) : (_q16[i] & 0xFFFF));
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+
+		@Override
+		protected void scale(double factor) {
+			_min *= factor;
+			_step *= factor;
+		}
+
+		@Override
+		protected long getCompressedSize() {
+			return 24 + ((_q8 != null) ? _q8.length : 2L * _q16.length);
+		}
+	}
+
+	/**
+	 * Selects the k-th smallest value (0-based) via iterative quickselect,
+	 * which partially reorders the given array.
+	 *
+	 * @param a array of values
+	 * @param k position in sorted order
+	 * @return k-th smallest value
+	 */
+	protected static double select(double[] a, int k) {
+		int lo = 0, hi = a.length - 1;
+		while(lo < hi) {
+			double pivot = a[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while(i <= j) {
+				while(a[i] < pivot)
+					i++;
+				while(a[j] > pivot)
+					j--;
+				if(i <= j) {
+					double tmp = a[i];
+					a[i++] = a[j];
+					a[j--] = tmp;
+				}
+			}
+			if(k <= j)
+				hi = j;
+			else if(k >= i)
+				lo = i;
+			else
+				return a[k];
+		}
+		return a[k];
+	}
+}
@@ -76,6 +76,9 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			// release workers waiting on this worker's clock (SSP)
+			_ps.finishWorker(_workerID);
 		}
 		return null;
 	}
@@ -32,18 +32,18 @@ public class LocalParamServer extends ParamServer {
 	}
 
 	public static LocalParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType,
-		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,
+		int staleness, Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,
 		MatrixObject valFeatures, MatrixObject valLabels)
 	{
-		return new LocalParamServer(model, aggFunc, updateType, freq, ec,
+		return new LocalParamServer(model, aggFunc, updateType, staleness, freq, ec,
 			workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels);
 	}
 
 	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType,
-		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,
+		int staleness, Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc, int numBatchesPerEpoch,
 		MatrixObject valFeatures, MatrixObject valLabels)
 	{
-		super(model, aggFunc, updateType, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels);
+		super(model, aggFunc, updateType, staleness, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels);
 	}
 
 	@Override
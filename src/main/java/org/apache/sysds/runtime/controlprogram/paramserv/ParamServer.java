@@ -22,9 +22,12 @@ package org.apache.sysds.runtime.controlprogram.paramserv;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -41,10 +44,13 @@ import org.apache.sysds.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
+import org.apache.sysds.runtime.functionobjects.Plus;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DoubleObject;
 import org.apache.sysds.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.utils.Statistics;
 
 public abstract class ParamServer 
@@ -54,17 +60,36 @@ public abstract class ParamServer
 	
 	// worker input queues and global model
 	protected Map<Integer, BlockingQueue<ListObject>> _modelMap;
-	private ListObject _model;
+	private volatile ListObject _model;
 
 	//aggregation service
 	protected ExecutionContext _ec;
 	private Statement.PSUpdateType _updateType;
+	private int _staleness;
 	private Statement.PSFrequency _freq;
 
 	private FunctionCallCPInstruction _inst;
 	private String _outputName;
 	private boolean[] _finishedStates;  // Workers' finished states
-	private ListObject _accGradients = null;
+
+	// global lock for model updates (aggregation function, validation, broadcast),
+	// and per-shard (i.e., list element) locks for the accrual of BSP gradients
+	private final Lock _lock = new ReentrantLock();
+	private Lock[] _shardLocks = null;
+	private MatrixObject[] _accShards = null;
+	private List<String> _gradNames = null;
+
+	// SSP: per-worker clocks (number of pushes), workers whose model is
+	// withheld until the slowest active worker catches up, and the model
+	// versions the workers computed their gradients on
+	private int[] _clocks;
+	private boolean[] _finishedWorkers;
+	private long[] _blockedSince;
+	private long[] _workerModelVersion;
+	private long _modelVersion = 0;
+	private long _epochStaleness = 0;
+	private long _epochPushes = 0;
+	private long _epochBlockedTime = 0;
 
 	private boolean _validationPossible;
 	private FunctionCallCPInstruction _valInst;
@@ -80,7 +105,7 @@ public abstract class ParamServer
 	protected ParamServer() {}
 
 	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType,
-		Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc,
+		int staleness, Statement.PSFrequency freq, ExecutionContext ec, int workerNum, String valFunc,
 		int numBatchesPerEpoch, MatrixObject valFeatures, MatrixObject valLabels)
 	{
 		// init worker queues and global model
@@ -94,8 +119,14 @@ public abstract class ParamServer
 		// init aggregation service
 		_ec = ec;
 		_updateType = updateType;
+		_staleness = staleness;
 		_freq = freq;
 		_finishedStates = new boolean[workerNum];
+		_clocks = new int[workerNum];
+		_finishedWorkers = new boolean[workerNum];
+		_blockedSince = new long[workerNum];
+		Arrays.fill(_blockedSince, -1);
+		_workerModelVersion = new long[workerNum];
 		setupAggFunc(_ec, aggFunc);
 
 		if(valFunc != null && numBatchesPerEpoch > 0 && valFeatures != null && valLabels != null) {
@@ -173,13 +204,27 @@ public abstract class ParamServer
 
 	public abstract ListObject pull(int workerID);
 
+	/**
+	 * Pushes compressed gradients, which are decompressed before aggregation.
+	 *
+	 * @param workerID worker id
+	 * @param gradients compressed gradients
+	 */
+	public void push(int workerID, GradientCompression.CompressedGradients gradients) {
+		Timing tDecomp = DMLScript.STATISTICS ? new Timing(true) : null;
+		ListObject decompressed = GradientCompression.decompress(gradients);
+		if (DMLScript.STATISTICS && tDecomp != null)
+			Statistics.accFedPSCompression((long) tDecomp.stop(), 0, 0);
+		push(workerID, decompressed);
+	}
+
 	public ListObject getResult() {
 		// All the model updating work has terminated,
 		// so we could return directly the result model
 		return _model;
 	}
 
-	protected synchronized void updateGlobalModel(int workerID, ListObject gradients) {
+	protected void updateGlobalModel(int workerID, ListObject gradients) {
 		try {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("Successfully pulled the gradients [size:%d kb] of worker_%d.",
@@ -188,30 +233,68 @@ public abstract class ParamServer
 
 			switch(_updateType) {
 				case BSP: {
-					setFinishedState(workerID);
-
-					// Accumulate the intermediate gradients
-					if( ACCRUE_BSP_GRADIENTS )
-						_accGradients = ParamservUtils.accrueGradients(_accGradients, gradients, true);
-					else
+					// Accumulate the intermediate gradients per shard (i.e., list element),
+					// which allows concurrent pushes to accrue different shards in parallel
+					if( ACCRUE_BSP_GRADIENTS ) {
+						accrueGradients(workerID, gradients);
+						lock(workerID);
+					}
+					else {
+						lock(workerID);
 						updateGlobalModel(gradients);
+					}
 
-					if (allFinished()) {
-						// Update the global model with accrued gradients
-						if( ACCRUE_BSP_GRADIENTS ) {
-							updateGlobalModel(_accGradients);
-							_accGradients = null;
+					try {
+						setFinishedState(workerID);
+						if (allFinished()) {
+							// Update the global model with accrued gradients
+							if( ACCRUE_BSP_GRADIENTS )
+								updateGlobalModel(getAccruedGradients());
+
+							// This if has grown to be quite complex its function is rather simple. Validate at the end of each epoch
+							// In the BSP batch case that occurs after the sync counter reaches the number of batches and in the
+							// BSP epoch case every time
+							if (_numBatchesPerEpoch != -1 &&
+								(_freq == Statement.PSFrequency.EPOCH ||
+								(_freq == Statement.PSFrequency.BATCH && ++_syncCounter % _numBatchesPerEpoch == 0))) {
+
+								if(LOG.isInfoEnabled())
+									LOG.info("[+] PARAMSERV: completed EPOCH " + _epochCounter);
+
+								time_epoch();
+
+								if(_validationPossible)
+									validate();
+
+								_epochCounter++;
+								_syncCounter = 0;
+							}
+
+							// Broadcast the updated model
+							resetFinishedStates();
+							broadcastModel(true);
+							if (LOG.isDebugEnabled())
+								LOG.debug("Global parameter is broadcasted successfully.");
 						}
-
-						// This if has grown to be quite complex its function is rather simple. Validate at the end of each epoch
-						// In the BSP batch case that occurs after the sync counter reaches the number of batches and in the
-						// BSP epoch case every time
+					}
+					finally {
+						_lock.unlock();
+					}
+					break;
+				}
+				case ASP: {
+					ListObject model = null;
+					lock(workerID);
+					try {
+						updateGlobalModel(gradients);
+						// This works similarly to the one for BSP, but divides the sync counter by
+						// the number of workers, creating "Pseudo Epochs"
 						if (_numBatchesPerEpoch != -1 &&
-							(_freq == Statement.PSFrequency.EPOCH ||
-							(_freq == Statement.PSFrequency.BATCH && ++_syncCounter % _numBatchesPerEpoch == 0))) {
+							((_freq == Statement.PSFrequency.EPOCH && ((float) ++_syncCounter % _numWorkers) == 0) ||
+							(_freq == Statement.PSFrequency.BATCH && ((float) ++_syncCounter / _numWorkers) % (float) _numBatchesPerEpoch == 0))) {
 
 							if(LOG.isInfoEnabled())
-								LOG.info("[+] PARAMSERV: completed EPOCH " + _epochCounter);
+								LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (ASP) " + _epochCounter);
 
 							time_epoch();
 
@@ -221,36 +304,50 @@ public abstract class ParamServer
 							_epochCounter++;
 							_syncCounter = 0;
 						}
-						
-						// Broadcast the updated model
-						resetFinishedStates();
-						broadcastModel(true);
-						if (LOG.isDebugEnabled())
-							LOG.debug("Global parameter is broadcasted successfully.");
+
+						// copy of the model while holding the lock (the old model
+						// is cleaned up by subsequent updates), enqueued afterwards
+						model = ParamservUtils.copyList(_model, false);
 					}
+					finally {
+						_lock.unlock();
+					}
+					broadcastModel(workerID, model);
 					break;
 				}
-				case ASP: {
-					updateGlobalModel(gradients);
-					// This works similarly to the one for BSP, but divides the sync counter by
-					// the number of workers, creating "Pseudo Epochs"
-					if (_numBatchesPerEpoch != -1 &&
-						((_freq == Statement.PSFrequency.EPOCH && ((float) ++_syncCounter % _numWorkers) == 0) ||
-						(_freq == Statement.PSFrequency.BATCH && ((float) ++_syncCounter / _numWorkers) % (float) _numBatchesPerEpoch == 0))) {
+				case SSP: {
+					lock(workerID);
+					try {
+						accStaleness(workerID);
+						updateGlobalModel(gradients);
+						_clocks[workerID]++;
+						// Pseudo epochs as for ASP
+						if (_numBatchesPerEpoch != -1 &&
+							((_freq == Statement.PSFrequency.EPOCH && ((float) ++_syncCounter % _numWorkers) == 0) ||
+							(_freq == Statement.PSFrequency.BATCH && ((float) ++_syncCounter / _numWorkers) % (float) _numBatchesPerEpoch == 0))) {
 
-						if(LOG.isInfoEnabled())
-							LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (ASP) " + _epochCounter);
+							if(LOG.isInfoEnabled())
+								LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (SSP) " + _epochCounter);
+
+							time_epoch();
+							logStaleness();
 
-						time_epoch();
+							if(_validationPossible)
+								validate();
 
-						if(_validationPossible)
-							validate();
+							_epochCounter++;
+							_syncCounter = 0;
+						}
 
-						_epochCounter++;
-						_syncCounter = 0;
+						// The worker proceeds if it is at most staleness clocks ahead
+						// of the slowest active worker, otherwise its model is withheld
+						// (which blocks its next pull) until the slowest worker catches up
+						_blockedSince[workerID] = System.nanoTime();
+						releaseWorkers();
+					}
+					finally {
+						_lock.unlock();
 					}
-
-					broadcastModel(workerID);
 					break;
 				}
 				default:
@@ -262,9 +359,126 @@ public abstract class ParamServer
 		}
 	}
 
+	/**
+	 * Signals that the given worker pushed its last gradients. For SSP, finished
+	 * workers no longer bound the clocks of the remaining workers.
+	 *
+	 * @param workerID worker id
+	 */
+	public void finishWorker(int workerID) {
+		if (_updateType != Statement.PSUpdateType.SSP)
+			return;
+		_lock.lock();
+		try {
+			_finishedWorkers[workerID] = true;
+			_blockedSince[workerID] = -1;
+			releaseWorkers();
+		}
+		catch (InterruptedException e) {
+			throw new DMLRuntimeException("Paramserv func: some error occurred when broadcasting model", e);
+		}
+		finally {
+			_lock.unlock();
+		}
+	}
+
+	private void releaseWorkers() throws InterruptedException {
+		// called while holding the lock
+		int minClock = Integer.MAX_VALUE;
+		for (int i = 0; i < _clocks.length; i++)
+			if (!_finishedWorkers[i])
+				minClock = Math.min(minClock, _clocks[i]);
+		for (int i = 0; i < _clocks.length; i++) {
+			if (_blockedSince[i] < 0 || _finishedWorkers[i] || _clocks[i] - minClock > _staleness)
+				continue;
+			long blocked = System.nanoTime() - _blockedSince[i];
+			_blockedSince[i] = -1;
+			_workerModelVersion[i] = _modelVersion;
+			_epochBlockedTime += blocked;
+			if (DMLScript.STATISTICS)
+				Statistics.accPSBlockedTime(blocked);
+			broadcastModel(i);
+		}
+	}
+
+	private void accStaleness(int workerID) {
+		// number of global model updates since the worker received its model
+		long staleness = _modelVersion - _workerModelVersion[workerID];
+		_epochStaleness += staleness;
+		_epochPushes++;
+		if (DMLScript.STATISTICS)
+			Statistics.accPSStaleness(staleness);
+	}
+
+	private void logStaleness() {
+		if (LOG.isInfoEnabled() && _epochPushes > 0)
+			LOG.info(String.format("[+] PARAMSERV: avg staleness: %.2f, blocked time: %.3f secs.",
+				(double) _epochStaleness / _epochPushes, _epochBlockedTime * 1e-9));
+		_epochStaleness = 0;
+		_epochPushes = 0;
+		_epochBlockedTime = 0;
+	}
+
+	/**
+	 * Accumulates the given gradients into the per-shard accrued gradients.
+	 * Every shard has its own lock, and the shards of a single push are
+	 * accrued in parallel. The first gradients of a shard in a round are
+	 * taken over via a shallow copy.
+	 *
+	 * @param workerID worker id
+	 * @param gradients list of gradients
+	 */
+	private void accrueGradients(int workerID, ListObject gradients) {
+		initShards(gradients);
+		IntStream.range(0, gradients.getLength()).parallel().forEach(i -> {
+			MatrixObject mo = (MatrixObject) gradients.getData().get(i);
+			Lock lock = _shardLocks[i];
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			lock.lock();
+			if (DMLScript.STATISTICS)
+				Statistics.accPSPushWaitTime(workerID, System.nanoTime() - t0);
+			try {
+				if (_accShards[i] == null)
+					_accShards[i] = ParamservUtils.createShallowCopy(mo);
+				else
+					_accShards[i].acquireReadAndRelease().binaryOperationsInPlace(
+						new BinaryOperator(Plus.getPlusFnObject()), mo.acquireReadAndRelease());
+			}
+			finally {
+				lock.unlock();
+			}
+		});
+		ParamservUtils.cleanupListObject(gradients);
+	}
+
+	private synchronized void initShards(ListObject gradients) {
+		if (_shardLocks != null)
+			return;
+		_accShards = new MatrixObject[gradients.getLength()];
+		_shardLocks = new Lock[gradients.getLength()];
+		for (int i = 0; i < _shardLocks.length; i++)
+			_shardLocks[i] = new ReentrantLock();
+		_gradNames = gradients.getNames();
+	}
+
+	private ListObject getAccruedGradients() {
+		// called by the last worker of a round, all shards are accrued
+		List<Data> data = new ArrayList<>(Arrays.asList(_accShards));
+		Arrays.fill(_accShards, null);
+		return new ListObject(data, (_gradNames != null) ? new ArrayList<>(_gradNames) : null);
+	}
+
+	private void lock(int workerID) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		_lock.lock();
+		if (DMLScript.STATISTICS)
+			Statistics.accPSPushWaitTime(workerID, System.nanoTime() - t0);
+	}
+
 	private void updateGlobalModel(ListObject gradients) {
 		Timing tAgg = DMLScript.STATISTICS ? new Timing(true) : null;
 		_model = updateLocalModel(_ec, gradients, _model);
+		_modelVersion++;
 		if (DMLScript.STATISTICS && tAgg != null)
 			Statistics.accPSAggregationTime((long) tAgg.stop());
 	}
@@ -321,9 +535,13 @@ public abstract class ParamServer
 	}
 
 	private void broadcastModel(int workerID) throws InterruptedException {
+		broadcastModel(workerID, ParamservUtils.copyList(_model, false));
+	}
+
+	private void broadcastModel(int workerID, ListObject model) throws InterruptedException {
 		Timing tBroad = DMLScript.STATISTICS ? new Timing(true) : null;
 		//broadcast copy of model to specific worker, cleaned up by worker
-		_modelMap.get(workerID).put(ParamservUtils.copyList(_model, false));
+		_modelMap.get(workerID).put(model);
 		if (DMLScript.STATISTICS && tBroad != null)
 			Statistics.accPSModelBroadcastTime((long) tBroad.stop());
 	}
@@ -45,10 +45,16 @@ public class LocalParWorker extends ParWorker implements Runnable
 	protected final CompilerConfig _cconf;
 	protected final boolean _stopped;
 	protected final int _max_retry;
+	protected final int _workerIx;
 	protected Collection<String> _fnNames = null;
 	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor ) {
+		this(ID, 0, q, body, cconf, max_retry, monitor);
+	}
+	
+	public LocalParWorker( long ID, int workerIx, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor ) {
 		super(ID, body, monitor);
+		_workerIx = workerIx;
 		_taskQueue = q;
 		_cconf = cconf;
 		_stopped   = false;
@@ -98,7 +104,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			while( !_stopped ) {
 				//dequeue the next task (abort on NO_MORE_TASKS or error)
 				try {
-					lTask = _taskQueue.dequeueTask();
+					lTask = _taskQueue.dequeueTask(_workerIx);
 					
 					if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 						break; //normal end of parallel worker
@@ -97,6 +97,20 @@ public class LocalTaskQueue<T>
 		return t;
 	}
 	
+	/**
+	 * Read and delete of the next task for the given worker. By default,
+	 * all workers share the FIFO queue and the worker index is ignored.
+	 * 
+	 * @param workerIx index of the requesting worker
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int workerIx ) 
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+	
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * Work-stealing task distribution for local parfor workers. Instead of a
+ * single shared FIFO queue, the iteration space is statically split into
+ * one contiguous range per worker, which acts as the worker's deque. Workers
+ * take chunks of tasksize iterations from the front of their own range,
+ * which only contends with thieves on the range's own lock. Once its own
+ * range is exhausted, a worker steals the back half of the largest
+ * remaining range of another worker (chunk splitting on steal), which
+ * gives dynamic load balance with only few synchronization points.
+ *
+ * The ranges are initialized once by {@link TaskPartitionerWorkStealing},
+ * and workers must dequeue tasks via {@link #dequeueTask(int)}.
+ */
+public class LocalWorkStealingTaskQueue extends LocalTaskQueue<Task>
+{
+	private final int _numWorkers;
+	private volatile Range[] _ranges = null;
+	private String _iterVarName = null;
+	private long _from = -1;
+	private long _incr = -1;
+	private long _chunkSize = -1;
+
+	//statistics (idle and end times in ns, per worker)
+	private final LongAdder _numTasks = new LongAdder();
+	private final LongAdder _numSteals = new LongAdder();
+	private final long[] _idleTime;
+	private final long[] _endTime;
+
+	public LocalWorkStealingTaskQueue( int numWorkers ) {
+		_numWorkers = numWorkers;
+		_idleTime = new long[numWorkers];
+		_endTime = new long[numWorkers];
+	}
+
+	/**
+	 * Initializes the per-worker ranges of the normalized iteration space
+	 * (from, from+incr, ..., from+(numIter-1)*incr), and releases all waiting
+	 * workers. Further tasks cannot be added afterwards.
+	 *
+	 * @param iterVarName name of the iteration variable
+	 * @param from first iteration value
+	 * @param incr positive increment
+	 * @param numIter number of iterations
+	 * @param chunkSize number of iterations per dequeued task
+	 */
+	public synchronized void initRanges( String iterVarName, long from, long incr, long numIter, long chunkSize ) {
+		if( _ranges != null )
+			throw new DMLRuntimeException("Work-stealing task queue already initialized.");
+		_iterVarName = iterVarName;
+		_from = from;
+		_incr = incr;
+		_chunkSize = Math.max(chunkSize, 1);
+		Range[] ranges = new Range[_numWorkers];
+		long blen = numIter / _numWorkers;
+		long rem = numIter % _numWorkers;
+		long lo = 0;
+		for( int i=0; i<_numWorkers; i++ ) {
+			long hi = lo + blen + (i < rem ? 1 : 0);
+			ranges[i] = new Range(lo, hi);
+			lo = hi;
+		}
+		_ranges = ranges;
+		notifyAll(); //notify all waiting workers
+	}
+
+	@Override
+	public void enqueueTask( Task t ) {
+		throw new DMLRuntimeException("Work-stealing task queue does not support enqueue of individual tasks.");
+	}
+
+	@Override
+	public Task dequeueTask() {
+		throw new DMLRuntimeException("Work-stealing task queue requires a worker index for dequeue.");
+	}
+
+	@Override
+	public Task dequeueTask( int workerIx )
+		throws InterruptedException
+	{
+		Range[] ranges = getRanges();
+		Range own = ranges[workerIx];
+
+		//take next chunk from own range
+		long lo = own.takeFront(_chunkSize);
+
+		//steal from other workers once own range is exhausted
+		if( lo < 0 ) {
+			long t0 = System.nanoTime();
+			lo = steal(ranges, workerIx);
+			long t1 = System.nanoTime();
+			_idleTime[workerIx] += t1 - t0;
+			if( lo < 0 ) {
+				_endTime[workerIx] = t1;
+				return (Task) NO_MORE_TASKS;
+			}
+		}
+
+		//create range task (to is inclusive)
+		long hi = own.getLastEnd();
+		Task task = new Task(_iterVarName, TaskType.RANGE);
+		task.addIteration(new IntObject(_from + lo * _incr));
+		task.addIteration(new IntObject(_from + (hi - 1) * _incr));
+		task.addIteration(new IntObject(_incr));
+		_numTasks.increment();
+		return task;
+	}
+
+	@Override
+	public void closeInput() {
+		//input is implicitly closed by initRanges
+	}
+
+	public long getNumCreatedTasks() {
+		return _numTasks.longValue();
+	}
+
+	public long getNumSteals() {
+		return _numSteals.longValue();
+	}
+
+	/**
+	 * Obtains the total idle time of all workers, i.e., the time spent on
+	 * stealing plus the time between a worker's end and the end of the last
+	 * worker. This requires that all workers have finished.
+	 *
+	 * @return idle time in ns
+	 */
+	public long getIdleTime() {
+		long maxEnd = Long.MIN_VALUE;
+		for( long t : _endTime )
+			maxEnd = Math.max(maxEnd, t);
+		long ret = 0;
+		for( int i=0; i<_numWorkers; i++ )
+			ret += _idleTime[i] + ((_endTime[i] != 0) ? maxEnd - _endTime[i] : 0);
+		return ret;
+	}
+
+	private Range[] getRanges() throws InterruptedException {
+		Range[] ranges = _ranges;
+		if( ranges == null ) {
+			synchronized( this ) {
+				while( _ranges == null )
+					wait(); //wait for initialization
+				ranges = _ranges;
+			}
+		}
+		return ranges;
+	}
+
+	private long steal( Range[] ranges, int workerIx ) {
+		Range own = ranges[workerIx];
+		while( true ) {
+			//select victim with the largest remaining range
+			Range victim = null;
+			long maxSize = 0;
+			for( int i=1; i<_numWorkers; i++ ) {
+				Range r = ranges[(workerIx + i) % _numWorkers];
+				long size = r.size();
+				if( size > maxSize ) {
+					maxSize = size;
+					victim = r;
+				}
+			}
+			if( victim == null )
+				return -1; //all ranges exhausted
+
+			//split the back half off the victim's range,
+			//and retry on concurrent modifications
+			long[] stolen = victim.splitBack();
+			if( stolen == null )
+				continue;
+			_numSteals.increment();
+			own.reset(stolen[0], stolen[1]);
+			long lo = own.takeFront(_chunkSize);
+			if( lo >= 0 )
+				return lo;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_numWorkers);
+		sb.append(",tasks=");
+		sb.append(getNumCreatedTasks());
+		sb.append(",steals=");
+		sb.append(getNumSteals());
+		sb.append(")\n");
+		Range[] ranges = _ranges;
+		for( int i=0; ranges!=null && i<ranges.length; i++ ) {
+			sb.append("  WORKER #");
+			sb.append(i);
+			sb.append(": ");
+			sb.append(ranges[i].toString());
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Remaining iteration range [lo, hi) of a single worker. The owner takes
+	 * chunks from the front, while thieves split off the back half.
+	 */
+	private static class Range {
+		private volatile long _lo;
+		private volatile long _hi;
+		//end of the last chunk taken by the owner (accessed by owner only)
+		private long _lastEnd;
+
+		private Range( long lo, long hi ) {
+			_lo = lo;
+			_hi = hi;
+		}
+
+		private long size() {
+			return _hi - _lo;
+		}
+
+		private synchronized long takeFront( long chunkSize ) {
+			long lo = _lo;
+			if( lo >= _hi )
+				return -1;
+			_lastEnd = Math.min(lo + chunkSize, _hi);
+			_lo = _lastEnd;
+			return lo;
+		}
+
+		private long getLastEnd() {
+			return _lastEnd;
+		}
+
+		private synchronized long[] splitBack() {
+			long size = _hi - _lo;
+			if( size <= 0 )
+				return null;
+			long mid = _hi - (size + 1) / 2;
+			long[] ret = new long[] {mid, _hi};
+			_hi = mid;
+			return ret;
+		}
+
+		private synchronized void reset( long lo, long hi ) {
+			_lo = lo;
+			_hi = hi;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "[" + _lo + ", " + _hi + ")";
+		}
+	}
+}
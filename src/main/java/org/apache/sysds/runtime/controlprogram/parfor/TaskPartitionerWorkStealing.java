@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * This work-stealing task partitioner assigns one contiguous range of iterations
+ * to each local worker, from which the workers take chunks of tasksize iterations
+ * and steal from other workers once their own range is exhausted (see
+ * {@link LocalWorkStealingTaskQueue}). For any other queue or for remote execution,
+ * it falls back to static task partitioning, i.e., one task per worker.
+ * 
+ */
+public class TaskPartitionerWorkStealing extends TaskPartitionerStatic
+{
+	private final long _chunkSize;
+	
+	public TaskPartitionerWorkStealing( long taskSize, int numThreads, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal ) 
+	{
+		super(taskSize, numThreads, iterVarName, fromVal, toVal, incrVal);
+		_chunkSize = taskSize;
+	}
+	
+	@Override
+	public long createTasks(LocalTaskQueue<Task> queue) 
+	{
+		if( !(queue instanceof LocalWorkStealingTaskQueue) )
+			return super.createTasks(queue);
+		
+		//tasks are created on dequeue, the number of 
+		//created tasks is known after all workers finished
+		((LocalWorkStealingTaskQueue)queue).initRanges(_iterVarName,
+			_fromVal.getLongValue(), _incrVal.getLongValue(), _numIter, _chunkSize);
+		return -1;
+	}
+}
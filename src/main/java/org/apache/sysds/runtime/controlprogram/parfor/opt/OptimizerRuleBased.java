@@ -1334,16 +1334,25 @@ public class OptimizerRuleBased extends Optimizer {
 		if( flagNested && flagLIX )
 			LOG.warn(getOptMode()+" OPT: Task partitioner decision has conflicting input from rewrites 'nested parallelism' and 'result partitioning'.");
 		
+		//keep explicitly specified work-stealing for local execution
+		//(never a default, and dynamically balances the load of local workers)
+		boolean flagWS = pn.getExecType()==ExecType.CP && PTaskPartitioner.WORK_STEALING.name()
+			.equals(pn.getParam(ParamType.TASK_PARTITIONER));
+		
 		//set task partitioner
 		if( flagNested )
 		{
-			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
+			setTaskPartitioner( pn, flagWS ? PTaskPartitioner.WORK_STEALING : PTaskPartitioner.STATIC );
 			setTaskPartitioner( pn.getChilds().get(0), PTaskPartitioner.FACTORING );
 		}
 		else if( flagLIX )
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING_CMAX );
 		}
+		else if( flagWS )
+		{
+			setTaskPartitioner( pn, PTaskPartitioner.WORK_STEALING );
+		}
 		else if( pn.getExecType()==ExecType.SPARK && pn.hasOnlySimpleChilds() )
 		{
 			//for simple body programs without loops, branches, or function calls, we don't
@@ -2161,7 +2170,9 @@ public class OptimizerRuleBased extends Optimizer {
 		//get num tasks according to task partitioning 
 		PTaskPartitioner tp = PTaskPartitioner.valueOf(pn.getParam(ParamType.TASK_PARTITIONER));
 		int k = pn.getK();
-		long W = estimateNumTasks(tp, _N, k); 
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProgramBlock(pn.getID());
+		long W = estimateNumTasks(tp, _N, k, pfpb.getTaskSize()); 
 		
 		for( ResultVar var : resultVars )
 		{
@@ -2190,7 +2201,7 @@ public class OptimizerRuleBased extends Optimizer {
 		return ( totalSize >= _lm ); //heuristic:  large if >= local mem budget 
 	}
 
-	protected long estimateNumTasks( PTaskPartitioner tp, long N, int k )
+	protected long estimateNumTasks( PTaskPartitioner tp, long N, int k, long taskSize )
 	{
 		long W = -1;
 		
@@ -2202,6 +2213,7 @@ public class OptimizerRuleBased extends Optimizer {
 			case FACTORING:
 			case FACTORING_CMIN:
 			case FACTORING_CMAX:   W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
+			case WORK_STEALING:    W = (long)Math.ceil((double)N / Math.max(taskSize, 1)); break; //chunks of tasksize
 			default:               W = N; break; //N as worst case estimate
 		}
 		
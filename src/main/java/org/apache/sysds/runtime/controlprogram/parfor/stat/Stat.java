@@ -47,6 +47,8 @@ public enum Stat
 	PARFOR_INIT_TASKS_T,
 	PARFOR_WAIT_EXEC_T,
 	PARFOR_WAIT_RESULTS_T,
+	PARFOR_NUMSTEALS,
+	PARFOR_IDLE_T,
 	
 	//parallel worker statistics
 	PARWRK_NUMTASKS,
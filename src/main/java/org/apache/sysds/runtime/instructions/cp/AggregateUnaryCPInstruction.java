@@ -78,11 +78,13 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction {
 				in1, out, AUType.valueOf(opcode.toUpperCase()), opcode, str);
 		} 
 		else if(opcode.equalsIgnoreCase("uacd")){
-			return new AggregateUnaryCPInstruction(new SimpleOperator(null),
+			int k = (parts.length > 3) ? Integer.parseInt(parts[3]) : 1;
+			return new AggregateUnaryCPInstruction(new CountDistinctOperator(AUType.COUNT_DISTINCT, k),
 			in1, out, AUType.COUNT_DISTINCT, opcode, str);
 		}
 		else if(opcode.equalsIgnoreCase("uacdap")){
-			return new AggregateUnaryCPInstruction(new SimpleOperator(null),
+			int k = (parts.length > 3) ? Integer.parseInt(parts[3]) : 1;
+			return new AggregateUnaryCPInstruction(new CountDistinctOperator(AUType.COUNT_DISTINCT_APPROX, k),
 			in1, out, AUType.COUNT_DISTINCT_APPROX, opcode, str);
 		}
 		else if(opcode.equalsIgnoreCase("uarimax") || opcode.equalsIgnoreCase("uarimin")){
@@ -176,7 +178,7 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction {
 				if( !ec.getVariables().keySet().contains(input1.getName()) )
 					throw new DMLRuntimeException("Variable '" + input1.getName() + "' does not exist.");
 				MatrixBlock input = ec.getMatrixInput(input1.getName());
-				CountDistinctOperator op = new CountDistinctOperator(_type);
+				CountDistinctOperator op = (CountDistinctOperator) _optr;
 				int res = LibMatrixCountDistinct.estimateDistinctValues(input, op);
 				ec.releaseMatrixInput(input1.getName());
 				ec.setScalarOutput(output_name, new IntObject(res));
@@ -32,6 +32,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.parser.ParameterizedBuiltinFunctionExpression;
 import org.apache.sysds.parser.Statement;
@@ -214,8 +215,9 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 
 			// compute the result
 			boolean emptyReturn = Boolean.parseBoolean(params.get("empty.return").toLowerCase());
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1;
 			MatrixBlock soresBlock = target
-				.removeEmptyOperations(new MatrixBlock(), margin.equals("rows"), emptyReturn, select);
+				.removeEmptyOperations(new MatrixBlock(), margin.equals("rows"), emptyReturn, select, k);
 
 			// release locks
 			ec.setMatrixOutput(output.getName(), soresBlock);
@@ -278,7 +280,7 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			// compute transformapply
 			MultiColumnEncoder encoder = EncoderFactory
 				.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data);
+			MatrixBlock mbout = encoder.apply(data, OptimizerUtils.getTransformNumThreads());
 
 			// release locks
 			ec.setMatrixOutput(output.getName(), mbout);
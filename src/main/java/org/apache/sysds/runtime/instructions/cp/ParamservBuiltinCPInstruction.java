@@ -41,8 +41,11 @@ import static org.apache.sysds.parser.Statement.PS_MODE;
 import static org.apache.sysds.parser.Statement.PS_MODEL;
 import static org.apache.sysds.parser.Statement.PS_PARALLELISM;
 import static org.apache.sysds.parser.Statement.PS_SCHEME;
+import static org.apache.sysds.parser.Statement.PS_STALENESS;
 import static org.apache.sysds.parser.Statement.PS_UPDATE_FUN;
 import static org.apache.sysds.parser.Statement.PS_UPDATE_TYPE;
+import static org.apache.sysds.parser.Statement.PS_FED_COMPRESSION;
+import static org.apache.sysds.parser.Statement.PS_FED_COMPRESSION_RATIO;
 import static org.apache.sysds.parser.Statement.PS_FED_RUNTIME_BALANCING;
 import static org.apache.sysds.parser.Statement.PS_FED_WEIGHTING;
 import static org.apache.sysds.parser.Statement.PS_SEED;
@@ -59,6 +62,7 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.lops.LopProperties;
 import org.apache.sysds.parser.Statement.PSFrequency;
+import org.apache.sysds.parser.Statement.PSGradientCompression;
 import org.apache.sysds.parser.Statement.PSModeType;
 import org.apache.sysds.parser.Statement.PSScheme;
 import org.apache.sysds.parser.Statement.FederatedPSScheme;
@@ -70,6 +74,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.paramserv.FederatedPSControlThread;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompression;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.ParamServer;
@@ -95,8 +100,10 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static final PSScheme DEFAULT_SCHEME = PSScheme.DISJOINT_CONTIGUOUS;
 	private static final PSRuntimeBalancing DEFAULT_RUNTIME_BALANCING = PSRuntimeBalancing.NONE;
 	private static final FederatedPSScheme DEFAULT_FEDERATED_SCHEME = FederatedPSScheme.KEEP_DATA_ON_WORKER;
+	private static final PSGradientCompression DEFAULT_COMPRESSION = PSGradientCompression.NONE;
 	private static final PSModeType DEFAULT_MODE = PSModeType.LOCAL;
 	private static final PSUpdateType DEFAULT_TYPE = PSUpdateType.ASP;
+	private static final int DEFAULT_STALENESS = 3;
 
 	public ParamservBuiltinCPInstruction(Operator op, LinkedHashMap<String, String> paramsMap, CPOperand out, String opcode, String istr) {
 		super(op, paramsMap, out, opcode, istr);
@@ -141,14 +148,20 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		FederatedPSScheme federatedPSScheme = getFederatedScheme();
 		PSRuntimeBalancing runtimeBalancing = getRuntimeBalancing();
 		boolean weighting = getWeighting();
+		PSGradientCompression compression = getCompression();
+		double compressionRatio = getCompressionRatio();
 		int seed = getSeed();
 
 		if( LOG.isInfoEnabled() ) {
 			LOG.info("[+] Update Type: " + updateType);
+			if (updateType.isSSP())
+				LOG.info("[+] Staleness: " + getStaleness());
 			LOG.info("[+] Frequency: " + freq);
 			LOG.info("[+] Data Partitioning: " + federatedPSScheme);
 			LOG.info("[+] Runtime Balancing: " + runtimeBalancing);
 			LOG.info("[+] Weighting: " + weighting);
+			LOG.info("[+] Gradient Compression: " + compression
+				+ (compression == PSGradientCompression.TOPK ? " (" + compressionRatio + ")" : ""));
 			LOG.info("[+] Seed: " + seed);
 		}
 		if (tSetup != null)
@@ -181,13 +194,13 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		ListObject model = ec.getListObject(getParam(PS_MODEL));
 		MatrixObject val_features = (getParam(PS_VAL_FEATURES) != null) ? ec.getMatrixObject(getParam(PS_VAL_FEATURES)) : null;
 		MatrixObject val_labels = (getParam(PS_VAL_LABELS) != null) ? ec.getMatrixObject(getParam(PS_VAL_LABELS)) : null;
-		ParamServer ps = createPS(PSModeType.FEDERATED, aggFunc, updateType, freq, workerNum, model, aggServiceEC, getValFunction(),
+		ParamServer ps = createPS(PSModeType.FEDERATED, aggFunc, updateType, getStaleness(), freq, workerNum, model, aggServiceEC, getValFunction(),
 				getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics), val_features, val_labels);
 		// Create the local workers
 		int finalNumBatchesPerEpoch = getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics);
 		List<FederatedPSControlThread> threads = IntStream.range(0, workerNum)
 			.mapToObj(i -> new FederatedPSControlThread(i, updFunc, freq, runtimeBalancing, weighting,
-				getEpochs(), getBatchSize(), finalNumBatchesPerEpoch, federatedWorkerECs.get(i), ps))
+				compression, compressionRatio, getEpochs(), getBatchSize(), finalNumBatchesPerEpoch, federatedWorkerECs.get(i), ps))
 			.collect(Collectors.toList());
 		if(workerNum != threads.size()) {
 			throw new DMLRuntimeException("ParamservBuiltinCPInstruction: Federated data partitioning does not match threads!");
@@ -234,6 +247,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 
 		// Create the parameter server
 		ListObject model = sec.getListObject(getParam(PS_MODEL));
+		if (getUpdateType().isSSP())
+			throw new DMLRuntimeException("Paramserv function: Not support update type SSP in mode " + mode + ".");
 		ParamServer ps = createPS(mode, aggFunc, getUpdateType(), getFrequency(), workerNum, model, aggServiceEC);
 
 		// Get driver host
@@ -326,7 +341,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		ListObject model = ec.getListObject(getParam(PS_MODEL));
 		MatrixObject val_features = (getParam(PS_VAL_FEATURES) != null) ? ec.getMatrixObject(getParam(PS_VAL_FEATURES)) : null;
 		MatrixObject val_labels = (getParam(PS_VAL_LABELS) != null) ? ec.getMatrixObject(getParam(PS_VAL_LABELS)) : null;
-		ParamServer ps = createPS(mode, aggFunc, updateType, freq, workerNum, model, aggServiceEC, getValFunction(),
+		ParamServer ps = createPS(mode, aggFunc, updateType, getStaleness(), freq, workerNum, model, aggServiceEC, getValFunction(),
 				num_batches_per_epoch, val_features, val_labels);
 
 		// Create the local workers
@@ -410,11 +425,21 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		} catch (IllegalArgumentException e) {
 			throw new DMLRuntimeException(String.format("Paramserv function: not support update type '%s'.", getParam(PS_UPDATE_TYPE)));
 		}
-		if (updType == PSUpdateType.SSP)
-			throw new DMLRuntimeException("Paramserv function: Not support update type SSP.");
 		return updType;
 	}
 
+	private int getStaleness() {
+		if (!getParameterMap().containsKey(PS_STALENESS)) {
+			return DEFAULT_STALENESS;
+		}
+		int staleness = Integer.valueOf(getParam(PS_STALENESS));
+		if (staleness < 0) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' could not be less than 0.", PS_STALENESS));
+		}
+		return staleness;
+	}
+
 	private PSFrequency getFrequency() {
 		if (!getParameterMap().containsKey(PS_FREQUENCY)) {
 			return DEFAULT_UPDATE_FREQUENCY;
@@ -470,19 +495,19 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType,
 		PSFrequency freq, int workerNum, ListObject model, ExecutionContext ec)
 	{
-		return createPS(mode, aggFunc, updateType, freq, workerNum, model, ec, null, -1, null, null);
+		return createPS(mode, aggFunc, updateType, -1, freq, workerNum, model, ec, null, -1, null, null);
 	}
 
 	// When this creation is used the parameter server is able to validate after each epoch
 	private static ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType,
-		PSFrequency freq, int workerNum, ListObject model, ExecutionContext ec, String valFunc,
+		int staleness, PSFrequency freq, int workerNum, ListObject model, ExecutionContext ec, String valFunc,
 		int numBatchesPerEpoch, MatrixObject valFeatures, MatrixObject valLabels)
 	{
 		switch (mode) {
 			case FEDERATED:
 			case LOCAL:
 			case REMOTE_SPARK:
-				return LocalParamServer.create(model, aggFunc, updateType, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels);
+				return LocalParamServer.create(model, aggFunc, updateType, staleness, freq, ec, workerNum, valFunc, numBatchesPerEpoch, valFeatures, valLabels);
 			default:
 				throw new DMLRuntimeException("Unsupported parameter server: " + mode.name());
 		}
@@ -578,6 +603,30 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		return getParameterMap().containsKey(PS_FED_WEIGHTING) && Boolean.parseBoolean(getParam(PS_FED_WEIGHTING));
 	}
 
+	private PSGradientCompression getCompression() {
+		if (!getParameterMap().containsKey(PS_FED_COMPRESSION)) {
+			return DEFAULT_COMPRESSION;
+		}
+		try {
+			return PSGradientCompression.valueOf(getParam(PS_FED_COMPRESSION));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "not support '%s' gradient compression.", getParam(PS_FED_COMPRESSION)));
+		}
+	}
+
+	private double getCompressionRatio() {
+		if (!getParameterMap().containsKey(PS_FED_COMPRESSION_RATIO)) {
+			return GradientCompression.DEFAULT_TOPK_RATIO;
+		}
+		double ratio = Double.parseDouble(getParam(PS_FED_COMPRESSION_RATIO));
+		if (ratio <= 0 || ratio > 1) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' must be in (0, 1].", PS_FED_COMPRESSION_RATIO));
+		}
+		return ratio;
+	}
+
 	private String getValFunction() {
 		if (getParameterMap().containsKey(PS_VAL_FUN)) {
 			return getParam(PS_VAL_FUN);
@@ -24,6 +24,7 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixQuantile;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 
@@ -78,6 +79,10 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction {
 		return null;
 	}
 	
+	public boolean isSelect() {
+		return _type.isSelect();
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		switch( _type ) 
@@ -113,6 +118,32 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction {
 				}
 				break;
 				
+			case VALUESELECT: {
+				//selection on unsorted input (no qsort)
+				MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
+				if ( input2.getDataType() == DataType.SCALAR ) {
+					ScalarObject quantile = ec.getScalarInput(input2);
+					double picked = LibMatrixQuantile.pickValue(matBlock, quantile.getDoubleValue());
+					ec.setScalarOutput(output.getName(), new DoubleObject(picked));
+				}
+				else {
+					MatrixBlock quantiles = ec.getMatrixInput(input2.getName());
+					MatrixBlock resultBlock = LibMatrixQuantile.pickValues(matBlock, quantiles, new MatrixBlock());
+					ec.releaseMatrixInput(input2.getName());
+					ec.setMatrixOutput(output.getName(), resultBlock);
+				}
+				ec.releaseMatrixInput(input1.getName());
+				break;
+			}
+			
+			case MEDIANSELECT: {
+				//selection on unsorted input (no qsort)
+				double picked = LibMatrixQuantile.median(ec.getMatrixInput(input1.getName()));
+				ec.setScalarOutput(output.getName(), new DoubleObject(picked));
+				ec.releaseMatrixInput(input1.getName());
+				break;
+			}
+			
 			case IQM:
 				if( _inmem ) //INMEM IQM
 				{
@@ -20,12 +20,11 @@
 package org.apache.sysds.runtime.instructions.cp;
 
 import org.apache.sysds.lops.SortKeys;
-import org.apache.sysds.common.Types.DataType;
-import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
  * This class supports two variants of sort operation on a 1-dimensional input matrix. 
@@ -33,38 +32,42 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
  * Example instructions: 
  *     sort:mVar1:mVar2 (input=mVar1, output=mVar2)
  *     sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
+ * with an optional trailing number of threads for multi-threaded sorting.
  *  
  */
 public class QuantileSortCPInstruction extends UnaryCPInstruction {
+	private final int _numThreads;
 
-	private QuantileSortCPInstruction(CPOperand in, CPOperand out, String opcode, String istr) {
-		this(in, null, out, opcode, istr);
+	private QuantileSortCPInstruction(CPOperand in, CPOperand out, String opcode, String istr, int k) {
+		this(in, null, out, opcode, istr, k);
 	}
 
 	private QuantileSortCPInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode,
-			String istr) {
+			String istr, int k) {
 		super(CPType.QSort, null, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 
 	public static QuantileSortCPInstruction parseInstruction ( String str ) {
-		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		CPOperand in2 = null;
-		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase(SortKeys.OPCODE) ) {
-			if ( parts.length == 3 ) {
+			//optional number of threads as last operand
+			int k = getNumThreads(parts);
+			int numParts = parts.length - ((k > 0) ? 1 : 0);
+			if ( numParts == 3 ) {
 				// Example: sort:mVar1:mVar2 (input=mVar1, output=mVar2)
-				parseUnaryInstruction(str, in1, out);
-				return new QuantileSortCPInstruction(in1, out, opcode, str);
+				CPOperand in1 = new CPOperand(parts[1]);
+				CPOperand out = new CPOperand(parts[2]);
+				return new QuantileSortCPInstruction(in1, out, opcode, str, Math.max(k, 1));
 			}
-			else if ( parts.length == 4 ) {
+			else if ( numParts == 4 ) {
 				// Example: sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
-				in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-				parseUnaryInstruction(str, in1, in2, out);
-				return new QuantileSortCPInstruction(in1, in2, out, opcode, str);
+				CPOperand in1 = new CPOperand(parts[1]);
+				CPOperand in2 = new CPOperand(parts[2]);
+				CPOperand out = new CPOperand(parts[3]);
+				return new QuantileSortCPInstruction(in1, in2, out, opcode, str, Math.max(k, 1));
 			}
 			else {
 				throw new DMLRuntimeException("Invalid number of operands in instruction: " + str);
@@ -75,6 +78,23 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction {
 		}
 	}
 	
+	/**
+	 * Obtains the optional number of threads of a parsed qsort instruction,
+	 * which is only appended for CP and FED instructions.
+	 * 
+	 * @param parts instruction parts, incl opcode
+	 * @return number of threads, or -1 if not specified
+	 */
+	public static int getNumThreads(String[] parts) {
+		String last = parts[parts.length-1];
+		return (parts.length > 3 && !last.isEmpty() && UtilFunctions.isIntegerNumber(last)) ?
+			Integer.parseInt(last) : -1;
+	}
+	
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		//acquire inputs matrices
@@ -85,7 +105,7 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction {
 		}
 		
  		//process core instruction
-		MatrixBlock resultBlock = matBlock.sortOperations(wtBlock, new MatrixBlock());
+		MatrixBlock resultBlock = matBlock.sortOperations(wtBlock, new MatrixBlock(), _numThreads);
 		
 		//release inputs
 		ec.releaseMatrixInput(input1.getName());
@@ -38,6 +38,7 @@ import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DoubleObject;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.LibMatrixQuantile;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 
@@ -108,17 +109,18 @@ public class QuantilePickFEDInstruction extends BinaryFEDInstruction {
 				switch( _type )
 				{
 					case VALUEPICK:
+					case VALUESELECT:
 						if(input2.isScalar()) {
 							ScalarObject quantile = ec.getScalarInput(input2);
 							response = data.executeFederatedOperation(
 								new FederatedRequest(FederatedRequest.RequestType.EXEC_UDF,-1,
-								new QuantilePickFEDInstruction.ValuePick(data.getVarID(), quantile))).get();
+								new QuantilePickFEDInstruction.ValuePick(data.getVarID(), quantile, _type.isSelect()))).get();
 						}
 						else {
 							MatrixBlock quantiles = ec.getMatrixInput(input2.getName());
 							response = data.executeFederatedOperation(
 								new FederatedRequest(FederatedRequest.RequestType.EXEC_UDF,-1,
-								new QuantilePickFEDInstruction.ValuePick(data.getVarID(), quantiles))).get();
+								new QuantilePickFEDInstruction.ValuePick(data.getVarID(), quantiles, _type.isSelect()))).get();
 						}
 						break;
 					case IQM:
@@ -128,9 +130,10 @@ public class QuantilePickFEDInstruction extends BinaryFEDInstruction {
 								new QuantilePickFEDInstruction.IQM(data.getVarID()))).get();
 						break;
 					case MEDIAN:
+					case MEDIANSELECT:
 						response = data
 							.executeFederatedOperation(new FederatedRequest(FederatedRequest.RequestType.EXEC_UDF, -1,
-								new QuantilePickFEDInstruction.Median(data.getVarID()))).get();
+								new QuantilePickFEDInstruction.Median(data.getVarID(), _type.isSelect()))).get();
 						break;
 					default:
 						throw new DMLRuntimeException("Unsupported qpick operation type: "+_type);
@@ -159,26 +162,31 @@ public class QuantilePickFEDInstruction extends BinaryFEDInstruction {
 
 		private static final long serialVersionUID = -2594912886841345102L;
 		private final MatrixBlock _quantiles;
+		private final boolean _select;
 
-		protected ValuePick(long input, ScalarObject quantile) {
+		protected ValuePick(long input, ScalarObject quantile, boolean select) {
 			super(new long[] {input});
 			_quantiles = new MatrixBlock(quantile.getDoubleValue());
+			_select = select;
 		}
 
-		protected ValuePick(long input, MatrixBlock quantiles) {
+		protected ValuePick(long input, MatrixBlock quantiles, boolean select) {
 			super(new long[] {input});
 			_quantiles = quantiles;
+			_select = select;
 		}
 		@Override
 		public FederatedResponse execute(ExecutionContext ec, Data... data) {
 			MatrixBlock mb = ((MatrixObject)data[0]).acquireReadAndRelease();
 			MatrixBlock picked;
 			if (_quantiles.getLength() == 1) {
+				double q = _quantiles.getValue(0, 0);
 				return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
-					new Object[] {mb.pickValue(_quantiles.getValue(0, 0))});
+					new Object[] {_select ? LibMatrixQuantile.pickValue(mb, q) : mb.pickValue(q)});
 			}
 			else {
-				picked = mb.pickValues(_quantiles, new MatrixBlock());
+				picked = _select ? LibMatrixQuantile.pickValues(mb, _quantiles, new MatrixBlock()) :
+					mb.pickValues(_quantiles, new MatrixBlock());
 				return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
 					new Object[] {picked});
 			}
@@ -212,15 +220,17 @@ public class QuantilePickFEDInstruction extends BinaryFEDInstruction {
 	private static class Median extends FederatedUDF {
 
 		private static final long serialVersionUID = -2808597461054603816L;
+		private final boolean _select;
 
-		protected Median(long input) {
+		protected Median(long input, boolean select) {
 			super(new long[] {input});
+			_select = select;
 		}
 		@Override
 		public FederatedResponse execute(ExecutionContext ec, Data... data) {
 			MatrixBlock mb = ((MatrixObject)data[0]).acquireReadAndRelease();
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
-				new Object[] {mb.median()});
+				new Object[] {_select ? LibMatrixQuantile.median(mb) : mb.median()});
 		}
 		@Override
 		public Pair<String, LineageItem> getLineageItem(ExecutionContext ec) {
@@ -20,7 +20,6 @@
 package org.apache.sysds.runtime.instructions.fed;
 
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.sysds.common.Types;
 import org.apache.sysds.lops.SortKeys;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
@@ -33,39 +32,43 @@ import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.QuantileSortCPInstruction;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public class QuantileSortFEDInstruction extends UnaryFEDInstruction{
+	private final int _numThreads;
 
-	private QuantileSortFEDInstruction(CPOperand in, CPOperand out, String opcode, String istr) {
-		this(in, null, out, opcode, istr);
+	private QuantileSortFEDInstruction(CPOperand in, CPOperand out, String opcode, String istr, int k) {
+		this(in, null, out, opcode, istr, k);
 	}
 
 	private QuantileSortFEDInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode,
-		String istr) {
+		String istr, int k) {
 		super(FEDInstruction.FEDType.QSort, null, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 
 	public static QuantileSortFEDInstruction parseInstruction ( String str ) {
-		CPOperand in1 = new CPOperand("", Types.ValueType.UNKNOWN, Types.DataType.UNKNOWN);
-		CPOperand in2 = null;
-		CPOperand out = new CPOperand("", Types.ValueType.UNKNOWN, Types.DataType.UNKNOWN);
-
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
 		String opcode = parts[0];
 
 		if ( opcode.equalsIgnoreCase(SortKeys.OPCODE) ) {
-			if ( parts.length == 3 ) {
+			//optional number of threads as last operand (not in converted spark instructions)
+			int k = QuantileSortCPInstruction.getNumThreads(parts);
+			int numParts = parts.length - ((k > 0) ? 1 : 0);
+			if ( numParts == 3 ) {
 				// Example: sort:mVar1:mVar2 (input=mVar1, output=mVar2)
-				parseUnaryInstruction(str, in1, out);
-				return new QuantileSortFEDInstruction(in1, out, opcode, str);
+				CPOperand in1 = new CPOperand(parts[1]);
+				CPOperand out = new CPOperand(parts[2]);
+				return new QuantileSortFEDInstruction(in1, out, opcode, str, Math.max(k, 1));
 			}
-			else if ( parts.length == 4 ) {
+			else if ( numParts == 4 ) {
 				// Example: sort:mVar1:mVar2:mVar3 (input=mVar1, weights=mVar2, output=mVar3)
-				in2 = new CPOperand("", Types.ValueType.UNKNOWN, Types.DataType.UNKNOWN);
-				parseUnaryInstruction(str, in1, in2, out);
-				return new QuantileSortFEDInstruction(in1, in2, out, opcode, str);
+				CPOperand in1 = new CPOperand(parts[1]);
+				CPOperand in2 = new CPOperand(parts[2]);
+				CPOperand out = new CPOperand(parts[3]);
+				return new QuantileSortFEDInstruction(in1, in2, out, opcode, str, Math.max(k, 1));
 			}
 			else {
 				throw new DMLRuntimeException("Invalid number of operands in instruction: " + str);
@@ -119,7 +122,7 @@ public class QuantileSortFEDInstruction extends UnaryFEDInstruction{
 
 				FederatedResponse response = data
 					.executeFederatedOperation(new FederatedRequest(FederatedRequest.RequestType.EXEC_UDF, -1,
-						new GetSorted(data.getVarID(), varID, wtBlock))).get();
+						new GetSorted(data.getVarID(), varID, wtBlock, _numThreads))).get();
 				if(!response.isSuccessful())
 					response.throwExceptionFromResponse();
 			}
@@ -142,17 +145,19 @@ public class QuantileSortFEDInstruction extends UnaryFEDInstruction{
 		private static final long serialVersionUID = -1969015577260167645L;
 		private final long _outputID;
 		private final MatrixBlock _weights;
+		private final int _numThreads;
 
-		protected GetSorted(long input, long outputID, MatrixBlock weights) {
+		protected GetSorted(long input, long outputID, MatrixBlock weights, int k) {
 			super(new long[] {input});
 			_outputID = outputID;
 			_weights = weights;
+			_numThreads = k;
 		}
 		@Override
 		public FederatedResponse execute(ExecutionContext ec, Data... data) {
 			MatrixBlock mb = ((MatrixObject) data[0]).acquireReadAndRelease();
 
-			MatrixBlock res = mb.sortOperations(_weights, new MatrixBlock());
+			MatrixBlock res = mb.sortOperations(_weights, new MatrixBlock(), _numThreads);
 
 			MatrixObject mout = ExecutionContext.createMatrixObject(res);
 
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.instructions.spark;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.common.Types.CorrectionLocationType;
@@ -33,16 +34,21 @@ import org.apache.sysds.runtime.data.BasicTensorBlock;
 import org.apache.sysds.runtime.data.TensorBlock;
 import org.apache.sysds.runtime.data.TensorIndexes;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.AggregateUnaryCPInstruction.AUType;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.spark.functions.AggregateDropCorrectionFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.FilterDiagMatrixBlocksFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.FilterNonEmptyBlocksFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysds.runtime.matrix.data.HyperLogLogSketch;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.data.OperationsOnMatrixValues;
 import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
+import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import scala.Tuple2;
 
@@ -50,9 +56,9 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 	private SparkAggType _aggtype = null;
 	private AggregateOperator _aop = null;
 
-	protected AggregateUnarySPInstruction(SPType type, AggregateUnaryOperator auop, AggregateOperator aop, CPOperand in,
+	protected AggregateUnarySPInstruction(SPType type, Operator op, AggregateOperator aop, CPOperand in,
 			CPOperand out, SparkAggType aggtype, String opcode, String istr) {
-		super(type, auop, in, out, opcode, istr);
+		super(type, op, in, out, opcode, istr);
 		_aggtype = aggtype;
 		_aop = aop;
 	}
@@ -66,6 +72,11 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 		CPOperand out = new CPOperand(parts[2]);
 		SparkAggType aggtype = SparkAggType.valueOf(parts[3]);
 		
+		if( opcode.equalsIgnoreCase("uacdap") ) {
+			CountDistinctOperator op = new CountDistinctOperator(AUType.COUNT_DISTINCT_APPROX);
+			return new AggregateUnarySPInstruction(SPType.AggregateUnary, op, null, in1, out, aggtype, opcode, str);
+		}
+		
 		String aopcode = InstructionUtils.deriveAggregateOperatorOpcode(opcode);
 		CorrectionLocationType corrLoc = InstructionUtils.deriveAggregateOperatorCorrectionLocation(opcode);
 		
@@ -91,6 +102,23 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in = sec.getBinaryMatrixBlockRDDHandleForVariable( input1.getName() );
 		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in;
 
+		//approximate count distinct via mergeable sketches (fold for empty RDDs)
+		if( _optr instanceof CountDistinctOperator ) {
+			CountDistinctOperator op = (CountDistinctOperator)_optr;
+			Tuple2<HyperLogLogSketch, Long> ret = in.values()
+				.map(new RDDCountDistinctSketchFunction(op.precision))
+				.fold(new Tuple2<>(new HyperLogLogSketch(op.precision), 0L), new RDDCountDistinctMergeFunction());
+			//zeros of materialized blocks are already sketched, but empty blocks
+			//might not be materialized (i.e., fewer blocks than expected)
+			HyperLogLogSketch sketch = ret._1();
+			if( !mc.dimsKnown() || ret._2() < mc.getNumBlocks() )
+				sketch.add(0);
+			MatrixBlock out3 = new MatrixBlock(1, 1, false);
+			out3.quickSetValue(0, 0, Math.max(sketch.estimate(), 1));
+			sec.setMatrixOutput(output.getName(), out3);
+			return;
+		}
+
 		//filter input blocks for trace
 		if( getOpcode().equalsIgnoreCase("uaktrace") )
 			out = out.filter(new FilterDiagMatrixBlocksFunction());
@@ -198,6 +226,34 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 		}
 	}
 
+	private static class RDDCountDistinctSketchFunction implements Function<MatrixBlock, Tuple2<HyperLogLogSketch, Long>>
+	{
+		private static final long serialVersionUID = -8283919347327468163L;
+		
+		private final int _precision;
+		
+		public RDDCountDistinctSketchFunction( int precision ) {
+			_precision = precision;
+		}
+		
+		@Override
+		public Tuple2<HyperLogLogSketch, Long> call( MatrixBlock arg0 ) {
+			//sketch and number of blocks
+			return new Tuple2<>(LibMatrixCountDistinct.createSketch(arg0, _precision), 1L);
+		}
+	}
+	
+	private static class RDDCountDistinctMergeFunction implements Function2<Tuple2<HyperLogLogSketch, Long>,
+		Tuple2<HyperLogLogSketch, Long>, Tuple2<HyperLogLogSketch, Long>>
+	{
+		private static final long serialVersionUID = 4186452963658911253L;
+		
+		@Override
+		public Tuple2<HyperLogLogSketch, Long> call( Tuple2<HyperLogLogSketch, Long> arg0, Tuple2<HyperLogLogSketch, Long> arg1 ) {
+			return new Tuple2<>(arg0._1().merge(arg1._1()), arg0._2() + arg1._2());
+		}
+	}
+
 	private static class RDDUAggFunction implements PairFunction<Tuple2<MatrixIndexes, MatrixBlock>, MatrixIndexes, MatrixBlock>
 	{
 		private static final long serialVersionUID = 2672082409287856038L;
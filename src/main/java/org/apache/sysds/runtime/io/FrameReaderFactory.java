@@ -65,8 +65,10 @@ public class FrameReaderFactory {
 					reader = new FrameReaderBinaryBlock();
 				break;
 			case PROTO:
-				// TODO performance improvement: add parallel reader
-				reader = new FrameReaderProto();
+				if(ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS))
+					reader = new FrameReaderProtoParallel();
+				else
+					reader = new FrameReaderProto();
 				break;
 
 			default:
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
@@ -56,20 +57,41 @@ public class FrameReaderProto extends FrameReader {
 		return outputFrameBlock;
 	}
 
-	private static void readProtoFrameFromHDFS(Path path, FileSystem fileSystem, FrameBlock dest, long rlen, long clen)
+	protected void readProtoFrameFromHDFS(Path path, FileSystem fileSystem, FrameBlock dest, long rlen, long clen)
 		throws IOException {
-		SysdsProtos.Frame frame = readProtoFrameFromFile(path, fileSystem);
-		for(int row = 0; row < rlen; row++) {
+		// read part files in order, each file holds a contiguous range of rows
+		int row = 0;
+		for(Path lpath : getProtoFilePaths(fileSystem, path)) {
+			SysdsProtos.Frame frame = readProtoFrameFromFile(lpath, fileSystem);
+			row += copyProtoFrameToFrameBlock(frame, dest, row, rlen, clen);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fileSystem, path);
+	}
+
+	protected static Path[] getProtoFilePaths(FileSystem fileSystem, Path path) throws IOException {
+		Path[] paths = IOUtilFunctions.getSequenceFilePaths(fileSystem, path);
+		// part file names are zero-padded, hence name order is row order
+		Arrays.sort(paths);
+		return paths;
+	}
+
+	protected static int copyProtoFrameToFrameBlock(SysdsProtos.Frame frame, FrameBlock dest, int rowOffset, long rlen,
+		long clen) throws IOException {
+		int numRows = frame.getRowsCount();
+		if(rowOffset + numRows > rlen)
+			throw new IOException("Frame dimensions mismatch with metadata: more than " + rlen + " rows in input.");
+		for(int row = 0; row < numRows; row++) {
+			SysdsProtos.Row protoRow = frame.getRows(row);
 			for(int column = 0; column < clen; column++) {
-				dest.set(row,
+				dest.set(rowOffset + row,
 					column,
-					UtilFunctions.stringToObject(Types.ValueType.STRING, frame.getRows(row).getColumnData(column)));
+					UtilFunctions.stringToObject(Types.ValueType.STRING, protoRow.getColumnData(column)));
 			}
 		}
-		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fileSystem, path);
+		return numRows;
 	}
 
-	private static SysdsProtos.Frame readProtoFrameFromFile(Path path, FileSystem fileSystem) throws IOException {
+	protected static SysdsProtos.Frame readProtoFrameFromFile(Path path, FileSystem fileSystem) throws IOException {
 		FSDataInputStream fsDataInputStream = fileSystem.open(path);
 		try {
 			return SysdsProtos.Frame.newBuilder().mergeFrom(fsDataInputStream).build();
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.protobuf.SysdsProtos;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded frame proto reader.
+ * 
+ * Since the number of rows per part file is only known after parsing, part files are
+ * first parsed concurrently and then copied concurrently into the output frame block
+ * according to the resulting row offsets.
+ */
+public class FrameReaderProtoParallel extends FrameReaderProto {
+	@Override
+	protected void readProtoFrameFromHDFS(Path path, FileSystem fileSystem, FrameBlock dest, long rlen, long clen)
+		throws IOException {
+		Path[] paths = getProtoFilePaths(fileSystem, path);
+		int numThreads = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), paths.length);
+
+		//fall back to sequential read for single files
+		if(numThreads <= 1) {
+			super.readProtoFrameFromHDFS(path, fileSystem, dest, rlen, clen);
+			return;
+		}
+
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			//parse all part files
+			ArrayList<ReadFileTask> rtasks = new ArrayList<>();
+			for(Path lpath : paths)
+				rtasks.add(new ReadFileTask(lpath, fileSystem));
+			List<SysdsProtos.Frame> frames = new ArrayList<>();
+			for(Future<SysdsProtos.Frame> task : pool.invokeAll(rtasks))
+				frames.add(task.get());
+
+			//compute row offsets and copy into output
+			ArrayList<CopyTask> ctasks = new ArrayList<>();
+			long offset = 0;
+			for(SysdsProtos.Frame frame : frames) {
+				ctasks.add(new CopyTask(frame, dest, (int) offset, rlen, clen));
+				offset += frame.getRowsCount();
+			}
+			if(offset > rlen)
+				throw new IOException("Frame dimensions mismatch with metadata: " + offset + " vs " + rlen + " rows.");
+			for(Future<Object> task : pool.invokeAll(ctasks))
+				task.get();
+		}
+		catch(IOException e) {
+			throw e;
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of proto input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fileSystem, path);
+	}
+
+	private static class ReadFileTask implements Callable<SysdsProtos.Frame> {
+		private final Path _path;
+		private final FileSystem _fs;
+
+		public ReadFileTask(Path path, FileSystem fs) {
+			_path = path;
+			_fs = fs;
+		}
+
+		@Override
+		public SysdsProtos.Frame call() throws Exception {
+			return readProtoFrameFromFile(_path, _fs);
+		}
+	}
+
+	private static class CopyTask implements Callable<Object> {
+		private final SysdsProtos.Frame _frame;
+		private final FrameBlock _dest;
+		private final int _rl;
+		private final long _rlen;
+		private final long _clen;
+
+		public CopyTask(SysdsProtos.Frame frame, FrameBlock dest, int rl, long rlen, long clen) {
+			_frame = frame;
+			_dest = dest;
+			_rl = rl;
+			_rlen = rlen;
+			_clen = clen;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			copyProtoFrameToFrameBlock(_frame, _dest, _rl, _rlen, _clen);
+			return null;
+		}
+	}
+}
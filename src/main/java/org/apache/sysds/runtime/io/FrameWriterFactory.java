@@ -57,8 +57,10 @@ public class FrameWriterFactory
 				break;
 
 			case PROTO:
-				// TODO performance improvement: add parallel reader
-				writer = new FrameWriterProto();
+				if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+					writer = new FrameWriterProtoParallel();
+				else
+					writer = new FrameWriterProto();
 				break;
 			
 			default:
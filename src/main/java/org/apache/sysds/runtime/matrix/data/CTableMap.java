@@ -75,6 +75,20 @@ public class CTableMap
 		_maxCol = Math.max(_maxCol, col);
 	}
 
+	/**
+	 * Aggregates all entries of the given map (e.g., a thread-local
+	 * partial ctable) into this map.
+	 * 
+	 * @param that ctable map
+	 */
+	public void merge(CTableMap that) {
+		Iterator<ADoubleEntry> iter = that.getIterator();
+		while( iter.hasNext() ) {
+			ADoubleEntry e = iter.next();
+			aggregate(e.getKey1(), e.getKey2(), e.value);
+		}
+	}
+
 	public MatrixBlock toMatrixBlock(int rlen, int clen)
 	{
 		//allocate new matrix block
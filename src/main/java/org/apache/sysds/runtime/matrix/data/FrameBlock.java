@@ -65,6 +65,7 @@ import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DMVUtils;
 import org.apache.sysds.runtime.util.EMAUtils;
 import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.runtime.util.StringLongHashMap;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 @SuppressWarnings({"rawtypes","unchecked"}) //allow generic native arrays
@@ -1237,16 +1238,16 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 	 * @param col	is the column # from frame data which contains Recode map generated earlier.
 	 * @return map of token and code for every element in the input column of a frame containing Recode map
 	 */
-	public HashMap<String,Long> getRecodeMap(int col) {
+	public StringLongHashMap getRecodeMap(int col) {
 		//probe cache for existing map
 		if( REUSE_RECODE_MAPS ) {
-			SoftReference<HashMap<String,Long>> tmp = _coldata[col]._rcdMapCache;
-			HashMap<String,Long> map = (tmp!=null) ? tmp.get() : null;
+			SoftReference<StringLongHashMap> tmp = _coldata[col]._rcdMapCache;
+			StringLongHashMap map = (tmp!=null) ? tmp.get() : null;
 			if( map != null ) return map;
 		}
 
 		//construct recode map
-		HashMap<String,Long> map = new HashMap<>();
+		StringLongHashMap map = new StringLongHashMap(getNumRows());
 		Array ldata = _coldata[col];
 		for( int i=0; i<getNumRows(); i++ ) {
 			Object val = ldata.get(i);
@@ -1468,7 +1469,7 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 	 * in order to avoid unnecessary dependencies.
 	 */
 	private abstract static class Array<T> implements Writable {
-		protected SoftReference<HashMap<String,Long>> _rcdMapCache = null;
+		protected SoftReference<StringLongHashMap> _rcdMapCache = null;
 
 		protected int _size = 0;
 		protected int newSize() {
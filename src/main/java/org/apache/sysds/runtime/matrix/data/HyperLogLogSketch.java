@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.io.Serializable;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * HyperLogLog sketch for distinct-value estimation of double values.
+ *
+ * Philippe Flajolet, Eric Fusy, Olivier Gandouet, Frederic Meunier:
+ *
+ * HyperLogLog: the analysis of a near-optimal cardinality estimation algorithm. AofA 2007
+ *
+ * The sketch consists of 2^p one-byte registers, independent of the input size (4KB for the default precision
+ * p=12, with a standard error of about 1.04/sqrt(2^p) = 1.6%). Values are hashed to 64 bits, which avoids the large
+ * range correction of the original 32-bit formulation, and small cardinalities are estimated via linear counting.
+ * Sketches of the same precision are mergeable, which allows building sketches per thread or per block and
+ * aggregating them afterwards.
+ */
+public class HyperLogLogSketch implements Serializable {
+	private static final long serialVersionUID = -4386146458823780591L;
+
+	public static final int MIN_PRECISION = 4;
+	public static final int MAX_PRECISION = 18;
+	public static final int DEFAULT_PRECISION = 12;
+
+	private final int _p;
+	private final byte[] _registers;
+
+	public HyperLogLogSketch() {
+		this(DEFAULT_PRECISION);
+	}
+
+	public HyperLogLogSketch(int precision) {
+		if(precision < MIN_PRECISION || precision > MAX_PRECISION)
+			throw new DMLRuntimeException("Invalid HyperLogLog precision " + precision + " (valid range: "
+				+ MIN_PRECISION + " to " + MAX_PRECISION + ")");
+		_p = precision;
+		_registers = new byte[1 << precision];
+	}
+
+	public int getPrecision() {
+		return _p;
+	}
+
+	/**
+	 * Adds a single value to the sketch.
+	 *
+	 * @param v the value
+	 */
+	public void add(double v) {
+		long h = hash(v);
+		int ix = (int) (h >>> (64 - _p));
+		// rank of the first 1-bit in the remaining bits (bounded by the guard bit)
+		byte rank = (byte) (Long.numberOfLeadingZeros((h << _p) | (1L << (_p - 1))) + 1);
+		if(_registers[ix] < rank)
+			_registers[ix] = rank;
+	}
+
+	/**
+	 * Adds a range of values to the sketch.
+	 *
+	 * @param values the values
+	 * @param pos    start position
+	 * @param len    number of values
+	 */
+	public void add(double[] values, int pos, int len) {
+		for(int i = pos; i < pos + len; i++)
+			add(values[i]);
+	}
+
+	/**
+	 * Merges the given sketch into this sketch, which is equivalent to a sketch built over the union of both inputs.
+	 *
+	 * @param that sketch of the same precision
+	 * @return this sketch
+	 */
+	public HyperLogLogSketch merge(HyperLogLogSketch that) {
+		if(_p != that._p)
+			throw new DMLRuntimeException("Cannot merge HyperLogLog sketches of different precision: " + _p
+				+ " vs " + that._p);
+		for(int i = 0; i < _registers.length; i++)
+			if(_registers[i] < that._registers[i])
+				_registers[i] = that._registers[i];
+		return this;
+	}
+
+	/**
+	 * Estimates the number of distinct values added to this sketch.
+	 *
+	 * @return the distinct count estimate
+	 */
+	public long estimate() {
+		final int m = _registers.length;
+		double sum = 0;
+		int zeros = 0;
+		for(byte r : _registers) {
+			sum += Double.longBitsToDouble((1023L - r) << 52); // 2^-r
+			zeros += (r == 0) ? 1 : 0;
+		}
+		double est = getAlpha(m) * m * m / sum;
+
+		// small range correction via linear counting
+		if(est <= 2.5 * m && zeros > 0)
+			est = m * Math.log((double) m / zeros);
+		return Math.round(est);
+	}
+
+	private static double getAlpha(int m) {
+		switch(m) {
+			case 16:
+				return 0.673;
+			case 32:
+				return 0.697;
+			case 64:
+				return 0.709;
+			default:
+				return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+
+	private static long hash(double v) {
+		// normalize -0.0 (NaNs are already collapsed by doubleToLongBits)
+		long h = Double.doubleToLongBits(v == 0 ? 0d : v);
+		// murmur3 64-bit finalizer
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
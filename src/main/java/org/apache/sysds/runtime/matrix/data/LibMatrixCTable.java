@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.LongLongDoubleHashMap.EntryType;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Multi-threaded ctable (contingency table) operations. The rows of the
+ * inputs are partitioned into k row ranges, for which we build thread-local
+ * partial results that are finally merged into the given result map or
+ * result block. If the output is dense with known dimensions and small
+ * compared to the input, we use thread-local dense partials, which are
+ * merged by simple additions; otherwise we use thread-local hash maps
+ * (CTableMap) in order to avoid allocating k large outputs. The ctable
+ * expand case, ctable(seq(1,nrow(B)),B,w), writes every row exactly
+ * once and thus directly populates disjoint rows of the sparse output.
+ */
+public class LibMatrixCTable
+{
+	//internal configuration
+	private static final long PAR_NUMCELL_THRESHOLD = 64*1024; //Min 64K elements
+
+	private LibMatrixCTable() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Computes D = ctable(A,B,W) and its variants with scalar inputs, where
+	 * either the result map (hash aggregation) or the dense result block is
+	 * populated. Semantically equivalent to the ctableOperations of
+	 * {@link MatrixBlock}, but potentially multi-threaded.
+	 *
+	 * @param A first input matrix
+	 * @param B second input matrix, or null if scalar b is used
+	 * @param b scalar second input (only used if B is null)
+	 * @param W weight matrix, or null if scalar w is used
+	 * @param w scalar weight (only used if W is null)
+	 * @param ignoreZeros if true, skip cells where both A and B are zero
+	 * @param resultMap result map, used if resultBlock is null
+	 * @param resultBlock dense result block of known dimensions, or null
+	 * @param k degree of parallelism
+	 */
+	public static void ctable(MatrixBlock A, MatrixBlock B, double b, MatrixBlock W, double w,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int k)
+	{
+		if( A instanceof CompressedMatrixBlock ) {
+			//compressed inputs over codes and dictionaries (w/ decompression fallback)
+			ctableCompressed((CompressedMatrixBlock) A, B, b, W, w, ignoreZeros, resultMap, resultBlock);
+			return;
+		}
+		if( !satisfiesMultiThreadingConstraints(A, k) ) {
+			ctableRange(A, B, b, W, w, ignoreZeros, resultMap, resultBlock, 0, A.getNumRows());
+			if( resultBlock != null )
+				resultBlock.recomputeNonZeros();
+			return;
+		}
+
+		//use dense partials if k dense outputs are not larger than the input,
+		//otherwise thread-local hash maps that are proportional to the input
+		final long inCells = (long)A.getNumRows() * A.getNumColumns();
+		final boolean densePartials = resultBlock != null
+			&& (long)k * resultBlock.getNumRows() * resultBlock.getNumColumns() <= inCells;
+
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<CTableTask> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions
+				.getBalancedBlockSizesDefault(A.getNumRows(), k, true);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new CTableTask(A, B, b, W, w, ignoreZeros,
+					densePartials ? resultBlock : null, lb, lb+blklens.get(i)));
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			//merge thread-local partial results
+			if( resultBlock != null )
+				resultBlock.allocateDenseBlock();
+			for( Future<Object> rtask : rtasks ) {
+				Object part = rtask.get();
+				if( part instanceof MatrixBlock )
+					mergeDense((MatrixBlock) part, resultBlock);
+				else if( resultBlock != null )
+					mergeMap((CTableMap) part, resultBlock);
+				else
+					resultMap.merge((CTableMap) part);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+
+		//maintain nnz (if necessary)
+		if( resultBlock != null )
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * Computes D = ctable(seq(1,nrow(B)),B,w), i.e., the ctable expand case
+	 * where every row of the output contains at most one non-zero value.
+	 * Semantically equivalent to {@link MatrixBlock#ctableSeqOperations},
+	 * but potentially multi-threaded.
+	 *
+	 * @param A first input (sequence)
+	 * @param B second input column vector
+	 * @param w scalar weight
+	 * @param resultBlock sparse result block with nrow(B) rows
+	 * @param k degree of parallelism
+	 * @return result block
+	 */
+	public static MatrixBlock ctableSeq(MatrixBlock A, MatrixBlock B, double w, MatrixBlock resultBlock, int k) {
+		final int rlen = A.getNumRows();
+		if( !satisfiesMultiThreadingConstraints(B, k) || !resultBlock.isInSparseFormat() )
+			return A.ctableSeqOperations(B, w, resultBlock);
+
+		//write disjoint rows of a sparse output (each row allocated at most once)
+		resultBlock.allocateSparseRowsBlock();
+		long nnz = 0;
+		int maxCol = 0;
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<CTableSeqTask> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions
+				.getBalancedBlockSizesDefault(rlen, k, false);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new CTableSeqTask(B, w, resultBlock, lb, lb+blklens.get(i)));
+			List<Future<long[]>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<long[]> rtask : rtasks ) {
+				long[] tmp = rtask.get();
+				nnz += tmp[0];
+				maxCol = Math.max(maxCol, (int) tmp[1]);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+
+		//update meta data (initially unknown number of columns)
+		resultBlock.setNonZeros(nnz);
+		resultBlock.clen = maxCol;
+		return resultBlock;
+	}
+
+	private static void ctableCompressed(CompressedMatrixBlock A, MatrixBlock B, double b, MatrixBlock W, double w,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock)
+	{
+		if( B != null && W != null )
+			A.ctableOperations(null, B, W, resultMap, resultBlock);
+		else if( B != null )
+			A.ctableOperations(null, B, w, ignoreZeros, resultMap, resultBlock);
+		else if( W != null )
+			A.ctableOperations(null, b, W, resultMap, resultBlock);
+		else
+			A.ctableOperations(null, b, w, resultMap, resultBlock);
+	}
+
+	private static boolean satisfiesMultiThreadingConstraints(MatrixBlock in, int k) {
+		return k > 1 && in.getNumRows() >= k
+			&& (long)in.getNumRows() * in.getNumColumns() >= PAR_NUMCELL_THRESHOLD;
+	}
+
+	private static void ctableRange(MatrixBlock A, MatrixBlock B, double b, MatrixBlock W, double w,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int rl, int ru)
+	{
+		CTable ctable = CTable.getCTableFnObject();
+		final int clen = A.getNumColumns();
+
+		if( ignoreZeros && B != null && W == null //SPARSE-SAFE & SPARSE INPUTS
+			&& A.isInSparseFormat() && B.isInSparseFormat() )
+		{
+			//note: only used if both inputs have aligned zeros, which
+			//allows us to infer that the nnz both inputs are equivalent
+			if( A.isEmptyBlock(false) && B.isEmptyBlock(false) )
+				return;
+			SparseBlock a = A.getSparseBlock();
+			SparseBlock bb = B.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int alen = a.size(i);
+				int apos = a.pos(i);
+				double[] avals = a.values(i);
+				int bpos = bb.pos(i);
+				double[] bvals = bb.values(i);
+				for( int j=0; j<alen; j++ )
+					ctable.execute(avals[apos+j], bvals[bpos+j],
+						w, ignoreZeros, resultMap, resultBlock);
+			}
+		}
+		else //SPARSE-UNSAFE | GENERIC INPUTS
+		{
+			//sparse-unsafe ctable execution
+			//(because input values of 0 are invalid and have to result in errors)
+			for( int i=rl; i<ru; i++ )
+				for( int j=0; j<clen; j++ ) {
+					double v1 = A.quickGetValue(i, j);
+					double v2 = (B != null) ? B.quickGetValue(i, j) : b;
+					double v3 = (W != null) ? W.quickGetValue(i, j) : w;
+					ctable.execute(v1, v2, v3, ignoreZeros, resultMap, resultBlock);
+				}
+		}
+	}
+
+	private static void mergeDense(MatrixBlock part, MatrixBlock ret) {
+		if( part.isEmptyBlock(false) )
+			return;
+		DenseBlock a = part.getDenseBlock();
+		DenseBlock c = ret.getDenseBlock();
+		final int clen = ret.getNumColumns();
+		for( int i=0; i<ret.getNumRows(); i++ ) {
+			double[] avals = a.values(i), cvals = c.values(i);
+			int apos = a.pos(i), cpos = c.pos(i);
+			for( int j=0; j<clen; j++ )
+				cvals[cpos+j] += avals[apos+j];
+		}
+	}
+
+	private static void mergeMap(CTableMap part, MatrixBlock ret) {
+		//add all entries within the output dimensions
+		DenseBlock c = ret.getDenseBlock();
+		final int rlen = ret.getNumRows();
+		final int clen = ret.getNumColumns();
+		part.getIterator().forEachRemaining(e -> {
+			long rix = e.getKey1(), cix = e.getKey2();
+			if( rix <= rlen && cix <= clen ) {
+				double[] cvals = c.values((int)rix-1);
+				cvals[c.pos((int)rix-1, (int)cix-1)] += e.value;
+			}
+		});
+	}
+
+	private static class CTableTask implements Callable<Object> {
+		private final MatrixBlock _A, _B, _W;
+		private final double _b, _w;
+		private final boolean _ignoreZeros;
+		private final MatrixBlock _ret;
+		private final int _rl, _ru;
+
+		protected CTableTask(MatrixBlock A, MatrixBlock B, double b, MatrixBlock W, double w,
+			boolean ignoreZeros, MatrixBlock ret, int rl, int ru)
+		{
+			_A = A; _B = B; _b = b;
+			_W = W; _w = w;
+			_ignoreZeros = ignoreZeros;
+			_ret = ret;
+			_rl = rl; _ru = ru;
+		}
+
+		@Override
+		public Object call() {
+			//thread-local dense partial or hash map
+			if( _ret != null ) {
+				MatrixBlock part = new MatrixBlock(_ret.getNumRows(), _ret.getNumColumns(), false);
+				ctableRange(_A, _B, _b, _W, _w, _ignoreZeros, null, part, _rl, _ru);
+				return part;
+			}
+			CTableMap part = new CTableMap(EntryType.INT);
+			ctableRange(_A, _B, _b, _W, _w, _ignoreZeros, part, null, _rl, _ru);
+			return part;
+		}
+	}
+
+	private static class CTableSeqTask implements Callable<long[]> {
+		private final MatrixBlock _B;
+		private final double _w;
+		private final MatrixBlock _ret;
+		private final int _rl, _ru;
+
+		protected CTableSeqTask(MatrixBlock B, double w, MatrixBlock ret, int rl, int ru) {
+			_B = B; _w = w;
+			_ret = ret;
+			_rl = rl; _ru = ru;
+		}
+
+		@Override
+		public long[] call() {
+			SparseBlock c = _ret.getSparseBlock();
+			long lnnz = 0;
+			int maxCol = 0;
+			for( int i=_rl; i<_ru; i++ ) {
+				double v2 = _B.quickGetValue(i, 0);
+				//skip missing values (consistent with CTable.execute)
+				if( Double.isNaN(v2) || Double.isNaN(_w) )
+					continue;
+				int col = UtilFunctions.toInt(v2);
+				if( col <= 0 )
+					throw new DMLRuntimeException("Erroneous input while computing "
+						+ "the contingency table (value <= zero): "+v2);
+				if( _w != 0 ) {
+					c.append(i, col-1, _w);
+					lnnz++;
+				}
+				maxCol = Math.max(maxCol, col);
+			}
+			return new long[] {lnnz, maxCol};
+		}
+	}
+}
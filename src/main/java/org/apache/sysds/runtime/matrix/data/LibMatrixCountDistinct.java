@@ -19,23 +19,28 @@
 
 package org.apache.sysds.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-import org.apache.commons.lang.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLException;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.utils.Hash;
 import org.apache.sysds.utils.Hash.HashType;
 
@@ -45,6 +50,11 @@ import org.apache.sysds.utils.Hash.HashType;
 public class LibMatrixCountDistinct {
 	private static final Log LOG = LogFactory.getLog(LibMatrixCountDistinct.class.getName());
 
+	/**
+	 * The minimum number of cells in the input before building HyperLogLog sketches in parallel.
+	 */
+	private static final long PAR_NUMCELL_THRESHOLD = 1024 * 1024;
+
 	/**
 	 * The minimum number NonZero of cells in the input before using approximate techniques for counting number of
 	 * distinct values.
@@ -61,10 +71,6 @@ public class LibMatrixCountDistinct {
 	 * 
 	 * TODO: Support counting num distinct in rows, or columns axis.
 	 * 
-	 * TODO: Add support for distributed spark operations
-	 * 
-	 * TODO: If the MatrixBlock type is CompressedMatrix, simply read the vaules from the ColGroups.
-	 * 
 	 * @param in the input matrix to count number distinct values in
 	 * @param op the selected operator to use
 	 * @return the distinct count
@@ -75,9 +81,6 @@ public class LibMatrixCountDistinct {
 			(op.hashType == HashType.ExpHash || op.hashType == HashType.StandardJava)) {
 			throw new DMLException("Invalid hashing configuration using " + op.hashType + " and " + op.operatorType);
 		}
-		else if(op.operatorType == CountDistinctTypes.HLL) {
-			throw new NotImplementedException("HyperLogLog not implemented");
-		}
 		// shortcut in simplest case.
 		if(in.getLength() == 1 || in.isEmpty())
 			return 1;
@@ -93,6 +96,9 @@ public class LibMatrixCountDistinct {
 				case KMV:
 					res = countDistinctValuesKVM(in, op);
 					break;
+				case HLL:
+					res = (int) Math.min(countDistinctValuesHLL(in, op), Integer.MAX_VALUE);
+					break;
 				default:
 					throw new DMLException("Invalid or not implemented Estimator Type");
 			}
@@ -265,6 +271,106 @@ public class LibMatrixCountDistinct {
 		}
 	}
 
+	/**
+	 * HyperLogLog Distinct-Value Estimation, with multi-threaded sketching of row partitions.
+	 * 
+	 * @param in The Matrix Block to estimate the number of distinct values in
+	 * @param op The operator with the sketch precision and degree of parallelism
+	 * @return The distinct count estimate
+	 */
+	private static long countDistinctValuesHLL(MatrixBlock in, CountDistinctOperator op) {
+		final int k = op.k;
+		if(k <= 1 || in instanceof CompressedMatrixBlock || in.getNonZeros() < PAR_NUMCELL_THRESHOLD ||
+			in.getNumRows() < k)
+			return createSketch(in, op.precision).estimate();
+
+		// build sketches of row partitions in parallel, and merge them afterwards
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Callable<HyperLogLogSketch>> tasks = new ArrayList<>();
+			int blklen = (int) Math.ceil((double) in.getNumRows() / k);
+			for(int rl = 0; rl < in.getNumRows(); rl += blklen) {
+				final int lrl = rl, lru = Math.min(rl + blklen, in.getNumRows());
+				tasks.add(() -> createSketch(in, op.precision, lrl, lru));
+			}
+			HyperLogLogSketch ret = new HyperLogLogSketch(op.precision);
+			for(Future<HyperLogLogSketch> f : pool.invokeAll(tasks))
+				ret.merge(f.get());
+			if(containsZero(in))
+				ret.add(0);
+			return ret.estimate();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Creates a HyperLogLog sketch of all values in the given matrix block, including zeros. For compressed matrix
+	 * blocks, only the dictionaries of the column groups are sketched instead of all cells, except for uncompressed
+	 * column groups whose data is sketched row by row. Sketches of different blocks can be merged (e.g., for
+	 * distributed operations).
+	 * 
+	 * @param in        The Matrix Block to sketch
+	 * @param precision The sketch precision
+	 * @return The HyperLogLog sketch
+	 */
+	public static HyperLogLogSketch createSketch(MatrixBlock in, int precision) {
+		if(in instanceof CompressedMatrixBlock) {
+			CompressedMatrixBlock inC = (CompressedMatrixBlock) in;
+			if(!inC.isOverlapping()) {
+				HyperLogLogSketch ret = new HyperLogLogSketch(precision);
+				for(AColGroup cg : inC.getColGroups()) {
+					if(cg instanceof ColGroupUncompressed) {
+						MatrixBlock data = ((ColGroupUncompressed) cg).getData();
+						ret.merge(createSketch(data, precision, 0, data.getNumRows()));
+					}
+					else {
+						double[] values = cg.getValues();
+						if(values != null)
+							ret.add(values, 0, values.length);
+					}
+				}
+				if(containsZero(in))
+					ret.add(0);
+				return ret;
+			}
+			in = inC.decompress();
+		}
+		HyperLogLogSketch ret = createSketch(in, precision, 0, in.getNumRows());
+		if(containsZero(in))
+			ret.add(0);
+		return ret;
+	}
+
+	private static boolean containsZero(MatrixBlock in) {
+		// recompute unknown number of non-zeros to avoid adding a spurious zero
+		final long nnz = (in.getNonZeros() >= 0) ? in.getNonZeros() : in.recomputeNonZeros();
+		return nnz < in.getLength();
+	}
+
+	private static HyperLogLogSketch createSketch(MatrixBlock in, int precision, int rl, int ru) {
+		HyperLogLogSketch ret = new HyperLogLogSketch(precision);
+		if(in.isEmptyBlock(false))
+			return ret;
+		else if(in.isInSparseFormat()) {
+			SparseBlock sb = in.getSparseBlock();
+			for(int i = rl; i < ru; i++)
+				if(!sb.isEmpty(i))
+					ret.add(sb.values(i), sb.pos(i), sb.size(i));
+		}
+		else {
+			DenseBlock db = in.getDenseBlock();
+			final int clen = in.getNumColumns();
+			for(int i = rl; i < ru; i++)
+				ret.add(db.values(i), db.pos(i), clen);
+		}
+		return ret;
+	}
+
 	/**
 	 * Deceiving name, but is used to contain the k smallest values inserted.
 	 * 
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibCMOps;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+
+/**
+ * Selection-based quantiles (value picks and median) of unweighted column
+ * vectors. Instead of sorting the entire input (qsort) and picking values
+ * from the sorted representation (qpick), we extract the non-zero values
+ * and find the requested order statistics via quickselect in expected
+ * linear time, which is beneficial if only few quantiles are requested.
+ * Zeros are handled implicitly by their count. The results are equivalent
+ * to MatrixBlock.sortOperations followed by pickValue(s) and median.
+ * Compressed inputs with a single column group are sorted over their
+ * distinct values instead.
+ */
+public class LibMatrixQuantile
+{
+	//maximum number of quantiles for selection instead of sort
+	public static final int MAX_SELECT_QUANTILES = 16;
+
+	private LibMatrixQuantile() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Picks the value at the given quantile, equivalent to
+	 * {@code in.sortOperations(null, out).pickValue(quantile)}.
+	 *
+	 * @param in input column vector
+	 * @param quantile quantile in [0,1]
+	 * @return picked value
+	 */
+	public static double pickValue(MatrixBlock in, double quantile) {
+		long n = checkInput(in);
+		MatrixBlock sorted = sortCompressed(in);
+		if( sorted != null )
+			return sorted.pickValue(quantile);
+		double[] vals = selectRanks(in, new long[] {getRank(quantile, n)});
+		return (vals != null) ? vals[0] :
+			sortFallback(in).pickValue(quantile);
+	}
+
+	/**
+	 * Picks the values at the given quantiles, equivalent to
+	 * {@code in.sortOperations(null, out).pickValues(quantiles, ret)}.
+	 *
+	 * @param in input column vector
+	 * @param quantiles column vector of quantiles in [0,1]
+	 * @param ret output matrix block or null
+	 * @return column vector of picked values
+	 */
+	public static MatrixBlock pickValues(MatrixBlock in, MatrixBlock quantiles, MatrixBlock ret) {
+		if( quantiles.getNumColumns() != 1 )
+			throw new DMLRuntimeException("Multiple quantiles can only be computed on a 1D matrix");
+		long n = checkInput(in);
+		MatrixBlock sorted = sortCompressed(in);
+		if( sorted != null )
+			return sorted.pickValues(quantiles, ret);
+		int nq = quantiles.getNumRows();
+		long[] ranks = new long[nq];
+		for( int i=0; i<nq; i++ )
+			ranks[i] = getRank(quantiles.quickGetValue(i, 0), n);
+		double[] vals = selectRanks(in, ranks);
+		if( vals == null )
+			return sortFallback(in).pickValues(quantiles, ret);
+
+		if( ret == null )
+			ret = new MatrixBlock(nq, 1, false);
+		else
+			ret.reset(nq, 1, false);
+		ret.allocateDenseBlock();
+		System.arraycopy(vals, 0, ret.getDenseBlockValues(), 0, nq);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	/**
+	 * Computes the median, equivalent to {@code in.sortOperations(null, out).median()},
+	 * i.e., the mean of the two middle values for an even number of rows.
+	 *
+	 * @param in input column vector
+	 * @return median
+	 */
+	public static double median(MatrixBlock in) {
+		long n = checkInput(in);
+		MatrixBlock sorted = sortCompressed(in);
+		if( sorted != null )
+			return sorted.median();
+		double[] vals = selectRanks(in, (n % 2 == 0) ?
+			new long[] {n/2, n/2+1} : new long[] {(n+1)/2});
+		if( vals == null )
+			return sortFallback(in).median();
+		return (vals.length == 2) ? (vals[0] + vals[1]) / 2 : vals[0];
+	}
+
+	private static long checkInput(MatrixBlock in) {
+		if( in.getNumColumns() != 1 )
+			throw new DMLRuntimeException("Invalid input dimensions (" + in.getNumRows()
+				+ "x" + in.getNumColumns() + ") to quantile selection.");
+		if( in.getNumRows() == 0 )
+			throw new DMLRuntimeException("Invalid empty input to quantile selection.");
+		return in.getNumRows();
+	}
+
+	private static long getRank(double quantile, long n) {
+		//same position as in MatrixBlock.pickValue, but 1-based and bounded
+		long pos = (long) Math.ceil(quantile * n);
+		return Math.min(Math.max(pos, 1), n);
+	}
+
+	/**
+	 * Selects the values at the given 1-based ranks in sorted order.
+	 *
+	 * @param in input column vector
+	 * @param ranks 1-based ranks in [1, nrow]
+	 * @return values in the order of the given ranks, or null if the input contains NaNs
+	 */
+	private static double[] selectRanks(MatrixBlock in, long[] ranks) {
+		MatrixBlock mb = getUncompressed(in);
+
+		//extract non-zero values and count negative values
+		double[] a = extractNonZeros(mb);
+		if( a == null )
+			return null;
+		int nnz = a.length;
+		long nz = mb.getNumRows() - nnz;
+		int neg = 0;
+		for( int i=0; i<nnz; i++ )
+			neg += (a[i] < 0) ? 1 : 0;
+
+		//map ranks to 0-based positions in the non-zero values, where
+		//ranks in the range of zeros map to -1 (implicit zero value)
+		int[] pos = new int[ranks.length];
+		for( int i=0; i<ranks.length; i++ ) {
+			long r = ranks[i] - 1;
+			pos[i] = (r < neg) ? (int) r : (r < neg + nz) ? -1 : (int) (r - nz);
+		}
+
+		//multi-rank quickselect in ascending order of positions,
+		//where each selection narrows the range of the next selection
+		int[] spos = pos.clone();
+		Arrays.sort(spos);
+		int lo = 0;
+		for( int p : spos )
+			if( p >= 0 ) {
+				select(a, lo, nnz - 1, p);
+				lo = p;
+			}
+
+		double[] ret = new double[ranks.length];
+		for( int i=0; i<ranks.length; i++ )
+			ret[i] = (pos[i] < 0) ? 0 : a[pos[i]];
+		return ret;
+	}
+
+	private static MatrixBlock getUncompressed(MatrixBlock in) {
+		return (in instanceof CompressedMatrixBlock) ?
+			CompressedMatrixBlock.getUncompressed(in) : in;
+	}
+
+	private static MatrixBlock sortCompressed(MatrixBlock in) {
+		//single column groups are sorted over their distinct values
+		return (in instanceof CompressedMatrixBlock) ?
+			CLALibCMOps.sortOperations((CompressedMatrixBlock) in, null, null, 1) : null;
+	}
+
+	private static MatrixBlock sortFallback(MatrixBlock in) {
+		//NaNs are not totally ordered by quickselect
+		return getUncompressed(in).sortOperations(null, new MatrixBlock());
+	}
+
+	private static double[] extractNonZeros(MatrixBlock in) {
+		if( in.isEmptyBlock(false) )
+			return new double[0];
+		int rlen = in.getNumRows();
+		long nnz = in.getNonZeros();
+		double[] ret = new double[(int) ((nnz >= 0) ? Math.min(nnz, rlen) : rlen)];
+		int pos = 0;
+		if( in.isInSparseFormat() ) {
+			SparseBlock sb = in.getSparseBlock();
+			for( int i=0; i<rlen; i++ ) {
+				if( sb.isEmpty(i) ) continue;
+				double v = sb.values(i)[sb.pos(i)];
+				if( Double.isNaN(v) ) return null;
+				if( v != 0 ) ret = append(ret, pos++, v);
+			}
+		}
+		else {
+			DenseBlock db = in.getDenseBlock();
+			for( int i=0; i<rlen; i++ ) {
+				double v = db.get(i, 0);
+				if( Double.isNaN(v) ) return null;
+				if( v != 0 ) ret = append(ret, pos++, v);
+			}
+		}
+		return (pos == ret.length) ? ret : Arrays.copyOf(ret, pos);
+	}
+
+	private static double[] append(double[] a, int pos, double v) {
+		//robustness for incorrect nnz meta data
+		if( pos >= a.length )
+			a = Arrays.copyOf(a, Math.max(2 * a.length, 16));
+		a[pos] = v;
+		return a;
+	}
+
+	/**
+	 * Iterative quickselect of the k-th smallest value in the range [lo, hi]
+	 * of the given array, which partially reorders the range such that all
+	 * values left of k are less or equal and all values right of k are
+	 * greater or equal than a[k].
+	 *
+	 * @param a array of values
+	 * @param lo lower position (inclusive)
+	 * @param hi upper position (inclusive)
+	 * @param k position in sorted order
+	 * @return k-th smallest value
+	 */
+	protected static double select(double[] a, int lo, int hi, int k) {
+		while( lo < hi ) {
+			double pivot = a[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( a[i] < pivot )
+					i++;
+				while( a[j] > pivot )
+					j--;
+				if( i <= j ) {
+					double tmp = a[i];
+					a[i++] = a[j];
+					a[j--] = tmp;
+				}
+			}
+			if( k <= j )
+				hi = j;
+			else if( k >= i )
+				lo = i;
+			else
+				return a[k];
+		}
+		return a[k];
+	}
+}
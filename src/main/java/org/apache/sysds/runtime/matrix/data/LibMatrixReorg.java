@@ -575,6 +575,22 @@ public class LibMatrixReorg {
 	 * @return matrix block
 	 */
 	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
+		return rmempty(in, ret, rows, emptyReturn, select, 1);
+	}
+	
+	/**
+	 * CP rmempty operation (single input, single output matrix), multi-threaded
+	 * over row partitions that write directly into disjoint parts of the output.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param rows remove empty rows (true) or columns (false)
+	 * @param emptyReturn return row/column of zeros for empty input
+	 * @param select optional selection vector, or null
+	 * @param k degree of parallelism
+	 * @return matrix block
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k) {
 		//check for empty inputs 
 		//(the semantics of removeEmpty are that for an empty m-by-n matrix, the output 
 		//is an empty 1-by-n or m-by-1 matrix because we don't allow matrices with dims 0)
@@ -588,9 +604,9 @@ public class LibMatrixReorg {
 		}
 		
 		if( rows )
-			return removeEmptyRows(in, ret, select, emptyReturn);
+			return removeEmptyRows(in, ret, select, emptyReturn, k);
 		else //cols
-			return removeEmptyColumns(in, ret, select, emptyReturn);
+			return removeEmptyColumns(in, ret, select, emptyReturn, k);
 	}
 
 	/**
@@ -2401,7 +2417,7 @@ public class LibMatrixReorg {
 		return rowwise ? ai*mcIn.getCols()+aj : ai+mcIn.getRows()*aj;
 	}
 
-	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn) {
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn, int k) {
 		final int m = in.rlen;
 		final int n = in.clen;
 		boolean[] flags = null;
@@ -2436,34 +2452,30 @@ public class LibMatrixReorg {
 			}
 		}
 		
-		//Step 1: scan block and determine non-empty rows
-		if(select == null) 
-		{
+		//Step 1: scan block and determine non-empty rows per row partition,
+		//where a prefix sum over the partition counts yields the output row
+		//offsets, which allows all partitions to write directly into the output
+		int[] rix = getRmEmptyPartitions(in, k);
+		int[] cix = new int[rix.length];
+		if(select == null) {
 			flags = new boolean[ m ]; //false
-			if( in.sparse ) { //SPARSE 
-				SparseBlock a = in.sparseBlock;
-				for ( int i=0; i < m; i++ )
-					rlen2 += (flags[i] = !a.isEmpty(i)) ? 1 : 0;
-			}
-			else { //DENSE
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for(int j=0; j<n; j++)
-						if( avals[aix+j] != 0 ) {
-							flags[i] = true;
-							rlen2++;
-							//early abort for current row
-							break; 
-						}
-				}
-			}
-		} 
+			ArrayList<RmEmptyRowsScanTask> tasks = new ArrayList<>();
+			for( int i=0; i<rix.length-1; i++ )
+				tasks.add(new RmEmptyRowsScanTask(in, flags, rix[i], rix[i+1]));
+			List<Long> cnts = executeRmEmptyTasks(tasks, k);
+			for( int i=0; i<cnts.size(); i++ )
+				cix[i+1] = cix[i] + cnts.get(i).intValue();
+		}
 		else {
 			flags = DataConverter.convertToBooleanVector(select);
-			rlen2 = (int)select.getNonZeros();
+			for( int i=0; i<rix.length-1; i++ ) {
+				int lcnt = 0;
+				for( int j=rix[i]; j<rix[i+1]; j++ )
+					lcnt += flags[j] ? 1 : 0;
+				cix[i+1] = cix[i] + lcnt;
+			}
 		}
+		rlen2 = cix[cix.length-1];
 
 		//Step 2: reset result and copy rows
 		//dense stays dense if correct input representation (but robust for any input), 
@@ -2480,53 +2492,34 @@ public class LibMatrixReorg {
 				ret.sparseBlock = in.sparseBlock;
 			else
 				ret.denseBlock = in.denseBlock;
+			ret.nonZeros = in.nonZeros;
 		}
-		else if( in.sparse ) //* <- SPARSE
-		{
-			//note: output dense or sparse
-			for( int i=0, cix=0; i<m; i++ )
-				if( flags[i] ) {
-					ret.appendRow(cix++, in.sparseBlock.get(i),
-						!SHALLOW_COPY_REORG);
-				}
-		}
-		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
-		{
-			ret.allocateDenseBlock();
-			DenseBlock a = in.getDenseBlock();
-			DenseBlock c = ret.getDenseBlock();
-			for( int i=0, ci=0; i<m; i++ )
-				if( flags[i] ) {
-					System.arraycopy(a.values(i),
-						a.pos(i), c.values(ci), c.pos(ci), n);
-					ci++; //target row index
-				}
-		}
-		else //SPARSE <- DENSE
-		{
-			ret.allocateSparseRowsBlock();
-			DenseBlock a = in.getDenseBlock();
-			for( int i=0, ci=0; i<m; i++ )
-				if( flags[i] ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for( int j=0; j<n; j++ )
-						ret.appendValue(ci, j, avals[aix+j]);
-					ci++;
-				}
+		else {
+			//note: output dense or sparse, allocated upfront 
+			//because partitions write into disjoint output rows
+			if( ret.sparse )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlock();
+			ArrayList<RmEmptyCopyTask> tasks = new ArrayList<>();
+			for( int i=0; i<rix.length-1; i++ )
+				tasks.add(new RmEmptyCopyTask(in, ret, flags, null, rix[i], rix[i+1], cix[i]));
+			long nnz = 0;
+			for( Long lnnz : executeRmEmptyTasks(tasks, k) )
+				nnz += lnnz;
+			ret.nonZeros = (select==null) ? in.nonZeros : nnz;
 		}
 		
 		//check sparsity
-		ret.nonZeros = (select==null) ?
-			in.nonZeros : ret.recomputeNonZeros();
 		ret.examSparsity();
 		
 		return ret;
 	}
 
-	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn) {
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn, int k) {
 		final int m = in.rlen;
 		final int n = in.clen;
+		int[] rix = getRmEmptyPartitions(in, k);
 		
 		//Step 1: scan block and determine non-empty columns 
 		//(we optimized for cache-friendly behavior and hence don't do early abort)
@@ -2534,26 +2527,16 @@ public class LibMatrixReorg {
 		
 		if (select == null) 
 		{
-			flags = new boolean[ n ]; //false
-			if( in.sparse ) { //SPARSE 
-				SparseBlock a = in.sparseBlock;
-				for( int i=0; i<m; i++ ) 
-					if ( !a.isEmpty(i) ) {
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						for( int j=apos; j<apos+alen; j++ )
-							flags[ aix[j] ] = true;
-					}
-			}
-			else { //DENSE
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
+			//scan row partitions into partition-local flags, and merge
+			ArrayList<RmEmptyColsScanTask> tasks = new ArrayList<>();
+			for( int i=0; i<rix.length-1; i++ )
+				tasks.add(new RmEmptyColsScanTask(in, new boolean[n], rix[i], rix[i+1]));
+			for( boolean[] lflags : executeRmEmptyTasks(tasks, k) ) {
+				if( flags == null )
+					flags = lflags;
+				else
 					for( int j=0; j<n; j++ )
-						flags[j] |= (avals[aix+j] != 0);
-				}
+						flags[j] |= lflags[j];
 			}
 		} 
 		else {
@@ -2582,6 +2565,7 @@ public class LibMatrixReorg {
 				ret.sparseBlock = in.sparseBlock;
 			else
 				ret.denseBlock = in.denseBlock;
+			ret.nonZeros = in.nonZeros;
 		}
 		else
 		{
@@ -2592,57 +2576,238 @@ public class LibMatrixReorg {
 					cix[j] = pos++;
 			}
 			
-			//deep copy of modified outputs
-			if( in.sparse ) //* <- SPARSE
-			{
-				//note: output dense or sparse
-				SparseBlock a = in.sparseBlock;
-				for( int i=0; i<m; i++ )
-					if ( !a.isEmpty(i) ) {
+			//deep copy of modified outputs (rows unchanged,
+			//output dense or sparse, allocated upfront)
+			if( ret.sparse )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlock();
+			ArrayList<RmEmptyCopyTask> tasks = new ArrayList<>();
+			for( int i=0; i<rix.length-1; i++ )
+				tasks.add(new RmEmptyCopyTask(in, ret, flags, cix, rix[i], rix[i+1], rix[i]));
+			long nnz = 0;
+			for( Long lnnz : executeRmEmptyTasks(tasks, k) )
+				nnz += lnnz;
+			ret.nonZeros = (select==null) ? in.nonZeros : nnz;
+		}
+		
+		//check sparsity
+		ret.examSparsity();
+		
+		return ret;
+	}
+
+	private static int[] getRmEmptyPartitions(MatrixBlock in, int k) {
+		//single partition for small inputs or single-threaded execution
+		long size = in.sparse ? in.nonZeros : (long)in.rlen * in.clen;
+		if( k <= 1 || in.rlen <= k || size < PAR_NUMCELL_THRESHOLD )
+			return new int[] {0, in.rlen};
+		ArrayList<Integer> blklens = UtilFunctions
+			.getBalancedBlockSizesDefault(in.rlen, k, false);
+		int[] rix = new int[blklens.size()+1];
+		for( int i=0; i<blklens.size(); i++ )
+			rix[i+1] = rix[i] + blklens.get(i);
+		return rix;
+	}
+
+	private static <T> List<T> executeRmEmptyTasks(List<? extends Callable<T>> tasks, int k) {
+		try {
+			List<T> ret = new ArrayList<>();
+			if( tasks.size() == 1 )
+				ret.add(tasks.get(0).call());
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				for( Future<T> task : pool.invokeAll(tasks) )
+					ret.add(task.get());
+				pool.shutdown();
+			}
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static long scanNonEmptyRows(MatrixBlock in, boolean[] flags, int rl, int ru) {
+		final int n = in.clen;
+		long cnt = 0;
+		if( in.sparse ) { //SPARSE 
+			SparseBlock a = in.sparseBlock;
+			for ( int i=rl; i < ru; i++ )
+				cnt += (flags[i] = !a.isEmpty(i)) ? 1 : 0;
+		}
+		else { //DENSE
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for(int j=0; j<n; j++)
+					if( avals[aix+j] != 0 ) {
+						flags[i] = true;
+						cnt++;
+						//early abort for current row
+						break; 
+					}
+			}
+		}
+		return cnt;
+	}
+
+	private static boolean[] scanNonEmptyColumns(MatrixBlock in, boolean[] flags, int rl, int ru) {
+		final int n = in.clen;
+		if( in.sparse ) { //SPARSE 
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ ) 
+				if ( a!=null && !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					for( int j=apos; j<apos+alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else if( in.denseBlock != null ) { //DENSE
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ )
+					flags[j] |= (avals[aix+j] != 0);
+			}
+		}
+		return flags;
+	}
+
+	private static long copyNonEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int cl) {
+		final int n = in.clen;
+		long nnz = 0;
+		if( in.sparse && ret.sparse ) //SPARSE <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl, ci=cl; i<ru; i++ )
+				if( flags[i] ) {
+					if( !a.isEmpty(i) ) {
+						c.set(ci, a.get(i), !SHALLOW_COPY_REORG);
+						nnz += a.size(i);
+					}
+					ci++; //target row index
+				}
+		}
+		else if( in.sparse ) //DENSE <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			DenseBlock c = ret.getDenseBlock();
+			for( int i=rl, ci=cl; i<ru; i++ )
+				if( flags[i] ) {
+					if( !a.isEmpty(i) ) {
 						int apos = a.pos(i);
 						int alen = a.size(i);
 						int[] aix = a.indexes(i);
 						double[] avals = a.values(i);
+						double[] cvals = c.values(ci);
+						int cix = c.pos(ci);
 						for( int j=apos; j<apos+alen; j++ )
-							if( flags[aix[j]] )
-								ret.appendValue(i, cix[aix[j]], avals[j]);
+							cvals[cix+aix[j]] = avals[j];
+						nnz += alen;
 					}
-			}
-			else if( !in.sparse && !ret.sparse ) { //DENSE <- DENSE
-				ret.allocateDenseBlock();
-				DenseBlock a = in.getDenseBlock();
-				DenseBlock c = ret.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
+					ci++; //target row index
+				}
+		}
+		else if( !ret.sparse )  //DENSE <- DENSE
+		{
+			DenseBlock a = in.getDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			for( int i=rl, ci=cl; i<ru; i++ )
+				if( flags[i] ) {
+					System.arraycopy(a.values(i),
+						a.pos(i), c.values(ci), c.pos(ci), n);
+					nnz += c.countNonZeros(ci);
+					ci++; //target row index
+				}
+		}
+		else //SPARSE <- DENSE
+		{
+			DenseBlock a = in.getDenseBlock();
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl, ci=cl; i<ru; i++ )
+				if( flags[i] ) {
 					double[] avals = a.values(i);
-					double[] cvals = c.values(i);
 					int aix = a.pos(i);
-					int lcix = c.pos(i);
 					for( int j=0; j<n; j++ )
-						if( flags[j] )
-							 cvals[ lcix+cix[j] ] = avals[aix+j];
+						if( avals[aix+j] != 0 ) {
+							c.append(ci, j, avals[aix+j]);
+							nnz++;
+						}
+					ci++; //target row index
 				}
-			}
-			else { //SPARSE <- DENSE
-				ret.allocateSparseRowsBlock();
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
+		}
+		return nnz;
+	}
+
+	private static long copyNonEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru) {
+		final int n = in.clen;
+		long nnz = 0;
+		if( in.sparse ) //* <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if ( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
 					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for( int j=0; j<n; j++ ) {
+					if( ret.sparse ) {
+						SparseBlock c = ret.sparseBlock;
+						for( int j=apos; j<apos+alen; j++ )
+							if( flags[aix[j]] && avals[j] != 0 ) {
+								c.append(i, cix[aix[j]], avals[j]);
+								nnz++;
+							}
+					}
+					else {
+						double[] cvals = ret.getDenseBlock().values(i);
+						int lcix = ret.getDenseBlock().pos(i);
+						for( int j=apos; j<apos+alen; j++ )
+							if( flags[aix[j]] && avals[j] != 0 ) {
+								cvals[lcix+cix[aix[j]]] = avals[j];
+								nnz++;
+							}
+					}
+				}
+		}
+		else if( !ret.sparse ) { //DENSE <- DENSE
+			DenseBlock a = in.getDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int aix = a.pos(i);
+				int lcix = c.pos(i);
+				for( int j=0; j<n; j++ )
+					if( flags[j] ) {
 						double aval = avals[aix+j];
-						if( flags[j] && aval!=0 )
-							 ret.appendValue(i, cix[j], aval);
+						cvals[ lcix+cix[j] ] = aval;
+						nnz += (aval != 0) ? 1 : 0;
+					}
+			}
+		}
+		else { //SPARSE <- DENSE
+			DenseBlock a = in.getDenseBlock();
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ ) {
+					double aval = avals[aix+j];
+					if( flags[j] && aval!=0 ) {
+						c.append(i, cix[j], aval);
+						nnz++;
 					}
 				}
 			}
 		}
-		
-		//check sparsity
-		ret.nonZeros = (select==null) ?
-			in.nonZeros : ret.recomputeNonZeros();
-		ret.examSparsity();
-		
-		return ret;
+		return nnz;
 	}
 
 	private static MatrixBlock rexpandRows(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore) {
@@ -3092,6 +3257,74 @@ public class LibMatrixReorg {
 		}
 	}
 
+	private static class RmEmptyRowsScanTask implements Callable<Long>
+	{
+		private final MatrixBlock _in;
+		private final boolean[] _flags;
+		private final int _rl;
+		private final int _ru;
+
+		protected RmEmptyRowsScanTask(MatrixBlock in, boolean[] flags, int rl, int ru) {
+			_in = in;
+			_flags = flags;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			return scanNonEmptyRows(_in, _flags, _rl, _ru);
+		}
+	}
+
+	private static class RmEmptyColsScanTask implements Callable<boolean[]>
+	{
+		private final MatrixBlock _in;
+		private final boolean[] _flags;
+		private final int _rl;
+		private final int _ru;
+
+		protected RmEmptyColsScanTask(MatrixBlock in, boolean[] flags, int rl, int ru) {
+			_in = in;
+			_flags = flags;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public boolean[] call() {
+			return scanNonEmptyColumns(_in, _flags, _rl, _ru);
+		}
+	}
+
+	private static class RmEmptyCopyTask implements Callable<Long>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final boolean[] _flags;
+		private final int[] _cix; //column mapping, null for rows
+		private final int _rl;
+		private final int _ru;
+		private final int _cl; //output row offset
+
+		protected RmEmptyCopyTask(MatrixBlock in, MatrixBlock out, boolean[] flags, int[] cix, int rl, int ru, int cl) {
+			_in = in;
+			_out = out;
+			_flags = flags;
+			_cix = cix;
+			_rl = rl;
+			_ru = ru;
+			_cl = cl;
+		}
+		
+		@Override
+		public Long call() {
+			return (_cix == null) ?
+				copyNonEmptyRows(_in, _out, _flags, _rl, _ru, _cl) :
+				copyNonEmptyColumns(_in, _out, _flags, _cix, _rl, _ru);
+		}
+	}
+
 	private static class SortTask implements Callable<Object>
 	{
 		private final int _start;
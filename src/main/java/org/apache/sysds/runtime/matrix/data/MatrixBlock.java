@@ -4729,6 +4729,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result) {
+		return sortOperations(weights, result, 1);
+	}
+
+	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result, int k) {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4753,17 +4757,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		// First column is data and second column is weights
 		// (since the inputs are vectors, they are likely dense - hence quickget is sufficient)
 		MatrixBlock tdw = new MatrixBlock(dim1, 2, false);
+		tdw.allocateDenseBlock();
+		double[] c = tdw.getDenseBlockValues();
 		double d, w, zero_wt=0;
-		int ind = 1;
+		int ind = 2;
 		if( wtflag ) // w/ weights
 		{
 			for ( int i=0; i<rlen; i++ ) {
 				d = quickGetValue(i,0);
 				w = wts.quickGetValue(i,0);
 				if ( d != 0 ) {
-					tdw.quickSetValue(ind, 0, d);
-					tdw.quickSetValue(ind, 1, w);
-					ind++;
+					c[ind] = d;
+					c[ind+1] = w;
+					ind += 2;
 				}
 				else
 					zero_wt += w;
@@ -4775,18 +4781,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for( int i=0; i<rlen; i++ ) {
 				d = quickGetValue(i,0);
 				if( d != 0 ){
-					tdw.quickSetValue(ind, 0, d);
-					tdw.quickSetValue(ind, 1, 1);
-					ind++;
+					c[ind] = d;
+					c[ind+1] = 1;
+					ind += 2;
 				}
 			}
 		}
-		tdw.quickSetValue(0, 0, 0.0);
-		tdw.quickSetValue(0, 1, zero_wt); //num zeros in input
+		c[0] = 0.0;
+		c[1] = zero_wt; //num zeros in input
+		tdw.recomputeNonZeros();
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
+		// (multi-threaded block sort and merge for k>1)
 		SortIndex sfn = new SortIndex(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
+		ReorgOperator rop = new ReorgOperator(sfn, k);
 		LibMatrixReorg.reorg(tdw, result, rop);
 		
 		return result;
@@ -5076,7 +5084,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select ) {
-		return LibMatrixReorg.rmempty(this, ret, rows, emptyReturn, select);
+		return removeEmptyOperations(ret, rows, emptyReturn, select, 1);
+	}
+
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k ) {
+		return LibMatrixReorg.rmempty(this, ret, rows, emptyReturn, select, k);
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn) {
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.matrix.operators;
 
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.instructions.cp.AggregateUnaryCPInstruction.AUType;
+import org.apache.sysds.runtime.matrix.data.HyperLogLogSketch;
 import org.apache.sysds.utils.Hash.HashType;
 
 public class CountDistinctOperator extends Operator {
@@ -28,6 +29,8 @@ public class CountDistinctOperator extends Operator {
 
 	public final CountDistinctTypes operatorType;
 	public final HashType hashType;
+	public final int precision; // HyperLogLog precision (log2 of the number of registers)
+	public final int k; // degree of parallelism
 
 	public enum CountDistinctTypes { // The different supported types of counting.
 		COUNT, // Baseline naive implementation, iterate though, add to hashMap.
@@ -36,29 +39,39 @@ public class CountDistinctOperator extends Operator {
 	}
 
 	public CountDistinctOperator(AUType opType) {
+		this(opType, 1);
+	}
+
+	public CountDistinctOperator(AUType opType, int k) {
 		super(true);
 		switch (opType) {
 			case COUNT_DISTINCT:
 				this.operatorType = CountDistinctTypes.COUNT;
 				break;
 			case COUNT_DISTINCT_APPROX:
-				this.operatorType = CountDistinctTypes.KMV;
+				this.operatorType = CountDistinctTypes.HLL;
 				break;
 			default:
 				throw new DMLRuntimeException(opType + " not supported for CountDistinct Operator");
 		}
 		this.hashType = HashType.LinearHash;
+		this.precision = HyperLogLogSketch.DEFAULT_PRECISION;
+		this.k = k;
 	}
 
 	public CountDistinctOperator(CountDistinctTypes operatorType) {
-		super(true);
-		this.operatorType = operatorType;
-		this.hashType = HashType.StandardJava;
+		this(operatorType, HashType.StandardJava);
 	}
 
 	public CountDistinctOperator(CountDistinctTypes operatorType, HashType hashType) {
+		this(operatorType, hashType, HyperLogLogSketch.DEFAULT_PRECISION, 1);
+	}
+
+	public CountDistinctOperator(CountDistinctTypes operatorType, HashType hashType, int precision, int k) {
 		super(true);
 		this.operatorType = operatorType;
 		this.hashType = hashType;
+		this.precision = precision;
+		this.k = k;
 	}
-}
\ No newline at end of file
+}
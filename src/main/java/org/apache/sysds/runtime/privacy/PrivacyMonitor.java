@@ -27,25 +27,28 @@ import org.apache.sysds.runtime.privacy.PrivacyConstraint.PrivacyLevel;
 
 public class PrivacyMonitor
 {
-	private static EnumMap<PrivacyLevel,LongAdder> checkedConstraints;
+	// thread-local because federated workers process requests concurrently
+	private static final ThreadLocal<EnumMap<PrivacyLevel,LongAdder>> checkedConstraints =
+		ThreadLocal.withInitial(PrivacyMonitor::createCheckedConstraints);
 
-	private static boolean checkPrivacy = false;
+	private static final ThreadLocal<Boolean> checkPrivacy = ThreadLocal.withInitial(() -> false);
 
-	static {
-		checkedConstraints = new EnumMap<>(PrivacyLevel.class);
+	private static EnumMap<PrivacyLevel,LongAdder> createCheckedConstraints() {
+		EnumMap<PrivacyLevel,LongAdder> ret = new EnumMap<>(PrivacyLevel.class);
 		for ( PrivacyLevel level : PrivacyLevel.values() ){
-			checkedConstraints.put(level, new LongAdder());
+			ret.put(level, new LongAdder());
 		}
+		return ret;
 	}
 
 	public static EnumMap<PrivacyLevel,LongAdder> getCheckedConstraints() {
-		return checkedConstraints;
+		return checkedConstraints.get();
 	}
 
 	private static void incrementCheckedConstraints(PrivacyLevel privacyLevel) {
 		if ( privacyLevel == null )
 			throw new NullPointerException("Cannot increment checked constraints log: Privacy level is null.");
-		checkedConstraints.get(privacyLevel).increment();
+		getCheckedConstraints().get(privacyLevel).increment();
 	}
 
 	/**
@@ -56,7 +59,7 @@ public class PrivacyMonitor
 	 * @param privacyConstraint used for updating log
 	 */
 	private static void updateCheckedConstraintsLog(PrivacyConstraint privacyConstraint) {
-		if ( checkPrivacy ){
+		if ( checkPrivacy.get() ){
 			if ( privacyConstraint.privacyLevel != PrivacyLevel.None){
 				incrementCheckedConstraints(privacyConstraint.privacyLevel);
 			}
@@ -65,18 +68,18 @@ public class PrivacyMonitor
 					.getDataRangesOfPrivacyLevel(PrivacyLevel.Private).length;
 				int aggregateNum = privacyConstraint.getFineGrainedPrivacy()
 					.getDataRangesOfPrivacyLevel(PrivacyLevel.PrivateAggregation).length;
-				checkedConstraints.get(PrivacyLevel.Private).add(privateNum);
-				checkedConstraints.get(PrivacyLevel.PrivateAggregation).add(aggregateNum);
+				getCheckedConstraints().get(PrivacyLevel.Private).add(privateNum);
+				getCheckedConstraints().get(PrivacyLevel.PrivateAggregation).add(aggregateNum);
 			}
 		}
 	}
 
 	public static void clearCheckedConstraints(){
-		checkedConstraints.replaceAll((k,v)->new LongAdder());
+		getCheckedConstraints().replaceAll((k,v)->new LongAdder());
 	}
 
 	public static void setCheckPrivacy(boolean checkPrivacyParam){
-		checkPrivacy = checkPrivacyParam;
+		checkPrivacy.set(checkPrivacyParam);
 	}
 
 	/**
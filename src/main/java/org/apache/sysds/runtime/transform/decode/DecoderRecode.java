@@ -24,11 +24,10 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
 
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
@@ -38,14 +37,16 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
  * Simple atomic decoder for recoded columns. This decoder builds internally
- * inverted recode maps from the given frame meta data. 
+ * inverted recode maps from the given frame meta data. Since recode codes
+ * are contiguous (1 to #distinct), the inverted maps are stored as arrays
+ * of tokens indexed by code.
  *  
  */
 public class DecoderRecode extends Decoder
 {
 	private static final long serialVersionUID = -3784249774608228805L;
 
-	private HashMap<Long, Object>[] _rcMaps = null;
+	private Object[][] _rcMaps = null;
 	private boolean _onOut = false;
 
 	public DecoderRecode() { super(null, null); }
@@ -64,7 +65,7 @@ public class DecoderRecode extends Decoder
 					double val = UtilFunctions.objectToDouble(
 							out.getSchema()[colID-1], out.get(i, colID-1));
 					long key = UtilFunctions.toLong(val);
-					out.set(i, colID-1, _rcMaps[j].get(key));
+					out.set(i, colID-1, lookupRCMap(_rcMaps[j], key));
 				}
 			}
 		}
@@ -74,18 +75,21 @@ public class DecoderRecode extends Decoder
 				for( int j=0; j<_colList.length; j++ ) {
 					double val = in.quickGetValue(i, _colList[j]-1);
 					long key = UtilFunctions.toLong(val);
-					out.set(i, _colList[j]-1, _rcMaps[j].get(key));
+					out.set(i, _colList[j]-1, lookupRCMap(_rcMaps[j], key));
 				}
 			}
 		}
 		return out;
 	}
 
+	private static Object lookupRCMap(Object[] map, long code) {
+		return (code >= 1 && code <= map.length) ? map[(int) code - 1] : null;
+	}
+
 	@Override
-	@SuppressWarnings("unchecked")
 	public Decoder subRangeDecoder(int colStart, int colEnd, int dummycodedOffset) {
 		List<Integer> cols = new ArrayList<>();
-		List<HashMap<Long, Object>> rcMaps = new ArrayList<>();
+		List<Object[]> rcMaps = new ArrayList<>();
 		for(int i = 0; i < _colList.length; i++) {
 			int col = _colList[i];
 			if(col >= colStart && col < colEnd) {
@@ -93,7 +97,7 @@ public class DecoderRecode extends Decoder
 				// colStart - 1 because colStart is 1-based
 				int corrColumn = col - (colStart - 1);
 				cols.add(corrColumn);
-				rcMaps.add(new HashMap<>(_rcMaps[i]));
+				rcMaps.add(_rcMaps[i].clone());
 			}
 		}
 		if(cols.isEmpty())
@@ -103,27 +107,37 @@ public class DecoderRecode extends Decoder
 		int[] colList = cols.stream().mapToInt(i -> i).toArray();
 		DecoderRecode subRangeDecoder = new DecoderRecode(
 			Arrays.copyOfRange(_schema, colStart - 1, colEnd - 1), _onOut, colList);
-		subRangeDecoder._rcMaps = rcMaps.toArray(new HashMap[0]);
+		subRangeDecoder._rcMaps = rcMaps.toArray(new Object[0][]);
 		return subRangeDecoder;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void initMetaData(FrameBlock meta) {
 		//initialize recode maps according to schema
-		_rcMaps = new HashMap[_colList.length];
+		_rcMaps = new Object[_colList.length][];
 		for( int j=0; j<_colList.length; j++ ) {
-			HashMap<Long, Object> map = new HashMap<>();
+			Object[] map = new Object[meta.getNumRows()];
+			int maxCode = 0;
 			for( int i=0; i<meta.getNumRows(); i++ ) {
 				if( meta.get(i, _colList[j]-1)==null )
 					break; //reached end of recode map
 				String[] tmp = ColumnEncoderRecode.splitRecodeMapEntry(meta.get(i, _colList[j]-1).toString());
 				Object obj = UtilFunctions.stringToObject(_schema[_colList[j]-1], tmp[0]);
-				map.put(Long.parseLong(tmp[1]), obj);
+				int code = getCode(Long.parseLong(tmp[1]));
+				if( code > map.length )
+					map = Arrays.copyOf(map, Math.max(code, 2*map.length));
+				map[code-1] = obj;
+				maxCode = Math.max(maxCode, code);
 			}
-			_rcMaps[j] = map;
+			_rcMaps[j] = (maxCode < map.length) ? Arrays.copyOf(map, maxCode) : map;
 		}
 	}
+
+	private static int getCode(long code) {
+		if( code < 1 || code > Integer.MAX_VALUE )
+			throw new DMLRuntimeException("Invalid recode map code: " + code);
+		return (int) code;
+	}
 	
 	/**
 	 * Parses a line of &lt;token, ID, count&gt; into &lt;token, ID&gt; pairs, where 
@@ -148,26 +162,25 @@ public class DecoderRecode extends Decoder
 		out.writeBoolean(_onOut);
 		out.writeInt(_rcMaps.length);
 		for(int i = 0; i < _rcMaps.length; i++) {
-			out.writeInt(_rcMaps[i].size());
-			for(Entry<Long,Object> e1 : _rcMaps[i].entrySet()) {
-				out.writeLong(e1.getKey());
-				out.writeUTF(e1.getValue().toString());
+			out.writeInt(_rcMaps[i].length);
+			for(int j = 0; j < _rcMaps[i].length; j++) {
+				out.writeBoolean(_rcMaps[i][j] != null);
+				if(_rcMaps[i][j] != null)
+					out.writeUTF(_rcMaps[i][j].toString());
 			}
 		}
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void readExternal(ObjectInput in) throws IOException {
 		super.readExternal(in);
 		_onOut = in.readBoolean();
-		_rcMaps = (HashMap<Long,Object>[])new HashMap[in.readInt()];
+		_rcMaps = new Object[in.readInt()][];
 		for(int i = 0; i < _rcMaps.length; i++) {
-			HashMap<Long, Object> maps = new HashMap<>();
-			int size = in.readInt();
-			for(int j = 0; j < size; j++)
-				maps.put(in.readLong(), in.readUTF());
-			_rcMaps[i] = maps;
+			Object[] map = new Object[in.readInt()];
+			for(int j = 0; j < map.length; j++)
+				map[j] = in.readBoolean() ? in.readUTF() : null;
+			_rcMaps[i] = map;
 		}
 	}
 }
@@ -45,7 +45,33 @@ public abstract class ColumnEncoder implements Externalizable, Encoder, Comparab
 		_colID = colID;
 	}
 
-	public abstract MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol);
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol) {
+		return apply(in, out, outputCol, 0, -1);
+	}
+
+	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol) {
+		return apply(in, out, outputCol, 0, -1);
+	}
+
+	/**
+	 * Apply the generated metadata to a range of rows of the FrameBlock and save the result in out. Encoders only
+	 * write the given rows of their output columns, which allows concurrent applies over disjoint row ranges.
+	 *
+	 * @param in        input frame block
+	 * @param out       output matrix block
+	 * @param outputCol is a offset in the output matrix. column in FrameBlock + outputCol = column in out
+	 * @param rowStart  first row to encode
+	 * @param blk       number of rows to encode, or -1 for all remaining rows
+	 * @return output matrix block
+	 */
+	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol, int rowStart, int blk);
+
+	public abstract MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol, int rowStart, int blk);
+
+	protected static int getEndIndex(int numRows, int rowStart, int blk) {
+		return (blk <= 0) ? numRows : Math.min(numRows, rowStart + blk);
+	}
 
 	/**
 	 * Indicates if this encoder is applicable, i.e, if there is a column to encode.
@@ -53,14 +53,15 @@ public class ColumnEncoderDummycode extends ColumnEncoder {
 	}
 
 	@Override
-	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol) {
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		throw new DMLRuntimeException("Called DummyCoder with FrameBlock");
 	}
 
-	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol) {
+	@Override
+	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		// Out Matrix should already be correct size!
 		// append dummy coded or unchanged values to output
-		for(int i = 0; i < in.getNumRows(); i++) {
+		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++) {
 			// Using outputCol here as index since we have a MatrixBlock as input where dummycoding could have been
 			// applied in a previous encoder
 			double val = in.quickGetValue(i, outputCol);
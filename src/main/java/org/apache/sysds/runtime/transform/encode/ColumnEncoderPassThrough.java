@@ -41,10 +41,10 @@ public class ColumnEncoderPassThrough extends ColumnEncoder {
 	}
 
 	@Override
-	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol) {
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		int col = _colID - 1; // 1-based
 		ValueType vt = in.getSchema()[col];
-		for(int i = 0; i < in.getNumRows(); i++) {
+		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++) {
 			Object val = in.get(i, col);
 			out.quickSetValue(i,
 				outputCol,
@@ -55,10 +55,10 @@ public class ColumnEncoderPassThrough extends ColumnEncoder {
 	}
 
 	@Override
-	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol) {
+	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		// only transfer from in to out
 		int col = _colID - 1; // 1-based
-		for(int i = 0; i < in.getNumRows(); i++) {
+		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++) {
 			double val = in.quickGetValue(i, col);
 			out.quickSetValue(i, outputCol, val);
 		}
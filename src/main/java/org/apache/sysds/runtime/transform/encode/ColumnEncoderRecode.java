@@ -23,17 +23,15 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.StringLongHashMap;
 
 public class ColumnEncoderRecode extends ColumnEncoder {
 	private static final long serialVersionUID = 8213163881283341874L;
@@ -41,8 +39,15 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	// test property to ensure consistent encoding for local and federated
 	public static boolean SORT_RECODE_MAP = false;
 
+	// average number of characters per token for memory estimates of unknown data
+	public static final int DEFAULT_AVG_TOKEN_LENGTH = 8;
+
+	// fraction of rows and lower bound used as number of distinct values of unknown data
+	public static final double DEFAULT_DISTINCT_FRACTION = 0.1;
+	public static final long DEFAULT_MIN_DISTINCT = 1024;
+
 	// recode maps and custom map for partial recode maps
-	private HashMap<String, Long> _rcdMap = new HashMap<>();
+	private StringLongHashMap _rcdMap = new StringLongHashMap();
 	private HashSet<Object> _rcdMapPart = null;
 
 	public ColumnEncoderRecode(int colID) {
@@ -53,7 +58,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		this(-1);
 	}
 
-	private ColumnEncoderRecode(int colID, HashMap<String, Long> rcdMap) {
+	private ColumnEncoderRecode(int colID, StringLongHashMap rcdMap) {
 		super(colID);
 		_rcdMap = rcdMap;
 	}
@@ -70,9 +75,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return constructRecodeMapEntry(token, code, sb);
 	}
 
-	private static String constructRecodeMapEntry(String token, Long code, StringBuilder sb) {
+	private static String constructRecodeMapEntry(String token, long code, StringBuilder sb) {
 		sb.setLength(0); // reset reused string builder
-		return sb.append(token).append(Lop.DATATYPE_PREFIX).append(code.longValue()).toString();
+		return sb.append(token).append(Lop.DATATYPE_PREFIX).append(code).toString();
 	}
 
 	/**
@@ -88,7 +93,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return new String[] {value.substring(0, pos), value.substring(pos + 1)};
 	}
 
-	public HashMap<String, Long> getCPRecodeMaps() {
+	public StringLongHashMap getCPRecodeMaps() {
 		return _rcdMap;
 	}
 
@@ -97,7 +102,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	public void sortCPRecodeMaps() {
-		String[] keys = _rcdMap.keySet().toArray(new String[0]);
+		String[] keys = _rcdMap.getKeys();
 		Arrays.sort(keys);
 		_rcdMap.clear();
 		for(String key : keys)
@@ -105,8 +110,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	private long lookupRCDMap(String key) {
-		Long tmp = _rcdMap.get(key);
-		return (tmp != null) ? tmp : -1;
+		return _rcdMap.get(key);
 	}
 
 	@Override
@@ -134,8 +138,8 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	 * @param map column map
 	 * @param key key for the new entry
 	 */
-	protected void putCode(HashMap<String, Long> map, String key) {
-		map.put(key, (long) (map.size() + 1));
+	protected void putCode(StringLongHashMap map, String key) {
+		map.put(key, map.size() + 1);
 	}
 
 	@Override
@@ -160,8 +164,8 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	@Override
-	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol) {
-		for(int i = 0; i < in.getNumRows(); i++) {
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
+		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++) {
 			Object okey = in.get(i, _colID - 1);
 			String key = (okey != null) ? okey.toString() : null;
 			long code = lookupRCDMap(key);
@@ -171,7 +175,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	@Override
-	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol) {
+	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		throw new DMLRuntimeException(
 			"Recode called with MatrixBlock. Should not happen since Recode is the first " + "encoder in the Stack");
 	}
@@ -185,13 +189,13 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		assert other._colID == _colID;
 		// merge together overlapping columns
 		ColumnEncoderRecode otherRec = (ColumnEncoderRecode) other;
-		HashMap<String, Long> otherMap = otherRec._rcdMap;
+		StringLongHashMap otherMap = otherRec._rcdMap;
 		if(otherMap != null) {
 			// for each column, add all non present recode values
-			for(Map.Entry<String, Long> entry : otherMap.entrySet()) {
-				if(lookupRCDMap(entry.getKey()) == -1) {
+			for(int i = 0; i < otherMap.size(); i++) {
+				if(lookupRCDMap(otherMap.getKey(i)) == -1) {
 					// key does not yet exist
-					putCode(_rcdMap, entry.getKey());
+					putCode(_rcdMap, otherMap.getKey(i));
 				}
 			}
 		}
@@ -201,6 +205,39 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return _rcdMap.size();
 	}
 
+	/**
+	 * Obtains the size of the recode map in memory.
+	 *
+	 * @return size in bytes
+	 */
+	public long getInMemorySize() {
+		return _rcdMap.getInMemorySize();
+	}
+
+	/**
+	 * Estimates the size of a recode map in memory.
+	 *
+	 * @param numDistinct  number of distinct values
+	 * @param avgKeyLength average number of characters per value
+	 * @return estimated size in bytes
+	 */
+	public static long estimateInMemorySize(long numDistinct, double avgKeyLength) {
+		return StringLongHashMap.estimateInMemorySize(numDistinct, avgKeyLength);
+	}
+
+	/**
+	 * Estimates the number of distinct values of a recoded column of unknown data. Recoded
+	 * columns are categorical, so the estimate is a fraction of the number of rows (with a
+	 * lower bound), capped by the number of rows.
+	 *
+	 * @param numRows number of rows
+	 * @return estimated number of distinct values
+	 */
+	public static long estimateNumDistinct(long numRows) {
+		return Math.min(numRows, Math.max(DEFAULT_MIN_DISTINCT,
+			(long) Math.ceil(numRows * DEFAULT_DISTINCT_FRACTION)));
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		if(!isApplicable())
@@ -213,11 +250,10 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 
 		// create compact meta data representation
 		StringBuilder sb = new StringBuilder(); // for reuse
-		int rowID = 0;
-		for(Entry<String, Long> e : _rcdMap.entrySet()) {
-			meta.set(rowID++,
+		for(int i = 0; i < _rcdMap.size(); i++) {
+			meta.set(i,
 				_colID - 1, // 1-based
-				constructRecodeMapEntry(e.getKey(), e.getValue(), sb));
+				constructRecodeMapEntry(_rcdMap.getKey(i), _rcdMap.getValue(i), sb));
 		}
 		meta.getColumnMetadata(_colID - 1).setNumDistinct(getNumDistinctValues());
 
@@ -240,9 +276,9 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public void writeExternal(ObjectOutput out) throws IOException {
 		super.writeExternal(out);
 		out.writeInt(_rcdMap.size());
-		for(Entry<String, Long> e : _rcdMap.entrySet()) {
-			out.writeUTF(e.getKey());
-			out.writeLong(e.getValue());
+		for(int i = 0; i < _rcdMap.size(); i++) {
+			out.writeUTF(_rcdMap.getKey(i));
+			out.writeLong(_rcdMap.getValue(i));
 		}
 	}
 
@@ -250,9 +286,10 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public void readExternal(ObjectInput in) throws IOException {
 		super.readExternal(in);
 		int size = in.readInt();
+		_rcdMap = new StringLongHashMap(size);
 		for(int j = 0; j < size; j++) {
 			String key = in.readUTF();
-			Long value = in.readLong();
+			long value = in.readLong();
 			_rcdMap.put(key, value);
 		}
 	}
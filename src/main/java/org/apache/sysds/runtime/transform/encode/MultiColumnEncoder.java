@@ -25,6 +25,10 @@ import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -34,7 +38,9 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
 
 public class MultiColumnEncoder implements Encoder {
@@ -56,13 +62,26 @@ public class MultiColumnEncoder implements Encoder {
 	}
 
 	public MatrixBlock encode(FrameBlock in) {
+		return encode(in, 1);
+	}
+
+	/**
+	 * Build the transform meta data and apply it to the given frame with the given degree of parallelism. Since
+	 * encoders like dummycoding depend on the meta data of preceding encoders (e.g., the number of distinct values
+	 * of recode), all columns are built before the meta data is initialized and applied.
+	 *
+	 * @param in input frame block
+	 * @param k  degree of parallelism
+	 * @return encoded matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, int k) {
 		MatrixBlock out;
 		try {
-			build(in);
+			build(in, k);
 			_meta = getMetaData(new FrameBlock(in.getNumColumns(), Types.ValueType.STRING));
 			initMetaData(_meta);
 			// apply meta data
-			out = apply(in);
+			out = apply(in, k);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed transform-encode frame with \n" + this);
@@ -72,11 +91,42 @@ public class MultiColumnEncoder implements Encoder {
 	}
 
 	public void build(FrameBlock in) {
-		for(ColumnEncoder columnEncoder : _columnEncoders)
-			columnEncoder.build(in);
+		build(in, 1);
+	}
+
+	/**
+	 * Build the transform meta data of all column encoders, where the independent columns are built in parallel.
+	 *
+	 * @param in input frame block
+	 * @param k  degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		if(k > 1 && _columnEncoders.size() > 1)
+			buildMT(in, k);
+		else {
+			for(ColumnEncoder columnEncoder : _columnEncoders)
+				columnEncoder.build(in);
+		}
 		legacyBuild(in);
 	}
 
+	private void buildMT(FrameBlock in, int k) {
+		ExecutorService pool = CommonThreadPool.get(Math.min(k, _columnEncoders.size()));
+		try {
+			ArrayList<ColumnBuildTask> tasks = new ArrayList<>();
+			for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+				tasks.add(new ColumnBuildTask(columnEncoder, in));
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(InterruptedException | ExecutionException ex) {
+			throw new DMLRuntimeException("Failed parallel transform-encode build.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
 	public void legacyBuild(FrameBlock in) {
 		if(_legacyOmit != null)
 			_legacyOmit.build(in);
@@ -85,12 +135,31 @@ public class MultiColumnEncoder implements Encoder {
 	}
 
 	public MatrixBlock apply(FrameBlock in) {
+		return apply(in, 1);
+	}
+
+	public MatrixBlock apply(FrameBlock in, int k) {
 		int numCols = in.getNumColumns() + getNumExtraCols();
 		MatrixBlock out = new MatrixBlock(in.getNumRows(), numCols, false);
-		return apply(in, out, 0);
+		return apply(in, out, 0, k);
 	}
 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol) {
+		return apply(in, out, outputCol, 1);
+	}
+
+	/**
+	 * Apply the meta data to the given frame, where partitions of rows are encoded in parallel. Each task applies
+	 * all column encoders to its rows, which preserves the order of encoders per column (e.g., recode before
+	 * dummycode) and keeps the tasks' output rows disjoint.
+	 *
+	 * @param in        input frame block
+	 * @param out       output matrix block
+	 * @param outputCol is a offset in the output matrix. column in FrameBlock + outputCol = column in out
+	 * @param k         degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol, int k) {
 		// There should be a encoder for every column
 		int numEncoders = getFromAll(ColumnEncoderComposite.class, ColumnEncoder::getColID).size();
 		if(in.getNumColumns() != numEncoders)
@@ -98,11 +167,15 @@ public class MultiColumnEncoder implements Encoder {
 				+ "has a encoder or slice the input accordingly");
 
 		try {
-			int offset = outputCol;
-			for(ColumnEncoderComposite columnEncoder : _columnEncoders) {
-				columnEncoder.apply(in, out, columnEncoder._colID - 1 + offset);
-				if(columnEncoder.hasEncoder(ColumnEncoderDummycode.class))
-					offset += columnEncoder.getEncoder(ColumnEncoderDummycode.class)._domainSize - 1;
+			if(k > 1 && in.getNumRows() > 1 && isParallelApplicable(out))
+				applyMT(in, out, outputCol, k);
+			else {
+				int offset = outputCol;
+				for(ColumnEncoderComposite columnEncoder : _columnEncoders) {
+					columnEncoder.apply(in, out, columnEncoder._colID - 1 + offset);
+					if(columnEncoder.hasEncoder(ColumnEncoderDummycode.class))
+						offset += columnEncoder.getEncoder(ColumnEncoderDummycode.class)._domainSize - 1;
+				}
 			}
 			if(_legacyOmit != null)
 				out = _legacyOmit.apply(in, out);
@@ -116,6 +189,49 @@ public class MultiColumnEncoder implements Encoder {
 		return out;
 	}
 
+	private static boolean isParallelApplicable(MatrixBlock out) {
+		// concurrent writes into disjoint rows are only safe for dense and MCSR blocks
+		return !out.isInSparseFormat() || out.getSparseBlock() == null
+			|| out.getSparseBlock() instanceof SparseBlockMCSR;
+	}
+
+	private void applyMT(FrameBlock in, MatrixBlock out, int outputCol, int k) {
+		// output columns per encoder (shifted by preceding dummycoded columns)
+		int[] outCols = new int[_columnEncoders.size()];
+		int offset = outputCol;
+		for(int i = 0; i < _columnEncoders.size(); i++) {
+			ColumnEncoderComposite columnEncoder = _columnEncoders.get(i);
+			outCols[i] = columnEncoder._colID - 1 + offset;
+			if(columnEncoder.hasEncoder(ColumnEncoderDummycode.class))
+				offset += columnEncoder.getEncoder(ColumnEncoderDummycode.class)._domainSize - 1;
+		}
+
+		// allocate output upfront to avoid concurrent allocation
+		if(out.isInSparseFormat())
+			out.allocateSparseRowsBlock(false);
+		else
+			out.allocateDenseBlock(false);
+
+		int nRows = in.getNumRows();
+		int blk = (int) Math.ceil((double) nRows / k);
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<ApplyTask> tasks = new ArrayList<>();
+			for(int rl = 0; rl < nRows; rl += blk)
+				tasks.add(new ApplyTask(_columnEncoders, outCols, in, out, rl, blk));
+			for(Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch(InterruptedException | ExecutionException ex) {
+			throw new DMLRuntimeException("Failed parallel transform-encode apply.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		// nnz maintenance of concurrent quickSetValue is not thread-safe
+		out.recomputeNonZeros();
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		if(_meta != null)
@@ -463,4 +579,46 @@ public class MultiColumnEncoder implements Encoder {
 		if(_legacyMVImpute != null)
 			_legacyMVImpute.shiftCols(_colOffset);
 	}
+
+	private static class ColumnBuildTask implements Callable<Object> {
+		private final ColumnEncoder _encoder;
+		private final FrameBlock _input;
+
+		protected ColumnBuildTask(ColumnEncoder encoder, FrameBlock input) {
+			_encoder = encoder;
+			_input = input;
+		}
+
+		@Override
+		public Object call() {
+			_encoder.build(_input);
+			return null;
+		}
+	}
+
+	private static class ApplyTask implements Callable<Object> {
+		private final List<ColumnEncoderComposite> _encoders;
+		private final int[] _outCols;
+		private final FrameBlock _input;
+		private final MatrixBlock _output;
+		private final int _rowStart;
+		private final int _blk;
+
+		protected ApplyTask(List<ColumnEncoderComposite> encoders, int[] outCols, FrameBlock input,
+			MatrixBlock output, int rowStart, int blk) {
+			_encoders = encoders;
+			_outCols = outCols;
+			_input = input;
+			_output = output;
+			_rowStart = rowStart;
+			_blk = blk;
+		}
+
+		@Override
+		public Object call() {
+			for(int i = 0; i < _encoders.size(); i++)
+				_encoders.get(i).apply(_input, _output, _outCols[i], _rowStart, _blk);
+			return null;
+		}
+	}
 }
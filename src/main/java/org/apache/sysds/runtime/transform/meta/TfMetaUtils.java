@@ -28,6 +28,7 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -147,6 +148,34 @@ public class TfMetaUtils
 		return arr;
 	}
 
+	/**
+	 * Obtains the number of recoded columns (recode or dummycode) of a transform specification,
+	 * without resolving column names, e.g., for compile-time memory estimates.
+	 * 
+	 * @param spec transform specification as json string
+	 * @return number of recoded columns
+	 */
+	public static int getNumRecodeColumns(String spec) {
+		try {
+			JSONObject jSpec = new JSONObject(spec);
+			HashSet<String> cols = new HashSet<>();
+			for( TfMethod method : new TfMethod[]{TfMethod.RECODE, TfMethod.DUMMYCODE} ) {
+				String group = method.toString();
+				if( !jSpec.containsKey(group) )
+					continue;
+				JSONArray attrs = (jSpec.get(group) instanceof JSONObject) ?
+					(JSONArray) ((JSONObject)jSpec.get(group)).get(TfUtils.JSON_ATTRS) :
+					(JSONArray) jSpec.get(group);
+				for( int i=0; i < attrs.length(); i++ )
+					cols.add(attrs.get(i).toString());
+			}
+			return cols.size();
+		}
+		catch(JSONException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	public static int parseJsonObjectID(JSONObject colspec, String[] colnames, int minCol, int maxCol, boolean ids) throws JSONException {
 		int ix;
 		if(ids) {
@@ -47,6 +47,15 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		_buff = new byte[ size ];
 		_bufflen = size;
 	}
+	
+	public FastBufferedDataInputStream( InputStream in, byte[] buff ) {
+		super(in);
+		//use the largest multiple of 8 (e.g., for pooled buffers)
+		_bufflen = buff.length - buff.length % 8;
+		if (_bufflen <= 0) 
+			throw new IllegalArgumentException("Buffer size <= 0");
+		_buff = buff;
+	}
 
 	/////////////////////////////
 	// DataInput Implementation
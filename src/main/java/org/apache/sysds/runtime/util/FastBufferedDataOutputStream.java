@@ -60,6 +60,15 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 		_bufflen = size;
 	}
 
+	public FastBufferedDataOutputStream(OutputStream out, byte[] buff) {
+		super(out);
+		//use the largest multiple of 8 (e.g., for pooled buffers)
+		_bufflen = buff.length - buff.length % 8;
+		if(_bufflen <= 0)
+			throw new IllegalArgumentException("Buffer size <= 0.");
+		_buff = buff;
+	}
+
 	@Override
 	public void write(int b) throws IOException {
 		if (_count >= _bufflen)
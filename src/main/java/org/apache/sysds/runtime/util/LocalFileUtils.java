@@ -43,6 +43,7 @@ import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.PageCache;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
@@ -126,15 +127,17 @@ public class LocalFileUtils
 		throws IOException
 	{
 		FileInputStream fis = new FileInputStream(fname);
+		byte[] buff = (ret instanceof MatrixBlock) ? PageCache.allocPage(BUFFER_SIZE) : null;
 		DataInput in = !(ret instanceof MatrixBlock) ? 
 			new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE)) :
-			new FastBufferedDataInputStream(fis, BUFFER_SIZE);		
+			new FastBufferedDataInputStream(fis, buff);
 		try {
 			ret.readFields(in);
 		}
 		finally {
 			IOUtilFunctions.closeSilently((InputStream)in);
 			IOUtilFunctions.closeSilently(fis);
+			PageCache.putPage(buff);
 		}
 			
 		return ret;
@@ -232,7 +235,8 @@ public class LocalFileUtils
 		throws IOException
 	{	
 		FileOutputStream fos = new FileOutputStream( fname );
-		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
+		byte[] buff = PageCache.allocPage(BUFFER_SIZE);
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, buff);
 		
 		try {
 			mb.write(out);
@@ -240,11 +244,18 @@ public class LocalFileUtils
 		finally {
 			IOUtilFunctions.closeSilently(out);
 			IOUtilFunctions.closeSilently(fos);
+			PageCache.putPage(buff);
 		}	
 	}
 
 	public static void writeByteArrayToLocal( String fname, byte[] data )
 		throws IOException
+	{
+		writeByteArrayToLocal(fname, data, data.length);
+	}
+	
+	public static void writeByteArrayToLocal( String fname, byte[] data, int len )
+		throws IOException
 	{	
 		//byte array write via java.nio file channel ~10-15% faster than java.io
 		FileChannel channel = null;
@@ -252,7 +263,9 @@ public class LocalFileUtils
 			Path path = Paths.get(fname);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-			channel.write(ByteBuffer.wrap(data));
+			ByteBuffer buff = ByteBuffer.wrap(data, 0, len);
+			while( buff.hasRemaining() )
+				channel.write(buff);
 		}
 		finally {
 			IOUtilFunctions.closeSilently(channel);
@@ -264,7 +277,8 @@ public class LocalFileUtils
 		throws IOException
 	{
 		FileInputStream fis = new FileInputStream(fname);
-		FastBufferedDataInputStream in = new FastBufferedDataInputStream(fis, BUFFER_SIZE);
+		byte[] buff = PageCache.allocPage(BUFFER_SIZE);
+		FastBufferedDataInputStream in = new FastBufferedDataInputStream(fis, buff);
 		int bufferSize = 0;
 		
 		try {
@@ -280,6 +294,7 @@ public class LocalFileUtils
 		finally {
 			IOUtilFunctions.closeSilently(in);
 			IOUtilFunctions.closeSilently(fis);
+			PageCache.putPage(buff);
 		}
 			
 		return bufferSize;
@@ -292,7 +307,8 @@ public class LocalFileUtils
 			throw new IOException("Invalid length of block sequence: len="+len+" vs data="+inValues.length);
 		
 		FileOutputStream fos = new FileOutputStream(fname);
-		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
+		byte[] buff = PageCache.allocPage(BUFFER_SIZE);
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, buff);
 		
 		try 
 		{
@@ -305,6 +321,7 @@ public class LocalFileUtils
 		finally{
 			IOUtilFunctions.closeSilently(out);	
 			IOUtilFunctions.closeSilently(fos);
+			PageCache.putPage(buff);
 		}	
 	}
 
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import java.util.Arrays;
+
+/**
+ * This native string - long hashmap is specifically designed for recode
+ * maps of transform encoders, which only require put-if-absent and lookup
+ * semantics. Entries are stored in insertion order in primitive arrays and
+ * indexed by an open-addressing table with linear probing, which avoids the
+ * per-entry node and boxed long objects of a default hashmap. This keeps
+ * the memory requirements of high-cardinality recode maps low and allows
+ * iterating the entries in order of their codes.
+ *
+ * Null keys are not supported, and lookups return -1 for non-existing keys
+ * (recode codes are positive).
+ */
+public class StringLongHashMap
+{
+	private static final int INIT_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private String[] _keys;  //insertion order
+	private long[] _values;  //insertion order
+	private int[] _hashes;   //cached hashes, insertion order
+	private int[] _table;    //entry position + 1, 0 for empty slots
+	private int _size;
+
+	public StringLongHashMap() {
+		this(INIT_CAPACITY);
+	}
+
+	public StringLongHashMap(int expectedSize) {
+		int cap = INIT_CAPACITY;
+		while( cap * LOAD_FACTOR < expectedSize && cap < (1 << 30) )
+			cap <<= 1;
+		allocate(cap);
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	/**
+	 * Obtains the value of the given key.
+	 *
+	 * @param key lookup key (null returns -1)
+	 * @return value, or -1 if the key does not exist
+	 */
+	public long get(String key) {
+		if( key == null )
+			return -1;
+		int pos = getPosition(key, hash(key));
+		return (pos >= 0) ? _values[pos] : -1;
+	}
+
+	public boolean containsKey(String key) {
+		return key != null && getPosition(key, hash(key)) >= 0;
+	}
+
+	/**
+	 * Adds the given key-value pair, or replaces the value of an existing key.
+	 *
+	 * @param key   non-null key
+	 * @param value value
+	 */
+	public void put(String key, long value) {
+		int h = hash(key);
+		int pos = getPosition(key, h);
+		if( pos >= 0 )
+			_values[pos] = value;
+		else
+			append(key, h, value);
+	}
+
+	/**
+	 * Adds the given key-value pair if the key does not yet exist.
+	 *
+	 * @param key   non-null key
+	 * @param value value
+	 * @return the existing value, or -1 if the pair was added
+	 */
+	public long putIfAbsent(String key, long value) {
+		int h = hash(key);
+		int pos = getPosition(key, h);
+		if( pos >= 0 )
+			return _values[pos];
+		append(key, h, value);
+		return -1;
+	}
+
+	/**
+	 * Obtains the key of the entry at the given position in insertion order.
+	 *
+	 * @param pos entry position in [0, size)
+	 * @return key
+	 */
+	public String getKey(int pos) {
+		return _keys[pos];
+	}
+
+	/**
+	 * Obtains the value of the entry at the given position in insertion order.
+	 *
+	 * @param pos entry position in [0, size)
+	 * @return value
+	 */
+	public long getValue(int pos) {
+		return _values[pos];
+	}
+
+	/**
+	 * Obtains a copy of all keys in insertion order.
+	 *
+	 * @return array of keys
+	 */
+	public String[] getKeys() {
+		return Arrays.copyOf(_keys, _size);
+	}
+
+	public void clear() {
+		allocate(INIT_CAPACITY);
+	}
+
+	/**
+	 * Obtains the size of this map in memory, including the keys.
+	 *
+	 * @return size in bytes
+	 */
+	public long getInMemorySize() {
+		long size = 16 + 4 * 16 + 4; //object header, array headers, size
+		size += (long) _table.length * 4;
+		size += (long) _keys.length * (8 + 8 + 4);
+		for( int i = 0; i < _size; i++ )
+			size += getStringSize(_keys[i].length());
+		return size;
+	}
+
+	/**
+	 * Estimates the size in memory of a map with the given number of entries,
+	 * including the keys.
+	 *
+	 * @param numEntries   number of entries
+	 * @param avgKeyLength average number of characters per key
+	 * @return estimated size in bytes
+	 */
+	public static long estimateInMemorySize(long numEntries, double avgKeyLength) {
+		//table and entry arrays at load factor, plus strings
+		return 16 + 4 * 16 + 4
+			+ (long) Math.ceil(numEntries / LOAD_FACTOR) * (4 + 8 + 8 + 4)
+			+ numEntries * getStringSize((int) Math.ceil(avgKeyLength));
+	}
+
+	private static long getStringSize(int length) {
+		//string object (hash, array reference) and char array
+		return 24 + 16 + (((long) length * 2 + 7) / 8) * 8;
+	}
+
+	private void allocate(int cap) {
+		int n = (int) (cap * LOAD_FACTOR);
+		_table = new int[cap];
+		_keys = new String[n];
+		_values = new long[n];
+		_hashes = new int[n];
+		_size = 0;
+	}
+
+	private int getPosition(String key, int h) {
+		int mask = _table.length - 1;
+		for( int ix = h & mask; _table[ix] != 0; ix = (ix + 1) & mask ) {
+			int pos = _table[ix] - 1;
+			if( _hashes[pos] == h && key.equals(_keys[pos]) )
+				return pos;
+		}
+		return -1;
+	}
+
+	private void append(String key, int h, long value) {
+		if( _size >= _keys.length )
+			resize();
+		_keys[_size] = key;
+		_values[_size] = value;
+		_hashes[_size] = h;
+		insert(h, _size);
+		_size++;
+	}
+
+	private void insert(int h, int pos) {
+		int mask = _table.length - 1;
+		int ix = h & mask;
+		while( _table[ix] != 0 )
+			ix = (ix + 1) & mask;
+		_table[ix] = pos + 1;
+	}
+
+	private void resize() {
+		//grow entry arrays, and rebuild the table from cached hashes
+		int cap = _table.length * 2;
+		int n = (int) (cap * LOAD_FACTOR);
+		_keys = Arrays.copyOf(_keys, n);
+		_values = Arrays.copyOf(_values, n);
+		_hashes = Arrays.copyOf(_hashes, n);
+		_table = new int[cap];
+		for( int i = 0; i < _size; i++ )
+			insert(_hashes[i], i);
+	}
+
+	private static int hash(String key) {
+		//spread the string hash, as linear probing uses the low bits
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if( this == o )
+			return true;
+		if( !(o instanceof StringLongHashMap) )
+			return false;
+		StringLongHashMap that = (StringLongHashMap) o;
+		if( _size != that._size )
+			return false;
+		for( int i = 0; i < _size; i++ ) {
+			int pos = that.getPosition(_keys[i], _hashes[i]);
+			if( pos < 0 || that._values[pos] != _values[i] )
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		//order-independent, consistent with equals
+		int h = 0;
+		for( int i = 0; i < _size; i++ )
+			h += _keys[i].hashCode() ^ Long.hashCode(_values[i]);
+		return h;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for( int i = 0; i < _size; i++ ) {
+			if( i > 0 )
+				sb.append(", ");
+			sb.append(_keys[i]).append('=').append(_values[i]);
+		}
+		return sb.append('}').toString();
+	}
+}
@@ -29,13 +29,17 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -128,18 +132,36 @@ public class Statistics
 	private static final LongAdder psBatchIndexTime = new LongAdder();
 	private static final LongAdder psRpcRequestTime = new LongAdder();
 	private static final LongAdder psValidationTime = new LongAdder();
+	private static final LongAdder psPushWaitTime = new LongAdder(); //in nano sec
+	private static final ConcurrentHashMap<Integer, LongAdder> psWorkerPushWaitTime = new ConcurrentHashMap<>();
+	private static final LongAdder psStaleness = new LongAdder();
+	private static final LongAdder psStalenessCount = new LongAdder();
+	private static final LongAdder psBlockedTime = new LongAdder(); //in nano sec
 	// Federated parameter server specifics (time is in milli sec)
 	private static final LongAdder fedPSDataPartitioningTime = new LongAdder();
 	private static final LongAdder fedPSWorkerComputingTime = new LongAdder();
 	private static final LongAdder fedPSGradientWeightingTime = new LongAdder();
 	private static final LongAdder fedPSCommunicationTime = new LongAdder();
+	private static final LongAdder fedPSCompressionTime = new LongAdder();
+	private static final LongAdder fedPSGradientBytes = new LongAdder();
+	private static final LongAdder fedPSCompressedGradientBytes = new LongAdder();
 
 	//PARFOR optimization stats (low frequency updates)
 	private static long parforOptTime = 0; //in milli sec
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforStealCount = 0; //count
+	private static long parforIdleTime = 0; //in nano sec
 
+	//JMLC batched scoring (latencies of the most recent requests in nano sec,
+	//ring buffer allocated on first use and maintained without global lock)
+	private static final int JMLC_LATENCY_SAMPLES = 1 << 16;
+	private static final LongAdder jmlcBatches = new LongAdder(); //count
+	private static final LongAdder jmlcBatchedRequests = new LongAdder(); //count
+	private static volatile AtomicLongArray jmlcLatencies = null;
+	private static final AtomicLong jmlcLatencyCount = new AtomicLong(0); //count
+	
 	private static final LongAdder lTotalUIPVar = new LongAdder();
 	private static final LongAdder lTotalLix = new LongAdder();
 	private static final LongAdder lTotalLixUIP = new LongAdder();
@@ -150,6 +172,9 @@ public class Statistics
 	private static final LongAdder federatedGetCount = new LongAdder();
 	private static final LongAdder federatedExecuteInstructionCount = new LongAdder();
 	private static final LongAdder federatedExecuteUDFCount = new LongAdder();
+	private static final LongAdder federatedConnectionCount = new LongAdder();
+	private static final LongAdder federatedConnectionReuseCount = new LongAdder();
+	private static final LongAdder federatedQueueTime = new LongAdder(); //in nano sec
 
 	private static LongAdder numNativeFailures = new LongAdder();
 	public static LongAdder numNativeLibMatrixMultCalls = new LongAdder();
@@ -393,6 +418,58 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForWorkStealing( long steals, long idleTime ) {
+		parforStealCount += steals;
+		parforIdleTime += idleTime;
+	}
+
+	public static void incrementJMLCBatches( int requests ) {
+		jmlcBatches.increment();
+		jmlcBatchedRequests.add(requests);
+	}
+	
+	public static void addJMLCRequestLatency( long time ) {
+		AtomicLongArray tmp = jmlcLatencies;
+		if( tmp == null )
+			tmp = allocateJMLCLatencies();
+		tmp.set((int)(jmlcLatencyCount.getAndIncrement() % JMLC_LATENCY_SAMPLES), time);
+	}
+	
+	private static synchronized AtomicLongArray allocateJMLCLatencies() {
+		if( jmlcLatencies == null )
+			jmlcLatencies = new AtomicLongArray(JMLC_LATENCY_SAMPLES);
+		return jmlcLatencies;
+	}
+	
+	/**
+	 * Returns the given percentile of the latencies of the most recent
+	 * JMLC batched scoring requests.
+	 * 
+	 * @param percentile percentile in (0,100]
+	 * @return latency in nano seconds, or 0 if no requests were recorded
+	 */
+	public static long getJMLCRequestLatency( double percentile ) {
+		AtomicLongArray latencies = jmlcLatencies;
+		if( latencies == null )
+			return 0;
+		long[] tmp = new long[(int)Math.min(jmlcLatencyCount.get(), JMLC_LATENCY_SAMPLES)];
+		for( int i=0; i<tmp.length; i++ )
+			tmp[i] = latencies.get(i);
+		if( tmp.length == 0 )
+			return 0;
+		Arrays.sort(tmp);
+		int pos = (int)Math.ceil(percentile / 100 * tmp.length) - 1;
+		return tmp[Math.min(Math.max(pos, 0), tmp.length-1)];
+	}
+	
+	public static long getJMLCBatches() {
+		return jmlcBatches.longValue();
+	}
+	
+	public static long getJMLCBatchedRequests() {
+		return jmlcBatchedRequests.longValue();
+	}
 
 	public static synchronized void incFederated(RequestType rqt){
 		switch (rqt) {
@@ -416,6 +493,17 @@ public class Statistics
 		}
 	}
 
+	public static void incFederatedConnections(boolean reuse) {
+		if( reuse )
+			federatedConnectionReuseCount.increment();
+		else
+			federatedConnectionCount.increment();
+	}
+
+	public static void incFederatedQueueTime(long delta) {
+		federatedQueueTime.add(delta);
+	}
+
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
 			compileStartTime = System.nanoTime();
@@ -482,6 +570,12 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforStealCount = 0;
+		parforIdleTime = 0;
+		
+		jmlcBatches.reset();
+		jmlcBatchedRequests.reset();
+		jmlcLatencyCount.set(0);
 		
 		sparkCtxCreateTime = 0;
 		
@@ -515,6 +609,9 @@ public class Statistics
 		federatedGetCount.reset();
 		federatedExecuteInstructionCount.reset();
 		federatedExecuteUDFCount.reset();
+		federatedConnectionCount.reset();
+		federatedConnectionReuseCount.reset();
+		federatedQueueTime.reset();
 
 		DMLCompressionStatistics.reset();
 	}
@@ -619,6 +716,29 @@ public class Statistics
 		psValidationTime.add(t);
 	}
 
+	public static void accPSPushWaitTime(int workerID, long t) {
+		psPushWaitTime.add(t);
+		psWorkerPushWaitTime.computeIfAbsent(workerID, k -> new LongAdder()).add(t);
+	}
+
+	public static double getPSPushWaitTime() {
+		return psPushWaitTime.doubleValue();
+	}
+
+	public static double getPSPushWaitTime(int workerID) {
+		LongAdder t = psWorkerPushWaitTime.get(workerID);
+		return (t != null) ? t.doubleValue() : 0;
+	}
+
+	public static void accPSStaleness(long n) {
+		psStaleness.add(n);
+		psStalenessCount.increment();
+	}
+
+	public static void accPSBlockedTime(long t) {
+		psBlockedTime.add(t);
+	}
+
 	public static void accFedPSDataPartitioningTime(long t) {
 		fedPSDataPartitioningTime.add(t);
 	}
@@ -633,6 +753,12 @@ public class Statistics
 
 	public static void accFedPSCommunicationTime(long t) { fedPSCommunicationTime.add(t);}
 
+	public static void accFedPSCompression(long t, long bytes, long compressedBytes) {
+		fedPSCompressionTime.add(t);
+		fedPSGradientBytes.add(bytes);
+		fedPSCompressedGradientBytes.add(compressedBytes);
+	}
+
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
 		String opcode = null;
@@ -942,6 +1068,14 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforStealCount(){
+		return parforStealCount;
+	}
+	
+	public static long getParforIdleTime(){
+		return parforIdleTime;
+	}
 
 	public static long getNumPinnedObjects() { return maxNumPinnedObjects; }
 
@@ -1013,6 +1147,10 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if (UnifiedMemoryManager.isEnabled())
+				sb.append("UMM evict/restore/pinwait:\t" + CacheStatistics.displayUMM() + " sec.\n");
+			if (CacheableData.CACHING_BUFFER_PAGECACHE)
+				sb.append("Page cache hits/misses/pages:\t" + CacheStatistics.displayPageCache() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -1062,6 +1200,11 @@ public class Statistics
 					sb.append(String.format("PS fed comm time (cum):\t\t%.3f secs.\n", fedPSCommunicationTime.doubleValue() / 1000));
 					sb.append(String.format("PS fed worker comp time (cum):\t%.3f secs.\n", fedPSWorkerComputingTime.doubleValue() / 1000));
 					sb.append(String.format("PS fed grad. weigh. time (cum):\t%.3f secs.\n", fedPSGradientWeightingTime.doubleValue() / 1000));
+					if(fedPSCompressedGradientBytes.longValue() > 0) {
+						sb.append(String.format("PS fed grad. compr. ratio:\t%.2f.\n",
+							fedPSGradientBytes.doubleValue() / fedPSCompressedGradientBytes.doubleValue()));
+						sb.append(String.format("PS fed grad. compr. time (cum):\t%.3f secs.\n", fedPSCompressionTime.doubleValue() / 1000));
+					}
 					sb.append(String.format("PS fed global model agg time:\t%.3f secs.\n", psAggregationTime.doubleValue() / 1000));
 				}
 				else {
@@ -1069,9 +1212,16 @@ public class Statistics
 					sb.append(String.format("Paramserv model update time:\t%.3f/%.3f secs.\n",
 						psLocalModelUpdateTime.doubleValue() / 1000, psAggregationTime.doubleValue() / 1000));
 					sb.append(String.format("Paramserv model broadcast time:\t%.3f secs.\n", psModelBroadcastTime.doubleValue() / 1000));
+					sb.append(String.format("Paramserv push wait time:\t%.3f/%.3f secs.\n", psPushWaitTime.doubleValue() * 1e-9,
+						psWorkerPushWaitTime.values().stream().mapToDouble(LongAdder::doubleValue).max().orElse(0) * 1e-9));
 					sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", psBatchIndexTime.doubleValue() / 1000));
 					sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", psRpcRequestTime.doubleValue() / 1000));
 				}
+				if(psStalenessCount.longValue() > 0) {
+					sb.append(String.format("Paramserv SSP avg staleness:\t%.2f.\n",
+						psStaleness.doubleValue() / psStalenessCount.doubleValue()));
+					sb.append(String.format("Paramserv SSP blocked time:\t%.3f secs.\n", psBlockedTime.doubleValue() * 1e-9));
+				}
 				sb.append(String.format("Paramserv valdiation time:\t%.3f secs.\n", psValidationTime.doubleValue() / 1000));
 			}
 			if( parforOptCount>0 ){
@@ -1081,6 +1231,16 @@ public class Statistics
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
+			if( parforStealCount>0 || parforIdleTime>0 ){
+				sb.append("ParFor work stealing (steals):\t" + getParforStealCount() + ".\n");
+				sb.append("ParFor worker idle time:\t" + String.format("%.3f", ((double)getParforIdleTime())*1e-9) + " sec.\n");
+			}
+			if( jmlcBatches.longValue() > 0 ) {
+				sb.append("JMLC batches (requests):\t" + getJMLCBatches() + "/" + getJMLCBatchedRequests() + ".\n");
+				sb.append("JMLC latency (p50/p95/p99):\t" + String.format("%.3f/%.3f/%.3f",
+					getJMLCRequestLatency(50)*1e-6, getJMLCRequestLatency(95)*1e-6,
+					getJMLCRequestLatency(99)*1e-6) + " ms.\n");
+			}
 			if( federatedReadCount.longValue() > 0){
 				sb.append("Federated I/O (Read, Put, Get):\t" + 
 					federatedReadCount.longValue() + "/" +
@@ -1090,6 +1250,13 @@ public class Statistics
 					federatedExecuteInstructionCount.longValue() + "/" +
 					federatedExecuteUDFCount.longValue() + ".\n");
 			}
+			if( federatedConnectionCount.longValue() > 0 ) {
+				sb.append("Federated conn (new, reused):\t" +
+					federatedConnectionCount.longValue() + "/" +
+					federatedConnectionReuseCount.longValue() + ".\n");
+				sb.append("Federated queue time:\t\t" +
+					String.format("%.3f", federatedQueueTime.longValue()*1e-9) + " sec.\n");
+			}
 
 			if(ConfigurationManager.isCompressionEnabled()){
 				DMLCompressionStatistics.display(sb);
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.lops.WeightedCrossEntropy.WCeMMType;
+import org.apache.sysds.lops.WeightedDivMM.WDivMMType;
+import org.apache.sysds.lops.WeightedSigmoid.WSigmoidType;
+import org.apache.sysds.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysds.lops.WeightedUnaryMM.WUMMType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibQuaternary;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedQuaternaryTest {
+
+	private static final int ROWS = 1500;
+	private static final int COLS = 20;
+	private static final int RANK = 5;
+
+	private static final MatrixBlock X = genInput();
+	private static final MatrixBlock CX = compress(X);
+	private static final MatrixBlock U = MatrixBlock.randOperations(ROWS, RANK, 1.0, 0.1, 1, "uniform", 3);
+	private static final MatrixBlock V = MatrixBlock.randOperations(COLS, RANK, 1.0, 0.1, 1, "uniform", 5);
+	private static final MatrixBlock W = MatrixBlock.randOperations(ROWS, COLS, 0.4, 1, 3, "uniform", 7);
+
+	@Test
+	public void testWSLossNone() {
+		runQuaternaryTest(new QuaternaryOperator(WeightsType.NONE), null);
+	}
+
+	@Test
+	public void testWSLossPost() {
+		runQuaternaryTest(new QuaternaryOperator(WeightsType.POST), W);
+	}
+
+	@Test
+	public void testWSLossPostNZ() {
+		runQuaternaryTest(new QuaternaryOperator(WeightsType.POST_NZ), null);
+	}
+
+	@Test
+	public void testWSLossPre() {
+		runQuaternaryTest(new QuaternaryOperator(WeightsType.PRE), W);
+	}
+
+	@Test
+	public void testWSigmoid() {
+		for(WSigmoidType wt : WSigmoidType.values())
+			runQuaternaryTest(new QuaternaryOperator(wt), null);
+	}
+
+	@Test
+	public void testWDivMMDivLeftRight() {
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.DIV_LEFT), null);
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.DIV_RIGHT), null);
+	}
+
+	@Test
+	public void testWDivMMDivEps() {
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.DIV_LEFT_EPS, 0.1), null);
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.DIV_RIGHT_EPS, 0.1), null);
+	}
+
+	@Test
+	public void testWDivMMMult() {
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_BASIC), null);
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_LEFT), null);
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_RIGHT), null);
+	}
+
+	@Test
+	public void testWDivMMMultMinus() {
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_MINUS_LEFT), null);
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_MINUS_RIGHT), null);
+	}
+
+	@Test
+	public void testWDivMMMultMinusFourInputs() {
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_MINUS_4_LEFT), W);
+		runQuaternaryTest(new QuaternaryOperator(WDivMMType.MULT_MINUS_4_RIGHT), W);
+	}
+
+	@Test
+	public void testWCeMM() {
+		runQuaternaryTest(new QuaternaryOperator(WCeMMType.BASIC), null);
+		runQuaternaryTest(new QuaternaryOperator(WCeMMType.BASIC_EPS, 0.1), null);
+	}
+
+	@Test
+	public void testWUMM() {
+		runQuaternaryTest(new QuaternaryOperator(WUMMType.MULT, "exp"), null);
+		runQuaternaryTest(new QuaternaryOperator(WUMMType.DIV, "^2"), null);
+	}
+
+	private static void runQuaternaryTest(QuaternaryOperator qop, MatrixBlock wm) {
+		MatrixBlock expected = X.quaternaryOperations(qop, U, V, wm, new MatrixBlock(), 1);
+		for(int k : new int[] {1, 4}) {
+			MatrixBlock ret = CLALibQuaternary
+				.quaternaryOperations((CompressedMatrixBlock) CX, qop, U, V, wm, new MatrixBlock(), k);
+			assertNotNull("quaternary operation not supported in compressed domain", ret);
+			assertEquals(expected.getNumRows(), ret.getNumRows());
+			assertEquals(expected.getNumColumns(), ret.getNumColumns());
+			if(expected.getNumRows() == 1 && expected.getNumColumns() == 1) {
+				double e = expected.quickGetValue(0, 0);
+				assertEquals(e, ret.quickGetValue(0, 0), 1e-10 * Math.max(1, Math.abs(e)));
+			}
+			else
+				TestUtils.compareMatrices(expected, ret, 1e-8);
+		}
+	}
+
+	private static MatrixBlock genInput() {
+		// sparse integer ratings in [1, 5] w/ few dense and mostly constant columns
+		MatrixBlock mb = MatrixBlock.randOperations(ROWS, COLS, 0.05, 1, 5, "uniform", 11);
+		mb = TestUtils.round(mb);
+		for(int i = 0; i < ROWS; i++) {
+			for(int j = 0; j < 3; j++)
+				mb.quickSetValue(i, j, 1 + (i + j) % 4);
+			mb.quickSetValue(i, 3, (i % 23 == 0) ? 4 : 2);
+		}
+		return mb;
+	}
+
+	private static MatrixBlock compress(MatrixBlock mb) {
+		MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, 1).getLeft();
+		assertTrue("input not compressed", ret instanceof CompressedMatrixBlock);
+		return ret;
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibTable;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCTable;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedTableTest {
+
+	private static final int ROWS = 2000;
+	private static final int MAX = 10;
+
+	@Test
+	public void testCtableScalarWeightDDC() {
+		runCtableTest(genDDC(7), null, 1.0, null, 1.0);
+	}
+
+	@Test
+	public void testCtableScalarWeightSDC() {
+		runCtableTest(genSDC(7), null, 3.0, null, 2.0);
+	}
+
+	@Test
+	public void testCtableScalarWeightConst() {
+		runCtableTest(genConst(), null, 2.0, null, 1.5);
+	}
+
+	@Test
+	public void testCtableMatrixWeight() {
+		runCtableTest(genDDC(7), null, 2.0, genWeights(), 1.0);
+	}
+
+	@Test
+	public void testCtableTwoInputsDDC() {
+		runCtableTest(genDDC(7), genDDC(3), 0, null, 1.0);
+	}
+
+	@Test
+	public void testCtableTwoInputsSDC() {
+		runCtableTest(genSDC(7), genDDC(3), 0, null, 2.0);
+	}
+
+	@Test
+	public void testCtableTwoInputsMatrixWeight() {
+		runCtableTest(genSDC(7), genSDC(3), 0, genWeights(), 1.0);
+	}
+
+	@Test
+	public void testGroupedSum() {
+		runGroupedAggTest(genDDC(7), genTarget(1), null, "sum", null);
+	}
+
+	@Test
+	public void testGroupedSumMultiColumn() {
+		runGroupedAggTest(genSDC(7), genTarget(5), null, "sum", null);
+	}
+
+	@Test
+	public void testGroupedSumWeighted() {
+		runGroupedAggTest(genDDC(7), genTarget(1), genWeights(), "sum", null);
+	}
+
+	@Test
+	public void testGroupedCount() {
+		runGroupedAggTest(genSDC(7), genTarget(1), null, "count", null);
+	}
+
+	@Test
+	public void testGroupedCountWeighted() {
+		runGroupedAggTest(genDDC(7), genTarget(1), genWeights(), "count", null);
+	}
+
+	@Test
+	public void testGroupedMean() {
+		runGroupedAggTest(genDDC(7), genTarget(1), null, "mean", null);
+	}
+
+	@Test
+	public void testGroupedVariance() {
+		runGroupedAggTest(genSDC(7), genTarget(1), null, "variance", null);
+	}
+
+	@Test
+	public void testGroupedCentralMomentWeighted() {
+		runGroupedAggTest(genDDC(7), genTarget(1), genWeights(), "centralmoment", "3");
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testGroupedCentralMomentMultiColumnWeighted() {
+		runInvalidGroupedAggTest(genTarget(5), genWeights(), "centralmoment", "3", MAX);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testGroupedSumMultiColumnUnknownGroups() {
+		runInvalidGroupedAggTest(genTarget(5), null, "sum", null, -1);
+	}
+
+	private static void runCtableTest(MatrixBlock A, MatrixBlock B, double b, MatrixBlock W, double w) {
+		MatrixBlock cA = compress(A);
+		MatrixBlock cB = (B != null) ? compress(B) : null;
+		int clen = (B != null) ? MAX : (int) b;
+		MatrixBlock ret1 = new MatrixBlock(MAX, clen, false);
+		MatrixBlock ret2 = new MatrixBlock(MAX, clen, false);
+		LibMatrixCTable.ctable(A, B, b, W, w, false, null, ret1, 1);
+		LibMatrixCTable.ctable(cA, cB, b, W, w, false, null, ret2, 1);
+		TestUtils.compareMatrices(ret1, ret2, 0);
+	}
+
+	private static void runGroupedAggTest(MatrixBlock groups, MatrixBlock target, MatrixBlock weights, String fn,
+		String order) {
+		MatrixBlock cgroups = compress(groups);
+		Operator op = InstructionUtils.parseGroupedAggOperator(fn, order);
+		// number of groups only inferred for column vector targets
+		int ngroups = (target.getNumColumns() > 1) ? MAX : -1;
+		MatrixBlock ret1 = groups.groupedAggOperations(target, weights, new MatrixBlock(), ngroups, op);
+		MatrixBlock ret2 = cgroups.groupedAggOperations(target, weights, new MatrixBlock(), ngroups, op);
+		TestUtils.compareMatrices(ret1, ret2, 1e-10);
+		// no fallback to decompression
+		MatrixBlock ret3 = CLALibTable
+			.groupedAggOperations((CompressedMatrixBlock) cgroups, target, weights, new MatrixBlock(), ngroups, op);
+		assertNotNull("grouped aggregate not supported in compressed domain", ret3);
+		TestUtils.compareMatrices(ret1, ret3, 1e-10);
+	}
+
+	private static void runInvalidGroupedAggTest(MatrixBlock target, MatrixBlock weights, String fn, String order,
+		int ngroups) {
+		MatrixBlock cgroups = compress(genDDC(7));
+		Operator op = InstructionUtils.parseGroupedAggOperator(fn, order);
+		// invalid inputs are left to the fallback, which raises the error
+		assertNull(CLALibTable
+			.groupedAggOperations((CompressedMatrixBlock) cgroups, target, weights, new MatrixBlock(), ngroups, op));
+		cgroups.groupedAggOperations(target, weights, new MatrixBlock(), ngroups, op);
+	}
+
+	private static MatrixBlock compress(MatrixBlock mb) {
+		MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, 1).getLeft();
+		assertTrue("input not compressed", ret instanceof CompressedMatrixBlock);
+		return ret;
+	}
+
+	private static MatrixBlock genDDC(int seed) {
+		// uniformly distributed integers in [1, MAX]
+		MatrixBlock mb = MatrixBlock.randOperations(ROWS, 1, 1.0, 1, MAX, "uniform", seed);
+		for(int i = 0; i < ROWS; i++)
+			mb.quickSetValue(i, 0, Math.floor(mb.quickGetValue(i, 0)));
+		return mb;
+	}
+
+	private static MatrixBlock genSDC(int seed) {
+		// mostly ones w/ few other integers in [2, MAX]
+		MatrixBlock mb = genDDC(seed);
+		for(int i = 0; i < ROWS; i++)
+			if(i % 17 != 0)
+				mb.quickSetValue(i, 0, 1);
+		return mb;
+	}
+
+	private static MatrixBlock genConst() {
+		return new MatrixBlock(ROWS, 1, 3.0);
+	}
+
+	private static MatrixBlock genWeights() {
+		MatrixBlock mb = new MatrixBlock(ROWS, 1, false);
+		for(int i = 0; i < ROWS; i++)
+			mb.quickSetValue(i, 0, 1 + i % 5);
+		return mb;
+	}
+
+	private static MatrixBlock genTarget(int cols) {
+		return MatrixBlock.randOperations(ROWS, cols, 1.0, -3, 3, "uniform", 11);
+	}
+}
@@ -20,6 +20,7 @@
 package org.apache.sysds.test.component.compress;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -40,6 +41,9 @@ import org.apache.sysds.runtime.compress.CompressionStatistics;
 import org.apache.sysds.runtime.compress.cocode.PlanningCoCoder.PartitionerType;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.lib.CLALibUnary;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.functionobjects.Divide;
 import org.apache.sysds.runtime.functionobjects.Equals;
 import org.apache.sysds.runtime.functionobjects.GreaterThan;
@@ -61,6 +65,7 @@ import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.test.TestUtils;
 import org.apache.sysds.test.component.compress.TestConstants.MatrixTypology;
@@ -857,6 +862,93 @@ public abstract class CompressedTestBase extends TestBase {
 		testScalarOperations(sop, (lossyTolerance + 0.1) * 10);
 	}
 
+	@Test
+	public void testUnaryOpAbs() {
+		testUnaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.ABS)), 1);
+	}
+
+	@Test
+	public void testUnaryOpRound() {
+		testUnaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.ROUND)), 1);
+	}
+
+	@Test
+	public void testUnaryOpSigmoid() {
+		// sparse-unsafe: f(0) != 0
+		testUnaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.SIGMOID)), 1);
+	}
+
+	@Test
+	public void testUnaryOpCos() {
+		// sparse-unsafe: f(0) != 0
+		testUnaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.COS), _k, false), 1);
+	}
+
+	@Test
+	public void testUnaryOpSign() {
+		testUnaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.SIGN), _k, false), 1);
+	}
+
+	@Test
+	public void testUnaryOpCumsum() {
+		// not element-wise, decompressed fallback
+		testUnaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.CUMSUM)), 1);
+	}
+
+	public void testUnaryOperations(UnaryOperator op, double tolerance) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return; // Input was not compressed then just pass test
+			MatrixBlock ret1 = mb.unaryOperations(op, new MatrixBlock());
+
+			// matrix unary compressed
+			MatrixBlock ret2 = cmb.unaryOperations(op, new MatrixBlock());
+			if(CLALibUnary.isSupported(op, (CompressedMatrixBlock) cmb))
+				assertTrue(this.toString(), ret2 instanceof CompressedMatrixBlock);
+			compareResultMatrices(ret1, ret2, tolerance);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testRbindExistingRows() {
+		// appended rows reuse existing dictionary tuples
+		if(mb.getNumRows() > 1)
+			testRbind(mb.slice(0, mb.getNumRows() / 2, 0, mb.getNumColumns() - 1, new MatrixBlock()));
+	}
+
+	@Test
+	public void testRbindNewRows() {
+		testRbind(TestUtils.round(MatrixBlock.randOperations(7, mb.getNumColumns(), 0.5, -3, 3, "uniform", 13)));
+	}
+
+	@Test
+	public void testRbindEmptyRows() {
+		testRbind(new MatrixBlock(5, mb.getNumColumns(), true));
+	}
+
+	public void testRbind(MatrixBlock bottom) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return; // Input was not compressed then just pass test
+			MatrixBlock ret1 = mb.append(bottom, new MatrixBlock(), false);
+
+			// rbind compressed
+			MatrixBlock ret2 = cmb.append(bottom, new MatrixBlock(), false);
+			if(!((CompressedMatrixBlock) cmb).isOverlapping())
+				assertTrue(this.toString(), ret2 instanceof CompressedMatrixBlock);
+			assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			compareResultMatrices(ret1, ret2, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
 	public void testScalarOperations(ScalarOperator sop, double tolerance) {
 		try {
 			if(!(cmb instanceof CompressedMatrixBlock))
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.test.component.compress;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -27,9 +28,12 @@ import java.util.Collection;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.COV;
+import org.apache.sysds.runtime.matrix.data.LibMatrixQuantile;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.CMOperator;
 import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.COVOperator;
 import org.apache.sysds.test.TestUtils;
 import org.apache.sysds.test.component.compress.TestConstants.MatrixTypology;
 import org.apache.sysds.test.component.compress.TestConstants.OverLapping;
@@ -117,4 +121,118 @@ public class CompressedVectorTest extends CompressedTestBase {
 			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
 		}
 	}
+	@Test
+	public void testCentralMomentOrders() {
+		for(int order : new int[] {0, 3, 4})
+			testCentralMoment(order, null);
+	}
+
+	@Test
+	public void testCentralMomentWeighted() {
+		testCentralMoment(2, getWeights());
+	}
+
+	@Test
+	public void testCovariance() {
+		testCovariance(null);
+	}
+
+	@Test
+	public void testCovarianceWeighted() {
+		testCovariance(getWeights());
+	}
+
+	@Test
+	public void testMedianAndIQM() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || cols != 1)
+				return; // Input was not compressed then just pass test
+
+			MatrixBlock sorted1 = mb.sortOperations(null, new MatrixBlock());
+			MatrixBlock sorted2 = cmb.sortOperations(null, new MatrixBlock());
+			compareScalar(sorted1.median(), sorted2.median());
+			compareScalar(sorted1.interQuartileMean(), sorted2.interQuartileMean());
+			compareScalar(sorted1.median(), LibMatrixQuantile.median(cmb));
+			compareScalar(sorted1.pickValue(0.25), LibMatrixQuantile.pickValue(cmb, 0.25));
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testQuartileWeighted() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || cols != 1)
+				return; // Input was not compressed then just pass test
+
+			MatrixBlock w = getWeights();
+			MatrixBlock sorted1 = mb.sortOperations(w, new MatrixBlock());
+			MatrixBlock sorted2 = cmb.sortOperations(w, new MatrixBlock());
+			for(double q : new double[] {0.05, 0.5, 0.95})
+				compareScalar(sorted1.pickValue(q), sorted2.pickValue(q));
+			compareScalar(sorted1.median(), sorted2.median());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	private void testCentralMoment(int order, MatrixBlock weights) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || cols != 1)
+				return; // Input was not compressed then just pass test
+
+			AggregateOperationTypes opType = CMOperator.getCMAggOpType(order);
+			CMOperator cm = new CMOperator(CM.getCMFnObject(opType), opType);
+			double ret1 = (weights == null) ? mb.cmOperations(cm).getRequiredResult(opType) :
+				mb.cmOperations(cm, weights).getRequiredResult(opType);
+			double ret2 = (weights == null) ? cmb.cmOperations(cm).getRequiredResult(opType) :
+				cmb.cmOperations(cm, weights).getRequiredResult(opType);
+			compareScalar(ret1, ret2);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	private void testCovariance(MatrixBlock weights) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || cols != 1)
+				return; // Input was not compressed then just pass test
+
+			MatrixBlock that = MatrixBlock.randOperations(rows, 1, 0.7, -10, 10, "uniform", 7);
+			COVOperator cov = new COVOperator(COV.getCOMFnObject());
+			double ret1 = (weights == null) ? mb.covOperations(cov, that).getRequiredResult(cov) :
+				mb.covOperations(cov, that, weights).getRequiredResult(cov);
+			double ret2 = (weights == null) ? cmb.covOperations(cov, that).getRequiredResult(cov) :
+				cmb.covOperations(cov, that, weights).getRequiredResult(cov);
+			compareScalar(ret1, ret2);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
+		}
+	}
+
+	private MatrixBlock getWeights() {
+		// integer weights as required by quantiles
+		MatrixBlock w = new MatrixBlock(rows, 1, false);
+		for(int i = 0; i < rows; i++)
+			w.quickSetValue(i, 0, 1 + i % 5);
+		return w;
+	}
+
+	private void compareScalar(double ret1, double ret2) {
+		if(compressionSettings.lossy) {
+			double tol = lossyTolerance * 10;
+			assertTrue(this.toString() + ": values uncompressed: " + ret1 + " vs compressed: " + ret2 + " tolerance " + tol,
+				TestUtils.compareCellValue(ret1, ret2, tol, false));
+		}
+		else
+			assertEquals(this.toString(), ret1, ret2, Math.max(Math.abs(ret1), 1) * 1e-10);
+	}
 }
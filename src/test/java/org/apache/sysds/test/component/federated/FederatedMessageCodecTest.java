@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessage;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageCodec;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class FederatedMessageCodecTest {
+
+	@Test
+	public void testDenseMatrixRequest() throws Exception {
+		testMatrixRequest(0.9, false);
+	}
+
+	@Test
+	public void testSparseMatrixRequest() throws Exception {
+		testMatrixRequest(0.2, false);
+	}
+
+	@Test
+	public void testDenseMatrixRequestCompressed() throws Exception {
+		testMatrixRequest(0.9, true);
+	}
+
+	@Test
+	public void testSparseMatrixRequestCompressed() throws Exception {
+		testMatrixRequest(0.2, true);
+	}
+
+	@Test
+	public void testFrameResponse() throws Exception {
+		ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64, ValueType.BOOLEAN};
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema.length, schema, 7);
+		FederatedResponse in = new FederatedResponse(ResponseType.SUCCESS, new Object[] {fb, 3L, schema});
+		FederatedResponse out = roundtrip(new FederatedMessage(1, in), false).getResponse();
+
+		assertTrue(out.isSuccessful());
+		Object[] data = out.getData();
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(fb),
+			DataConverter.convertToStringFrame((FrameBlock) data[0]), fb.getNumRows(), fb.getNumColumns());
+		assertEquals(3L, data[1]);
+		assertEquals(schema.length, ((ValueType[]) data[2]).length);
+	}
+
+	@Test
+	public void testScalarAndObjectParams() throws Exception {
+		MatrixCharacteristics mc = new MatrixCharacteristics(10, 7, 1000, 3);
+		FederatedRequest fr = new FederatedRequest(RequestType.EXEC_INST, 11, "CP+*7.SCALAR.FP64.true",
+			new DoubleObject(3.5), new StringObject("abc"), mc, null);
+		fr.setTID(5);
+		FederatedRequest out = roundtrip(new FederatedMessage(3, new FederatedRequest[] {fr}), false).getRequests()[0];
+
+		assertEquals(RequestType.EXEC_INST, out.getType());
+		assertEquals(11, out.getID());
+		assertEquals(5, out.getTID());
+		assertEquals(fr.getParam(0), out.getParam(0));
+		assertEquals(3.5, ((ScalarObject) out.getParam(1)).getDoubleValue(), 0);
+		assertEquals("abc", ((ScalarObject) out.getParam(2)).getStringValue());
+		assertEquals(mc, out.getParam(3));
+		assertEquals(null, out.getParam(4));
+	}
+
+	@Test
+	public void testErrorResponse() throws Exception {
+		FederatedResponse in = new FederatedResponse(ResponseType.ERROR, "Variable 1 does not exist");
+		FederatedResponse out = roundtrip(new FederatedMessage(2, in), true).getResponse();
+		assertFalse(out.isSuccessful());
+		assertEquals(in.getErrorMessage(), out.getErrorMessage());
+	}
+
+	private static void testMatrixRequest(double sparsity, boolean compress) throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 300, sparsity, -1, 1, "uniform", 7);
+		FederatedRequest fr = new FederatedRequest(RequestType.PUT_VAR, 42, mb);
+		FederatedMessage out = roundtrip(new FederatedMessage(17, new FederatedRequest[] {fr, fr}), compress);
+
+		assertEquals(17, out.getID());
+		assertTrue(out.isRequest());
+		assertEquals(2, out.getRequests().length);
+		for(FederatedRequest req : out.getRequests()) {
+			assertEquals(RequestType.PUT_VAR, req.getType());
+			assertEquals(42, req.getID());
+			MatrixBlock mb2 = (MatrixBlock) req.getParam(0);
+			assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(mb, mb2, 0);
+		}
+	}
+
+	private static FederatedMessage roundtrip(FederatedMessage msg, boolean compress) {
+		EmbeddedChannel sender = new EmbeddedChannel(new FederatedMessageCodec(compress));
+		EmbeddedChannel receiver = new EmbeddedChannel(new FederatedMessageCodec(compress));
+		assertTrue(sender.writeOutbound(msg));
+		ByteBuf buf = (ByteBuf) sender.readOutbound();
+		// split the frame into two chunks to test incomplete frames
+		int half = buf.readableBytes() / 2;
+		receiver.writeInbound(buf.readSlice(half).retain());
+		receiver.writeInbound(buf);
+		FederatedMessage ret = (FederatedMessage) receiver.readInbound();
+		sender.finish();
+		receiver.finish();
+		return ret;
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWorkerExecutor;
+import org.junit.Test;
+
+public class FederatedWorkerExecutorTest {
+
+	@Test
+	public void testOrderPerExecutionContext() throws InterruptedException {
+		FederatedWorkerExecutor exec = new FederatedWorkerExecutor(4);
+		try {
+			int n = 1000;
+			List<Integer> order1 = new CopyOnWriteArrayList<>();
+			List<Integer> order2 = new CopyOnWriteArrayList<>();
+			CountDownLatch done = new CountDownLatch(2 * n);
+			for(int i = 0; i < n; i++) {
+				final int ix = i;
+				exec.execute(1, false, () -> { order1.add(ix); done.countDown(); });
+				exec.execute(2, false, () -> { order2.add(ix); done.countDown(); });
+			}
+			assertTrue(done.await(30, TimeUnit.SECONDS));
+			for(int i = 0; i < n; i++) {
+				assertEquals(i, (int) order1.get(i));
+				assertEquals(i, (int) order2.get(i));
+			}
+		}
+		finally {
+			exec.shutdown();
+		}
+	}
+
+	@Test
+	public void testConcurrentExecutionContexts() throws InterruptedException {
+		FederatedWorkerExecutor exec = new FederatedWorkerExecutor(2);
+		try {
+			// a long-running request must not block other execution contexts
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(1);
+			exec.execute(0, false, () -> await(release));
+			exec.execute(7, false, done::countDown);
+			assertTrue(done.await(30, TimeUnit.SECONDS));
+			release.countDown();
+		}
+		finally {
+			exec.shutdown();
+		}
+	}
+
+	@Test
+	public void testExclusiveExecution() throws InterruptedException {
+		FederatedWorkerExecutor exec = new FederatedWorkerExecutor(4);
+		try {
+			AtomicInteger running = new AtomicInteger(0);
+			AtomicBoolean overlap = new AtomicBoolean(false);
+			int n = 200;
+			CountDownLatch done = new CountDownLatch(n);
+			for(int i = 0; i < n; i++) {
+				boolean exclusive = (i % 10 == 0);
+				exec.execute(i % 5, exclusive, () -> {
+					int k = running.incrementAndGet();
+					if(exclusive && k > 1)
+						overlap.set(true);
+					Thread.yield();
+					if(exclusive && running.get() > 1)
+						overlap.set(true);
+					running.decrementAndGet();
+					done.countDown();
+				});
+			}
+			assertTrue(done.await(30, TimeUnit.SECONDS));
+			assertFalse(overlap.get());
+		}
+		finally {
+			exec.shutdown();
+		}
+	}
+
+	@Test
+	public void testBoundedPending() throws Exception {
+		FederatedWorkerExecutor exec = new FederatedWorkerExecutor(1, 2);
+		ExecutorService submitter = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(3);
+			exec.execute(1, false, () -> { await(release); done.countDown(); });
+			exec.execute(2, false, done::countDown);
+			// the third submission blocks until a pending batch completed
+			Future<?> third = submitter.submit(() -> exec.execute(3, false, done::countDown));
+			Thread.sleep(200);
+			assertFalse(third.isDone());
+			release.countDown();
+			third.get(30, TimeUnit.SECONDS);
+			assertTrue(done.await(30, TimeUnit.SECONDS));
+		}
+		finally {
+			submitter.shutdown();
+			exec.shutdown();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
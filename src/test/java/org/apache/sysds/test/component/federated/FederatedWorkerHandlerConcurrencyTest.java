@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysds.runtime.controlprogram.federated.ExecutionContextMap;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWorkerHandler;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.junit.Test;
+
+public class FederatedWorkerHandlerConcurrencyTest {
+	private static final int THREADS = 4;
+	private static final int REPS = 200;
+
+	@Test
+	public void testConcurrentPutExecRemove() throws Exception {
+		// execution contexts of all TIDs share the variables of the main context
+		ExecutionContextMap ecm = new ExecutionContextMap();
+		FederatedWorkerHandler handler = new FederatedWorkerHandler(ecm, null);
+		LocalVariableMap vars = ecm.get(0).getVariables();
+		AtomicBoolean done = new AtomicBoolean(false);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+		try {
+			// concurrent iteration of the shared variables (as in clear and rmvar)
+			Future<Integer> reader = pool.submit(() -> {
+				int count = 0;
+				while(!done.get())
+					count += new ArrayList<>(vars.keySet()).size() + (vars.hasReferences(null) ? 1 : 0);
+				return count;
+			});
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for(int t = 0; t < THREADS; t++) {
+				final int tid = t + 1;
+				tasks.add(() -> {
+					for(int i = 0; i < REPS; i++)
+						runRequests(handler, tid, i);
+					return null;
+				});
+			}
+			List<Future<Void>> writers = new ArrayList<>();
+			for(Callable<Void> task : tasks)
+				writers.add(pool.submit(task));
+			for(Future<Void> f : writers)
+				f.get();
+			done.set(true);
+			reader.get();
+		}
+		finally {
+			done.set(true);
+			pool.shutdown();
+		}
+		assertTrue(ecm.get(0).getVariables().keySet().isEmpty());
+	}
+
+	private static void runRequests(FederatedWorkerHandler handler, int tid, int i) throws Exception {
+		long id = 3L * (tid * REPS + i);
+		String a = String.valueOf(id), b = String.valueOf(id + 1), c = String.valueOf(id + 2);
+		FederatedRequest[] reqs = new FederatedRequest[] {
+			new FederatedRequest(RequestType.PUT_VAR, id, new MatrixBlock(10, 10, (double) tid)),
+			new FederatedRequest(RequestType.PUT_VAR, id + 1, new MatrixBlock(10, 10, (double) i)),
+			new FederatedRequest(RequestType.EXEC_INST, id + 2, InstructionUtils.concatOperands("CP", "*",
+				InstructionUtils.createOperand(matrix(a)), InstructionUtils.createOperand(matrix(b)),
+				InstructionUtils.createOperand(matrix(c)))),
+			new FederatedRequest(RequestType.GET_VAR, id + 2)};
+		for(FederatedRequest r : reqs)
+			r.setTID(tid);
+		FederatedResponse res = handler.createResponse(reqs);
+		assertSuccess(res);
+		MatrixBlock mb = (MatrixBlock) res.getData()[0];
+		assertEquals((double) tid * i, mb.quickGetValue(9, 9), 0);
+
+		FederatedRequest rm = new FederatedRequest(RequestType.EXEC_INST, id,
+			VariableCPInstruction.prepareRemoveInstruction(a, b, c).toString());
+		rm.setTID(tid);
+		res = handler.createResponse(new FederatedRequest[] {rm});
+		assertSuccess(res);
+	}
+
+	private static void assertSuccess(FederatedResponse res) {
+		if(!res.isSuccessful())
+			fail(res.getErrorMessage());
+	}
+
+	private static CPOperand matrix(String name) {
+		return new CPOperand(name, ValueType.FP64, DataType.MATRIX);
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCTable;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.LongLongDoubleHashMap.EntryType;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CTableParallelTest {
+
+	private static final int ROWS = 100000;
+
+	@Test
+	public void testTransformScalarWeightMap() {
+		runCTableTest(seqInput(ROWS, 1, 50, 7), seqInput(ROWS, 1, 3000, 3), null, 1, -1, -1);
+	}
+
+	@Test
+	public void testTransformScalarWeightDensePartials() {
+		runCTableTest(seqInput(ROWS, 1, 10, 7), seqInput(ROWS, 1, 20, 3), null, 1, 10, 20);
+	}
+
+	@Test
+	public void testTransformScalarWeightDenseMapPartials() {
+		runCTableTest(seqInput(ROWS, 1, 100, 7), seqInput(ROWS, 1, 400, 3), null, 2, 100, 400);
+	}
+
+	@Test
+	public void testTransformWeightsMap() {
+		runCTableTest(seqInput(ROWS, 1, 50, 7), seqInput(ROWS, 1, 50, 3),
+			MatrixBlock.randOperations(ROWS, 1, 1.0, 0, 1, "uniform", 5), 0, -1, -1);
+	}
+
+	@Test
+	public void testTransformWeightsDense() {
+		runCTableTest(seqInput(ROWS, 1, 5, 7), seqInput(ROWS, 1, 5, 3),
+			MatrixBlock.randOperations(ROWS, 1, 1.0, 0, 1, "uniform", 5), 0, 5, 5);
+	}
+
+	@Test
+	public void testTransformMatrixCutoff() {
+		//output dims smaller than the max input values
+		runCTableTest(seqInput(ROWS/10, 10, 20, 7), seqInput(ROWS/10, 10, 20, 3), null, 1, 15, 12);
+	}
+
+	@Test
+	public void testHistogram() {
+		runCTableTest(seqInput(ROWS, 1, 1000, 7), null, null, 1, -1, -1);
+	}
+
+	@Test
+	public void testWeightedHistogram() {
+		runCTableTest(seqInput(ROWS, 1, 10, 7), null,
+			MatrixBlock.randOperations(ROWS, 1, 1.0, 0, 1, "uniform", 5), 0, 10, 1);
+	}
+
+	@Test
+	public void testIgnoreZerosSparse() {
+		MatrixBlock A = seqInput(ROWS, 1, 30, 7);
+		MatrixBlock B = seqInput(ROWS, 1, 40, 3);
+		MatrixBlock mask = MatrixBlock.randOperations(ROWS, 1, 0.05, 1, 1, "uniform", 11);
+		BinaryOperator mult = new BinaryOperator(Multiply.getMultiplyFnObject());
+		A = A.binaryOperations(mult, mask, new MatrixBlock());
+		B = B.binaryOperations(mult, mask, new MatrixBlock());
+		Assert.assertTrue(A.isInSparseFormat() && B.isInSparseFormat());
+		MatrixBlock ret1 = ctable(A, B, null, 1, true, -1, -1, 1);
+		MatrixBlock ret4 = ctable(A, B, null, 1, true, -1, -1, 4);
+		TestUtils.compareMatrices(ret1, ret4, 1e-10);
+	}
+
+	@Test
+	public void testExpand() {
+		MatrixBlock seq = MatrixBlock.seqOperations(1, ROWS, 1);
+		MatrixBlock B = seqInput(ROWS, 1, 700, 3);
+		MatrixBlock ret1 = seq.ctableSeqOperations(B, 2, new MatrixBlock(ROWS, Integer.MAX_VALUE, true));
+		MatrixBlock ret4 = LibMatrixCTable.ctableSeq(seq, B, 2,
+			new MatrixBlock(ROWS, Integer.MAX_VALUE, true), 4);
+		Assert.assertEquals(ret1.getNumColumns(), ret4.getNumColumns());
+		Assert.assertEquals(ret1.getNonZeros(), ret4.getNonZeros());
+		TestUtils.compareMatrices(ret1, ret4, 0);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testInvalidInput() {
+		MatrixBlock A = seqInput(ROWS, 1, 50, 7);
+		A.quickSetValue(ROWS-7, 0, -1);
+		ctable(A, seqInput(ROWS, 1, 50, 3), null, 1, false, -1, -1, 4);
+	}
+
+	private static void runCTableTest(MatrixBlock A, MatrixBlock B, MatrixBlock W, double w, long dim1, long dim2) {
+		//compare multi-threaded against the sequential MatrixBlock kernels
+		MatrixBlock expected = ctableSeq(A, B, W, w, dim1, dim2);
+		MatrixBlock ret1 = ctable(A, B, W, w, false, dim1, dim2, 1);
+		MatrixBlock ret4 = ctable(A, B, W, w, false, dim1, dim2, 4);
+		TestUtils.compareMatrices(expected, ret1, 1e-10);
+		TestUtils.compareMatrices(expected, ret4, 1e-10);
+		Assert.assertEquals(expected.getNonZeros(), ret4.getNonZeros());
+	}
+
+	private static MatrixBlock ctable(MatrixBlock A, MatrixBlock B, MatrixBlock W, double w,
+		boolean ignoreZeros, long dim1, long dim2, int k)
+	{
+		CTableMap map = new CTableMap(EntryType.INT);
+		MatrixBlock block = (dim1 > 0) ? new MatrixBlock((int)dim1, (int)dim2, false) : null;
+		LibMatrixCTable.ctable(A, B, 1, W, w, ignoreZeros, map, block, k);
+		return (block != null) ? block : DataConverter.convertToMatrixBlock(map);
+	}
+
+	private static MatrixBlock ctableSeq(MatrixBlock A, MatrixBlock B, MatrixBlock W, double w, long dim1, long dim2) {
+		CTableMap map = new CTableMap(EntryType.INT);
+		MatrixBlock block = (dim1 > 0) ? new MatrixBlock((int)dim1, (int)dim2, false) : null;
+		if( B != null && W != null )
+			A.ctableOperations(null, B, W, map, block);
+		else if( B != null )
+			A.ctableOperations(null, B, w, false, map, block);
+		else if( W != null )
+			A.ctableOperations(null, 1, W, map, block);
+		else
+			A.ctableOperations(null, 1, w, map, block);
+		return (block != null) ? block : DataConverter.convertToMatrixBlock(map);
+	}
+
+	private static MatrixBlock seqInput(int rows, int cols, int max, long seed) {
+		MatrixBlock in = MatrixBlock.randOperations(rows, cols, 1.0, 1, max, "uniform", seed);
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				ret.quickSetValue(i, j, Math.floor(in.quickGetValue(i, j)));
+		return ret;
+	}
+}
@@ -94,10 +94,6 @@ public class CountDistinctTest {
 					tests.add(new Object[] {et, inputs.get(0), actualUnique.get(0), ht, DMLException.class,
 						errorMessage, 0.0});
 				}
-				else if(et == CountDistinctTypes.HLL) {
-					tests.add(new Object[] {et, inputs.get(0), actualUnique.get(0), ht, NotImplementedException.class,
-						"HyperLogLog not implemented", 0.0});
-				}
 				else if(et != CountDistinctTypes.COUNT) {
 					for(int i = 0; i < inputs.size(); i++) {
 						// allowing the estimate to be 15% off
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.matrix.data.HyperLogLogSketch;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Hash.HashType;
+import org.junit.Test;
+
+public class HyperLogLogSketchTest {
+
+	@Test
+	public void testSmallCardinalities() {
+		HyperLogLogSketch sketch = new HyperLogLogSketch();
+		assertEquals(0, sketch.estimate());
+		for(int i = 0; i < 100; i++)
+			sketch.add(i % 7);
+		assertEquals(7, sketch.estimate());
+	}
+
+	@Test
+	public void testPrecision() {
+		final int n = 1000000;
+		for(int p : new int[] {8, 12, 16}) {
+			HyperLogLogSketch sketch = new HyperLogLogSketch(p);
+			for(int i = 0; i < n; i++)
+				sketch.add(i * 0.5);
+			// within 4 standard errors
+			double err = 4 * 1.04 / Math.sqrt(1 << p);
+			long est = sketch.estimate();
+			assertTrue("p=" + p + ": " + est, Math.abs(est - n) <= n * err);
+		}
+	}
+
+	@Test
+	public void testMergeEqualsUnion() {
+		HyperLogLogSketch s1 = new HyperLogLogSketch(10);
+		HyperLogLogSketch s2 = new HyperLogLogSketch(10);
+		HyperLogLogSketch s3 = new HyperLogLogSketch(10);
+		for(int i = 0; i < 50000; i++) {
+			(i % 2 == 0 ? s1 : s2).add(i);
+			s3.add(i);
+		}
+		assertEquals(s3.estimate(), s1.merge(s2).estimate());
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testMergeInvalidPrecision() {
+		new HyperLogLogSketch(10).merge(new HyperLogLogSketch(11));
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testInvalidPrecision() {
+		new HyperLogLogSketch(HyperLogLogSketch.MAX_PRECISION + 1);
+	}
+
+	@Test
+	public void testMultiThreadedDense() {
+		testMultiThreaded(2000, 1.0);
+	}
+
+	@Test
+	public void testMultiThreadedSparse() {
+		testMultiThreaded(10000, 0.15);
+	}
+
+	@Test
+	public void testCompressed() {
+		MatrixBlock mb = DataConverter
+			.convertToMatrixBlock(TestUtils.generateTestMatrixIntV(10000, 20, 1, 50, 1.0, 7));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctTypes.HLL);
+		int ret1 = LibMatrixCountDistinct.estimateDistinctValues(mb, op);
+		int ret2 = LibMatrixCountDistinct.estimateDistinctValues(cmb, op);
+		assertEquals(ret1, ret2);
+	}
+
+	@Test
+	public void testCompressedUncompressedGroup() {
+		MatrixBlock mb = DataConverter
+			.convertToMatrixBlock(TestUtils.generateTestMatrixIntV(5000, 10, 1, 2000, 1.0, 7));
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb.getNumRows(), mb.getNumColumns());
+		cmb.allocateColGroup(new ColGroupUncompressed(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, mb, false));
+		// sketch of the uncompressed group data instead of its first row
+		long ret1 = LibMatrixCountDistinct.createSketch(mb, 12).estimate();
+		long ret2 = LibMatrixCountDistinct.createSketch(cmb, 12).estimate();
+		assertTrue(ret1 > 1000);
+		assertEquals(ret1, ret2);
+	}
+
+	@Test
+	public void testUnknownNonZeros() {
+		MatrixBlock mb = DataConverter
+			.convertToMatrixBlock(TestUtils.generateTestMatrixIntV(100, 20, 1, 50, 1.0, 7));
+		long expected = LibMatrixCountDistinct.createSketch(mb, 12).estimate();
+		mb.setNonZeros(-1);
+		// no spurious zero for dense inputs w/o zeros
+		assertEquals(expected, LibMatrixCountDistinct.createSketch(mb, 12).estimate());
+		assertTrue(expected <= 50);
+	}
+
+	private static void testMultiThreaded(int rows, double sparsity) {
+		MatrixBlock mb = DataConverter
+			.convertToMatrixBlock(TestUtils.generateTestMatrixIntV(rows, 1000, 1, 20000, sparsity, 7));
+		CountDistinctOperator op1 = new CountDistinctOperator(CountDistinctTypes.HLL, HashType.LinearHash, 12, 1);
+		CountDistinctOperator op4 = new CountDistinctOperator(CountDistinctTypes.HLL, HashType.LinearHash, 12, 4);
+		// merged sketches are identical to a single sketch
+		assertEquals(LibMatrixCountDistinct.estimateDistinctValues(mb, op1),
+			LibMatrixCountDistinct.estimateDistinctValues(mb, op4));
+	}
+}
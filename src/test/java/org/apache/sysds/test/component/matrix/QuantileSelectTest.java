@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixQuantile;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QuantileSelectTest {
+
+	private static final double[] QUANTILES = new double[] {0, 0.01, 0.25, 0.3, 0.5, 0.75, 0.99, 1};
+
+	@Test
+	public void testDenseMixedEven() {
+		runQuantileTest(1000, 0.7, -10, 10);
+	}
+
+	@Test
+	public void testDenseMixedOdd() {
+		runQuantileTest(1001, 0.9, -5, 3);
+	}
+
+	@Test
+	public void testSparseMixed() {
+		runQuantileTest(2000, 0.05, -1, 1);
+	}
+
+	@Test
+	public void testDensePositive() {
+		runQuantileTest(777, 0.8, 1, 100);
+	}
+
+	@Test
+	public void testSparseNegative() {
+		runQuantileTest(500, 0.1, -100, -1);
+	}
+
+	@Test
+	public void testAllNegative() {
+		runQuantileTest(64, 1.0, -7, -1);
+	}
+
+	@Test
+	public void testEmpty() {
+		runQuantileTest(100, 0.0, 0, 0);
+	}
+
+	@Test
+	public void testSingleValue() {
+		runQuantileTest(1, 1.0, 3, 3);
+	}
+
+	@Test
+	public void testDuplicates() {
+		MatrixBlock in = MatrixBlock.randOperations(3000, 1, 0.6, -3, 3, "uniform", 11);
+		MatrixBlock rounded = new MatrixBlock(3000, 1, false);
+		for(int i = 0; i < 3000; i++)
+			rounded.quickSetValue(i, 0, Math.round(in.quickGetValue(i, 0)));
+		compareQuantiles(rounded);
+	}
+
+	@Test
+	public void testNaNFallback() {
+		MatrixBlock in = MatrixBlock.randOperations(100, 1, 1.0, -1, 1, "uniform", 3);
+		in.quickSetValue(17, 0, Double.NaN);
+		MatrixBlock sorted = in.sortOperations(null, new MatrixBlock());
+		Assert.assertEquals(sorted.pickValue(0.25), LibMatrixQuantile.pickValue(in, 0.25), 0);
+	}
+
+	@Test
+	public void testParallelSortUnweighted() {
+		MatrixBlock in = MatrixBlock.randOperations(10000, 1, 0.7, -10, 10, "uniform", 7);
+		MatrixBlock sorted1 = in.sortOperations(null, new MatrixBlock(), 1);
+		MatrixBlock sorted4 = in.sortOperations(null, new MatrixBlock(), 4);
+		TestUtils.compareMatrices(sorted1, sorted4, 0);
+	}
+
+	@Test
+	public void testParallelSortWeighted() {
+		MatrixBlock in = MatrixBlock.randOperations(10000, 1, 0.7, -10, 10, "uniform", 7);
+		MatrixBlock w = new MatrixBlock(10000, 1, false);
+		for(int i = 0; i < 10000; i++)
+			w.quickSetValue(i, 0, 1 + i % 5);
+		MatrixBlock sorted1 = in.sortOperations(w, new MatrixBlock(), 1);
+		MatrixBlock sorted4 = in.sortOperations(w, new MatrixBlock(), 4);
+		Assert.assertEquals(sorted1.median(), sorted4.median(), 0);
+		Assert.assertEquals(sorted1.interQuartileMean(), sorted4.interQuartileMean(), 1e-10);
+		for(double q : QUANTILES)
+			Assert.assertEquals(sorted1.pickValue(q), sorted4.pickValue(q), 0);
+	}
+
+	private static void runQuantileTest(int rows, double sparsity, double min, double max) {
+		compareQuantiles(MatrixBlock.randOperations(rows, 1, sparsity, min, max, "uniform", 7));
+	}
+
+	private static void compareQuantiles(MatrixBlock in) {
+		MatrixBlock sorted = in.sortOperations(null, new MatrixBlock());
+		Assert.assertEquals(sorted.median(), LibMatrixQuantile.median(in), 0);
+		for(double q : QUANTILES)
+			Assert.assertEquals("quantile " + q, sorted.pickValue(q), LibMatrixQuantile.pickValue(in, q), 0);
+
+		MatrixBlock qs = new MatrixBlock(QUANTILES.length, 1, false);
+		for(int i = 0; i < QUANTILES.length; i++)
+			qs.quickSetValue(i, 0, QUANTILES[i]);
+		TestUtils.compareMatrices(sorted.pickValues(qs, new MatrixBlock()),
+			LibMatrixQuantile.pickValues(in, qs, new MatrixBlock()), 0);
+	}
+}
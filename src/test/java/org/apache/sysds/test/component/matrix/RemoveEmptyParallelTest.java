@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RemoveEmptyParallelTest {
+
+	@Test
+	public void testRowsDense() {
+		runRemoveEmptyTest(3000, 500, 0.9, true, false, false);
+	}
+
+	@Test
+	public void testRowsDenseSelect() {
+		runRemoveEmptyTest(3000, 500, 0.9, true, true, false);
+	}
+
+	@Test
+	public void testRowsSparse() {
+		runRemoveEmptyTest(40000, 1000, 0.06, true, false, false);
+	}
+
+	@Test
+	public void testRowsSparseSelect() {
+		runRemoveEmptyTest(40000, 1000, 0.06, true, true, false);
+	}
+
+	@Test
+	public void testRowsSparseToDense() {
+		//few remaining rows turn the sparse input into a dense output
+		runRemoveEmptyTest(40000, 100, 0.3, true, false, true);
+	}
+
+	@Test
+	public void testRowsDenseToSparse() {
+		runRemoveEmptyTest(3000, 500, 0.9, true, true, true);
+	}
+
+	@Test
+	public void testColsDense() {
+		runRemoveEmptyTest(3000, 500, 0.9, false, false, false);
+	}
+
+	@Test
+	public void testColsDenseSelect() {
+		runRemoveEmptyTest(3000, 500, 0.9, false, true, false);
+	}
+
+	@Test
+	public void testColsSparse() {
+		runRemoveEmptyTest(40000, 1000, 0.06, false, false, false);
+	}
+
+	@Test
+	public void testColsSparseSelect() {
+		runRemoveEmptyTest(40000, 1000, 0.06, false, true, false);
+	}
+
+	@Test
+	public void testColsDenseToSparse() {
+		runRemoveEmptyTest(3000, 500, 0.9, false, true, true);
+	}
+
+	private static void runRemoveEmptyTest(int rows, int cols, double sparsity, boolean margin,
+		boolean select, boolean fewRemaining)
+	{
+		//input with empty rows/columns according to a random mask
+		double maskSp = fewRemaining ? 0.05 : 0.7;
+		MatrixBlock in = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		MatrixBlock mask = margin ?
+			MatrixBlock.randOperations(rows, 1, maskSp, 1, 1, "uniform", 3) :
+			MatrixBlock.randOperations(1, cols, maskSp, 1, 1, "uniform", 3);
+		in = in.binaryOperations(new BinaryOperator(Multiply.getMultiplyFnObject()), mask, new MatrixBlock());
+		MatrixBlock sel = null;
+		if( select ) //select a superset of non-empty rows/columns
+			sel = margin ?
+				MatrixBlock.randOperations(rows, 1, fewRemaining ? 0.05 : 0.5, 1, 1, "uniform", 13) :
+				MatrixBlock.randOperations(1, cols, fewRemaining ? 0.05 : 0.5, 1, 1, "uniform", 13);
+
+		MatrixBlock ret1 = in.removeEmptyOperations(new MatrixBlock(), margin, true, sel, 1);
+		MatrixBlock ret4 = in.removeEmptyOperations(new MatrixBlock(), margin, true, sel, 4);
+		Assert.assertEquals(ret1.getNumRows(), ret4.getNumRows());
+		Assert.assertEquals(ret1.getNumColumns(), ret4.getNumColumns());
+		Assert.assertEquals(ret1.getNonZeros(), ret4.getNonZeros());
+		Assert.assertEquals(ret1.getNonZeros(), ret4.recomputeNonZeros());
+		TestUtils.compareMatrices(ret1, ret4, 0);
+		TestUtils.compareMatrices(removeEmptyReference(in, margin, sel), ret4, 0);
+	}
+
+	private static MatrixBlock removeEmptyReference(MatrixBlock in, boolean margin, MatrixBlock sel) {
+		int len = margin ? in.getNumRows() : in.getNumColumns();
+		int[] ix = new int[len];
+		int n = 0;
+		for( int i=0; i<len; i++ ) {
+			boolean keep = false;
+			if( sel != null )
+				keep = (margin ? sel.quickGetValue(i, 0) : sel.quickGetValue(0, i)) != 0;
+			else
+				for( int j=0; j<(margin ? in.getNumColumns() : in.getNumRows()) && !keep; j++ )
+					keep = (margin ? in.quickGetValue(i, j) : in.quickGetValue(j, i)) != 0;
+			if( keep )
+				ix[n++] = i;
+		}
+		MatrixBlock ret = margin ?
+			new MatrixBlock(Math.max(n, 1), in.getNumColumns(), false) :
+			new MatrixBlock(in.getNumRows(), Math.max(n, 1), false);
+		for( int i=0; i<n; i++ )
+			for( int j=0; j<(margin ? in.getNumColumns() : in.getNumRows()); j++ ) {
+				if( margin )
+					ret.quickSetValue(i, j, in.quickGetValue(ix[i], j));
+				else
+					ret.quickSetValue(j, i, in.quickGetValue(j, ix[i]));
+			}
+		return ret;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyWriteBufferTest {
+	private File _dir;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("lwb").toFile();
+		LazyWriteBuffer.init();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		LazyWriteBuffer.cleanup();
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Test
+	public void testWriteReadDelete() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(100, 100, 0.1, -1, 1, "uniform", 7);
+		String fname = key(0, 0);
+		LazyWriteBuffer.writeBlock(fname, mb);
+		assertEquals(LazyWriteBuffer.getCacheBlockSize(mb), LazyWriteBuffer.getWriteBufferSize());
+		TestUtils.compareMatrices(mb, (MatrixBlock) LazyWriteBuffer.readBlock(fname, true), 0);
+
+		//restore from local FS after eviction
+		LazyWriteBuffer.forceEviction();
+		assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+		TestUtils.compareMatrices(mb, (MatrixBlock) LazyWriteBuffer.readBlock(fname, true), 0);
+		LazyWriteBuffer.deleteBlock(fname);
+	}
+
+	@Test
+	public void testQueueSizeWriteDelete() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(20, 20, 0.5, -1, 1, "uniform", 7);
+		LazyWriteBuffer.writeBlock(key(1, 0), mb);
+		for(int i = 0; i < 1000; i++) {
+			//create/rmvar churn w/o evictions
+			LazyWriteBuffer.writeBlock(key(0, i), mb);
+			LazyWriteBuffer.deleteBlock(key(0, i));
+			//replace of existing buffer
+			LazyWriteBuffer.writeBlock(key(1, 0), mb);
+			assertTrue(LazyWriteBuffer.getEvictionQueueSize() <= 2 * LazyWriteBuffer.getQueueSize() + 2);
+		}
+		assertEquals(1, LazyWriteBuffer.getQueueSize());
+		TestUtils.compareMatrices(mb, (MatrixBlock) LazyWriteBuffer.readBlock(key(1, 0), true), 0);
+		LazyWriteBuffer.deleteBlock(key(1, 0));
+	}
+
+	@Test
+	public void testConcurrentWriteReadDelete() throws Exception {
+		final int k = 4;
+		final int n = 50;
+		ExecutorService pool = Executors.newFixedThreadPool(k + 1);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int t = 0; t < k; t++) {
+				final int tid = t;
+				tasks.add(pool.submit(() -> {
+					for(int i = 0; i < n; i++) {
+						double sp = (i % 2 == 0) ? 0.9 : 0.05;
+						MatrixBlock mb = MatrixBlock.randOperations(50, 50, sp, -1, 1, "uniform", tid * n + i);
+						LazyWriteBuffer.writeBlock(key(tid, i), mb);
+						MatrixBlock mb2 = (MatrixBlock) LazyWriteBuffer.readBlock(key(tid, i), true);
+						TestUtils.compareMatrices(mb, mb2, 0);
+						if(i > 0)
+							LazyWriteBuffer.deleteBlock(key(tid, i - 1));
+					}
+					LazyWriteBuffer.deleteBlock(key(tid, n - 1));
+					return null;
+				}));
+			}
+			//concurrent eviction of all buffered blocks
+			tasks.add(pool.submit(() -> {
+				for(int i = 0; i < n; i++) {
+					LazyWriteBuffer.forceEviction();
+					Thread.yield();
+				}
+				return null;
+			}));
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+		assertEquals(0, LazyWriteBuffer.getQueueSize());
+		//wait for asynchronous file cleanup
+		LazyWriteBuffer.cleanup();
+		LazyWriteBuffer.getUtilThreadPool().awaitTermination(30, TimeUnit.SECONDS);
+		for(int t = 0; t < k; t++)
+			for(int i = 0; i < n; i++)
+				assertFalse(new File(key(t, i)).exists());
+	}
+
+	private String key(int tid, int i) {
+		return new File(_dir, "cache_" + tid + "_" + i + ".dat").getAbsolutePath();
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.PageCache;
+import org.junit.After;
+import org.junit.Test;
+
+public class PageCacheTest {
+
+	@After
+	public void tearDown() {
+		PageCache.clear();
+	}
+
+	@Test
+	public void testSizeClassReuse() {
+		PageCache.init(1024 * 1024);
+		byte[] page = PageCache.allocPage(5000);
+		assertEquals(5120, page.length);
+		PageCache.putPage(page);
+
+		//pages are reusable for smaller requests of the same size class
+		assertNull(PageCache.getPage(6000));
+		assertSame(page, PageCache.getPage(4500));
+		assertNull(PageCache.getPage(4500));
+		assertEquals(0, PageCache.getNumPages());
+	}
+
+	@Test
+	public void testArbitraryPageLength() {
+		PageCache.init(1024 * 1024);
+		//page assigned to the largest class it fully covers (8KB)
+		byte[] page = new byte[9000];
+		PageCache.putPage(page);
+		assertNull(PageCache.getPage(8193));
+		assertSame(page, PageCache.getPage(8192));
+	}
+
+	@Test
+	public void testBudgetLRU() {
+		PageCache.init(3 * 8192);
+		byte[][] pages = new byte[4][];
+		for(int i = 0; i < 4; i++) {
+			pages[i] = new byte[8192];
+			PageCache.putPage(pages[i]);
+		}
+		assertEquals(3, PageCache.getNumPages());
+		assertEquals(3 * 8192, PageCache.getSize());
+
+		//least recently returned page dropped, most recent page served first
+		assertSame(pages[3], PageCache.getPage(8192));
+		assertSame(pages[2], PageCache.getPage(8192));
+		assertSame(pages[1], PageCache.getPage(8192));
+		assertNull(PageCache.getPage(8192));
+		assertEquals(0, PageCache.getSize());
+	}
+
+	@Test
+	public void testHitMissStatistics() {
+		boolean stats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		try {
+			PageCache.init(1024 * 1024);
+			CacheStatistics.reset();
+			byte[] page = PageCache.allocPage(16 * 1024);
+			PageCache.putPage(page);
+			PageCache.allocPage(16 * 1024);
+			assertEquals(1, CacheStatistics.getPageCacheHits());
+			assertEquals(1, CacheStatistics.getPageCacheMisses());
+		}
+		finally {
+			DMLScript.STATISTICS = stats;
+		}
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final long budget = 64 * 1024;
+		PageCache.init(budget);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int t = 0; t < 4; t++) {
+				final int seed = t;
+				tasks.add(pool.submit(() -> {
+					for(int i = 0; i < 10000; i++) {
+						int size = 4096 + ((i * 31 + seed * 17) % 8) * 1024;
+						byte[] page = PageCache.allocPage(size);
+						assertTrue(page.length >= size);
+						PageCache.putPage(page);
+					}
+				}));
+			}
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		assertTrue(PageCache.getSize() <= budget);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.util.StringLongHashMap;
+import org.junit.Test;
+
+public class StringLongHashMapTest {
+
+	@Test
+	public void testPutGetResize() {
+		StringLongHashMap map = new StringLongHashMap();
+		int n = 100000;
+		for(int i = 0; i < n; i++)
+			map.put("key" + i, i + 1);
+		assertEquals(n, map.size());
+		for(int i = 0; i < n; i++)
+			assertEquals(i + 1, map.get("key" + i));
+		assertEquals(-1, map.get("key" + n));
+		assertEquals(-1, map.get(null));
+		assertFalse(map.containsKey(null));
+
+		//entries in insertion order
+		for(int i = 0; i < n; i++) {
+			assertEquals("key" + i, map.getKey(i));
+			assertEquals(i + 1, map.getValue(i));
+		}
+	}
+
+	@Test
+	public void testPutIfAbsentAndReplace() {
+		StringLongHashMap map = new StringLongHashMap(4);
+		assertEquals(-1, map.putIfAbsent("a", 1));
+		assertEquals(1, map.putIfAbsent("a", 2));
+		map.put("a", 7);
+		assertEquals(7, map.get("a"));
+		assertEquals(1, map.size());
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey("a"));
+	}
+
+	@Test
+	public void testCollidingKeys() {
+		//"Aa" and "BB" have identical string hash codes
+		StringLongHashMap map = new StringLongHashMap();
+		map.put("Aa", 1);
+		map.put("BB", 2);
+		map.put("AaBB", 3);
+		map.put("BBAa", 4);
+		assertEquals(1, map.get("Aa"));
+		assertEquals(2, map.get("BB"));
+		assertEquals(3, map.get("AaBB"));
+		assertEquals(4, map.get("BBAa"));
+	}
+
+	@Test
+	public void testEqualsIndependentOfOrder() {
+		StringLongHashMap m1 = new StringLongHashMap();
+		StringLongHashMap m2 = new StringLongHashMap();
+		m1.put("x", 1);
+		m1.put("y", 2);
+		m2.put("y", 2);
+		m2.put("x", 1);
+		assertEquals(m1, m2);
+		assertEquals(m1.hashCode(), m2.hashCode());
+		m2.put("x", 3);
+		assertNotEquals(m1, m2);
+	}
+
+	@Test
+	public void testMemoryEstimate() {
+		int n = 10000;
+		StringLongHashMap map = new StringLongHashMap(n);
+		for(int i = 0; i < n; i++)
+			map.put(String.format("%08d", i), i + 1);
+		long actual = map.getInMemorySize();
+		long estimate = StringLongHashMap.estimateInMemorySize(n, 8);
+		assertTrue(actual <= 1.5 * estimate && estimate <= 1.5 * actual);
+	}
+}
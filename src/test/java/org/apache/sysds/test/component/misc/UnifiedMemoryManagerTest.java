@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnifiedMemoryManagerTest {
+	private static final int ROWS = 200;
+	private static final int COLS = 100;
+
+	private File _dir;
+	private long _bsize;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("umm").toFile();
+		_bsize = LazyWriteBuffer.getCacheBlockSize(createBlock(0.9, 1));
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Test
+	public void testPinUnpinDirty() {
+		UnifiedMemoryManager umm = new UnifiedMemoryManager(10 * _bsize);
+		MatrixBlock mb = createBlock(0.9, 7);
+		String key = key(1);
+
+		umm.pin(key, mb, true);
+		assertTrue(umm.isPinned(key));
+		assertEquals(_bsize, umm.getPinnedSize());
+
+		//dirty blocks are moved to the buffer pool
+		umm.unpin(key, mb, true);
+		assertFalse(umm.isPinned(key));
+		assertTrue(umm.isCached(key));
+		assertEquals(0, umm.getPinnedSize());
+		assertEquals(_bsize, umm.getCachedSize());
+
+		//re-pinning must not count the block twice
+		MatrixBlock mb2 = (MatrixBlock) umm.pin(key, null, false);
+		assertEquals(_bsize, umm.getPinnedSize());
+		assertEquals(0, umm.getCachedSize());
+		TestUtils.compareMatrices(mb, mb2, 0);
+		umm.unpin(key);
+		assertEquals(_bsize, umm.getCachedSize());
+
+		umm.delete(key);
+		assertEquals(0, umm.getNumEntries());
+		assertEquals(0, umm.getCachedSize());
+		umm.deleteAll();
+	}
+
+	@Test
+	public void testUnpinNonDirty() {
+		UnifiedMemoryManager umm = new UnifiedMemoryManager(10 * _bsize);
+		MatrixBlock mb = createBlock(0.9, 7);
+		umm.pin(key(1), mb, false);
+		umm.pin(key(1), mb, false);
+		umm.unpin(key(1), mb, false);
+		assertTrue(umm.isPinned(key(1)));
+
+		//non-dirty blocks are dropped on last unpin
+		umm.unpin(key(1), mb, false);
+		assertEquals(0, umm.getNumEntries());
+		assertEquals(0, umm.getPinnedSize());
+		umm.deleteAll();
+	}
+
+	@Test
+	public void testEvictionAndRestoreDense() {
+		testEvictionAndRestore(0.9);
+	}
+
+	@Test
+	public void testEvictionAndRestoreSparse() {
+		testEvictionAndRestore(0.1);
+	}
+
+	@Test
+	public void testReservationEvictsCachedBlocks() {
+		UnifiedMemoryManager umm = new UnifiedMemoryManager(3 * _bsize);
+		for(int i = 0; i < 3; i++) {
+			MatrixBlock mb = createBlock(0.9, i);
+			umm.pin(key(i), mb, true);
+			umm.unpin(key(i), mb, true);
+		}
+		assertEquals(3 * _bsize, umm.getCachedSize());
+
+		//operations borrow memory from the buffer pool
+		umm.pin(key(10), 2 * _bsize, false);
+		assertTrue(umm.getPinnedSize() + umm.getCachedSize() <= umm.getCapacity());
+		assertFalse(umm.isCached(key(0)));
+		assertFalse(umm.isCached(key(1)));
+		assertTrue(umm.isCached(key(2)));
+		assertTrue(new File(key(0)).exists());
+
+		//release the reservation with the actual size
+		MatrixBlock out = createBlock(0.9, 10);
+		umm.unpin(key(10), out, true);
+		assertEquals(0, umm.getPinnedSize());
+		umm.deleteAll();
+		assertFalse(new File(key(0)).exists());
+	}
+
+	private void testEvictionAndRestore(double sparsity) {
+		MatrixBlock[] blocks = new MatrixBlock[4];
+		long size = 0;
+		for(int i = 0; i < blocks.length; i++) {
+			blocks[i] = createBlock(sparsity, i);
+			size = Math.max(size, LazyWriteBuffer.getCacheBlockSize(blocks[i]));
+		}
+		UnifiedMemoryManager umm = new UnifiedMemoryManager(2 * size + size / 2);
+
+		for(int i = 0; i < blocks.length; i++) {
+			umm.pin(key(i), blocks[i], true);
+			umm.unpin(key(i), blocks[i], true);
+			assertTrue(umm.getPinnedSize() + umm.getCachedSize() <= umm.getCapacity());
+		}
+
+		//oldest blocks evicted, all blocks restorable
+		assertFalse(umm.isCached(key(0)));
+		assertFalse(umm.isCached(key(1)));
+		assertTrue(umm.isCached(key(3)));
+		for(int i = 0; i < blocks.length; i++) {
+			MatrixBlock mb = (MatrixBlock) umm.pin(key(i), null, false);
+			TestUtils.compareMatrices(blocks[i], mb, 0);
+			umm.unpin(key(i));
+		}
+
+		for(int i = 0; i < blocks.length; i++)
+			umm.delete(key(i));
+		umm.deleteAll();
+		assertEquals(0, umm.getNumEntries());
+		for(int i = 0; i < blocks.length; i++)
+			assertFalse(new File(key(i)).exists());
+	}
+
+	private String key(int i) {
+		return new File(_dir, "cache" + i + ".dat").getAbsolutePath();
+	}
+
+	private static MatrixBlock createBlock(double sparsity, int seed) {
+		return MatrixBlock.randOperations(ROWS, COLS, sparsity, -1, 1, "uniform", seed);
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.parser.Statement.PSUpdateType;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BSPParamServerTest {
+	private static final int ROUNDS = 5;
+
+	@Test
+	public void testShardedAccrual2Workers() throws Exception {
+		runBSPTest(2);
+	}
+
+	@Test
+	public void testShardedAccrual8Workers() throws Exception {
+		runBSPTest(8);
+	}
+
+	private static void runBSPTest(int k) throws Exception {
+		// sequential: single worker pushes all gradients one after another
+		TestParamServer ps1 = new TestParamServer(newList(-1), PSUpdateType.BSP, 1, 0);
+		for(int r = 0; r < ROUNDS; r++)
+			for(int w = 0; w < k; w++) {
+				ps1.pull(0);
+				ps1.push(0, newList(r * k + w));
+			}
+
+		// concurrent: k workers push their gradients per round, accrued per shard
+		boolean stats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		double[] wait = new double[k];
+		for(int w = 0; w < k; w++)
+			wait[w] = Statistics.getPSPushWaitTime(w);
+		double waitTotal = Statistics.getPSPushWaitTime();
+		TestParamServer psk = new TestParamServer(newList(-1), PSUpdateType.BSP, k, 0);
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for(int w = 0; w < k; w++) {
+				final int wid = w;
+				tasks.add(() -> {
+					for(int r = 0; r < ROUNDS; r++) {
+						psk.pull(wid);
+						psk.push(wid, newList(r * k + wid));
+					}
+					return null;
+				});
+			}
+			for(Future<Void> f : pool.invokeAll(tasks))
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+			DMLScript.STATISTICS = stats;
+		}
+
+		// equal models (up to the order of floating point additions)
+		ListObject m1 = ps1.getResult();
+		ListObject mk = psk.getResult();
+		for(int i = 0; i < m1.getLength(); i++)
+			TestUtils.compareMatrices(((MatrixObject) m1.getData().get(i)).acquireReadAndRelease(),
+				((MatrixObject) mk.getData().get(i)).acquireReadAndRelease(), 1e-10);
+
+		// recorded push wait times (total and per worker)
+		Assert.assertTrue(Statistics.getPSPushWaitTime() > waitTotal);
+		for(int w = 0; w < k; w++)
+			Assert.assertTrue("no push wait time of worker " + w + ": " + Arrays.toString(wait),
+				Statistics.getPSPushWaitTime(w) > wait[w]);
+	}
+
+	private static ListObject newList(int seed) {
+		MatrixBlock mb1 = MatrixBlock.randOperations(50, 20, 1.0, -1, 1, "uniform", seed + 7);
+		MatrixBlock mb2 = MatrixBlock.randOperations(1, 20, 1.0, -1, 1, "uniform", seed + 3);
+		return new ListObject(Arrays.asList(ParamservUtils.newMatrixObject(mb1, false),
+			ParamservUtils.newMatrixObject(mb2, false)), Arrays.asList("W", "b"));
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import org.apache.sysds.parser.Statement.PSGradientCompression;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompression;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompression.CompressedGradients;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GradientCompressionTest {
+
+	private static ListObject generateGradients() {
+		MatrixBlock mb1 = MatrixBlock.randOperations(50, 20, 1.0, -1, 1, "uniform", 7);
+		MatrixBlock mb2 = MatrixBlock.randOperations(1, 20, 1.0, -1, 1, "uniform", 3);
+		return new ListObject(Arrays.asList(ParamservUtils.newMatrixObject(mb1, false),
+			ParamservUtils.newMatrixObject(mb2, false)), Arrays.asList("W", "b"));
+	}
+
+	private static double[][] getValues(ListObject lo) {
+		double[][] ret = new double[lo.getLength()][];
+		for(int i = 0; i < lo.getLength(); i++)
+			ret[i] = DataConverter.convertToDoubleVector(((MatrixObject) lo.getData().get(i)).acquireReadAndRelease());
+		return ret;
+	}
+
+	@Test
+	public void testQuantize8() {
+		runQuantizationTest(PSGradientCompression.QUANTIZE8, 2.0 / 255);
+	}
+
+	@Test
+	public void testQuantize16() {
+		runQuantizationTest(PSGradientCompression.QUANTIZE16, 2.0 / 65535);
+	}
+
+	@Test
+	public void testTopKErrorFeedback() {
+		ListObject grads = generateGradients();
+		double[][] expected = getValues(grads);
+		ListObject residuals = GradientCompression.createResiduals(grads);
+
+		CompressedGradients cg = GradientCompression.compress(grads, PSGradientCompression.TOPK, 0.1, residuals);
+		Assert.assertEquals(10, (double) cg.getUncompressedSize() / cg.getCompressedSize(), 1);
+		double[][] actual = getValues(GradientCompression.decompress(cg));
+		double[][] res = getValues(residuals);
+		for(int i = 0; i < expected.length; i++) {
+			// sent values are the largest, and sent plus residual values give the gradients
+			int nnz = 0;
+			double minSent = Double.MAX_VALUE, maxResidual = 0;
+			for(int j = 0; j < expected[i].length; j++) {
+				Assert.assertEquals(expected[i][j], actual[i][j] + res[i][j], 1e-6);
+				nnz += (actual[i][j] != 0) ? 1 : 0;
+				minSent = (actual[i][j] != 0) ? Math.min(minSent, Math.abs(actual[i][j])) : minSent;
+				maxResidual = (actual[i][j] == 0) ? Math.max(maxResidual, Math.abs(res[i][j])) : maxResidual;
+			}
+			Assert.assertEquals((int) Math.ceil(0.1 * expected[i].length), nnz);
+			Assert.assertTrue(minSent >= maxResidual);
+		}
+
+		// residuals are added to the next gradients
+		ListObject grads2 = generateGradients();
+		CompressedGradients cg2 = GradientCompression.compress(grads2, PSGradientCompression.TOPK, 1.0, residuals);
+		double[][] actual2 = getValues(GradientCompression.decompress(cg2));
+		for(int i = 0; i < expected.length; i++)
+			for(int j = 0; j < expected[i].length; j++)
+				Assert.assertEquals(2 * expected[i][j] - actual[i][j], actual2[i][j], 1e-6);
+	}
+
+	@Test
+	public void testScaleAndSerialize() throws Exception {
+		ListObject grads = generateGradients();
+		double[][] expected = getValues(grads);
+		CompressedGradients cg = GradientCompression.compress(grads, PSGradientCompression.QUANTIZE16, 1, null);
+		cg.scale(0.5);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(cg);
+		}
+		CompressedGradients cg2;
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			cg2 = (CompressedGradients) ois.readObject();
+		}
+		ListObject actual = GradientCompression.decompress(cg2);
+		Assert.assertEquals(Arrays.asList("W", "b"), actual.getNames());
+		double[][] values = getValues(actual);
+		for(int i = 0; i < expected.length; i++)
+			for(int j = 0; j < expected[i].length; j++)
+				Assert.assertEquals(0.5 * expected[i][j], values[i][j], 1e-4);
+	}
+
+	private static void runQuantizationTest(PSGradientCompression type, double maxError) {
+		ListObject grads = generateGradients();
+		double[][] expected = getValues(grads);
+		CompressedGradients cg = GradientCompression.compress(grads, type, 1, null);
+		Assert.assertEquals(type == PSGradientCompression.QUANTIZE8 ? 8 : 4,
+			(double) cg.getUncompressedSize() / cg.getCompressedSize(), 0.5);
+		double[][] actual = getValues(GradientCompression.decompress(cg));
+		for(int i = 0; i < expected.length; i++)
+			TestUtils.compareMatrices(expected[i], actual[i], maxError);
+	}
+}
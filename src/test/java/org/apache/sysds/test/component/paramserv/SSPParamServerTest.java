@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.sysds.parser.Statement.PSUpdateType;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SSPParamServerTest {
+
+	@Test
+	public void testFastWorkerBlocks() {
+		final int s = 2;
+		TestParamServer ps = newParamServer(2, s);
+		Assert.assertNotNull(ps.tryPull(0));
+		Assert.assertNotNull(ps.tryPull(1));
+
+		// the fast worker proceeds while at most s clocks ahead
+		for(int c = 1; c <= s; c++) {
+			ps.push(0, newList());
+			Assert.assertNotNull("worker 0 blocked at clock " + c, ps.tryPull(0));
+		}
+		// ... and blocks once it is s+1 clocks ahead of the slow worker
+		ps.push(0, newList());
+		Assert.assertNull("worker 0 not blocked at clock " + (s + 1), ps.tryPull(0));
+		Assert.assertNull(ps.tryPull(0));
+
+		// the push of the slow worker releases the fast worker
+		ps.push(1, newList());
+		Assert.assertNotNull(ps.tryPull(1));
+		Assert.assertNotNull("worker 0 not released", ps.tryPull(0));
+	}
+
+	@Test
+	public void testFinishedWorkerReleases() {
+		TestParamServer ps = newParamServer(2, 0);
+		ps.tryPull(0);
+		ps.tryPull(1);
+		ps.push(0, newList());
+		Assert.assertNull(ps.tryPull(0));
+
+		// a finished worker no longer bounds the clocks of the others
+		ps.push(1, newList());
+		ps.finishWorker(1);
+		Assert.assertNotNull(ps.tryPull(0));
+		ps.push(0, newList());
+		Assert.assertNotNull(ps.tryPull(0));
+	}
+
+	@Test
+	public void testClockBoundStaleness0() {
+		runClockBoundTest(new int[] {1, 2, 4}, 0);
+	}
+
+	@Test
+	public void testClockBoundStaleness1() {
+		runClockBoundTest(new int[] {1, 3, 1, 5}, 1);
+	}
+
+	@Test
+	public void testClockBoundStaleness3() {
+		runClockBoundTest(new int[] {1, 8}, 3);
+	}
+
+	private static void runClockBoundTest(int[] speed, int s) {
+		final int k = speed.length;
+		final int n = 20;
+		TestParamServer ps = newParamServer(k, s);
+		int[] clocks = new int[k];
+		boolean[] hasModel = new boolean[k];
+		boolean[] finished = new boolean[k];
+		int numBlocked = 0;
+
+		// deterministic schedule: per round, worker i attempts speed[i] pulls and pushes
+		for(int round = 0; round < 10 * n && !allTrue(finished); round++) {
+			for(int i = 0; i < k; i++) {
+				for(int r = 0; r < speed[i] && !finished[i]; r++) {
+					if(!hasModel[i]) {
+						if(ps.tryPull(i) == null) {
+							numBlocked++;
+							break;
+						}
+						// a worker only receives a model if at most s clocks ahead
+						Assert.assertTrue("worker " + i + " released at clock " + clocks[i],
+							clocks[i] - minClock(clocks, finished) <= s);
+						hasModel[i] = true;
+					}
+					ps.push(i, newList());
+					hasModel[i] = false;
+					clocks[i]++;
+					// no active worker is more than s+1 clocks ahead (the last push blocks)
+					Assert.assertTrue("clocks " + Arrays.toString(clocks),
+						maxClock(clocks, finished) - minClock(clocks, finished) <= s + 1);
+					if(clocks[i] == n) {
+						finished[i] = true;
+						ps.finishWorker(i);
+					}
+				}
+			}
+		}
+		Assert.assertTrue("not all workers finished: " + Arrays.toString(clocks), allTrue(finished));
+		Assert.assertTrue("fast workers never blocked", numBlocked > 0);
+	}
+
+	private static int minClock(int[] clocks, boolean[] finished) {
+		int ret = Integer.MAX_VALUE;
+		for(int i = 0; i < clocks.length; i++)
+			if(!finished[i])
+				ret = Math.min(ret, clocks[i]);
+		return ret;
+	}
+
+	private static int maxClock(int[] clocks, boolean[] finished) {
+		int ret = Integer.MIN_VALUE;
+		for(int i = 0; i < clocks.length; i++)
+			if(!finished[i])
+				ret = Math.max(ret, clocks[i]);
+		return ret;
+	}
+
+	private static boolean allTrue(boolean[] flags) {
+		for(boolean f : flags)
+			if(!f)
+				return false;
+		return true;
+	}
+
+	private static TestParamServer newParamServer(int k, int s) {
+		return new TestParamServer(newList(), PSUpdateType.SSP, k, s);
+	}
+
+	private static ListObject newList() {
+		MatrixBlock mb = MatrixBlock.randOperations(2, 2, 1.0, -1, 1, "uniform", 7);
+		return new ListObject(Collections.singletonList(ParamservUtils.newMatrixObject(mb, false)),
+			Collections.singletonList("W"));
+	}
+}
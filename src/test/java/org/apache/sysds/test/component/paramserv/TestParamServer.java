@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.parser.Statement.PSFrequency;
+import org.apache.sysds.parser.Statement.PSUpdateType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Parameter server w/o aggregation function, which instead updates the model
+ * by subtracting the gradients (model - gradients, element-wise per list entry).
+ */
+class TestParamServer extends ParamServer {
+	protected TestParamServer(ListObject model, PSUpdateType updateType, int workerNum, int staleness) {
+		super(model, "agg", updateType, staleness, PSFrequency.BATCH, null, workerNum, null, -1, null, null);
+	}
+
+	@Override
+	protected void setupAggFunc(ExecutionContext ec, String aggFunc) {
+		// no aggregation function
+	}
+
+	@Override
+	protected ListObject updateLocalModel(ExecutionContext ec, ListObject gradients, ListObject model) {
+		List<Data> data = new ArrayList<>();
+		for(int i = 0; i < model.getLength(); i++) {
+			MatrixBlock m = ((MatrixObject) model.getData().get(i)).acquireReadAndRelease();
+			MatrixBlock g = ((MatrixObject) gradients.getData().get(i)).acquireReadAndRelease();
+			MatrixBlock ret = m.binaryOperations(new BinaryOperator(Minus.getMinusFnObject()), g, new MatrixBlock());
+			data.add(ParamservUtils.newMatrixObject(ret, false));
+		}
+		return new ListObject(data, model.getNames());
+	}
+
+	@Override
+	public void push(int workerID, ListObject gradients) {
+		updateGlobalModel(workerID, gradients);
+	}
+
+	@Override
+	public ListObject pull(int workerID) {
+		try {
+			return _modelMap.get(workerID).take();
+		}
+		catch(InterruptedException e) {
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Non-blocking pull of the model.
+	 *
+	 * @param workerID worker id
+	 * @return the model, or null if the worker is blocked
+	 */
+	public ListObject tryPull(int workerID) {
+		return _modelMap.get(workerID).poll();
+	}
+}
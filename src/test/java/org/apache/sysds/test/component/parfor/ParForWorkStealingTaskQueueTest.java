@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalWorkStealingTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.Task;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParForWorkStealingTaskQueueTest
+{
+	@Test
+	public void testSingleWorker() throws Exception {
+		runWorkStealingTest(1, 1, 100, 1, 1, false);
+	}
+
+	@Test
+	public void testBalancedChunks() throws Exception {
+		runWorkStealingTest(4, 1, 1000, 1, 7, false);
+	}
+
+	@Test
+	public void testImbalancedSteals() throws Exception {
+		runWorkStealingTest(4, 1, 2000, 1, 1, true);
+	}
+
+	@Test
+	public void testImbalancedIncrement() throws Exception {
+		runWorkStealingTest(3, 5, 1003, 2, 3, true);
+	}
+
+	@Test
+	public void testNegativeIncrement() throws Exception {
+		runWorkStealingTest(4, 1000, 1, -3, 2, true);
+	}
+
+	@Test
+	public void testStaticFallback() {
+		TaskPartitionerWorkStealing tp = new TaskPartitionerWorkStealing(1, 4,
+			"i", new IntObject(1), new IntObject(10), new IntObject(1));
+		LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+		Assert.assertEquals(4, tp.createTasks(queue));
+		Assert.assertEquals(4, tp.createTasks().size());
+	}
+
+	private static void runWorkStealingTest(int k, long from, long to, long incr, long chunkSize,
+		boolean imbalanced) throws Exception
+	{
+		TaskPartitionerWorkStealing tp = new TaskPartitionerWorkStealing(chunkSize, k,
+			"i", new IntObject(from), new IntObject(to), new IntObject(incr));
+		int n = (int) tp.getNumIterations();
+		long lfrom = Math.min(from, to);
+		long lincr = Math.abs(incr);
+		LocalWorkStealingTaskQueue queue = new LocalWorkStealingTaskQueue(k);
+
+		//start workers before the tasks are created, and collect the dequeued
+		//tasks per worker (assertions in the worker threads would be swallowed)
+		List<Callable<List<long[]>>> workers = new ArrayList<>();
+		for( int i=0; i<k; i++ ) {
+			final int ix = i;
+			workers.add(() -> {
+				List<long[]> tasks = new ArrayList<>();
+				Task t = null;
+				while( (t = queue.dequeueTask(ix)) != LocalTaskQueue.NO_MORE_TASKS ) {
+					tasks.add(new long[] {t.getIterations().get(0).getLongValue(),
+						t.getIterations().get(1).getLongValue(), t.getIterations().get(2).getLongValue()});
+					//first worker is slow, others need to steal
+					if( imbalanced && ix == 0 )
+						Thread.sleep(1);
+				}
+				return tasks;
+			});
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		List<List<long[]>> results = new ArrayList<>();
+		try {
+			List<Future<List<long[]>>> futures = new ArrayList<>();
+			for( Callable<List<long[]>> w : workers )
+				futures.add(pool.submit(w));
+			Assert.assertEquals(-1, tp.createTasks(queue));
+			for( Future<List<long[]>> f : futures )
+				results.add(f.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		//every iteration executed exactly once, in chunks of at most chunkSize
+		int[] counts = new int[n];
+		for( List<long[]> tasks : results ) {
+			for( long[] t : tasks ) {
+				Assert.assertEquals(lincr, t[2]);
+				Assert.assertTrue(t[1] - t[0] < chunkSize * lincr);
+				for( long j=t[0]; j<=t[1]; j+=lincr )
+					counts[(int)((j - lfrom) / lincr)]++;
+			}
+		}
+		for( int i=0; i<n; i++ )
+			Assert.assertEquals("iteration "+i, 1, counts[i]);
+		long total = 0;
+		for( List<long[]> tasks : results )
+			total += tasks.size();
+		Assert.assertEquals(total, queue.getNumCreatedTasks());
+		if( imbalanced )
+			Assert.assertTrue(queue.getNumSteals() > 0);
+		else if( k == 1 )
+			Assert.assertEquals(0, queue.getNumSteals());
+		Assert.assertTrue(queue.getIdleTime() >= 0);
+	}
+}
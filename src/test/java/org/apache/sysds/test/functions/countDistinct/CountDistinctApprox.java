@@ -20,11 +20,13 @@
 package org.apache.sysds.test.functions.countDistinct;
 
 import org.apache.sysds.lops.LopProperties;
+import org.apache.sysds.test.TestConfiguration;
 import org.junit.Test;
 
 public class CountDistinctApprox extends CountDistinctBase {
 
 	private final static String TEST_NAME = "countDistinctApprox";
+	private final static String TEST_NAME2 = "countDistinctApproxNoZeros";
 	private final static String TEST_DIR = "functions/countDistinct/";
 	private final static String TEST_CLASS_DIR = TEST_DIR + CountDistinctApprox.class.getSimpleName() + "/";
 
@@ -32,6 +34,13 @@ public class CountDistinctApprox extends CountDistinctBase {
 		percentTolerance = 0.1;
 	}
 
+	@Override
+	public void setUp() {
+		super.setUp();
+		addTestConfiguration(TEST_NAME2,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"A.scalar"}));
+	}
+
 	@Test
 	public void testXXLarge() {
 		LopProperties.ExecType ex = LopProperties.ExecType.CP;
@@ -46,6 +55,27 @@ public class CountDistinctApprox extends CountDistinctBase {
 		countDistinctTest(500, 100, 100000, 0.1, ex, tolerance);
 	}
 
+	@Test
+	public void testSpark() {
+		LopProperties.ExecType ex = LopProperties.ExecType.SPARK;
+		double tolerance = 0.00001 + 800 * percentTolerance;
+		countDistinctTest(800, 1000, 1000, 1.0, ex, tolerance);
+	}
+
+	@Test
+	public void testSparkSparse() {
+		LopProperties.ExecType ex = LopProperties.ExecType.SPARK;
+		double tolerance = 0.00001 + 500 * percentTolerance;
+		countDistinctTest(500, 100, 64000, 0.1, ex, tolerance);
+	}
+
+	@Test
+	public void testSparkDenseNoZeros() {
+		// no spurious zero for dense inputs (all blocks materialized)
+		LopProperties.ExecType ex = LopProperties.ExecType.SPARK;
+		countDistinctTest(TEST_NAME2, 5, 1500, 1500, 1.0, ex, 0.00001);
+	}
+
 	@Override
 	protected String getTestClassDir() {
 		return TEST_CLASS_DIR;
@@ -103,12 +103,17 @@ public abstract class CountDistinctBase extends AutomatedTestBase {
 	}
 
 	public void countDistinctTest(int numberDistinct, int cols, int rows, double sparsity,
+		LopProperties.ExecType instType, double tolerance) {
+		countDistinctTest(getTestName(), numberDistinct, cols, rows, sparsity, instType, tolerance);
+	}
+
+	public void countDistinctTest(String testName, int numberDistinct, int cols, int rows, double sparsity,
 		LopProperties.ExecType instType, double tolerance) {
 		Types.ExecMode platformOld = setExecMode(instType);
 		try {
-			loadTestConfiguration(getTestConfiguration(getTestName()));
+			loadTestConfiguration(getTestConfiguration(testName));
 			String HOME = SCRIPT_DIR + getTestDir();
-			fullDMLScriptName = HOME + getTestName() + ".dml";
+			fullDMLScriptName = HOME + testName + ".dml";
 			String out = output("A");
 			System.out.println(out);
 			programArgs = new String[] {"-args", String.valueOf(numberDistinct), String.valueOf(rows),
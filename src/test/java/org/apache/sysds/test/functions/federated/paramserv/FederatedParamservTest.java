@@ -57,20 +57,28 @@ public class FederatedParamservTest extends AutomatedTestBase {
 	private final String _weighting;
 	private final String _data_distribution;
 	private final int _seed;
+	private final String _compression;
 
 	// parameters
 	@Parameterized.Parameters
 	public static Collection<Object[]> parameters() {
 		return Arrays.asList(new Object[][] {
-			// Network type, number of federated workers, data set size, batch size, epochs, learning rate, update type, update frequency
+			// Network type, number of federated workers, data set size, batch size, epochs, learning rate, update type, update frequency,
+			// data partitioning, runtime balancing, weighting, data distribution, seed, gradient compression
 			// basic functionality
 			//{"TwoNN",	4, 60000, 32, 4, 0.01, 	"BSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"NONE" ,		"false","BALANCED",		200},
 
-			{"TwoNN",	2, 4, 1, 4, 0.01, 		"BSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"BASELINE",		"true",	"IMBALANCED",	200},
-			{"CNN", 	2, 4, 1, 4, 0.01, 		"BSP", "EPOCH", "SHUFFLE", 				"NONE", 		"true",	"IMBALANCED", 	200},
-			{"CNN",		2, 4, 1, 4, 0.01, 		"ASP", "BATCH", "REPLICATE_TO_MAX", 	"CYCLE_MIN", 	"true",	"IMBALANCED",	200},
-			{"TwoNN", 	2, 4, 1, 4, 0.01, 		"ASP", "EPOCH", "BALANCE_TO_AVG", 		"CYCLE_MAX", 	"true",	"IMBALANCED",	200},
-			{"TwoNN", 	5, 1000, 100, 2, 0.01, 	"BSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"NONE", 		"true",	"BALANCED",		200},
+			{"TwoNN",	2, 4, 1, 4, 0.01, 		"BSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"BASELINE",		"true",	"IMBALANCED",	200, "NONE"},
+			{"CNN", 	2, 4, 1, 4, 0.01, 		"BSP", "EPOCH", "SHUFFLE", 				"NONE", 		"true",	"IMBALANCED", 	200, "NONE"},
+			{"CNN",		2, 4, 1, 4, 0.01, 		"ASP", "BATCH", "REPLICATE_TO_MAX", 	"CYCLE_MIN", 	"true",	"IMBALANCED",	200, "NONE"},
+			{"TwoNN", 	2, 4, 1, 4, 0.01, 		"ASP", "EPOCH", "BALANCE_TO_AVG", 		"CYCLE_MAX", 	"true",	"IMBALANCED",	200, "NONE"},
+			{"TwoNN", 	5, 1000, 100, 2, 0.01, 	"BSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"NONE", 		"true",	"BALANCED",		200, "NONE"},
+			{"TwoNN", 	2, 4, 1, 4, 0.01, 		"SSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"NONE", 		"true",	"IMBALANCED",	200, "NONE"},
+			{"CNN", 	2, 4, 1, 4, 0.01, 		"SSP", "EPOCH", "SHUFFLE", 				"CYCLE_MIN", 	"true",	"IMBALANCED",	200, "NONE"},
+
+			// gradient compression
+			{"TwoNN", 	2, 4, 1, 4, 0.01, 		"BSP", "BATCH", "KEEP_DATA_ON_WORKER", 	"BASELINE",		"true",	"IMBALANCED",	200, "TOPK"},
+			{"TwoNN", 	2, 4, 1, 4, 0.01, 		"ASP", "EPOCH", "KEEP_DATA_ON_WORKER", 	"NONE",			"false","IMBALANCED",	200, "QUANTIZE8"},
 
 			/*
 				// runtime balancing
@@ -94,7 +102,8 @@ public class FederatedParamservTest extends AutomatedTestBase {
 	}
 
 	public FederatedParamservTest(String networkType, int numFederatedWorkers, int dataSetSize, int batch_size,
-		int epochs, double eta, String utype, String freq, String scheme, String runtime_balancing, String weighting, String data_distribution, int seed) {
+		int epochs, double eta, String utype, String freq, String scheme, String runtime_balancing, String weighting, String data_distribution, int seed,
+		String compression) {
 
 		_networkType = networkType;
 		_numFederatedWorkers = numFederatedWorkers;
@@ -109,6 +118,7 @@ public class FederatedParamservTest extends AutomatedTestBase {
 		_weighting = weighting;
 		_data_distribution = data_distribution;
 		_seed = seed;
+		_compression = compression;
 	}
 
 	@Override
@@ -197,7 +207,8 @@ public class FederatedParamservTest extends AutomatedTestBase {
 					"channels=" + C,
 					"hin=" + Hin,
 					"win=" + Win,
-					"seed=" + _seed));
+					"seed=" + _seed,
+					"compression=" + _compression));
 
 			programArgs = programArgsList.toArray(new String[0]);
 			LOG.debug(runTest(null));
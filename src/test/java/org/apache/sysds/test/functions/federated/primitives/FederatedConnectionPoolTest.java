@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedConnectionPoolTest {
+	private static final int NUM_REQUESTS = 200;
+
+	@Test
+	public void testMultiplexedRequests() throws InterruptedException {
+		int port = AutomatedTestBase.getRandomAvailablePort();
+		Thread t = AutomatedTestBase.startLocalFedWorkerWithArgs(new String[] {"-w", Integer.toString(port)});
+		Thread.sleep(2000);
+		FederationUtils.resetFedDataID();
+		InetSocketAddress address = new InetSocketAddress("localhost", port);
+		try {
+			// many in-flight batches over a few pooled connections
+			long[] ids = new long[NUM_REQUESTS];
+			List<Future<FederatedResponse>> ret = new ArrayList<>();
+			for(int i = 0; i < NUM_REQUESTS; i++) {
+				ids[i] = FederationUtils.getNextFedDataID();
+				ret.add(FederatedData.executeFederatedOperation(address,
+					new FederatedRequest(RequestType.PUT_VAR, ids[i], new IntObject(i)),
+					new FederatedRequest(RequestType.GET_VAR, ids[i])));
+			}
+
+			// responses must be matched to their respective requests
+			for(int i = 0; i < NUM_REQUESTS; i++) {
+				FederatedResponse fres = ret.get(i).get();
+				assertTrue(fres.isSuccessful());
+				assertEquals(i, ((ScalarObject) fres.getData()[0]).getLongValue());
+			}
+		}
+		catch(Exception e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			FederatedData.resetFederatedSites();
+			TestUtils.shutdownThread(t);
+		}
+	}
+}
@@ -25,16 +25,22 @@ import java.util.Random;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.io.FrameReader;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameReaderProto;
+import org.apache.sysds.runtime.io.FrameReaderProtoParallel;
 import org.apache.sysds.runtime.io.FrameWriter;
 import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.FrameWriterProto;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.test.TestUtils;
 import org.junit.Test;
 
 public class FrameReaderWriterProtoTest {
 
 	private static final String FILENAME_SINGLE = "target/testTemp/functions/data/FrameReaderWriterProtoTest/testFrameBlock.proto";
+	private static final String FILENAME_MULTI = "target/testTemp/functions/data/FrameReaderWriterProtoTest/testFrameBlockParts.proto";
 	private static final long SEED = 4669201;
 
 	private FrameWriter frameWriterProto = FrameWriterFactory.createFrameWriter(Types.FileFormat.PROTO);
@@ -78,4 +84,43 @@ public class FrameReaderWriterProtoTest {
 
 		TestUtils.compareFrames(expected, actual, rows, cols);
 	}
+
+	@Test
+	public void testReadFrameBlockFromMultiplePartFilesSequential() throws IOException {
+		testReadFrameBlockFromPartFiles(new FrameReaderProto(), 694, 17, 5);
+	}
+
+	@Test
+	public void testReadFrameBlockFromMultiplePartFilesParallel() throws IOException {
+		testReadFrameBlockFromPartFiles(new FrameReaderProtoParallel(), 694, 17, 5);
+	}
+
+	@Test
+	public void testReadFrameBlockFromSinglePartFileParallel() throws IOException {
+		testReadFrameBlockFromPartFiles(new FrameReaderProtoParallel(), 42, 35, 1);
+	}
+
+	public void testReadFrameBlockFromPartFiles(FrameReader reader, int rows, int cols, int parts)
+		throws IOException {
+		final Random random = new Random(SEED);
+		Types.ValueType[] schema = TestUtils.generateRandomSchema(cols, random);
+		FrameBlock expectedFrame = TestUtils.generateRandomFrameBlock(rows, cols, schema, random);
+
+		// write row ranges into part files of a directory, as created by the parallel writer
+		HDFSTool.deleteFileIfExistOnHDFS(FILENAME_MULTI);
+		FrameWriter writer = new FrameWriterProto();
+		int blklen = (int) Math.ceil((double) rows / parts);
+		for(int i = 0; i * blklen < rows; i++) {
+			int ru = Math.min((i + 1) * blklen, rows);
+			FrameBlock part = expectedFrame.slice(i * blklen, ru - 1, 0, cols - 1, new FrameBlock());
+			writer.writeFrameToHDFS(part, FILENAME_MULTI + "/" + IOUtilFunctions.getPartFileName(i),
+				part.getNumRows(), cols);
+		}
+		FrameBlock actualFrame = reader.readFrameFromHDFS(FILENAME_MULTI, schema, rows, cols);
+
+		String[][] expected = DataConverter.convertToStringFrame(expectedFrame);
+		String[][] actual = DataConverter.convertToStringFrame(actualFrame);
+
+		TestUtils.compareFrames(expected, actual, rows, cols);
+	}
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.api.jmlc.BatchScorer;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.api.jmlc.ResultVariables;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JMLCBatchScoringTest extends AutomatedTestBase 
+{
+	//scoring script with pinned model W
+	private static final String SCRIPT =
+		  "X = read('tmp/X');"
+		+ "W = read('tmp/W');"
+		+ "P = X %*% W;"
+		+ "n = nrow(X);"
+		+ "write(P, 'tmp/P');"
+		+ "write(n, 'tmp/n');";
+	
+	private static final int FEATURES = 10;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testSingleRowRequests() {
+		runBatchScoringTest(256, 1, 64, 10000, 4);
+	}
+	
+	@Test
+	public void testMultiRowRequests() {
+		runBatchScoringTest(60, 3, 9, 10000, 20);
+	}
+	
+	@Test
+	public void testLatencyDeadline() {
+		//all requests in one batch because they arrive before the deadline
+		runBatchScoringTest(32, 2, 1000, 2000, 1);
+	}
+	
+	@Test
+	public void testConcurrentCallers() {
+		Statistics.reset();
+		MatrixBlock W = MatrixBlock.randOperations(FEATURES, 1, 1.0, -1, 1, "uniform", 3);
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"P","n"});
+			pscript.setMatrix("W", W, true);
+			
+			ExecutorService pool = Executors.newFixedThreadPool(8);
+			try( BatchScorer scorer = pscript.createBatchScorer("X", 16, 5) ) {
+				List<Callable<Boolean>> tasks = new ArrayList<>();
+				for( int i=0; i<128; i++ ) {
+					final int seed = i;
+					tasks.add(() -> {
+						MatrixBlock X = MatrixBlock.randOperations(1, FEATURES, 1.0, -1, 1, "uniform", seed);
+						MatrixBlock P = scorer.score(X).getMatrixBlock("P");
+						TestUtils.compareMatrices(matMult(X, W), P, 1e-10);
+						return true;
+					});
+				}
+				for( Future<Boolean> ret : pool.invokeAll(tasks) )
+					Assert.assertTrue(ret.get());
+			}
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			Assert.fail(ex.getMessage());
+		}
+		Assert.assertEquals(128, Statistics.getJMLCBatchedRequests());
+		Assert.assertTrue(Statistics.getJMLCRequestLatency(99) > 0);
+		boolean oldStats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		try {
+			Assert.assertTrue(Statistics.display().contains("JMLC latency"));
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+	
+	@Test
+	public void testSubmitDuringClose() {
+		MatrixBlock W = MatrixBlock.randOperations(FEATURES, 1, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock X = MatrixBlock.randOperations(1, FEATURES, 1.0, -1, 1, "uniform", 7);
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"P","n"});
+			pscript.setMatrix("W", W, true);
+			for( int r=0; r<20; r++ ) {
+				BatchScorer scorer = pscript.createBatchScorer("X", 16, 1);
+				ExecutorService pool = Executors.newFixedThreadPool(4);
+				List<Future<List<Future<ResultVariables>>>> tasks = new ArrayList<>();
+				for( int t=0; t<4; t++ ) {
+					tasks.add(pool.submit(() -> {
+						//submit until rejected by the concurrent close
+						List<Future<ResultVariables>> rets = new ArrayList<>();
+						try {
+							while( true )
+								rets.add(scorer.submit(X));
+						}
+						catch(DMLException ex) {
+							return rets;
+						}
+					}));
+				}
+				Thread.sleep(2);
+				scorer.close();
+				//every accepted request completes
+				for( Future<List<Future<ResultVariables>>> task : tasks )
+					for( Future<ResultVariables> ret : task.get() )
+						TestUtils.compareMatrices(matMult(X, W),
+							ret.get(30, TimeUnit.SECONDS).getMatrixBlock("P"), 1e-10);
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			Assert.fail(ex.getMessage());
+		}
+	}
+	
+	@Test(expected = DMLException.class)
+	public void testInvalidInput() {
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"P","n"});
+			pscript.setMatrix("W", MatrixBlock.randOperations(FEATURES, 1, 1.0, -1, 1, "uniform", 3), true);
+			try( BatchScorer scorer = pscript.createBatchScorer("X", 16, 5) ) {
+				scorer.score(MatrixBlock.randOperations(1, FEATURES+1, 1.0, -1, 1, "uniform", 7));
+			}
+		}
+	}
+	
+	private static void runBatchScoringTest(int num, int rows, int maxRows, long maxLatency, int batches) {
+		Statistics.reset();
+		MatrixBlock W = MatrixBlock.randOperations(FEATURES, 1, 1.0, -1, 1, "uniform", 3);
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT, new String[]{"X","W"}, new String[]{"P","n"});
+			pscript.setMatrix("W", W, true);
+			
+			MatrixBlock[] X = new MatrixBlock[num];
+			List<Future<ResultVariables>> rets = new ArrayList<>();
+			try( BatchScorer scorer = pscript.createBatchScorer("X", maxRows, maxLatency) ) {
+				for( int i=0; i<num; i++ ) {
+					X[i] = MatrixBlock.randOperations(rows, FEATURES, 1.0, -1, 1, "uniform", i);
+					rets.add(scorer.submit(X[i]));
+				}
+				for( int i=0; i<num; i++ ) {
+					ResultVariables rv = rets.get(i).get();
+					MatrixBlock P = rv.getMatrixBlock("P");
+					Assert.assertEquals(rows, P.getNumRows());
+					Assert.assertEquals(Math.min(maxRows/rows, num)*rows, rv.getLong("n"));
+					TestUtils.compareMatrices(matMult(X[i], W), P, 1e-10);
+				}
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			Assert.fail(ex.getMessage());
+		}
+		Assert.assertEquals(batches, Statistics.getJMLCBatches());
+		Assert.assertEquals(num, Statistics.getJMLCBatchedRequests());
+	}
+	
+	private static MatrixBlock matMult(MatrixBlock X, MatrixBlock W) {
+		return X.aggregateBinaryOperations(X, W, new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+	}
+}
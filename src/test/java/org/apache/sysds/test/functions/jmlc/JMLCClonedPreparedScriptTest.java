@@ -63,6 +63,24 @@ public class JMLCClonedPreparedScriptTest extends AutomatedTestBase
 		+ "out = sum(R)"
 		+ "write(out, 'tmp/out')";
 	
+	//script with pinned model and per-request inputs
+	private static final String SCRIPT3 =
+		  "X = read('tmp/X');"
+		+ "W = read('tmp/W');"
+		+ "s = read('tmp/s', data_type='scalar');"
+		+ "out = sum(X %*% W) + s;"
+		+ "write(out, 'tmp/out')";
+	
+	//script with input-dependent lineage trace
+	private static final String SCRIPT4 =
+		  "s = read('tmp/s', data_type='scalar');"
+		+ "out = 7;"
+		+ "for(i in 1:s)"
+		+ "  out = out * 2 + i;"
+		+ "write(out, 'tmp/out')";
+	
+	//number of threads for concurrent execution
+	private static final int CONCURRENT_THREADS = 4;
 	
 	@Override
 	public void setUp() {
@@ -89,6 +107,127 @@ public class JMLCClonedPreparedScriptTest extends AutomatedTestBase
 		runJMLCClonedTest(SCRIPT2, 128, true);
 	}
 
+	@Test
+	public void testConcurrentPreparedScript1T128() {
+		runJMLCConcurrentTest(SCRIPT1, 128);
+	}
+	
+	@Test
+	public void testConcurrentPreparedScript2T128() {
+		runJMLCConcurrentTest(SCRIPT2, 128);
+	}
+	
+	@Test
+	public void testConcurrentPreparedScriptPinnedInputsT128() {
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT3, new String[]{"X","W","s"}, new String[]{"out"});
+			pscript.setConcurrentExecution(true);
+			pscript.setMatrix("W", new double[][]{{1},{2},{3}}, true);
+			
+			ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_THREADS);
+			ArrayList<Callable<Double>> tasks = new ArrayList<>();
+			for(int i=0; i<128; i++) {
+				final int s = i;
+				tasks.add(() -> {
+					pscript.setMatrix("X", new double[][]{{s,s,s},{1,1,1}}, false);
+					pscript.setScalar("s", s);
+					return pscript.executeScript().getDouble("out");
+				});
+			}
+			List<Future<Double>> taskrets = pool.invokeAll(tasks);
+			for(int i=0; i<128; i++)
+				Assert.assertEquals(7*i+6, taskrets.get(i).get(), 0);
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			Assert.fail(ex.getMessage());
+		}
+	}
+	
+	@Test
+	public void testConcurrentPreparedScriptLineageT128() {
+		try( Connection conn = new Connection() ) {
+			conn.setLineage(true);
+			//reference lineage traces of sequential executions
+			String[] expected = new String[5];
+			PreparedScript pscript1 = conn.prepareScript(
+				SCRIPT4, new String[]{"s"}, new String[]{"out"});
+			for(int i=0; i<5; i++) {
+				pscript1.setScalar("s", i+1);
+				expected[i] = pscript1.executeScript().getLineageTrace("out");
+				Assert.assertEquals(expected[i], pscript1.getLineageTrace("out"));
+				expected[i] = stripLineageIDs(expected[i]);
+			}
+			Assert.assertNotEquals(expected[0], expected[4]);
+			
+			PreparedScript pscript = conn.prepareScript(
+				SCRIPT4, new String[]{"s"}, new String[]{"out"});
+			pscript.setConcurrentExecution(true);
+			ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_THREADS);
+			ArrayList<Callable<String>> tasks = new ArrayList<>();
+			for(int i=0; i<128; i++) {
+				final int s = i % 5 + 1;
+				tasks.add(() -> {
+					pscript.setScalar("s", s);
+					String lineage = pscript.executeScript().getLineageTrace("out");
+					//thread-local inputs are cleared after execution
+					try {
+						pscript.executeScript();
+						return null;
+					}
+					catch(Exception ex) {
+						return lineage;
+					}
+				});
+			}
+			List<Future<String>> taskrets = pool.invokeAll(tasks);
+			for(int i=0; i<128; i++)
+				Assert.assertEquals(expected[i % 5], stripLineageIDs(taskrets.get(i).get()));
+			pool.shutdown();
+			try {
+				pscript.getLineageTrace("out");
+				Assert.fail("expected exception for shared lineage in concurrent mode");
+			}
+			catch(DMLException ex) {
+				//expected
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			Assert.fail(ex.getMessage());
+		}
+		finally {
+			DMLScript.LINEAGE = false;
+		}
+	}
+	
+	private static String stripLineageIDs(String lineage) {
+		return (lineage != null) ? lineage.replaceAll("\\(\\d+\\)", "()") : null;
+	}
+	
+	private static void runJMLCConcurrentTest(String script, int num) {
+		try( Connection conn = new Connection() ) {
+			PreparedScript pscript = conn.prepareScript(
+				script, new String[]{}, new String[]{"out"});
+			pscript.setConcurrentExecution(true);
+			
+			ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_THREADS);
+			ArrayList<JMLCTask> tasks = new ArrayList<>();
+			for(int i=0; i<num; i++)
+				tasks.add(new JMLCTask(pscript, false));
+			List<Future<Double>> taskrets = pool.invokeAll(tasks);
+			for(Future<Double> ret : taskrets)
+				Assert.assertEquals(700, ret.get(), 0);
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			Assert.fail(ex.getMessage());
+		}
+	}
+
 	private static void runJMLCClonedTest(String script, int num, boolean clone) {
 		int k = InfrastructureAnalyzer.getLocalParallelism();
 		
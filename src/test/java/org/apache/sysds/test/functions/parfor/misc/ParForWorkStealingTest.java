@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParForWorkStealingTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_workstealing1"; //opt=NONE
+	private final static String TEST_NAME2 = "parfor_workstealing2"; //opt=RULEBASED
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+	
+	private final static int n = 64;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForWorkStealingNoOpt() {
+		runParForWorkStealingTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testParForWorkStealingRuleBased() {
+		runParForWorkStealingTest(TEST_NAME2, false);
+	}
+	
+	private void runParForWorkStealingTest( String testName, boolean checkSteals )
+	{
+		TestConfiguration config = getTestConfiguration(testName);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testName + ".dml";
+		programArgs = new String[]{"-stats", "-args", String.valueOf(n), output("R") };
+		
+		runTest(true, false, null, -1);
+		
+		//all iterations executed exactly once w/ results equal to a for loop
+		Assert.assertEquals(0, readDMLScalarFromOutputDir("R").get(new CellIndex(1,1)), 0);
+		//imbalanced load requires steals of idle workers
+		if( checkSteals )
+			Assert.assertTrue(Statistics.getParforStealCount() > 0);
+	}
+}
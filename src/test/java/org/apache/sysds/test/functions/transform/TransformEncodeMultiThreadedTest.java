@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformEncodeMultiThreadedTest {
+	private static final int rows = 1723;
+	private static final int k = 4;
+
+	private static final String SPEC_RECODE = "{ \"ids\": true, \"recode\": [ 1, 2, 5 ] }";
+	private static final String SPEC_DUMMY = "{ \"ids\": true, \"recode\": [ 1, 2 ], "
+		+ "\"bin\": [ { \"id\": 3, \"method\": \"equi-width\", \"numbins\": 4 } ], \"dummycode\": [ 1, 3, 5 ] }";
+
+	@Test
+	public void testEncodeRecode() {
+		runEncodeTest(SPEC_RECODE);
+	}
+
+	@Test
+	public void testEncodeRecodeBinDummycode() {
+		runEncodeTest(SPEC_DUMMY);
+	}
+
+	@Test
+	public void testApplyRecodeBinDummycodeSparseOutput() {
+		FrameBlock data = createFrame();
+		MultiColumnEncoder encoder = createEncoder(SPEC_DUMMY, data, null);
+		MatrixBlock expected = encoder.encode(data, 1);
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(data.getNumColumns(), ValueType.STRING));
+
+		// apply into a sparse output block from multiple threads
+		MultiColumnEncoder encoder2 = createEncoder(SPEC_DUMMY, data, meta);
+		MatrixBlock out = new MatrixBlock(data.getNumRows(), expected.getNumColumns(), true);
+		encoder2.apply(data, out, 0, k);
+		Assert.assertTrue(out.isInSparseFormat());
+		Assert.assertEquals(expected.getNonZeros(), out.getNonZeros());
+		TestUtils.compareMatrices(expected, out, 0);
+	}
+
+	private static void runEncodeTest(String spec) {
+		FrameBlock data = createFrame();
+		MatrixBlock expected = createEncoder(spec, data, null).encode(data, 1);
+		MultiColumnEncoder encoder = createEncoder(spec, data, null);
+		MatrixBlock actual = encoder.encode(data, k);
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(expected, actual, 0);
+
+		// transform apply with existing meta data
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(data.getNumColumns(), ValueType.STRING));
+		MatrixBlock applied = createEncoder(spec, data, meta).apply(data, k);
+		TestUtils.compareMatrices(expected, applied, 0);
+	}
+
+	private static MultiColumnEncoder createEncoder(String spec, FrameBlock data, FrameBlock meta) {
+		return EncoderFactory.createEncoder(spec, data.getColumnNames(), data.getNumColumns(), meta);
+	}
+
+	private static FrameBlock createFrame() {
+		ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.INT64, ValueType.FP64, ValueType.FP64,
+			ValueType.STRING};
+		double[][] A = TestUtils.round(TestUtils.generateTestMatrix(rows, schema.length, 1, 25, 1.0, 7));
+		FrameBlock frame = new FrameBlock(schema);
+		Object[] row = new Object[schema.length];
+		for(int i = 0; i < rows; i++) {
+			for(int j = 0; j < schema.length; j++)
+				row[j] = UtilFunctions.doubleToObject(schema[j], A[i][j]);
+			frame.appendRow(row);
+		}
+		return frame;
+	}
+}